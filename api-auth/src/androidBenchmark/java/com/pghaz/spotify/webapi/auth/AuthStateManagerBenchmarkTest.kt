@@ -0,0 +1,72 @@
+package com.pghaz.spotify.webapi.auth
+
+import android.util.Log
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.google.gson.Gson
+import io.github.kaaes.spotify.webapi.core.models.UserPrivate
+import net.openid.appauth.AuthState
+import org.junit.After
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+
+/**
+ * Measures how long an update blocks the caller, with and without write-behind. Results are
+ * logged, not asserted, since timings depend on the device.
+ */
+@RunWith(AndroidJUnit4::class)
+class AuthStateManagerBenchmarkTest {
+
+    companion object {
+        private const val TAG = "AuthStateManagerBenchmark"
+        private const val UPDATES = 200
+    }
+
+    private lateinit var mManager: AuthStateManager
+
+    @Before
+    fun setUp() {
+        mManager = AuthStateManager.getInstance(InstrumentationRegistry.getInstrumentation().targetContext, Gson())
+        // Load both values up front, reading them isn't what's measured
+        mManager.currentState
+        mManager.currentUser
+    }
+
+    @After
+    fun tearDown() {
+        mManager.setWriteBehind(false)
+        mManager.replaceState(AuthState())
+        mManager.updateUser(null)
+    }
+
+    @Test
+    fun updateLatency() {
+        val synchronousNanos = measureUpdates()
+
+        mManager.setWriteBehind(true)
+        val writeBehindNanos = measureUpdates()
+        val flushStart = System.nanoTime()
+        mManager.flush()
+        val flushNanos = System.nanoTime() - flushStart
+
+        Log.i(TAG, String.format("Update: synchronous %.1f us, write-behind %.1f us, final flush %.1f us",
+                synchronousNanos / 1e3 / UPDATES, writeBehindNanos / 1e3 / UPDATES, flushNanos / 1e3))
+    }
+
+    private fun measureUpdates(): Long {
+        val start = System.nanoTime()
+        for (i in 0 until UPDATES) {
+            mManager.replaceState(AuthState())
+            mManager.updateUser(createUser(i))
+        }
+        return System.nanoTime() - start
+    }
+
+    private fun createUser(index: Int): UserPrivate {
+        val user = UserPrivate()
+        user.id = "user$index"
+        user.display_name = "User $index"
+        return user
+    }
+}
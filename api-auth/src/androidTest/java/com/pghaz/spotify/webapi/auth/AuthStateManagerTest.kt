@@ -0,0 +1,163 @@
+package com.pghaz.spotify.webapi.auth
+
+import android.content.Context
+import android.os.StrictMode
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.google.gson.Gson
+import io.github.kaaes.spotify.webapi.core.models.UserPrivate
+import net.openid.appauth.AuthState
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.util.concurrent.TimeUnit
+
+@RunWith(AndroidJUnit4::class)
+class AuthStateManagerTest {
+
+    companion object {
+        private const val UPDATES = 200
+    }
+
+    private val mGson = Gson()
+    private lateinit var mContext: Context
+    private lateinit var mManager: AuthStateManager
+
+    @Before
+    fun setUp() {
+        mContext = InstrumentationRegistry.getInstrumentation().targetContext
+        mManager = AuthStateManager.getInstance(mContext, mGson)
+        // Load both values up front, reading them isn't what the tests are about
+        mManager.currentState
+        mManager.currentUser
+    }
+
+    @After
+    fun tearDown() {
+        mManager.setWriteBehind(false)
+        mManager.replaceState(AuthState())
+        mManager.updateUser(null)
+    }
+
+    @Test
+    fun writeBehindUpdatesDontWriteOnTheCallingThread() {
+        mManager.setWriteBehind(true)
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync {
+            val policy = StrictMode.getThreadPolicy()
+            StrictMode.setThreadPolicy(StrictMode.ThreadPolicy.Builder()
+                    .detectDiskWrites()
+                    .penaltyDeath()
+                    .build())
+            try {
+                for (i in 0 until UPDATES) {
+                    mManager.replaceState(AuthState())
+                    mManager.updateUser(createUser(i))
+                }
+            } finally {
+                StrictMode.setThreadPolicy(policy)
+            }
+        }
+
+        mManager.flush()
+        val prefs = mContext.getSharedPreferences("AuthState", Context.MODE_PRIVATE)
+        val storedUser = mGson.fromJson(prefs.getString("user", null), UserPrivate::class.java)
+        assertEquals("user" + (UPDATES - 1), storedUser.id)
+    }
+
+    @Test
+    fun clearedUserStaysClearedBeforeTheWrite() {
+        mManager.setWriteBehind(true)
+        mManager.updateUser(createUser(1))
+        mManager.flush()
+
+        mManager.updateUser(null)
+
+        assertNull(mManager.currentUser.id)
+    }
+
+    @Test
+    fun clearedUserIsReadWithoutTouchingTheDisk() {
+        mManager.setWriteBehind(true)
+        mManager.updateFetchedUser(createUser(1), "\"etag\"")
+        mManager.flush()
+
+        InstrumentationRegistry.getInstrumentation().runOnMainSync {
+            val policy = StrictMode.getThreadPolicy()
+            StrictMode.setThreadPolicy(StrictMode.ThreadPolicy.Builder()
+                    .detectDiskReads()
+                    .detectDiskWrites()
+                    .penaltyDeath()
+                    .build())
+            try {
+                mManager.updateUser(null)
+                assertNull(mManager.currentUser.id)
+                assertNull(mManager.currentUserETag)
+            } finally {
+                StrictMode.setThreadPolicy(policy)
+            }
+        }
+
+        mManager.flush()
+        val prefs = mContext.getSharedPreferences("AuthState", Context.MODE_PRIVATE)
+        assertNull(prefs.getString("user", null))
+    }
+
+    @Test
+    fun fetchedUserIsFreshWithItsETag() {
+        mManager.updateUser(createUser(1))
+        assertFalse(mManager.isCurrentUserFresh(TimeUnit.HOURS.toMillis(1)))
+
+        mManager.updateFetchedUser(createUser(2), "\"etag\"")
+        assertTrue(mManager.isCurrentUserFresh(TimeUnit.HOURS.toMillis(1)))
+        assertEquals("\"etag\"", mManager.currentUserETag)
+
+        mManager.updateUser(null)
+        assertNull(mManager.currentUserETag)
+        assertFalse(mManager.isCurrentUserFresh(TimeUnit.HOURS.toMillis(1)))
+    }
+
+    @Test
+    fun flushOnTheWriterThreadDoesntWaitForItself() {
+        val writer = AuthStateManager.createWriter("AuthStateManagerTest")
+        val manager = AuthStateManager(mContext, mGson, "AuthStateManagerTest", writer)
+        manager.setWriteBehind(true)
+        manager.updateUser(createUser(1))
+
+        writer.submit { manager.flush() }.get(5, TimeUnit.SECONDS)
+
+        val prefs = mContext.getSharedPreferences("AuthStateManagerTest", Context.MODE_PRIVATE)
+        assertEquals("user1", mGson.fromJson(prefs.getString("user", null), UserPrivate::class.java).id)
+        manager.clear()
+        writer.shutdown()
+    }
+
+    @Test
+    fun updatesAfterClearAreIgnored() {
+        val writer = AuthStateManager.createWriter("AuthStateManagerTest")
+        val manager = AuthStateManager(mContext, mGson, "AuthStateManagerTest", writer)
+        manager.updateUser(createUser(1))
+
+        manager.clear()
+        manager.setWriteBehind(true)
+        manager.updateUser(createUser(2))
+        manager.flush()
+
+        assertNull(manager.currentUser.id)
+        val prefs = mContext.getSharedPreferences("AuthStateManagerTest", Context.MODE_PRIVATE)
+        assertNull(prefs.getString("user", null))
+        writer.shutdown()
+    }
+
+    private fun createUser(index: Int): UserPrivate {
+        val user = UserPrivate()
+        user.id = "user$index"
+        user.display_name = "User $index"
+        return user
+    }
+}
@@ -0,0 +1,105 @@
+package com.pghaz.spotify.webapi.auth
+
+import android.content.Context
+import androidx.test.ext.junit.runners.AndroidJUnit4
+import androidx.test.platform.app.InstrumentationRegistry
+import com.google.gson.Gson
+import io.github.kaaes.spotify.webapi.core.models.UserPrivate
+import net.openid.appauth.AuthState
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNotSame
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+@RunWith(AndroidJUnit4::class)
+class AuthStateVaultTest {
+
+    companion object {
+        private val ACCOUNTS = listOf("vault-test-1", "vault-test-2", "vault-test/3")
+        private const val UPDATES = 50
+    }
+
+    private lateinit var mVault: AuthStateVault
+
+    @Before
+    fun setUp() {
+        mVault = AuthStateVault.getInstance(InstrumentationRegistry.getInstrumentation().targetContext, Gson())
+    }
+
+    @After
+    fun tearDown() {
+        for (accountId in ACCOUNTS) {
+            mVault.removeAccount(accountId)
+        }
+    }
+
+    @Test
+    fun accountsAreStoredSeparately() {
+        val executor = Executors.newFixedThreadPool(ACCOUNTS.size)
+        try {
+            val tasks = ACCOUNTS.map { accountId ->
+                Callable {
+                    val manager = mVault.getAuthStateManager(accountId)
+                    for (i in 0 until UPDATES) {
+                        manager.replaceState(AuthState())
+                        manager.updateUser(createUser(accountId))
+                    }
+                }
+            }
+            executor.invokeAll(tasks).forEach { it.get() }
+        } finally {
+            executor.shutdown()
+        }
+
+        assertTrue(mVault.accountIds.containsAll(ACCOUNTS))
+        for (accountId in ACCOUNTS) {
+            assertEquals(accountId, mVault.getAuthStateManager(accountId).currentUser.id)
+        }
+    }
+
+    @Test
+    fun sameManagerUntilRemoved() {
+        val manager = mVault.getAuthStateManager(ACCOUNTS[0])
+        assertSame(manager, mVault.getAuthStateManager(ACCOUNTS[0]))
+
+        manager.updateUser(createUser(ACCOUNTS[0]))
+        mVault.removeAccount(ACCOUNTS[0])
+
+        assertFalse(mVault.accountIds.contains(ACCOUNTS[0]))
+        assertNull(mVault.getAuthStateManager(ACCOUNTS[0]).currentUser.id)
+    }
+
+    @Test
+    fun removedManagerDoesntBringTheAccountBack() {
+        val removed = mVault.getAuthStateManager(ACCOUNTS[0])
+        removed.updateUser(createUser(ACCOUNTS[0]))
+        mVault.removeAccount(ACCOUNTS[0])
+        val manager = mVault.getAuthStateManager(ACCOUNTS[0])
+
+        removed.updateUser(createUser(ACCOUNTS[0]))
+        removed.setWriteBehind(true)
+        removed.replaceState(AuthState())
+        removed.updateUser(createUser(ACCOUNTS[0]))
+        removed.flush()
+
+        assertNotSame(removed, manager)
+        assertNull(manager.currentUser.id)
+        val prefs = InstrumentationRegistry.getInstrumentation().targetContext
+                .getSharedPreferences("AuthState." + ACCOUNTS[0], Context.MODE_PRIVATE)
+        assertNull(prefs.getString("user", null))
+    }
+
+    private fun createUser(accountId: String): UserPrivate {
+        val user = UserPrivate()
+        user.id = accountId
+        return user
+    }
+}
@@ -0,0 +1,81 @@
+package com.pghaz.spotify.webapi.auth
+
+import android.content.Intent
+import android.content.pm.ActivityInfo
+import android.content.pm.ResolveInfo
+import android.net.Uri
+import org.junit.Assert.assertTrue
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.Shadows.shadowOf
+import org.robolectric.annotation.Config
+
+/**
+ * Compares how long building the client blocks the calling thread on a cold start, with and
+ * without [SpotifyAuthorizationClient.Builder.setAsyncInitialization]. Results are printed,
+ * not asserted, since timings depend on the machine.
+ */
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [27])
+class InitializationBenchmarkTest {
+
+    companion object {
+        private const val CLIENT_ID = "client-id"
+        private const val REDIRECT_URI = "spotify-sdk-test://callback"
+        private const val ITERATIONS = 20
+    }
+
+    @Before
+    fun setUp() {
+        // Configuration rejects redirect URIs no activity handles
+        val context = RuntimeEnvironment.application
+        val redirectIntent = Intent(Intent.ACTION_VIEW, Uri.parse(REDIRECT_URI))
+                .setPackage(context.packageName)
+                .addCategory(Intent.CATEGORY_BROWSABLE)
+        val resolveInfo = ResolveInfo()
+        resolveInfo.activityInfo = ActivityInfo()
+        resolveInfo.activityInfo.packageName = context.packageName
+        resolveInfo.activityInfo.name = "RedirectUriReceiverActivity"
+        shadowOf(context.packageManager).addResolveInfoForIntent(redirectIntent, resolveInfo)
+    }
+
+    @Test
+    fun coldStart() {
+        // Load the classes involved once, so the first measured run isn't charged for it
+        build(false).onDestroy()
+
+        var synchronousNanos = 0L
+        var asyncReturnNanos = 0L
+        var asyncReadyNanos = 0L
+        for (i in 0 until ITERATIONS) {
+            Configuration.clearInstance()
+            val start = System.nanoTime()
+            val client = build(false)
+            synchronousNanos += System.nanoTime() - start
+            client.onDestroy()
+
+            Configuration.clearInstance()
+            val asyncStart = System.nanoTime()
+            val asyncClient = build(true)
+            asyncReturnNanos += System.nanoTime() - asyncStart
+            asyncClient.getReadyFuture().get()
+            asyncReadyNanos += System.nanoTime() - asyncStart
+            assertTrue(asyncClient.isReady())
+            asyncClient.onDestroy()
+        }
+
+        println(String.format("Build: synchronous %.2f ms, asynchronous %.3f ms (ready after %.2f ms)",
+                synchronousNanos / 1e6 / ITERATIONS, asyncReturnNanos / 1e6 / ITERATIONS,
+                asyncReadyNanos / 1e6 / ITERATIONS))
+    }
+
+    private fun build(asyncInitialization: Boolean): SpotifyAuthorizationClient {
+        return SpotifyAuthorizationClient.Builder(CLIENT_ID, REDIRECT_URI)
+                .setScopes(arrayOf("user-read-private"))
+                .setAsyncInitialization(asyncInitialization)
+                .build(RuntimeEnvironment.application)
+    }
+}
@@ -0,0 +1,266 @@
+package com.pghaz.spotify.webapi.auth;
+
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.AnyThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.WorkerThread;
+
+import net.openid.appauth.AuthState;
+import net.openid.appauth.AuthorizationException;
+import net.openid.appauth.AuthorizationService;
+import net.openid.appauth.ClientAuthentication;
+import net.openid.appauth.TokenRequest;
+import net.openid.appauth.TokenResponse;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import io.github.kaaes.spotify.webapi.retrofit.v2.RefreshableAccessTokenProvider;
+
+/**
+ * Keeps the access token of an {@link AuthStateManager} fresh.
+ * <p>
+ * A refresh is scheduled shortly before the token expires, and only one refresh runs at a
+ * time: requests that find the token expired, or get a 401 through
+ * {@code AccessTokenAuthenticator}, wait for the refresh in flight instead of starting another.
+ * <p>
+ * Hand it to the Retrofit 2 client so requests always carry a fresh token:
+ * SpotifyClient client = new SpotifyClient.Builder()
+ * .setAccessTokenProvider(authorizationClient.getAccessTokenManager())
+ * .build();
+ */
+public class AccessTokenManager implements RefreshableAccessTokenProvider {
+
+    private static final String TAG = "AccessTokenManager";
+
+    /**
+     * How long before the expiration time the token is refreshed in the background.
+     * Kept above the one minute tolerance of {@link AuthState#getNeedsTokenRefresh()} so
+     * requests don't have to wait for the refresh.
+     */
+    private static final long REFRESH_AHEAD_MS = TimeUnit.MINUTES.toMillis(2);
+    private static final long REFRESH_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(30);
+
+    public interface Listener {
+        void onRefreshStarted();
+
+        /**
+         * @param ex {@code null} if the token was refreshed
+         */
+        void onRefreshFinished(@Nullable TokenResponse response, @Nullable AuthorizationException ex);
+    }
+
+    private final AuthStateManager mAuthStateManager;
+    private final AuthorizationService mAuthService;
+    private final Listener mListener;
+    private final ScheduledExecutorService mScheduler;
+    private final boolean mOwnsScheduler;
+
+    private final Object mLock = new Object();
+    private Refresh mInFlight;
+    private ScheduledFuture<?> mScheduledRefresh;
+    private boolean mStopped;
+
+    public AccessTokenManager(@NonNull AuthStateManager authStateManager,
+                              @NonNull AuthorizationService authService,
+                              @Nullable Listener listener) {
+        this(authStateManager, authService, listener, createScheduler(), true);
+    }
+
+    /**
+     * @param scheduler Runs the scheduled refreshes, shut down by {@link #stop()} if owned
+     */
+    AccessTokenManager(@NonNull AuthStateManager authStateManager,
+                       @NonNull AuthorizationService authService,
+                       @Nullable Listener listener,
+                       @NonNull ScheduledExecutorService scheduler,
+                       boolean ownsScheduler) {
+        mAuthStateManager = authStateManager;
+        mAuthService = authService;
+        mListener = listener;
+        mScheduler = scheduler;
+        mOwnsScheduler = ownsScheduler;
+    }
+
+    static ScheduledExecutorService createScheduler() {
+        return Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(@NonNull Runnable runnable) {
+                Thread thread = new Thread(runnable, TAG);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Returns the current token. When it is about to expire and this isn't the main thread,
+     * waits for it to be refreshed first.
+     */
+    @AnyThread
+    @Nullable
+    @Override
+    public String getAccessToken() {
+        AuthState state = mAuthStateManager.getCurrentState();
+        if (state.getNeedsTokenRefresh() && state.getRefreshToken() != null
+                && Looper.myLooper() != Looper.getMainLooper()) {
+            try {
+                return refreshAccessToken(state.getAccessToken());
+            } catch (IOException e) {
+                Log.w(TAG, "Token refresh failed, sending the current token", e);
+            }
+        }
+        return state.getAccessToken();
+    }
+
+    @WorkerThread
+    @Nullable
+    @Override
+    public String refreshAccessToken(@Nullable String rejectedAccessToken) throws IOException {
+        AuthState state = mAuthStateManager.getCurrentState();
+        String accessToken = state.getAccessToken();
+        if (accessToken != null && !accessToken.equals(rejectedAccessToken) && !state.getNeedsTokenRefresh()) {
+            // Refreshed since the rejected request was sent
+            return accessToken;
+        }
+
+        Refresh refresh = refresh();
+        try {
+            if (!refresh.mDone.await(REFRESH_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new InterruptedIOException("Timed out waiting for the token refresh");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the token refresh");
+        }
+        if (refresh.mError != null) {
+            throw new IOException("Token refresh failed", refresh.mError);
+        }
+        return refresh.mAccessToken;
+    }
+
+    /**
+     * Starts refreshing the token unless a refresh is already running.
+     */
+    @AnyThread
+    public void refreshAccessToken() {
+        refresh();
+    }
+
+    /**
+     * Schedules the next refresh from the expiration time of the current token. Called after
+     * every refresh, call it again when the state was replaced, e.g. after authorization.
+     */
+    @AnyThread
+    public void scheduleRefresh() {
+        AuthState state = mAuthStateManager.getCurrentState();
+        Long expirationTime = state.getAccessTokenExpirationTime();
+
+        synchronized (mLock) {
+            if (mScheduledRefresh != null) {
+                mScheduledRefresh.cancel(false);
+                mScheduledRefresh = null;
+            }
+            if (mStopped || expirationTime == null || state.getRefreshToken() == null) {
+                return;
+            }
+            long delay = Math.max(0, expirationTime - REFRESH_AHEAD_MS - System.currentTimeMillis());
+            mScheduledRefresh = mScheduler.schedule(new Runnable() {
+                @Override
+                public void run() {
+                    refresh();
+                }
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Cancels the scheduled refresh and stops the scheduler unless it is shared.
+     * Refreshes already running complete.
+     */
+    @AnyThread
+    public void stop() {
+        synchronized (mLock) {
+            mStopped = true;
+            if (mScheduledRefresh != null) {
+                mScheduledRefresh.cancel(false);
+                mScheduledRefresh = null;
+            }
+        }
+        if (mOwnsScheduler) {
+            mScheduler.shutdown();
+        }
+    }
+
+    private Refresh refresh() {
+        Refresh refresh;
+        synchronized (mLock) {
+            if (mInFlight != null) {
+                return mInFlight;
+            }
+            refresh = new Refresh();
+            mInFlight = refresh;
+        }
+
+        if (mListener != null) {
+            mListener.onRefreshStarted();
+        }
+
+        final Refresh started = refresh;
+        try {
+            AuthState state = mAuthStateManager.getCurrentState();
+            TokenRequest request = state.createTokenRefreshRequest();
+            ClientAuthentication clientAuthentication = state.getClientAuthentication();
+            mAuthService.performTokenRequest(request, clientAuthentication, new AuthorizationService.TokenResponseCallback() {
+                @Override
+                public void onTokenRequestCompleted(@Nullable TokenResponse response, @Nullable AuthorizationException ex) {
+                    finish(started, response, ex);
+                }
+            });
+        } catch (ClientAuthentication.UnsupportedAuthenticationMethod | RuntimeException e) {
+            // No refresh token or a client authentication AppAuth doesn't support
+            Log.e(TAG, "Token refresh request can't be made", e);
+            synchronized (mLock) {
+                mInFlight = null;
+            }
+            started.mError = e;
+            started.mDone.countDown();
+            if (mListener != null) {
+                mListener.onRefreshFinished(null,
+                        AuthorizationException.fromTemplate(AuthorizationException.TokenRequestErrors.CLIENT_ERROR, e));
+            }
+        }
+        return started;
+    }
+
+    private void finish(Refresh refresh, @Nullable TokenResponse response, @Nullable AuthorizationException ex) {
+        AuthState state = mAuthStateManager.updateAfterTokenResponse(response, ex);
+
+        synchronized (mLock) {
+            mInFlight = null;
+        }
+        refresh.mAccessToken = state.getAccessToken();
+        refresh.mError = ex;
+        refresh.mDone.countDown();
+
+        scheduleRefresh();
+        if (mListener != null) {
+            mListener.onRefreshFinished(response, ex);
+        }
+    }
+
+    private static class Refresh {
+        final CountDownLatch mDone = new CountDownLatch(1);
+        volatile String mAccessToken;
+        volatile Exception mError;
+    }
+}
@@ -33,6 +33,12 @@ import net.openid.appauth.TokenResponse;
 import org.json.JSONException;
 
 import java.lang.ref.WeakReference;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -42,6 +48,10 @@ import io.github.kaaes.spotify.webapi.core.models.UserPrivate;
  * An example persistence mechanism for an {@link AuthState} instance.
  * This stores the instance in a shared preferences file, and provides thread-safe access and
  * mutation.
+ * <p>
+ * In write-behind mode, see {@link #setWriteBehind(boolean)}, updates are visible right away
+ * and written by a background thread, which folds a burst of updates into a single write.
+ * Call {@link #flush()} where pending updates must reach the disk.
  */
 public class AuthStateManager {
 
@@ -53,30 +63,87 @@ public class AuthStateManager {
     private static final String STORE_NAME = "AuthState";
     private static final String KEY_STATE = "state";
     private static final String KEY_USER = "user";
+    private static final String KEY_USER_ETAG = "user_etag";
+    private static final String KEY_USER_FETCHED_AT = "user_fetched_at";
 
     private final Gson mGson;
     private final SharedPreferences mPrefs;
     private final ReentrantLock mPrefsLock;
     private final AtomicReference<AuthState> mCurrentAuthState;
-    private final AtomicReference<UserPrivate> mCurrentUser;
-
-    private AuthStateManager(Context context, Gson gson) {
-        mPrefs = context.getSharedPreferences(STORE_NAME, Context.MODE_PRIVATE);
+    private final AtomicReference<CachedUser> mCurrentUser;
+
+    private final ExecutorService mWriter;
+    private final AtomicBoolean mStateDirty = new AtomicBoolean();
+    private final AtomicBoolean mUserDirty = new AtomicBoolean();
+    private final AtomicBoolean mWriteScheduled = new AtomicBoolean();
+    private volatile boolean mWriteBehind;
+
+    /**
+     * Set once the stored state is removed, see {@link #clear()}. Checked under the prefs lock
+     * before every update and write so a late update can't bring the removed state back.
+     */
+    private volatile boolean mClosed;
+
+    private final Runnable mWriteTask = new Runnable() {
+        @Override
+        public void run() {
+            mWriteScheduled.set(false);
+            writePending();
+        }
+    };
+
+    /**
+     * @param storeName Name of the shared preferences file holding this state
+     * @param writer    Single thread executor running the write-behind writes, may be shared
+     */
+    AuthStateManager(Context context, Gson gson, String storeName, ExecutorService writer) {
+        mPrefs = context.getSharedPreferences(storeName, Context.MODE_PRIVATE);
         mPrefsLock = new ReentrantLock();
         mCurrentAuthState = new AtomicReference<>();
         mCurrentUser = new AtomicReference<>();
         mGson = gson;
+        mWriter = writer;
     }
 
     @AnyThread
     public static AuthStateManager getInstance(@NonNull Context context, @NonNull Gson gson) {
-        AuthStateManager manager = INSTANCE_REF.get().get();
-        if (manager == null) {
-            manager = new AuthStateManager(context.getApplicationContext(), gson);
-            INSTANCE_REF.set(new WeakReference<>(manager));
+        while (true) {
+            WeakReference<AuthStateManager> reference = INSTANCE_REF.get();
+            AuthStateManager manager = reference.get();
+            if (manager != null) {
+                return manager;
+            }
+
+            // Only the thread that installs its instance returns it, so two callers
+            // never end up with separate managers writing the same file
+            manager = new AuthStateManager(context.getApplicationContext(), gson, STORE_NAME, createWriter(TAG));
+            if (INSTANCE_REF.compareAndSet(reference, new WeakReference<>(manager))) {
+                return manager;
+            }
         }
+    }
+
+    /**
+     * Creates the executor for write-behind writes. Its thread is only started by the first write.
+     */
+    static ExecutorService createWriter(final String name) {
+        return Executors.newSingleThreadExecutor(new ThreadFactory() {
+            @Override
+            public Thread newThread(@NonNull Runnable runnable) {
+                Thread thread = new WriterThread(runnable, name);
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
 
-        return manager;
+    /**
+     * Marks the threads of {@link #createWriter(String)}, so {@link #flush()} doesn't wait on itself.
+     */
+    private static final class WriterThread extends Thread {
+        WriterThread(Runnable runnable, String name) {
+            super(runnable, name);
+        }
     }
 
     @AnyThread
@@ -94,11 +161,63 @@ public class AuthStateManager {
         }
     }
 
+    /**
+     * When enabled, updates return without waiting for the disk and are written in the
+     * background. Disabling it writes pending updates before returning.
+     */
+    @AnyThread
+    public void setWriteBehind(boolean writeBehind) {
+        mWriteBehind = writeBehind;
+        if (!writeBehind) {
+            flush();
+        }
+    }
+
+    @AnyThread
+    public boolean isWriteBehind() {
+        return mWriteBehind;
+    }
+
+    /**
+     * Blocks until the updates made so far are written. Does nothing unless in write-behind mode.
+     * On a writer thread, which may be shared by several managers, they are written right away.
+     */
+    @AnyThread
+    public void flush() {
+        if (Thread.currentThread() instanceof WriterThread) {
+            // A write queued behind the running task would never run while this thread waits for it
+            writePending();
+            return;
+        }
+        Future<?> written = mWriter.submit(mWriteTask);
+        try {
+            written.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            Log.e(TAG, "Failed to write auth state", e.getCause());
+        }
+    }
+
     @AnyThread
     @NonNull
     public AuthState replaceState(@NonNull AuthState state) {
-        writeState(state);
-        mCurrentAuthState.set(state);
+        mPrefsLock.lock();
+        try {
+            if (mClosed) {
+                Log.w(TAG, "Ignoring update of removed auth state");
+                return state;
+            }
+            if (mWriteBehind) {
+                mCurrentAuthState.set(state);
+                scheduleWrite(mStateDirty);
+            } else {
+                writeState(state);
+                mCurrentAuthState.set(state);
+            }
+        } finally {
+            mPrefsLock.unlock();
+        }
         return state;
     }
 
@@ -106,7 +225,9 @@ public class AuthStateManager {
     @NonNull
     public AuthState updateAfterAuthorization(@Nullable AuthorizationResponse response, @Nullable AuthorizationException ex) {
         AuthState current = getCurrentState();
-        current.update(response, ex);
+        synchronized (current) {
+            current.update(response, ex);
+        }
         return replaceState(current);
     }
 
@@ -114,10 +235,50 @@ public class AuthStateManager {
     @NonNull
     public AuthState updateAfterTokenResponse(@Nullable TokenResponse response, @Nullable AuthorizationException ex) {
         AuthState current = getCurrentState();
-        current.update(response, ex);
+        synchronized (current) {
+            current.update(response, ex);
+        }
         return replaceState(current);
     }
 
+    private void scheduleWrite(AtomicBoolean dirty) {
+        dirty.set(true);
+        if (mWriteScheduled.compareAndSet(false, true)) {
+            mWriter.execute(mWriteTask);
+        }
+    }
+
+    /**
+     * Writes the latest state and user if they changed since the last write, in one commit.
+     */
+    private void writePending() {
+        boolean stateDirty = mStateDirty.getAndSet(false);
+        boolean userDirty = mUserDirty.getAndSet(false);
+        if (!stateDirty && !userDirty) {
+            return;
+        }
+
+        mPrefsLock.lock();
+        try {
+            if (mClosed) {
+                return;
+            }
+            SharedPreferences.Editor editor = mPrefs.edit();
+            if (stateDirty) {
+                putState(editor, mCurrentAuthState.get());
+            }
+            if (userDirty) {
+                putUser(editor, mCurrentUser.get());
+            }
+
+            if (!editor.commit()) {
+                Log.e(TAG, "Failed to write state to shared prefs");
+            }
+        } finally {
+            mPrefsLock.unlock();
+        }
+    }
+
     @AnyThread
     @NonNull
     private AuthState readState() {
@@ -143,12 +304,11 @@ public class AuthStateManager {
     private void writeState(@Nullable AuthState state) {
         mPrefsLock.lock();
         try {
-            SharedPreferences.Editor editor = mPrefs.edit();
-            if (state == null) {
-                editor.remove(KEY_STATE);
-            } else {
-                editor.putString(KEY_STATE, state.jsonSerializeString());
+            if (mClosed) {
+                return;
             }
+            SharedPreferences.Editor editor = mPrefs.edit();
+            putState(editor, state);
 
             if (!editor.commit()) {
                 throw new IllegalStateException("Failed to write state to shared prefs");
@@ -158,14 +318,83 @@ public class AuthStateManager {
         }
     }
 
+    private static void putState(SharedPreferences.Editor editor, @Nullable AuthState state) {
+        if (state == null) {
+            editor.remove(KEY_STATE);
+        } else {
+            String json;
+            synchronized (state) {
+                json = state.jsonSerializeString();
+            }
+            editor.putString(KEY_STATE, json);
+        }
+    }
+
     @AnyThread
     @NonNull
     public UserPrivate getCurrentUser() {
+        return getCachedUser().mUser;
+    }
+
+    /**
+     * @return The {@code ETag} the current user was served with, {@code null} if unknown
+     */
+    @AnyThread
+    @Nullable
+    public String getCurrentUserETag() {
+        return getCachedUser().mETag;
+    }
+
+    /**
+     * @param maxAgeMs How long a fetched user stays fresh
+     * @return Whether the current user was fetched or revalidated less than {@code maxAgeMs} ago
+     */
+    @AnyThread
+    public boolean isCurrentUserFresh(long maxAgeMs) {
+        CachedUser cachedUser = getCachedUser();
+        return cachedUser.mFetchedAt > 0
+                && System.currentTimeMillis() - cachedUser.mFetchedAt < maxAgeMs;
+    }
+
+    /**
+     * Replaces the user. Its freshness is unknown, see {@link #updateFetchedUser(UserPrivate, String)}.
+     */
+    @AnyThread
+    @Nullable
+    public UserPrivate updateUser(@Nullable UserPrivate user) {
+        setCachedUser(user != null ? new CachedUser(user, null, 0) : CachedUser.removed());
+        return user;
+    }
+
+    /**
+     * Replaces the user with one just fetched from the API.
+     *
+     * @param eTag The {@code ETag} of the response, sent back to revalidate the user
+     */
+    @AnyThread
+    @NonNull
+    public UserPrivate updateFetchedUser(@NonNull UserPrivate user, @Nullable String eTag) {
+        setCachedUser(new CachedUser(user, eTag, System.currentTimeMillis()));
+        return user;
+    }
+
+    /**
+     * Marks the current user as fetched now, after the API answered {@code 304 Not Modified}.
+     */
+    @AnyThread
+    @NonNull
+    public UserPrivate revalidateUser() {
+        CachedUser cachedUser = getCachedUser();
+        setCachedUser(new CachedUser(cachedUser.mUser, cachedUser.mETag, System.currentTimeMillis()));
+        return cachedUser.mUser;
+    }
+
+    private CachedUser getCachedUser() {
         if (mCurrentUser.get() != null) {
             return mCurrentUser.get();
         }
 
-        UserPrivate user = readUser();
+        CachedUser user = readUser();
         if (mCurrentUser.compareAndSet(null, user)) {
             return user;
         } else {
@@ -173,29 +402,42 @@ public class AuthStateManager {
         }
     }
 
-    @AnyThread
-    @Nullable
-    public UserPrivate updateUser(@Nullable UserPrivate user) {
-        writeUser(user);
-        mCurrentUser.set(user);
-        return user;
+    private void setCachedUser(@NonNull CachedUser user) {
+        mPrefsLock.lock();
+        try {
+            if (mClosed) {
+                Log.w(TAG, "Ignoring update of removed user");
+                return;
+            }
+            if (mWriteBehind) {
+                mCurrentUser.set(user);
+                scheduleWrite(mUserDirty);
+            } else {
+                writeUser(user);
+                mCurrentUser.set(user);
+            }
+        } finally {
+            mPrefsLock.unlock();
+        }
     }
 
     @AnyThread
     @NonNull
-    private UserPrivate readUser() {
+    private CachedUser readUser() {
         mPrefsLock.lock();
         try {
             String currentUser = mPrefs.getString(KEY_USER, null);
             if (currentUser == null) {
-                return new UserPrivate();
+                return new CachedUser(new UserPrivate(), null, 0);
             }
 
             try {
-                return mGson.fromJson(currentUser, UserPrivate.class);
+                return new CachedUser(mGson.fromJson(currentUser, UserPrivate.class),
+                        mPrefs.getString(KEY_USER_ETAG, null),
+                        mPrefs.getLong(KEY_USER_FETCHED_AT, 0));
             } catch (JsonSyntaxException ex) {
                 Log.w(TAG, "Failed to deserialize stored auth state - discarding");
-                return new UserPrivate();
+                return new CachedUser(new UserPrivate(), null, 0);
             }
         } finally {
             mPrefsLock.unlock();
@@ -203,15 +445,14 @@ public class AuthStateManager {
     }
 
     @AnyThread
-    private void writeUser(@Nullable UserPrivate user) {
+    private void writeUser(@NonNull CachedUser user) {
         mPrefsLock.lock();
         try {
-            SharedPreferences.Editor editor = mPrefs.edit();
-            if (user == null) {
-                editor.remove(KEY_USER);
-            } else {
-                editor.putString(KEY_USER, mGson.toJson(user));
+            if (mClosed) {
+                return;
             }
+            SharedPreferences.Editor editor = mPrefs.edit();
+            putUser(editor, user);
 
             if (!editor.commit()) {
                 throw new IllegalStateException("Failed to write state to shared prefs");
@@ -220,4 +461,67 @@ public class AuthStateManager {
             mPrefsLock.unlock();
         }
     }
+
+    private void putUser(SharedPreferences.Editor editor, @Nullable CachedUser user) {
+        if (user == null || user.mRemoved) {
+            editor.remove(KEY_USER);
+            editor.remove(KEY_USER_ETAG);
+            editor.remove(KEY_USER_FETCHED_AT);
+        } else {
+            editor.putString(KEY_USER, mGson.toJson(user.mUser));
+            editor.putString(KEY_USER_ETAG, user.mETag);
+            editor.putLong(KEY_USER_FETCHED_AT, user.mFetchedAt);
+        }
+    }
+
+    /**
+     * Writes pending updates, then removes the state and user from disk and memory. The manager
+     * is closed afterwards, later updates are ignored.
+     */
+    @AnyThread
+    void clear() {
+        setWriteBehind(false);
+
+        mPrefsLock.lock();
+        try {
+            mClosed = true;
+            if (!mPrefs.edit().clear().commit()) {
+                throw new IllegalStateException("Failed to write state to shared prefs");
+            }
+            mCurrentAuthState.set(null);
+            mCurrentUser.set(null);
+        } finally {
+            mPrefsLock.unlock();
+        }
+    }
+
+    /**
+     * A user with the validator and time of the response it came from.
+     */
+    private static final class CachedUser {
+        final UserPrivate mUser;
+        final String mETag;
+        final long mFetchedAt;
+
+        /**
+         * Whether the user was removed, kept in memory so reading it back before the
+         * removal is written doesn't go to the disk
+         */
+        final boolean mRemoved;
+
+        CachedUser(UserPrivate user, String eTag, long fetchedAt) {
+            this(user, eTag, fetchedAt, false);
+        }
+
+        private CachedUser(UserPrivate user, String eTag, long fetchedAt, boolean removed) {
+            mUser = user;
+            mETag = eTag;
+            mFetchedAt = fetchedAt;
+            mRemoved = removed;
+        }
+
+        static CachedUser removed() {
+            return new CachedUser(new UserPrivate(), null, 0, true);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,169 @@
+package com.pghaz.spotify.webapi.auth;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.net.Uri;
+
+import androidx.annotation.AnyThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+
+import net.openid.appauth.AuthState;
+import net.openid.appauth.AuthorizationService;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+import io.github.kaaes.spotify.webapi.core.models.UserPrivate;
+
+/**
+ * Stores the {@link AuthState} and {@link UserPrivate} of several accounts, keyed on an
+ * account id chosen by the app, e.g. the Spotify user id.
+ * <p>
+ * Every account gets its own {@link AuthStateManager} and preferences file, loaded the first
+ * time it is asked for. Accounts don't share locks, so storing the state of one account never
+ * waits for another.
+ * <p>
+ * The token requests themselves don't run concurrently: AppAuth sends them as an
+ * {@code AsyncTask} with {@code execute()}, which runs on the process-wide serial executor. The
+ * refreshes of different accounts, and any other {@code AsyncTask} of the app, run one at a time.
+ * <p>
+ * Basic usage:
+ * AuthStateManager manager = AuthStateVault.getInstance(context, gson).getAuthStateManager(userId);
+ */
+public class AuthStateVault {
+
+    private static final String TAG = "AuthStateVault";
+
+    private static final String INDEX_STORE_NAME = "AuthStateVault";
+    private static final String ACCOUNT_STORE_PREFIX = "AuthState.";
+    private static final String KEY_ACCOUNTS = "accounts";
+
+    private static AuthStateVault sInstance;
+
+    private final Context mContext;
+    private final Gson mGson;
+    private final SharedPreferences mIndex;
+    private final Object mIndexLock = new Object();
+    private final ConcurrentMap<String, AuthStateManager> mManagers = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the write-behind writes of all accounts, one thread is enough for preferences commits
+     */
+    private final ExecutorService mWriter = AuthStateManager.createWriter(TAG);
+
+    /**
+     * Starts the scheduled refreshes of all accounts. The token requests then run one at a time
+     * on the {@code AsyncTask} serial executor, see the class documentation.
+     */
+    private final ScheduledExecutorService mScheduler = AccessTokenManager.createScheduler();
+
+    private AuthStateVault(Context context, Gson gson) {
+        mContext = context;
+        mGson = gson;
+        mIndex = context.getSharedPreferences(INDEX_STORE_NAME, Context.MODE_PRIVATE);
+    }
+
+    @AnyThread
+    public static synchronized AuthStateVault getInstance(@NonNull Context context, @NonNull Gson gson) {
+        if (sInstance == null) {
+            sInstance = new AuthStateVault(context.getApplicationContext(), gson);
+        }
+        return sInstance;
+    }
+
+    /**
+     * @return The ids of the accounts stored so far
+     */
+    @AnyThread
+    @NonNull
+    public Set<String> getAccountIds() {
+        synchronized (mIndexLock) {
+            return Collections.unmodifiableSet(readAccountIds());
+        }
+    }
+
+    /**
+     * Returns the manager of an account, creating the account if it doesn't exist yet.
+     * The same instance is returned for an account until it is removed.
+     */
+    @AnyThread
+    @NonNull
+    public AuthStateManager getAuthStateManager(@NonNull String accountId) {
+        AuthStateManager manager = mManagers.get(accountId);
+        if (manager != null) {
+            return manager;
+        }
+
+        synchronized (mIndexLock) {
+            manager = mManagers.get(accountId);
+            if (manager == null) {
+                Set<String> accountIds = readAccountIds();
+                if (!accountIds.contains(accountId)) {
+                    accountIds.add(accountId);
+                    writeAccountIds(accountIds);
+                }
+                manager = new AuthStateManager(mContext, mGson, getStoreName(accountId), mWriter);
+                mManagers.put(accountId, manager);
+            }
+            return manager;
+        }
+    }
+
+    /**
+     * Creates a token manager for an account. Token managers of the vault share one scheduler,
+     * their {@link AccessTokenManager#stop()} only cancels their own refresh. Their token
+     * requests are serialized with those of every other account by {@code authService}, see the
+     * class documentation.
+     */
+    @AnyThread
+    @NonNull
+    public AccessTokenManager createAccessTokenManager(@NonNull String accountId,
+                                                       @NonNull AuthorizationService authService,
+                                                       @Nullable AccessTokenManager.Listener listener) {
+        return new AccessTokenManager(getAuthStateManager(accountId), authService, listener, mScheduler, false);
+    }
+
+    /**
+     * Deletes the stored state and user of an account. Stop its {@link AccessTokenManager} first.
+     * Managers handed out for the account so far ignore updates from then on, ask for a new one
+     * to store the account again.
+     */
+    @AnyThread
+    public void removeAccount(@NonNull String accountId) {
+        synchronized (mIndexLock) {
+            AuthStateManager manager = mManagers.remove(accountId);
+            if (manager == null) {
+                manager = new AuthStateManager(mContext, mGson, getStoreName(accountId), mWriter);
+            }
+            manager.clear();
+
+            Set<String> accountIds = readAccountIds();
+            if (accountIds.remove(accountId)) {
+                writeAccountIds(accountIds);
+            }
+        }
+    }
+
+    private Set<String> readAccountIds() {
+        // The returned set must not be modified, see SharedPreferences#getStringSet
+        return new HashSet<>(mIndex.getStringSet(KEY_ACCOUNTS, Collections.<String>emptySet()));
+    }
+
+    private void writeAccountIds(Set<String> accountIds) {
+        if (!mIndex.edit().putStringSet(KEY_ACCOUNTS, accountIds).commit()) {
+            throw new IllegalStateException("Failed to write accounts to shared prefs");
+        }
+    }
+
+    private static String getStoreName(String accountId) {
+        return ACCOUNT_STORE_PREFIX + Uri.encode(accountId);
+    }
+}
@@ -25,6 +25,7 @@ import android.util.Base64;
 import androidx.annotation.ColorInt;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
+import androidx.annotation.VisibleForTesting;
 
 import net.openid.appauth.connectivity.ConnectionBuilder;
 import net.openid.appauth.connectivity.DefaultConnectionBuilder;
@@ -33,10 +34,10 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.io.IOException;
-import java.lang.ref.WeakReference;
 import java.nio.charset.Charset;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
 
 import okio.Buffer;
 import okio.BufferedSource;
@@ -47,6 +48,9 @@ import okio.Okio;
  * Reads and validates the app configuration from `res/raw/auth_config.json`.
  * Configuration changes are detected by comparing the hash of the last known configuration to the read
  * configuration. When a configuration change is detected, the app state is reset.
+ * <p>
+ * Reading and hashing the configuration touches resources, the package manager and the disk,
+ * so the instance is kept for the process and only created again for different arguments.
  */
 public final class Configuration {
 
@@ -55,13 +59,15 @@ public final class Configuration {
     private static final String PREFS_NAME = "config";
     private static final String KEY_LAST_HASH = "lastHash";
 
-    private static WeakReference<Configuration> sInstance = new WeakReference<>(null);
+    private static Configuration sInstance;
 
     private final Context mContext;
     private final SharedPreferences mPrefs;
     private final Resources mResources;
+    private final String mInstanceKey;
     private JSONObject mConfigJson;
     private String mConfigHash;
+    private volatile String mLastKnownConfigHash;
     private String mConfigError;
     private String mClientId;
     private String mScope;
@@ -77,6 +83,7 @@ public final class Configuration {
         mContext = context;
         mPrefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
         mResources = context.getResources();
+        mInstanceKey = getInstanceKey(clientId, redirectUri, scopes, colorResId);
 
         try {
             readConfiguration(clientId, redirectUri, scopes, colorResId);
@@ -85,14 +92,22 @@ public final class Configuration {
         }
     }
 
-    public static Configuration getInstance(Context context, String clientId, String redirectUri, String[] scopes, @ColorInt int colorResId) {
-        Configuration config = sInstance.get();
-        if (config == null) {
-            config = new Configuration(context, clientId, redirectUri, scopes, colorResId);
-            sInstance = new WeakReference<>(config);
+    public static synchronized Configuration getInstance(Context context, String clientId, String redirectUri, String[] scopes, @ColorInt int colorResId) {
+        String key = getInstanceKey(clientId, redirectUri, scopes, colorResId);
+        if (sInstance == null || !sInstance.mInstanceKey.equals(key) || !sInstance.isValid()) {
+            sInstance = new Configuration(context.getApplicationContext(), clientId, redirectUri, scopes, colorResId);
         }
 
-        return config;
+        return sInstance;
+    }
+
+    @VisibleForTesting
+    static synchronized void clearInstance() {
+        sInstance = null;
+    }
+
+    private static String getInstanceKey(String clientId, String redirectUri, String[] scopes, @ColorInt int colorResId) {
+        return clientId + '\n' + redirectUri + '\n' + Arrays.toString(scopes) + '\n' + colorResId;
     }
 
     /**
@@ -119,7 +134,12 @@ public final class Configuration {
     }
 
     private String getLastKnownConfigHash() {
-        return mPrefs.getString(KEY_LAST_HASH, null);
+        String lastHash = mLastKnownConfigHash;
+        if (lastHash == null) {
+            lastHash = mPrefs.getString(KEY_LAST_HASH, null);
+            mLastKnownConfigHash = lastHash;
+        }
+        return lastHash;
     }
 
     /**
@@ -127,6 +147,7 @@ public final class Configuration {
      * configuration.
      */
     protected void acceptConfiguration() {
+        mLastKnownConfigHash = mConfigHash;
         mPrefs.edit().putString(KEY_LAST_HASH, mConfigHash).apply();
     }
 
@@ -21,5 +21,7 @@ object SpotifyAuthorizationCallback {
         fun onRefreshAccessTokenStarted()
 
         fun onRefreshAccessTokenSucceed(tokenResponse: TokenResponse?, user: UserPrivate?)
+
+        fun onRefreshAccessTokenFailed(error: String?)
     }
 }
\ No newline at end of file
@@ -14,11 +14,14 @@ import android.util.Log
 import androidx.annotation.ColorInt
 import androidx.annotation.MainThread
 import androidx.annotation.Nullable
+import androidx.annotation.VisibleForTesting
 import androidx.annotation.WorkerThread
 import androidx.browser.customtabs.CustomTabsIntent
 import androidx.fragment.app.Fragment
 import com.google.gson.Gson
+import com.google.gson.JsonParseException
 import io.github.kaaes.spotify.webapi.core.models.UserPrivate
+import io.github.kaaes.spotify.webapi.retrofit.v2.Spotify
 import net.openid.appauth.*
 import net.openid.appauth.AuthorizationService.TokenResponseCallback
 import net.openid.appauth.ClientAuthentication.UnsupportedAuthenticationMethod
@@ -26,22 +29,32 @@ import net.openid.appauth.browser.AnyBrowserMatcher
 import net.openid.appauth.browser.BrowserAllowList
 import net.openid.appauth.browser.BrowserMatcher
 import net.openid.appauth.browser.VersionedBrowserMatcher
-import okio.Okio
-import org.json.JSONException
+import okhttp3.Call
+import okhttp3.Callback
+import okhttp3.HttpUrl
+import okhttp3.OkHttpClient
+import okhttp3.Request
+import okhttp3.Response
 import java.io.IOException
 import java.net.HttpURLConnection
-import java.net.MalformedURLException
-import java.net.URL
-import java.nio.charset.Charset
+import java.util.concurrent.Callable
+import java.util.concurrent.CancellationException
 import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
 import java.util.concurrent.ExecutorService
 import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import java.util.concurrent.FutureTask
+import java.util.concurrent.TimeUnit
 import java.util.concurrent.atomic.AtomicReference
 
 class SpotifyAuthorizationClient private constructor(context: Context, clientId: String,
                                                      redirectUri: String, scopes: Array<String?>,
                                                      @ColorInt colorInt: Int,
-                                                     private var fetchUserAfterAuthorization: Boolean) {
+                                                     private var fetchUserAfterAuthorization: Boolean,
+                                                     writeBehindPersistence: Boolean,
+                                                     private val userCacheTtlMs: Long,
+                                                     asyncInitialization: Boolean) {
     companion object {
         private const val TAG = "SpotifyAuthClient"
 
@@ -58,6 +71,19 @@ class SpotifyAuthorizationClient private constructor(context: Context, clientId:
         private const val ANDROID_SDK = "android-sdk"
         private const val DEFAULT_CAMPAIGN = "android-sdk"
 
+        private val DEFAULT_USER_CACHE_TTL_MS = TimeUnit.HOURS.toMillis(1)
+
+        /**
+         * Runs asynchronous initializations, see [Builder.setAsyncInitialization]. Single
+         * threaded, so a task submitted after an initialization runs once it completed.
+         */
+        @VisibleForTesting
+        internal val INIT_EXECUTOR: ExecutorService = Executors.newSingleThreadExecutor { runnable ->
+            val thread = Thread(runnable, TAG)
+            thread.isDaemon = true
+            thread
+        }
+
         internal object PlayStoreParams {
             const val ID = "id"
             const val REFERRER = "referrer"
@@ -135,6 +161,9 @@ class SpotifyAuthorizationClient private constructor(context: Context, clientId:
         private var mScopes: Array<String?> = emptyArray()
         private var mCustomTabColor: Int = Color.BLACK
         private var mFetchUserAfterAuthorization: Boolean = false
+        private var mWriteBehindPersistence: Boolean = false
+        private var mUserCacheTtlMs: Long = DEFAULT_USER_CACHE_TTL_MS
+        private var mAsyncInitialization: Boolean = false
 
         init {
             requireNotNull(clientId) { "Client ID can't be null" }
@@ -158,9 +187,43 @@ class SpotifyAuthorizationClient private constructor(context: Context, clientId:
             return this
         }
 
+        /**
+         * Persists authorization state and user in the background instead of on the calling
+         * thread. Call [SpotifyAuthorizationClient.flushAuthState] where they must be on disk.
+         */
+        fun setWriteBehindPersistence(writeBehindPersistence: Boolean): Builder {
+            mWriteBehindPersistence = writeBehindPersistence
+            return this
+        }
+
+        /**
+         * Sets how long [SpotifyAuthorizationClient.fetchUser] serves the stored user without
+         * asking the API again. Defaults to one hour, 0 always asks. Past that, the user is
+         * revalidated with its `ETag` and only downloaded again if it changed.
+         */
+        fun setUserCacheTtl(duration: Long, unit: TimeUnit): Builder {
+            mUserCacheTtlMs = unit.toMillis(duration)
+            return this
+        }
+
+        /**
+         * Makes [build] return right away and read the configuration, the stored state and
+         * create the authorization service on a background thread, see
+         * [SpotifyAuthorizationClient.getReadyFuture]. Until it completes, getters return
+         * their not authorized value and actions such as [SpotifyAuthorizationClient.logOut]
+         * run once it does. Only [SpotifyAuthorizationClient.flushAuthState] and
+         * [SpotifyAuthorizationClient.getAccessTokenManager] wait for it. An invalid
+         * configuration is only reported through the future.
+         */
+        fun setAsyncInitialization(asyncInitialization: Boolean): Builder {
+            mAsyncInitialization = asyncInitialization
+            return this
+        }
+
         fun build(context: Context): SpotifyAuthorizationClient {
             return SpotifyAuthorizationClient(context, mClientId, mRedirectUri, mScopes,
-                    mCustomTabColor, mFetchUserAfterAuthorization)
+                    mCustomTabColor, mFetchUserAfterAuthorization, mWriteBehindPersistence,
+                    mUserCacheTtlMs, mAsyncInitialization)
         }
     }
 
@@ -169,13 +232,26 @@ class SpotifyAuthorizationClient private constructor(context: Context, clientId:
     private val mAuthIntent = AtomicReference<CustomTabsIntent>()
 
     private var mExecutor: ExecutorService = Executors.newSingleThreadExecutor()
-    private var mAuthIntentLatch = CountDownLatch(1)
+    private val mAuthIntentLatch = CountDownLatch(1)
     private var handler: Handler? = Handler(Looper.getMainLooper())
 
-    private val mGson: Gson = Gson()
-    private val mAuthStateManager: AuthStateManager
-    private val mConfiguration: Configuration
+    private lateinit var mGson: Gson
+
+    /**
+     * Shares its connection pool and dispatcher with the Web API clients
+     */
+    private lateinit var mHttpClient: OkHttpClient
+    private lateinit var mAuthStateManager: AuthStateManager
+    private lateinit var mConfiguration: Configuration
     private lateinit var mAuthService: AuthorizationService
+    private var mAccessTokenManager: AccessTokenManager? = null
+
+    /**
+     * Guards [mDestroyed] and the creation of [mAuthService] against [onDestroy], so a service
+     * created by a late initialization is either never created or seen and disposed
+     */
+    private val mLifecycleLock = Any()
+    private var mDestroyed = false
 
     private val mBrowserMatcher: BrowserMatcher = BrowserAllowList(
             VersionedBrowserMatcher.CHROME_CUSTOM_TAB,
@@ -189,22 +265,116 @@ class SpotifyAuthorizationClient private constructor(context: Context, clientId:
     private var requestCode = -42
     private var mIsDebug: Boolean = false
 
+    private val mReady = FutureTask(Callable {
+        initialize(context, clientId, redirectUri, scopes, colorInt, writeBehindPersistence)
+        this
+    })
+
     init {
+        if (asyncInitialization) {
+            INIT_EXECUTOR.execute(mReady)
+        } else {
+            mReady.run()
+            awaitReady()
+        }
+    }
+
+    @WorkerThread
+    private fun initialize(context: Context, clientId: String, redirectUri: String, scopes: Array<String?>,
+                           @ColorInt colorInt: Int, writeBehindPersistence: Boolean) {
+        // Set up here rather than in the constructor so the main thread doesn't pay for the
+        // shared client and the type adapters in asynchronous mode
+        mGson = Spotify.createGson()
+        mHttpClient = Spotify.getSharedHttpClient().newBuilder()
+                .followRedirects(false)
+                .build()
         mAuthStateManager = AuthStateManager.getInstance(context, mGson)
+        if (writeBehindPersistence) {
+            mAuthStateManager.setWriteBehind(true)
+        }
         mConfiguration = Configuration.getInstance(context, clientId, redirectUri, scopes, colorInt)
 
         if (!mConfiguration.isValid) {
             throw Configuration.InvalidConfigurationException(mConfiguration.configurationError)
         }
 
-        if (hasConfigurationChanged()) {
+        if (mConfiguration.hasConfigurationChanged()) {
             // discard any existing authorization state due to the change of configuration
             if (mIsDebug) Log.i(TAG, "Configuration change detected, discarding old state")
             mAuthStateManager.replaceState(AuthState())
             mConfiguration.acceptConfiguration()
         }
 
-        initializeAppAuth(context)
+        synchronized(mLifecycleLock) {
+            if (mDestroyed) {
+                throw CancellationException("Destroyed before initialization")
+            }
+            initializeAppAuth(context)
+        }
+    }
+
+    /**
+     * Completes once the configuration is read and the authorization service is created,
+     * right after [Builder.build] unless [Builder.setAsyncInitialization] is set. Fails with
+     * [Configuration.InvalidConfigurationException] as the cause if the configuration is invalid,
+     * and is cancelled by [onDestroy] if still pending.
+     */
+    fun getReadyFuture(): Future<SpotifyAuthorizationClient> {
+        return mReady
+    }
+
+    fun isReady(): Boolean {
+        return mReady.isDone
+    }
+
+    /**
+     * Waits for the initialization, for the methods that may block.
+     *
+     * @throws IllegalStateException If the client was destroyed before it was initialized
+     */
+    private fun awaitReady() {
+        try {
+            mReady.get()
+        } catch (e: ExecutionException) {
+            throw e.cause ?: e
+        } catch (e: CancellationException) {
+            throw IllegalStateException("Client was destroyed before it was initialized", e)
+        }
+    }
+
+    /**
+     * Returns without waiting whether the initialization completed successfully. `false`
+     * while it is pending, after it failed and after [onDestroy] cancelled it.
+     */
+    private fun isInitialized(): Boolean {
+        if (!mReady.isDone || mReady.isCancelled) {
+            return false
+        }
+        return try {
+            mReady.get()
+            true
+        } catch (e: ExecutionException) {
+            false
+        }
+    }
+
+    /**
+     * Runs [action] on the main thread once the initialization completed, right away if it
+     * has. Dropped if the initialization fails or is cancelled by [onDestroy].
+     */
+    private fun whenReady(action: () -> Unit) {
+        if (mReady.isDone) {
+            if (isInitialized()) {
+                runBlockOnMainThread(Runnable { action() })
+            }
+            return
+        }
+        // Queued behind the initialization on the single init thread
+        INIT_EXECUTOR.execute {
+            if (isInitialized()) {
+                runBlockOnMainThread(Runnable { action() })
+            }
+        }
     }
 
     fun setDebugMode(enabled: Boolean) {
@@ -248,15 +418,43 @@ class SpotifyAuthorizationClient private constructor(context: Context, clientId:
         startAuth(context, 0, completionPendingIntent, cancelPendingIntent)
     }
 
+    /**
+     * @return `false` until the client is initialized
+     */
     fun isAuthorized(): Boolean {
+        if (!isInitialized()) {
+            return false
+        }
         return mAuthStateManager.currentState.isAuthorized && !hasConfigurationChanged()
     }
 
+    /**
+     * @return `false` until the client is initialized
+     */
     fun hasConfigurationChanged(): Boolean {
+        if (!isInitialized()) {
+            return false
+        }
         return mConfiguration.hasConfigurationChanged()
     }
 
+    /**
+     * Blocks until pending writes of the authorization state are on disk, see
+     * [Builder.setWriteBehindPersistence].
+     */
+    @WorkerThread
+    fun flushAuthState() {
+        awaitReady()
+        mAuthStateManager.flush()
+    }
+
+    /**
+     * @return `null` until the client is initialized
+     */
     fun getLastTokenResponse(): TokenResponse? {
+        if (!isInitialized()) {
+            return null
+        }
         return mAuthStateManager.currentState.lastTokenResponse
     }
 
@@ -264,18 +462,53 @@ class SpotifyAuthorizationClient private constructor(context: Context, clientId:
      * Determines whether the access token is considered to have expired. If no refresh token
      * has been acquired, then this method will always return `false`. A token refresh
      * can be forced, regardless of the validity of any currently acquired access token, by
-     * calling setNeedsTokenRefresh(boolean).
+     * calling setNeedsTokenRefresh(boolean). Also `false` until the client is initialized.
      */
     fun getNeedsTokenRefresh(): Boolean {
+        if (!isInitialized()) {
+            return false
+        }
         return mAuthStateManager.currentState.needsTokenRefresh
     }
 
     /**
      * Sets whether to force an access token refresh, regardless of the current access token's
-     * expiration time.
+     * expiration time. Applied once the client is initialized.
      */
     fun setNeedsTokenRefresh(needsTokenRefresh: Boolean) {
-        mAuthStateManager.currentState.needsTokenRefresh = needsTokenRefresh
+        whenReady { mAuthStateManager.currentState.needsTokenRefresh = needsTokenRefresh }
+    }
+
+    /**
+     * Returns the manager that refreshes the access token shortly before it expires and lets
+     * requests wait for a single refresh. Pass it to `SpotifyClient.Builder.setAccessTokenProvider`
+     * so expired tokens are refreshed and rejected requests retried without app code.
+     * Waits for the initialization.
+     */
+    @WorkerThread
+    @Synchronized
+    fun getAccessTokenManager(): AccessTokenManager {
+        awaitReady()
+        mAccessTokenManager?.let { return it }
+
+        val manager = AccessTokenManager(mAuthStateManager, mAuthService, object : AccessTokenManager.Listener {
+            override fun onRefreshStarted() {
+                runBlockOnMainThread { refreshTokenCallbacks.forEach { it.onRefreshAccessTokenStarted() } }
+            }
+
+            override fun onRefreshFinished(response: TokenResponse?, ex: AuthorizationException?) {
+                runBlockOnMainThread {
+                    if (ex != null) {
+                        refreshTokenCallbacks.forEach { it.onRefreshAccessTokenFailed("Token refresh failed: " + ex.message) }
+                    } else {
+                        refreshTokenCallbacks.forEach { it.onRefreshAccessTokenSucceed(mAuthStateManager.currentState.lastTokenResponse, getCurrentUser()) }
+                    }
+                }
+            }
+        })
+        manager.scheduleRefresh()
+        mAccessTokenManager = manager
+        return manager
     }
 
     /**
@@ -325,6 +558,7 @@ class SpotifyAuthorizationClient private constructor(context: Context, clientId:
      */
     @WorkerThread
     private fun doAuth(context: Context, requestCode: Int, completionPendingIntent: PendingIntent?, cancelPendingIntent: PendingIntent?) {
+        awaitReady()
         try {
             mAuthIntentLatch.await()
         } catch (ex: InterruptedException) {
@@ -351,7 +585,6 @@ class SpotifyAuthorizationClient private constructor(context: Context, clientId:
     }
 
     private fun warmUpBrowser() {
-        mAuthIntentLatch = CountDownLatch(1)
         mExecutor.execute {
             if (mIsDebug) Log.i(TAG, "Warming up browser instance for auth request")
             val intentBuilder = mAuthService.createCustomTabsIntentBuilder(mAuthRequest.get().toUri())
@@ -400,7 +633,7 @@ class SpotifyAuthorizationClient private constructor(context: Context, clientId:
     }
 
     fun onCompletionActivity(intent: Intent) {
-        handleAuthorization(intent)
+        whenReady { handleAuthorization(intent) }
     }
 
     fun onActivityResult(requestCode: Int, resultCode: Int, data: Intent?) {
@@ -411,11 +644,12 @@ class SpotifyAuthorizationClient private constructor(context: Context, clientId:
             }
 
             data?.let { intent ->
-                handleAuthorization(intent)
+                whenReady { handleAuthorization(intent) }
             }
         }
     }
 
+    @MainThread
     private fun handleAuthorization(intent: Intent) {
         val response = AuthorizationResponse.fromIntent(intent)
         val ex = AuthorizationException.fromIntent(intent)
@@ -450,29 +684,27 @@ class SpotifyAuthorizationClient private constructor(context: Context, clientId:
      * Should be called in ´onDestroy()´ of the Activity
      */
     fun onDestroy() {
-        if (this::mAuthService.isInitialized) {
-            mAuthService.dispose()
+        synchronized(mLifecycleLock) {
+            mDestroyed = true
+            // An initialization that hasn't started never runs, a running one stops before
+            // creating the authorization service or has created it by now
+            mReady.cancel(false)
+            if (this::mAuthService.isInitialized) {
+                mAuthService.dispose()
+            }
         }
+        mAccessTokenManager?.stop()
         handler?.removeCallbacksAndMessages(null)
         handler = null
     }
 
+    /**
+     * Refreshes the access token, or joins the refresh already in flight. Starts once the
+     * client is initialized.
+     */
     @MainThread
     fun refreshAccessToken() {
-        refreshTokenCallbacks.forEach { it.onRefreshAccessTokenStarted() }
-
-        performTokenRequest(mAuthStateManager.currentState.createTokenRefreshRequest()) { tokenResponse: TokenResponse?, authException: AuthorizationException? ->
-            handleRefreshAccessTokenResponse(tokenResponse, authException)
-        }
-    }
-
-    @WorkerThread
-    private fun handleRefreshAccessTokenResponse(tokenResponse: TokenResponse?, authException: AuthorizationException?) {
-        mAuthStateManager.updateAfterTokenResponse(tokenResponse, authException)
-
-        runBlockOnMainThread {
-            refreshTokenCallbacks.forEach { it.onRefreshAccessTokenSucceed(mAuthStateManager.currentState.lastTokenResponse, getCurrentUser()) }
-        }
+        whenReady { getAccessTokenManager().refreshAccessToken() }
     }
 
     @MainThread
@@ -500,24 +732,45 @@ class SpotifyAuthorizationClient private constructor(context: Context, clientId:
 
     @WorkerThread
     private fun handleCodeExchangeResponse(tokenResponse: TokenResponse?, authException: AuthorizationException?) {
+        // The user request only needs the new token, send it while the token is being stored
+        val tokenStored = CountDownLatch(1)
+        val userCall = if (fetchUserAfterAuthorization && tokenResponse?.accessToken != null) {
+            newUserCall(tokenResponse.accessToken)
+        } else {
+            null
+        }
+        userCall?.enqueue(UserCallback(tokenStored))
+
         mAuthStateManager.updateAfterTokenResponse(tokenResponse, authException)
 
         if (!isAuthorized()) {
+            userCall?.cancel()
+            tokenStored.countDown()
             val message = ("Authorization Code exchange failed"
                     + if (authException != null) authException.error else "")
 
             runBlockOnMainThread { authorizationCallbacks.forEach { it.onAuthorizationRefused(message) } }
         } else {
-            if (fetchUserAfterAuthorization) {
-                runBlockOnMainThread { fetchUser() }
-            } else {
-                runBlockOnMainThread { authorizationCallbacks.forEach { it.onAuthorizationSucceed(mAuthStateManager.currentState.lastTokenResponse, getCurrentUser()) } }
+            tokenStored.countDown()
+            mAccessTokenManager?.scheduleRefresh()
+            if (!fetchUserAfterAuthorization) {
+                notifyAuthorizationSucceed()
+            } else if (userCall == null) {
+                notifyUserFetchFailed("Failed to construct user info endpoint URL")
             }
         }
     }
 
+    /**
+     * Runs once the client is initialized.
+     */
     @MainThread
     fun logOut() {
+        whenReady { clearAuthState() }
+    }
+
+    @MainThread
+    private fun clearAuthState() {
         // discard the authorization and token state, but retain the configuration and
         // dynamic client registration (if applicable), to save from retrieving them again.
         val currentState: AuthState = mAuthStateManager.currentState
@@ -530,68 +783,126 @@ class SpotifyAuthorizationClient private constructor(context: Context, clientId:
             }
             mAuthStateManager.replaceState(clearedState)
             mAuthStateManager.updateUser(null)
+            mAccessTokenManager?.scheduleRefresh()
         }
     }
 
+    /**
+     * @return `null` until the client is initialized
+     */
     @Nullable
     fun getCurrentUser(): UserPrivate? {
+        if (!isInitialized()) {
+            return null
+        }
         return mAuthStateManager.currentUser
     }
 
     /**
-     * Demonstrates the use of [AuthState.performActionWithFreshTokens] to retrieve
-     * user info from the IDP's user info endpoint. This callback will negotiate a new access
-     * token / id token for use in a follow-up action, or provide an error if this fails.
+     * Delivers the stored user if it was fetched less than the user cache TTL ago, see
+     * [Builder.setUserCacheTtl]. Otherwise uses [AuthState.performActionWithFreshTokens] to
+     * retrieve user info from the IDP's user info endpoint, sending the `ETag` of the stored
+     * user so an unchanged user isn't downloaded again. Starts once the client is initialized.
      */
     @MainThread
     fun fetchUser() {
-        mAuthStateManager.currentState.performActionWithFreshTokens(mAuthService, this::fetchUser)
+        whenReady {
+            if (mAuthStateManager.isCurrentUserFresh(userCacheTtlMs)) {
+                notifyAuthorizationSucceed()
+            } else {
+                mAuthStateManager.currentState.performActionWithFreshTokens(mAuthService, this::fetchUser)
+            }
+        }
     }
 
     @MainThread
     private fun fetchUser(accessToken: String?, idToken: String?, ex: AuthorizationException?) {
         if (ex != null) {
             Log.e(TAG, "Token refresh failed when fetching user info")
-            mAuthStateManager.updateUser(null)
-            runBlockOnMainThread { authorizationCallbacks.forEach { it.onAuthorizationFailed("Failed while fetching user") } }
+            notifyUserFetchFailed("Failed while fetching user")
             return
         }
 
-        val userInfoEndpoint: URL
-        userInfoEndpoint = try {
-            if (mConfiguration.userInfoEndpointUri != null) {
-                URL(mConfiguration.userInfoEndpointUri.toString())
-            } else {
-                URL(null)
-            }
-        } catch (malformedURLException: MalformedURLException) {
-            Log.e(TAG, "Failed to construct user info endpoint URL", malformedURLException)
-            mAuthStateManager.updateUser(null)
-            authorizationCallbacks.forEach { it.onAuthorizationFailed("Failed to construct user info endpoint URL") }
+        val call = newUserCall(accessToken)
+        if (call == null) {
+            notifyUserFetchFailed("Failed to construct user info endpoint URL")
             return
         }
+        call.enqueue(UserCallback(null))
+    }
 
-        mExecutor.submit {
-            try {
-                val conn = userInfoEndpoint.openConnection() as HttpURLConnection
-                conn.setRequestProperty("Authorization", "Bearer $accessToken")
-                conn.instanceFollowRedirects = false
+    /**
+     * @return The user info request, `null` if the endpoint isn't a valid URL
+     */
+    private fun newUserCall(accessToken: String?): Call? {
+        val userInfoEndpoint = mConfiguration.userInfoEndpointUri?.let { HttpUrl.parse(it.toString()) }
+        if (userInfoEndpoint == null) {
+            Log.e(TAG, "Failed to construct user info endpoint URL")
+            return null
+        }
 
-                val response = Okio.buffer(Okio.source(conn.inputStream))
-                        .readString(Charset.forName("UTF-8"))
+        val request = Request.Builder()
+                .url(userInfoEndpoint)
+                .header("Authorization", "Bearer $accessToken")
+        mAuthStateManager.currentUserETag?.let { request.header("If-None-Match", it) }
+        return mHttpClient.newCall(request.build())
+    }
 
-                val user = mGson.fromJson(response, UserPrivate::class.java)
-                mAuthStateManager.updateUser(user)
+    private fun notifyAuthorizationSucceed() {
+        runBlockOnMainThread { authorizationCallbacks.forEach { it.onAuthorizationSucceed(mAuthStateManager.currentState.lastTokenResponse, getCurrentUser()) } }
+    }
 
+    private fun notifyUserFetchFailed(message: String) {
+        mAuthStateManager.updateUser(null)
+        runBlockOnMainThread { authorizationCallbacks.forEach { it.onAuthorizationFailed(message) } }
+    }
+
+    /**
+     * Stores the fetched user and notifies the authorization callbacks.
+     *
+     * @param tokenStored Released once the token the request was sent with is stored,
+     * `null` if it already was
+     */
+    private inner class UserCallback(private val tokenStored: CountDownLatch?) : Callback {
+
+        override fun onFailure(call: Call, e: IOException) {
+            tokenStored?.await()
+            if (call.isCanceled) {
+                return
+            }
+            Log.e(TAG, "Network error when querying user info endpoint", e)
+            runBlockOnMainThread { authorizationCallbacks.forEach { it.onAuthorizationFailed("Network error") } }
+        }
+
+        override fun onResponse(call: Call, response: Response) {
+            tokenStored?.await()
+            if (call.isCanceled) {
+                response.close()
+                return
+            }
+
+            try {
+                response.use {
+                    when {
+                        it.code() == HttpURLConnection.HTTP_NOT_MODIFIED -> mAuthStateManager.revalidateUser()
+                        it.isSuccessful -> {
+                            val user = mGson.fromJson(it.body()!!.charStream(), UserPrivate::class.java)
+                            mAuthStateManager.updateFetchedUser(user, it.header("ETag"))
+                        }
+                        else -> throw IOException("Unexpected response code " + it.code())
+                    }
+                }
             } catch (ioException: IOException) {
                 Log.e(TAG, "Network error when querying user info endpoint", ioException)
                 runBlockOnMainThread { authorizationCallbacks.forEach { it.onAuthorizationFailed("Network error") } }
-            } catch (jsonException: JSONException) {
+                return
+            } catch (jsonException: JsonParseException) {
                 Log.e(TAG, "Failed to parse user fetch response")
                 runBlockOnMainThread { authorizationCallbacks.forEach { it.onAuthorizationFailed("Failed to parse user fetch response") } }
+                return
             }
 
-            runBlockOnMainThread { authorizationCallbacks.forEach { it.onAuthorizationSucceed(mAuthStateManager.currentState.lastTokenResponse, getCurrentUser()) } }
+            notifyAuthorizationSucceed()
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,232 @@
+package com.pghaz.spotify.webapi.auth
+
+import android.content.Context
+import android.net.Uri
+import com.google.gson.Gson
+import net.openid.appauth.AuthState
+import net.openid.appauth.AuthorizationException
+import net.openid.appauth.AuthorizationRequest
+import net.openid.appauth.AuthorizationResponse
+import net.openid.appauth.AuthorizationService
+import net.openid.appauth.AuthorizationServiceConfiguration
+import net.openid.appauth.ClientAuthentication
+import net.openid.appauth.GrantTypeValues
+import net.openid.appauth.ResponseTypeValues
+import net.openid.appauth.TokenRequest
+import net.openid.appauth.TokenResponse
+import org.junit.After
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertNotNull
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertTrue
+import org.junit.Assert.fail
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.annotation.Config
+import java.io.IOException
+import java.util.concurrent.Callable
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.LinkedBlockingQueue
+import java.util.concurrent.ScheduledFuture
+import java.util.concurrent.ScheduledThreadPoolExecutor
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [27])
+class AccessTokenManagerTest {
+
+    companion object {
+        private const val CLIENT_ID = "client-id"
+        private const val REFRESH_TOKEN = "refresh-token"
+        private const val CALLERS = 4
+
+        private val CONFIGURATION = AuthorizationServiceConfiguration(
+                Uri.parse("https://accounts.spotify.com/authorize"),
+                Uri.parse("https://accounts.spotify.com/api/token"))
+    }
+
+    private lateinit var mAuthStateManager: AuthStateManager
+    private lateinit var mAuthService: FakeAuthorizationService
+    private lateinit var mScheduler: ScheduledThreadPoolExecutor
+    private lateinit var mExecutor: ExecutorService
+    private lateinit var mManager: AccessTokenManager
+
+    private val mFinished = LinkedBlockingQueue<Finished>()
+
+    @Before
+    fun setUp() {
+        val context = RuntimeEnvironment.application
+        mAuthStateManager = AuthStateManager(context, Gson(), "AccessTokenManagerTest",
+                AuthStateManager.createWriter("AccessTokenManagerTest"))
+        mAuthService = FakeAuthorizationService(context)
+        mScheduler = ScheduledThreadPoolExecutor(1)
+        mScheduler.removeOnCancelPolicy = true
+        mExecutor = Executors.newFixedThreadPool(CALLERS)
+
+        mManager = AccessTokenManager(mAuthStateManager, mAuthService, object : AccessTokenManager.Listener {
+            override fun onRefreshStarted() {
+            }
+
+            override fun onRefreshFinished(response: TokenResponse?, ex: AuthorizationException?) {
+                mFinished.add(Finished(response, ex))
+            }
+        }, mScheduler, true)
+    }
+
+    @After
+    fun tearDown() {
+        mManager.stop()
+        mExecutor.shutdownNow()
+        mAuthService.dispose()
+    }
+
+    @Test
+    fun concurrentRefreshesShareOneRequest() {
+        mAuthStateManager.replaceState(authorizedState("expired", -TimeUnit.MINUTES.toMillis(1)))
+
+        val tokens = (0 until CALLERS).map {
+            mExecutor.submit(Callable { mManager.refreshAccessToken("expired") })
+        }
+        val callback = mAuthService.takeRequest()
+        callback.onTokenRequestCompleted(tokenResponse("fresh", TimeUnit.HOURS.toMillis(1)), null)
+
+        for (token in tokens) {
+            assertEquals("fresh", token.get(5, TimeUnit.SECONDS))
+        }
+        assertEquals(1, mAuthService.requestCount.get())
+        assertEquals("fresh", mAuthStateManager.currentState.accessToken)
+    }
+
+    @Test
+    fun alreadyRefreshedTokenIsReturnedWithoutRequest() {
+        mAuthStateManager.replaceState(authorizedState("fresh", TimeUnit.HOURS.toMillis(1)))
+
+        assertEquals("fresh", mManager.refreshAccessToken("rejected"))
+        assertEquals(0, mAuthService.requestCount.get())
+    }
+
+    @Test
+    fun rejectedCurrentTokenIsRefreshed() {
+        mAuthStateManager.replaceState(authorizedState("rejected", TimeUnit.HOURS.toMillis(1)))
+
+        val token = mExecutor.submit(Callable { mManager.refreshAccessToken("rejected") })
+        mAuthService.takeRequest().onTokenRequestCompleted(tokenResponse("fresh", TimeUnit.HOURS.toMillis(1)), null)
+
+        assertEquals("fresh", token.get(5, TimeUnit.SECONDS))
+        assertEquals(1, mAuthService.requestCount.get())
+    }
+
+    @Test
+    fun failedRefreshIsReported() {
+        mAuthStateManager.replaceState(authorizedState("expired", -TimeUnit.MINUTES.toMillis(1)))
+
+        val token = mExecutor.submit(Callable { mManager.refreshAccessToken("expired") })
+        mAuthService.takeRequest().onTokenRequestCompleted(null, AuthorizationException.TokenRequestErrors.INVALID_GRANT)
+
+        try {
+            token.get(5, TimeUnit.SECONDS)
+            fail("Failed refresh returned a token")
+        } catch (e: ExecutionException) {
+            assertTrue(e.cause is IOException)
+        }
+        val finished = mFinished.poll(5, TimeUnit.SECONDS)
+        assertNull(finished.response)
+        assertEquals(AuthorizationException.TokenRequestErrors.INVALID_GRANT, finished.ex)
+    }
+
+    @Test
+    fun refreshThatCantBeMadeIsReportedAsFailure() {
+        mAuthStateManager.replaceState(AuthState())
+
+        mManager.refreshAccessToken()
+
+        val finished = mFinished.poll(5, TimeUnit.SECONDS)
+        assertNotNull(finished.ex)
+        assertEquals(0, mAuthService.requestCount.get())
+    }
+
+    @Test
+    fun refreshIsRescheduledFromTheNewExpirationTime() {
+        mAuthStateManager.replaceState(authorizedState("current", TimeUnit.MINUTES.toMillis(10)))
+
+        mManager.scheduleRefresh()
+        assertDelayMinutes(8)
+
+        mManager.refreshAccessToken()
+        mAuthService.takeRequest().onTokenRequestCompleted(tokenResponse("fresh", TimeUnit.HOURS.toMillis(1)), null)
+        assertNotNull(mFinished.poll(5, TimeUnit.SECONDS))
+
+        assertDelayMinutes(58)
+    }
+
+    @Test
+    fun stoppedManagerDoesntReschedule() {
+        mAuthStateManager.replaceState(authorizedState("current", TimeUnit.MINUTES.toMillis(10)))
+        mManager.scheduleRefresh()
+
+        mManager.stop()
+        mManager.scheduleRefresh()
+
+        assertTrue(mScheduler.queue.isEmpty())
+    }
+
+    /**
+     * Asserts that a single refresh is scheduled, about [minutes] from now.
+     */
+    private fun assertDelayMinutes(minutes: Long) {
+        assertEquals(1, mScheduler.queue.size)
+        val delaySeconds = (mScheduler.queue.peek() as ScheduledFuture<*>).getDelay(TimeUnit.SECONDS)
+        assertTrue("Refresh scheduled in $delaySeconds s",
+                delaySeconds > TimeUnit.MINUTES.toSeconds(minutes) - 10
+                        && delaySeconds <= TimeUnit.MINUTES.toSeconds(minutes))
+    }
+
+    private fun authorizedState(accessToken: String, expiresInMs: Long): AuthState {
+        val request = AuthorizationRequest.Builder(CONFIGURATION, CLIENT_ID, ResponseTypeValues.CODE,
+                Uri.parse("spotify-sdk-test://callback")).build()
+        val state = AuthState(CONFIGURATION)
+        state.update(AuthorizationResponse.Builder(request).setAuthorizationCode("code").build(), null)
+        state.update(tokenResponse(accessToken, expiresInMs), null)
+        return state
+    }
+
+    private fun tokenResponse(accessToken: String, expiresInMs: Long): TokenResponse {
+        val request = TokenRequest.Builder(CONFIGURATION, CLIENT_ID)
+                .setGrantType(GrantTypeValues.REFRESH_TOKEN)
+                .setRefreshToken(REFRESH_TOKEN)
+                .build()
+        return TokenResponse.Builder(request)
+                .setTokenType(TokenResponse.TOKEN_TYPE_BEARER)
+                .setAccessToken(accessToken)
+                .setRefreshToken(REFRESH_TOKEN)
+                .setAccessTokenExpirationTime(System.currentTimeMillis() + expiresInMs)
+                .build()
+    }
+
+    private class Finished(val response: TokenResponse?, val ex: AuthorizationException?)
+
+    /**
+     * Holds token requests until the test answers them.
+     */
+    private class FakeAuthorizationService(context: Context) : AuthorizationService(context) {
+        val requestCount = AtomicInteger()
+        private val mRequests = LinkedBlockingQueue<AuthorizationService.TokenResponseCallback>()
+
+        override fun performTokenRequest(request: TokenRequest,
+                                         clientAuthentication: ClientAuthentication,
+                                         callback: AuthorizationService.TokenResponseCallback) {
+            requestCount.incrementAndGet()
+            mRequests.add(callback)
+        }
+
+        fun takeRequest(): AuthorizationService.TokenResponseCallback {
+            return mRequests.poll(5, TimeUnit.SECONDS) ?: throw AssertionError("No token request made")
+        }
+    }
+}
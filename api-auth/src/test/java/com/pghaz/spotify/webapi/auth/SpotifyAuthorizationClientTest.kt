@@ -0,0 +1,130 @@
+package com.pghaz.spotify.webapi.auth
+
+import android.content.Intent
+import android.content.pm.ActivityInfo
+import android.content.pm.ResolveInfo
+import android.net.Uri
+import org.junit.After
+import org.junit.Assert.assertFalse
+import org.junit.Assert.assertNull
+import org.junit.Assert.assertSame
+import org.junit.Assert.assertTrue
+import org.junit.Assert.fail
+import org.junit.Before
+import org.junit.Test
+import org.junit.runner.RunWith
+import org.robolectric.RobolectricTestRunner
+import org.robolectric.RuntimeEnvironment
+import org.robolectric.Shadows.shadowOf
+import org.robolectric.annotation.Config
+import org.robolectric.shadows.ShadowLooper
+import java.util.concurrent.CancellationException
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+
+@RunWith(RobolectricTestRunner::class)
+@Config(sdk = [27])
+class SpotifyAuthorizationClientTest {
+
+    companion object {
+        private const val CLIENT_ID = "client-id"
+        private const val REDIRECT_URI = "spotify-sdk-test://callback"
+    }
+
+    private val mInitBlocked = CountDownLatch(1)
+
+    @Before
+    fun setUp() {
+        // Configuration rejects redirect URIs no activity handles
+        val context = RuntimeEnvironment.application
+        val redirectIntent = Intent(Intent.ACTION_VIEW, Uri.parse(REDIRECT_URI))
+                .setPackage(context.packageName)
+                .addCategory(Intent.CATEGORY_BROWSABLE)
+        val resolveInfo = ResolveInfo()
+        resolveInfo.activityInfo = ActivityInfo()
+        resolveInfo.activityInfo.packageName = context.packageName
+        resolveInfo.activityInfo.name = "RedirectUriReceiverActivity"
+        shadowOf(context.packageManager).addResolveInfoForIntent(redirectIntent, resolveInfo)
+        Configuration.clearInstance()
+    }
+
+    @After
+    fun tearDown() {
+        mInitBlocked.countDown()
+    }
+
+    @Test
+    fun readyFutureCompletesWithTheClient() {
+        val client = build()
+
+        assertSame(client, client.getReadyFuture().get(5, TimeUnit.SECONDS))
+        assertTrue(client.isReady())
+        assertFalse(client.isAuthorized())
+        client.onDestroy()
+    }
+
+    @Test
+    fun pendingClientAnswersWithoutWaiting() {
+        blockInitialization()
+        val client = build()
+
+        assertFalse(client.isReady())
+        assertFalse(client.isAuthorized())
+        assertNull(client.getCurrentUser())
+        assertNull(client.getLastTokenResponse())
+        client.logOut()
+        client.fetchUser()
+
+        mInitBlocked.countDown()
+        client.getReadyFuture().get(5, TimeUnit.SECONDS)
+        client.onDestroy()
+    }
+
+    @Test
+    fun destroyDuringInitializationCancelsIt() {
+        blockInitialization()
+        val client = build()
+        client.logOut()
+
+        client.onDestroy()
+        mInitBlocked.countDown()
+
+        assertTrue(client.getReadyFuture().isCancelled)
+        try {
+            client.getReadyFuture().get(5, TimeUnit.SECONDS)
+            fail("Cancelled initialization completed")
+        } catch (e: CancellationException) {
+            // Expected
+        }
+        awaitInitThread()
+        ShadowLooper.idleMainLooper()
+        assertFalse(client.isAuthorized())
+        assertNull(client.getCurrentUser())
+        try {
+            client.getAccessTokenManager()
+            fail("Destroyed client returned a token manager")
+        } catch (e: IllegalStateException) {
+            // Expected
+        }
+    }
+
+    /**
+     * Holds the init thread until [mInitBlocked] is released, so the next initialization stays pending.
+     */
+    private fun blockInitialization() {
+        SpotifyAuthorizationClient.INIT_EXECUTOR.execute { mInitBlocked.await(5, TimeUnit.SECONDS) }
+    }
+
+    private fun awaitInitThread() {
+        val done = CountDownLatch(1)
+        SpotifyAuthorizationClient.INIT_EXECUTOR.execute { done.countDown() }
+        assertTrue(done.await(5, TimeUnit.SECONDS))
+    }
+
+    private fun build(): SpotifyAuthorizationClient {
+        return SpotifyAuthorizationClient.Builder(CLIENT_ID, REDIRECT_URI)
+                .setScopes(arrayOf("user-read-private"))
+                .setAsyncInitialization(true)
+                .build(RuntimeEnvironment.application)
+    }
+}
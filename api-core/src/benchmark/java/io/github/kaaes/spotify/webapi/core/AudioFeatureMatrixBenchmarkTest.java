@@ -0,0 +1,85 @@
+package io.github.kaaes.spotify.webapi.core;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import io.github.kaaes.spotify.webapi.core.models.AudioFeaturesTrack;
+import io.github.kaaes.spotify.webapi.core.store.AudioFeatureMatrix;
+import io.github.kaaes.spotify.webapi.core.store.AudioFeatureMatrix.Feature;
+
+/**
+ * Compares the mean distance to the first of 20000 tracks computed over the object list and
+ * over {@link AudioFeatureMatrix}.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class AudioFeatureMatrixBenchmarkTest {
+
+    private static final int TRACKS = 20000;
+    private static final int ITERATIONS = 50;
+
+    @Test
+    public void meanDistance() {
+        Random random = new Random(42);
+        List<AudioFeaturesTrack> list = new ArrayList<>();
+        for (int i = 0; i < TRACKS; i++) {
+            AudioFeaturesTrack features = new AudioFeaturesTrack();
+            features.id = "track" + i;
+            features.danceability = random.nextFloat();
+            features.tempo = 60 + random.nextFloat() * 140;
+            features.energy = random.nextFloat();
+            features.valence = random.nextFloat();
+            list.add(features);
+        }
+        AudioFeatureMatrix matrix = new AudioFeatureMatrix.Builder().addAll(list).build().normalized();
+        float[] min = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE};
+        float[] max = {-Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        for (AudioFeaturesTrack features : list) {
+            float[] values = {features.danceability, features.energy, features.valence};
+            for (int i = 0; i < values.length; i++) {
+                min[i] = Math.min(min[i], values[i]);
+                max[i] = Math.max(max[i], values[i]);
+            }
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            meanDistanceFromFirst(list, min, max);
+        }
+        long objectMicros = (System.nanoTime() - start) / 1000 / ITERATIONS;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            float[] distances = matrix.euclideanDistances(0, Feature.DANCEABILITY, Feature.ENERGY, Feature.VALENCE);
+            double sum = 0;
+            for (float distance : distances) {
+                sum += distance;
+            }
+        }
+        long matrixMicros = (System.nanoTime() - start) / 1000 / ITERATIONS;
+
+        System.out.println("Mean distance over " + TRACKS + " tracks: List<AudioFeaturesTrack> " + objectMicros
+                + " us, AudioFeatureMatrix " + matrixMicros + " us");
+    }
+
+    private static float meanDistanceFromFirst(List<AudioFeaturesTrack> list, float[] min, float[] max) {
+        AudioFeaturesTrack first = list.get(0);
+        float[] origin = {first.danceability, first.energy, first.valence};
+        double sum = 0;
+        for (AudioFeaturesTrack features : list) {
+            float[] values = {features.danceability, features.energy, features.valence};
+            double squares = 0;
+            for (int i = 0; i < values.length; i++) {
+                float scale = 1 / (max[i] - min[i]);
+                float delta = (values[i] - min[i]) * scale - (origin[i] - min[i]) * scale;
+                squares += delta * delta;
+            }
+            sum += Math.sqrt(squares);
+        }
+        return (float) (sum / list.size());
+    }
+}
@@ -0,0 +1,47 @@
+package io.github.kaaes.spotify.webapi.core;
+
+import android.os.Parcel;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import io.github.kaaes.spotify.webapi.core.models.Track;
+
+/**
+ * Measures the size and round trip time of a {@code Pager<Track>} with 100 items in a Parcel.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ParcelableModelsBenchmarkTest {
+
+    private static final int ITEMS = 100;
+    private static final int ITERATIONS = 200;
+
+    @Test
+    public void pagerRoundTrip() {
+        ModelPopulator populator = new ModelPopulator("CREATOR", "$jacocoData");
+
+        Pager<Track> pager = populator.populateWithRandomValues(Pager.class);
+        pager.items = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            pager.items.add(populator.populateWithRandomValues(Track.class));
+        }
+
+        int bytes = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            Parcel parcel = Parcel.obtain();
+            parcel.writeParcelable(pager, 0);
+            bytes = parcel.dataSize();
+            parcel.setDataPosition(0);
+            parcel.readParcelable(Pager.class.getClassLoader());
+            parcel.recycle();
+        }
+        long micros = (System.nanoTime() - start) / 1000 / ITERATIONS;
+
+        System.out.println("Pager<Track> with " + ITEMS + " items: " + bytes + " bytes, " + micros + " us per round trip");
+    }
+}
@@ -0,0 +1,303 @@
+package io.github.kaaes.spotify.webapi.core;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+
+/**
+ * Builds the {@link Options#FIELDS} filter from paths through the model classes, so the
+ * API only returns the fields a screen actually uses.
+ * <p>
+ * Paths use the model field names separated by dots and are checked against the models
+ * when they are added, so a typo fails right away instead of silently returning nothing.
+ * Lists and pagers are traversed transparently: {@code track.artists.name} selects the
+ * name of every artist.
+ * <p>
+ * The Web API only honours {@code fields} on the playlist endpoints, {@code getPlaylist}
+ * and {@code getPlaylistTracks}. Other endpoints ignore it and return the full objects,
+ * so projections are only worth building from {@link io.github.kaaes.spotify.webapi.core.models.Playlist}
+ * or a pager of {@link io.github.kaaes.spotify.webapi.core.models.PlaylistTrack}.
+ * <p>
+ * Basic usage:
+ * FieldsProjection fields = FieldsProjection.pagerOf(PlaylistTrack.class)
+ * .add("track.name")
+ * .add("track.artists.name")
+ * .add("track.album.images")
+ * .build();
+ * spotify.getPlaylistTracks(playlistId, fields.putInto(options));
+ * <p>
+ * The example produces {@code next,total,offset,limit,items(track(name,artists(name),album(images)))}.
+ */
+public class FieldsProjection {
+
+    private static final String[] PAGER_FIELDS = {"next", "total", "offset", "limit"};
+
+    private final String mExpression;
+
+    private FieldsProjection(String expression) {
+        mExpression = expression;
+    }
+
+    /**
+     * Starts a projection of an endpoint returning {@code type}, for example
+     * {@code Playlist.class} for {@code getPlaylist}. Only playlist endpoints apply it.
+     */
+    public static Builder of(Class<?> type) {
+        return new Builder(type, null);
+    }
+
+    /**
+     * Starts a projection of an endpoint returning a {@link Pager} of {@code itemType}.
+     * Paths are relative to the items and the paging fields are always included.
+     * Use {@code PlaylistTrack.class} for {@code getPlaylistTracks}, the only paged endpoint applying it.
+     */
+    public static Builder pagerOf(Class<?> itemType) {
+        return new Builder(itemType, "items");
+    }
+
+    /**
+     * @return The value for {@link Options#FIELDS}
+     */
+    @Override
+    public String toString() {
+        return mExpression;
+    }
+
+    /**
+     * Adds this projection to the query options of an endpoint.
+     *
+     * @return The same options for chaining
+     */
+    public Map<String, Object> putInto(Map<String, Object> options) {
+        options.put(Options.FIELDS, mExpression);
+        return options;
+    }
+
+    public static class Builder {
+
+        private final Class<?> mRootType;
+        private final String mItemsField;
+        private final Node mRoot = new Node();
+
+        private Builder(Class<?> rootType, String itemsField) {
+            mRootType = rootType;
+            mItemsField = itemsField;
+        }
+
+        /**
+         * @param path Dot separated model field names, for example {@code track.album.images}
+         * @throws IllegalArgumentException If a segment is not a field of the model it is applied to
+         */
+        public Builder add(String path) {
+            if (path == null || path.length() == 0) {
+                throw new IllegalArgumentException("Path can't be empty");
+            }
+
+            Node node = mRoot;
+            Type type = mRootType;
+            Map<TypeVariable<?>, Type> typeArguments = Collections.emptyMap();
+
+            for (String segment : path.split("\\.", -1)) {
+                Class<?> modelType = rawType(type);
+                Field field = findField(modelType, segment);
+                if (field == null) {
+                    throw new IllegalArgumentException("No field '" + segment + "' in "
+                            + modelType.getSimpleName() + " for path '" + path + "'");
+                }
+                if (node.mWhole) {
+                    // An enclosing object is already selected completely
+                    return this;
+                }
+
+                node = node.child(jsonName(field));
+
+                type = resolve(field.getGenericType(), typeArguments);
+                typeArguments = typeArguments(type);
+                // Step into list elements and pager items so paths read like the JSON
+                while (isContainer(type)) {
+                    if (rawType(type) == Pager.class) {
+                        node = node.child("items");
+                    }
+                    type = resolve(containedType(type), typeArguments);
+                    typeArguments = typeArguments(type);
+                }
+            }
+
+            node.mWhole = true;
+            node.mChildren.clear();
+            return this;
+        }
+
+        public FieldsProjection build() {
+            if (mRoot.mChildren.isEmpty()) {
+                throw new IllegalStateException("Projection has no fields");
+            }
+
+            StringBuilder expression = new StringBuilder();
+            if (mItemsField != null) {
+                for (String pagerField : PAGER_FIELDS) {
+                    expression.append(pagerField).append(',');
+                }
+                expression.append(mItemsField).append('(');
+                mRoot.appendChildren(expression);
+                expression.append(')');
+            } else {
+                mRoot.appendChildren(expression);
+            }
+            return new FieldsProjection(expression.toString());
+        }
+    }
+
+    private static final class Node {
+        private final Map<String, Node> mChildren = new LinkedHashMap<>();
+        private boolean mWhole;
+
+        Node child(String name) {
+            Node child = mChildren.get(name);
+            if (child == null) {
+                child = new Node();
+                mChildren.put(name, child);
+            }
+            return child;
+        }
+
+        void appendChildren(StringBuilder expression) {
+            boolean first = true;
+            for (Map.Entry<String, Node> child : mChildren.entrySet()) {
+                if (!first) {
+                    expression.append(',');
+                }
+                first = false;
+
+                expression.append(child.getKey());
+                if (!child.getValue().mChildren.isEmpty()) {
+                    expression.append('(');
+                    child.getValue().appendChildren(expression);
+                    expression.append(')');
+                }
+            }
+        }
+    }
+
+    private static Field findField(Class<?> type, String name) {
+        for (Field field : type.getFields()) {
+            if (!Modifier.isStatic(field.getModifiers())
+                    && (field.getName().equals(name) || jsonName(field).equals(name))) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    private static String jsonName(Field field) {
+        SerializedName serializedName = field.getAnnotation(SerializedName.class);
+        return serializedName != null ? serializedName.value() : field.getName();
+    }
+
+    private static boolean isContainer(Type type) {
+        Class<?> rawType = rawType(type);
+        return List.class.isAssignableFrom(rawType) || rawType == Pager.class;
+    }
+
+    /**
+     * @return The element type of a list or the item type of a pager
+     */
+    private static Type containedType(Type type) {
+        if (type instanceof ParameterizedType) {
+            return ((ParameterizedType) type).getActualTypeArguments()[0];
+        }
+        return Object.class;
+    }
+
+    private static Type resolve(Type type, Map<TypeVariable<?>, Type> typeArguments) {
+        if (type instanceof TypeVariable && typeArguments.containsKey(type)) {
+            return typeArguments.get(type);
+        }
+        if (type instanceof WildcardType) {
+            return ((WildcardType) type).getUpperBounds()[0];
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            Type[] arguments = parameterized.getActualTypeArguments();
+            final Type[] resolved = new Type[arguments.length];
+            boolean changed = false;
+            for (int i = 0; i < arguments.length; i++) {
+                resolved[i] = resolve(arguments[i], typeArguments);
+                changed |= resolved[i] != arguments[i];
+            }
+            return changed ? new ResolvedType(parameterized, resolved) : type;
+        }
+        return type;
+    }
+
+    private static Map<TypeVariable<?>, Type> typeArguments(Type type) {
+        if (!(type instanceof ParameterizedType)) {
+            return Collections.emptyMap();
+        }
+        Class<?> rawType = rawType(type);
+        TypeVariable<?>[] variables = rawType.getTypeParameters();
+        Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+        Map<TypeVariable<?>, Type> typeArguments = new HashMap<>();
+        for (int i = 0; i < variables.length && i < arguments.length; i++) {
+            typeArguments.put(variables[i], arguments[i]);
+        }
+        return typeArguments;
+    }
+
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof WildcardType) {
+            return rawType(((WildcardType) type).getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable) {
+            Type[] bounds = ((TypeVariable<?>) type).getBounds();
+            return bounds.length > 0 ? rawType(bounds[0]) : Object.class;
+        }
+        return Object.class;
+    }
+
+    /**
+     * A parameterized type with its type variables replaced by the actual arguments.
+     */
+    private static final class ResolvedType implements ParameterizedType {
+        private final ParameterizedType mOriginal;
+        private final Type[] mArguments;
+
+        ResolvedType(ParameterizedType original, Type[] arguments) {
+            mOriginal = original;
+            mArguments = arguments;
+        }
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return mArguments.clone();
+        }
+
+        @Override
+        public Type getRawType() {
+            return mOriginal.getRawType();
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return mOriginal.getOwnerType();
+        }
+    }
+}
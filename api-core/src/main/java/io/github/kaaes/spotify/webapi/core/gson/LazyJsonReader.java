@@ -0,0 +1,181 @@
+package io.github.kaaes.spotify.webapi.core.gson;
+
+import com.google.gson.stream.JsonReader;
+
+import java.io.Reader;
+
+/**
+ * {@link JsonReader} that lets the adapters of {@link ModelTypeAdapterFactory} defer the
+ * heavy nested fields of the models: {@code available_markets}, {@code external_urls},
+ * {@code external_ids} and {@code images}.
+ * <p>
+ * Those fields are skipped while parsing and filled with a list or map that parses its
+ * JSON the first time any of its methods is called, so code reading the public fields
+ * keeps working unchanged. Screens that only show names and IDs never pay for the rest:
+ * Pager&lt;PlaylistTrack&gt; page = gson.fromJson(new LazyJsonReader(body), type);
+ * <p>
+ * Deferred values keep a reference to the whole JSON text until they are parsed.
+ * Adapters used with a plain {@link JsonReader} parse every field right away.
+ */
+public class LazyJsonReader extends JsonReader {
+
+    private static final String[] DEFERRED_NAMES = {"available_markets", "external_urls", "external_ids", "images"};
+
+    private final FencedReader mReader;
+
+    public LazyJsonReader(String json) {
+        this(new FencedReader(json));
+    }
+
+    private LazyJsonReader(FencedReader reader) {
+        super(reader);
+        mReader = reader;
+    }
+
+    /**
+     * @return {@code true} if {@code value} is a deferred list or map whose JSON was not parsed
+     * yet. Code that walks model graphs can use it to leave such values alone.
+     */
+    public static boolean isPending(Object value) {
+        if (value instanceof LazyList) {
+            return !((LazyList<?>) value).isDecoded();
+        }
+        if (value instanceof LazyMap) {
+            return !((LazyMap<?, ?>) value).isDecoded();
+        }
+        return false;
+    }
+
+    String getJson() {
+        return mReader.mJson;
+    }
+
+    /**
+     * Finds where the value of the name that was just read starts. Must be called after the
+     * first token of the value was peeked and before the value is consumed.
+     *
+     * @return Offset of the value in {@link #getJson()} or -1 if it can't be deferred
+     */
+    int deferredValueStart(String name) {
+        // Reads stop at the start of every value that may be deferred, and a value is only
+        // peeked after everything before it was consumed, so the value that was just peeked
+        // is the last one the reader stopped at.
+        FencedReader reader = mReader;
+        int start = reader.mPassedStart;
+        if (start < 0 || !DEFERRED_NAMES[reader.mPassedName].equals(name)) {
+            return -1;
+        }
+        reader.mPassedStart = -1;
+        return start;
+    }
+
+    /**
+     * Hands out the JSON text in chunks that end at the start of each value that may be deferred.
+     */
+    private static class FencedReader extends Reader {
+
+        private final String mJson;
+        private final String[] mPatterns;
+        private final int[] mMatches;
+        private int mPosition;
+        private int mFenceStart;
+        private int mFenceName;
+        private int mPassedStart = -1;
+        private int mPassedName;
+
+        FencedReader(String json) {
+            mJson = json;
+            mPatterns = new String[DEFERRED_NAMES.length];
+            mMatches = new int[DEFERRED_NAMES.length];
+            for (int i = 0; i < DEFERRED_NAMES.length; i++) {
+                mPatterns[i] = '"' + DEFERRED_NAMES[i] + '"';
+                mMatches[i] = -2;
+            }
+            findFence(0);
+        }
+
+        /**
+         * Finds the first array or object at or after {@code from} that is the value of one of the deferred names.
+         */
+        private void findFence(int from) {
+            mFenceStart = -1;
+            while (true) {
+                int name = -1;
+                for (int i = 0; i < mPatterns.length; i++) {
+                    if (mMatches[i] != -1 && mMatches[i] < from) {
+                        mMatches[i] = mJson.indexOf(mPatterns[i], from);
+                    }
+                    if (mMatches[i] >= 0 && (name < 0 || mMatches[i] < mMatches[name])) {
+                        name = i;
+                    }
+                }
+                if (name < 0) {
+                    return;
+                }
+
+                int match = mMatches[name];
+                int start = valueStart(match, mPatterns[name].length());
+                if (start >= 0) {
+                    mFenceStart = start;
+                    mFenceName = name;
+                    return;
+                }
+                mMatches[name] = mJson.indexOf(mPatterns[name], match + 1);
+            }
+        }
+
+        /**
+         * @return Position of the array or object following the quoted name at {@code match}, or -1 if it isn't a name
+         */
+        private int valueStart(int match, int length) {
+            if (match > 0 && mJson.charAt(match - 1) == '\\') {
+                return -1;
+            }
+            int colon = skipWhitespace(match + length);
+            if (colon >= mJson.length() || mJson.charAt(colon) != ':') {
+                return -1;
+            }
+            int start = skipWhitespace(colon + 1);
+            if (start >= mJson.length() || (mJson.charAt(start) != '[' && mJson.charAt(start) != '{')) {
+                return -1;
+            }
+            return start;
+        }
+
+        private int skipWhitespace(int start) {
+            int i = start;
+            while (i < mJson.length()) {
+                char c = mJson.charAt(i);
+                if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                    break;
+                }
+                i++;
+            }
+            return i;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int count) {
+            if (mPosition >= mJson.length()) {
+                return -1;
+            }
+            if (mFenceStart == mPosition) {
+                mPassedStart = mFenceStart;
+                mPassedName = mFenceName;
+                findFence(mPosition + 1);
+            }
+            int end = Math.min(mJson.length(), mPosition + count);
+            if (mFenceStart >= 0) {
+                end = Math.min(end, mFenceStart);
+            }
+            mJson.getChars(mPosition, end, buffer, offset);
+            int read = end - mPosition;
+            mPosition = end;
+            return read;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
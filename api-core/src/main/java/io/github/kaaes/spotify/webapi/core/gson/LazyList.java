@@ -0,0 +1,106 @@
+package io.github.kaaes.spotify.webapi.core.gson;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.AbstractList;
+import java.util.List;
+
+/**
+ * List that keeps the position of its JSON array in the text read by a {@link LazyJsonReader}
+ * and parses it with the field's adapter on first use.
+ */
+final class LazyList<T> extends AbstractList<T> {
+
+    private volatile List<T> mList;
+    private String mJson;
+    private int mValueStart;
+    private TypeAdapter<List<T>> mAdapter;
+
+    private LazyList(String json, int valueStart, TypeAdapter<List<T>> adapter) {
+        mJson = json;
+        mValueStart = valueStart;
+        mAdapter = adapter;
+    }
+
+    /**
+     * Reads the value of the field {@code name}, deferring it when {@code in} is a {@link LazyJsonReader}.
+     */
+    static <T> List<T> read(JsonReader in, String name, TypeAdapter<List<T>> adapter) throws IOException {
+        if (in instanceof LazyJsonReader && in.peek() == JsonToken.BEGIN_ARRAY) {
+            LazyJsonReader reader = (LazyJsonReader) in;
+            int valueStart = reader.deferredValueStart(name);
+            if (valueStart >= 0) {
+                in.skipValue();
+                return new LazyList<>(reader.getJson(), valueStart, adapter);
+            }
+        }
+        return adapter.read(in);
+    }
+
+    boolean isDecoded() {
+        return mList != null;
+    }
+
+    private List<T> list() {
+        List<T> list = mList;
+        if (list == null) {
+            synchronized (this) {
+                list = mList;
+                if (list == null) {
+                    list = decode();
+                    mList = list;
+                    mJson = null;
+                    mAdapter = null;
+                }
+            }
+        }
+        return list;
+    }
+
+    private List<T> decode() {
+        try {
+            StringReader source = new StringReader(mJson);
+            source.skip(mValueStart);
+            JsonReader reader = new JsonReader(source);
+            reader.setLenient(true);
+            return mAdapter.read(reader);
+        } catch (IOException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    @Override
+    public T get(int index) {
+        return list().get(index);
+    }
+
+    @Override
+    public int size() {
+        return list().size();
+    }
+
+    @Override
+    public T set(int index, T element) {
+        return list().set(index, element);
+    }
+
+    @Override
+    public void add(int index, T element) {
+        list().add(index, element);
+    }
+
+    @Override
+    public T remove(int index) {
+        return list().remove(index);
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return list().contains(o);
+    }
+}
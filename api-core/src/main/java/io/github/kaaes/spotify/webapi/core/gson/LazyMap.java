@@ -0,0 +1,107 @@
+package io.github.kaaes.spotify.webapi.core.gson;
+
+import com.google.gson.JsonParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.AbstractMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Map that keeps the position of its JSON object in the text read by a {@link LazyJsonReader}
+ * and parses it with the field's adapter on first use.
+ */
+final class LazyMap<K, V> extends AbstractMap<K, V> {
+
+    private volatile Map<K, V> mMap;
+    private String mJson;
+    private int mValueStart;
+    private TypeAdapter<Map<K, V>> mAdapter;
+
+    private LazyMap(String json, int valueStart, TypeAdapter<Map<K, V>> adapter) {
+        mJson = json;
+        mValueStart = valueStart;
+        mAdapter = adapter;
+    }
+
+    /**
+     * Reads the value of the field {@code name}, deferring it when {@code in} is a {@link LazyJsonReader}.
+     */
+    static <K, V> Map<K, V> read(JsonReader in, String name, TypeAdapter<Map<K, V>> adapter) throws IOException {
+        if (in instanceof LazyJsonReader && in.peek() == JsonToken.BEGIN_OBJECT) {
+            LazyJsonReader reader = (LazyJsonReader) in;
+            int valueStart = reader.deferredValueStart(name);
+            if (valueStart >= 0) {
+                in.skipValue();
+                return new LazyMap<>(reader.getJson(), valueStart, adapter);
+            }
+        }
+        return adapter.read(in);
+    }
+
+    boolean isDecoded() {
+        return mMap != null;
+    }
+
+    private Map<K, V> map() {
+        Map<K, V> map = mMap;
+        if (map == null) {
+            synchronized (this) {
+                map = mMap;
+                if (map == null) {
+                    map = decode();
+                    mMap = map;
+                    mJson = null;
+                    mAdapter = null;
+                }
+            }
+        }
+        return map;
+    }
+
+    private Map<K, V> decode() {
+        try {
+            StringReader source = new StringReader(mJson);
+            source.skip(mValueStart);
+            JsonReader reader = new JsonReader(source);
+            reader.setLenient(true);
+            return mAdapter.read(reader);
+        } catch (IOException e) {
+            throw new JsonParseException(e);
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        return map().entrySet();
+    }
+
+    @Override
+    public int size() {
+        return map().size();
+    }
+
+    @Override
+    public V get(Object key) {
+        return map().get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map().containsKey(key);
+    }
+
+    @Override
+    public V put(K key, V value) {
+        return map().put(key, value);
+    }
+
+    @Override
+    public V remove(Object key) {
+        return map().remove(key);
+    }
+}
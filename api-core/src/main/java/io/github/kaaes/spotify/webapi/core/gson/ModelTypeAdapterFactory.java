@@ -0,0 +1,251 @@
+package io.github.kaaes.spotify.webapi.core.gson;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.TypeAdapterFactory;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+
+import io.github.kaaes.spotify.webapi.core.models.Album;
+import io.github.kaaes.spotify.webapi.core.models.AlbumSimple;
+import io.github.kaaes.spotify.webapi.core.models.Albums;
+import io.github.kaaes.spotify.webapi.core.models.AlbumsPager;
+import io.github.kaaes.spotify.webapi.core.models.Artist;
+import io.github.kaaes.spotify.webapi.core.models.ArtistSimple;
+import io.github.kaaes.spotify.webapi.core.models.Artists;
+import io.github.kaaes.spotify.webapi.core.models.ArtistsCursorPager;
+import io.github.kaaes.spotify.webapi.core.models.ArtistsPager;
+import io.github.kaaes.spotify.webapi.core.models.AudioFeaturesTrack;
+import io.github.kaaes.spotify.webapi.core.models.AudioFeaturesTracks;
+import io.github.kaaes.spotify.webapi.core.models.CategoriesPager;
+import io.github.kaaes.spotify.webapi.core.models.Category;
+import io.github.kaaes.spotify.webapi.core.models.Context;
+import io.github.kaaes.spotify.webapi.core.models.Copyright;
+import io.github.kaaes.spotify.webapi.core.models.Cursor;
+import io.github.kaaes.spotify.webapi.core.models.CursorPager;
+import io.github.kaaes.spotify.webapi.core.models.ErrorDetails;
+import io.github.kaaes.spotify.webapi.core.models.ErrorResponse;
+import io.github.kaaes.spotify.webapi.core.models.FeaturedPlaylists;
+import io.github.kaaes.spotify.webapi.core.models.Followers;
+import io.github.kaaes.spotify.webapi.core.models.Image;
+import io.github.kaaes.spotify.webapi.core.models.LinkedTrack;
+import io.github.kaaes.spotify.webapi.core.models.NewReleases;
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import io.github.kaaes.spotify.webapi.core.models.Playlist;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistFollowPrivacy;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistSimple;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTrack;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTracksInformation;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistsPager;
+import io.github.kaaes.spotify.webapi.core.models.RecentlyPlayedTrack;
+import io.github.kaaes.spotify.webapi.core.models.Recommendations;
+import io.github.kaaes.spotify.webapi.core.models.Result;
+import io.github.kaaes.spotify.webapi.core.models.SavedAlbum;
+import io.github.kaaes.spotify.webapi.core.models.SavedTrack;
+import io.github.kaaes.spotify.webapi.core.models.SearchResult;
+import io.github.kaaes.spotify.webapi.core.models.Seed;
+import io.github.kaaes.spotify.webapi.core.models.SeedsGenres;
+import io.github.kaaes.spotify.webapi.core.models.SnapshotId;
+import io.github.kaaes.spotify.webapi.core.models.Track;
+import io.github.kaaes.spotify.webapi.core.models.TrackSimple;
+import io.github.kaaes.spotify.webapi.core.models.TrackToRemove;
+import io.github.kaaes.spotify.webapi.core.models.TrackToRemoveWithPosition;
+import io.github.kaaes.spotify.webapi.core.models.Tracks;
+import io.github.kaaes.spotify.webapi.core.models.TracksPager;
+import io.github.kaaes.spotify.webapi.core.models.TracksToRemove;
+import io.github.kaaes.spotify.webapi.core.models.TracksToRemoveWithPosition;
+import io.github.kaaes.spotify.webapi.core.models.UserPrivate;
+import io.github.kaaes.spotify.webapi.core.models.UserPublic;
+
+/**
+ * Provides reflection-free {@link TypeAdapter}s for every model in
+ * {@code io.github.kaaes.spotify.webapi.core.models}.
+ * <p>
+ * Gson's reflective adapter looks up and makes accessible every field the first time a
+ * model is used and sets values through {@link java.lang.reflect.Field} afterwards, which
+ * is slow on Android. These adapters read and write the public fields directly.
+ * Subclasses of the models are left to Gson.
+ * <p>
+ * Basic usage:
+ * Gson gson = new GsonBuilder().registerTypeAdapterFactory(new ModelTypeAdapterFactory()).create();
+ */
+public class ModelTypeAdapterFactory implements TypeAdapterFactory {
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> TypeAdapter<T> create(Gson gson, TypeToken<T> typeToken) {
+        Class<? super T> rawType = typeToken.getRawType();
+        Type type = typeToken.getType();
+
+        if (rawType == Album.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.AlbumAdapter(gson);
+        }
+        if (rawType == AlbumSimple.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.AlbumSimpleAdapter(gson);
+        }
+        if (rawType == Albums.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.AlbumsAdapter(gson);
+        }
+        if (rawType == AlbumsPager.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.AlbumsPagerAdapter(gson);
+        }
+        if (rawType == Artist.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.ArtistAdapter(gson);
+        }
+        if (rawType == ArtistSimple.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.ArtistSimpleAdapter(gson);
+        }
+        if (rawType == Artists.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.ArtistsAdapter(gson);
+        }
+        if (rawType == ArtistsCursorPager.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.ArtistsCursorPagerAdapter(gson);
+        }
+        if (rawType == ArtistsPager.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.ArtistsPagerAdapter(gson);
+        }
+        if (rawType == AudioFeaturesTrack.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.AudioFeaturesTrackAdapter(gson);
+        }
+        if (rawType == AudioFeaturesTracks.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.AudioFeaturesTracksAdapter(gson);
+        }
+        if (rawType == CategoriesPager.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.CategoriesPagerAdapter(gson);
+        }
+        if (rawType == Category.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.CategoryAdapter(gson);
+        }
+        if (rawType == Context.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.ContextAdapter(gson);
+        }
+        if (rawType == Copyright.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.CopyrightAdapter(gson);
+        }
+        if (rawType == Cursor.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.CursorAdapter(gson);
+        }
+        if (rawType == CursorPager.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.CursorPagerAdapter<>(gson, itemType(type));
+        }
+        if (rawType == ErrorDetails.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.ErrorDetailsAdapter(gson);
+        }
+        if (rawType == ErrorResponse.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.ErrorResponseAdapter(gson);
+        }
+        if (rawType == FeaturedPlaylists.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.FeaturedPlaylistsAdapter(gson);
+        }
+        if (rawType == Followers.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.FollowersAdapter(gson);
+        }
+        if (rawType == Image.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.ImageAdapter(gson);
+        }
+        if (rawType == LinkedTrack.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.LinkedTrackAdapter(gson);
+        }
+        if (rawType == NewReleases.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.NewReleasesAdapter(gson);
+        }
+        if (rawType == Pager.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.PagerAdapter<>(gson, itemType(type));
+        }
+        if (rawType == Playlist.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.PlaylistAdapter(gson);
+        }
+        if (rawType == PlaylistFollowPrivacy.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.PlaylistFollowPrivacyAdapter(gson);
+        }
+        if (rawType == PlaylistSimple.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.PlaylistSimpleAdapter(gson);
+        }
+        if (rawType == PlaylistTrack.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.PlaylistTrackAdapter(gson);
+        }
+        if (rawType == PlaylistTracksInformation.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.PlaylistTracksInformationAdapter(gson);
+        }
+        if (rawType == PlaylistsPager.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.PlaylistsPagerAdapter(gson);
+        }
+        if (rawType == RecentlyPlayedTrack.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.RecentlyPlayedTrackAdapter(gson);
+        }
+        if (rawType == Recommendations.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.RecommendationsAdapter(gson);
+        }
+        if (rawType == Result.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.ResultAdapter(gson);
+        }
+        if (rawType == SavedAlbum.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.SavedAlbumAdapter(gson);
+        }
+        if (rawType == SavedTrack.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.SavedTrackAdapter(gson);
+        }
+        if (rawType == SearchResult.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.SearchResultAdapter(gson);
+        }
+        if (rawType == Seed.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.SeedAdapter(gson);
+        }
+        if (rawType == SeedsGenres.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.SeedsGenresAdapter(gson);
+        }
+        if (rawType == SnapshotId.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.SnapshotIdAdapter(gson);
+        }
+        if (rawType == Track.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.TrackAdapter(gson);
+        }
+        if (rawType == TrackSimple.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.TrackSimpleAdapter(gson);
+        }
+        if (rawType == TrackToRemove.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.TrackToRemoveAdapter(gson);
+        }
+        if (rawType == TrackToRemoveWithPosition.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.TrackToRemoveWithPositionAdapter(gson);
+        }
+        if (rawType == Tracks.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.TracksAdapter(gson);
+        }
+        if (rawType == TracksPager.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.TracksPagerAdapter(gson);
+        }
+        if (rawType == TracksToRemove.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.TracksToRemoveAdapter(gson);
+        }
+        if (rawType == TracksToRemoveWithPosition.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.TracksToRemoveWithPositionAdapter(gson);
+        }
+        if (rawType == UserPrivate.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.UserPrivateAdapter(gson);
+        }
+        if (rawType == UserPublic.class) {
+            return (TypeAdapter<T>) new ModelTypeAdapters.UserPublicAdapter(gson);
+        }
+
+        return null;
+    }
+
+    /**
+     * @return The type argument of a {@code Pager} or {@code CursorPager}, {@code Object} when it is raw
+     */
+    private static Type itemType(Type type) {
+        if (!(type instanceof ParameterizedType)) {
+            return Object.class;
+        }
+
+        Type itemType = ((ParameterizedType) type).getActualTypeArguments()[0];
+        if (itemType instanceof WildcardType) {
+            return ((WildcardType) itemType).getUpperBounds()[0];
+        }
+        return itemType;
+    }
+}
@@ -0,0 +1,3536 @@
+package io.github.kaaes.spotify.webapi.core.gson;
+
+import android.os.Parcelable;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+
+import io.github.kaaes.spotify.webapi.core.models.Album;
+import io.github.kaaes.spotify.webapi.core.models.AlbumSimple;
+import io.github.kaaes.spotify.webapi.core.models.Albums;
+import io.github.kaaes.spotify.webapi.core.models.AlbumsPager;
+import io.github.kaaes.spotify.webapi.core.models.Artist;
+import io.github.kaaes.spotify.webapi.core.models.ArtistSimple;
+import io.github.kaaes.spotify.webapi.core.models.Artists;
+import io.github.kaaes.spotify.webapi.core.models.ArtistsCursorPager;
+import io.github.kaaes.spotify.webapi.core.models.ArtistsPager;
+import io.github.kaaes.spotify.webapi.core.models.AudioFeaturesTrack;
+import io.github.kaaes.spotify.webapi.core.models.AudioFeaturesTracks;
+import io.github.kaaes.spotify.webapi.core.models.CategoriesPager;
+import io.github.kaaes.spotify.webapi.core.models.Category;
+import io.github.kaaes.spotify.webapi.core.models.Context;
+import io.github.kaaes.spotify.webapi.core.models.Copyright;
+import io.github.kaaes.spotify.webapi.core.models.Cursor;
+import io.github.kaaes.spotify.webapi.core.models.CursorPager;
+import io.github.kaaes.spotify.webapi.core.models.ErrorDetails;
+import io.github.kaaes.spotify.webapi.core.models.ErrorResponse;
+import io.github.kaaes.spotify.webapi.core.models.FeaturedPlaylists;
+import io.github.kaaes.spotify.webapi.core.models.Followers;
+import io.github.kaaes.spotify.webapi.core.models.Image;
+import io.github.kaaes.spotify.webapi.core.models.LinkedTrack;
+import io.github.kaaes.spotify.webapi.core.models.MarketSet;
+import io.github.kaaes.spotify.webapi.core.models.NewReleases;
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import io.github.kaaes.spotify.webapi.core.models.Playlist;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistFollowPrivacy;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistSimple;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTrack;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTracksInformation;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistsPager;
+import io.github.kaaes.spotify.webapi.core.models.RecentlyPlayedTrack;
+import io.github.kaaes.spotify.webapi.core.models.Recommendations;
+import io.github.kaaes.spotify.webapi.core.models.Result;
+import io.github.kaaes.spotify.webapi.core.models.SavedAlbum;
+import io.github.kaaes.spotify.webapi.core.models.SavedTrack;
+import io.github.kaaes.spotify.webapi.core.models.SearchResult;
+import io.github.kaaes.spotify.webapi.core.models.Seed;
+import io.github.kaaes.spotify.webapi.core.models.SeedsGenres;
+import io.github.kaaes.spotify.webapi.core.models.SnapshotId;
+import io.github.kaaes.spotify.webapi.core.models.Track;
+import io.github.kaaes.spotify.webapi.core.models.TrackSimple;
+import io.github.kaaes.spotify.webapi.core.models.TrackToRemove;
+import io.github.kaaes.spotify.webapi.core.models.TrackToRemoveWithPosition;
+import io.github.kaaes.spotify.webapi.core.models.Tracks;
+import io.github.kaaes.spotify.webapi.core.models.TracksPager;
+import io.github.kaaes.spotify.webapi.core.models.TracksToRemove;
+import io.github.kaaes.spotify.webapi.core.models.TracksToRemoveWithPosition;
+import io.github.kaaes.spotify.webapi.core.models.UserPrivate;
+import io.github.kaaes.spotify.webapi.core.models.UserPublic;
+
+/**
+ * {@link TypeAdapter}s for the Web API models, written out field by field so no reflection
+ * is involved when parsing or serializing a model.
+ * <p>
+ * The adapters mirror what Gson's reflective adapter does for the same class: JSON names
+ * come from the field names or {@code @SerializedName}, unknown names are skipped and
+ * {@code null} values leave the field untouched. Collections, maps and nested models are
+ * delegated to the {@link Gson} instance so they go through {@link ModelTypeAdapterFactory}
+ * as well. {@code available_markets} is kept in a {@link MarketSet} and the fields
+ * {@link LazyJsonReader} defers are read through {@link LazyList} and {@link LazyMap}.
+ * <p>
+ * Generated by {@code ModelTypeAdaptersGenerator} in the unit tests, run it after changing
+ * a model instead of editing this file.
+ */
+final class ModelTypeAdapters {
+
+    private ModelTypeAdapters() {
+    }
+
+    /**
+     * Same coercion as Gson's built-in {@code String} adapter.
+     */
+    static String readString(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.BOOLEAN) {
+            return Boolean.toString(in.nextBoolean());
+        }
+        return in.nextString();
+    }
+
+    static final class AlbumAdapter extends TypeAdapter<Album> {
+
+        private final TypeAdapter<List<String>> mMarketsAdapter;
+        private final TypeAdapter<Map<String, String>> mMapOfStringStringAdapter;
+        private final TypeAdapter<List<Image>> mListOfImageAdapter;
+        private final TypeAdapter<List<ArtistSimple>> mListOfArtistSimpleAdapter;
+        private final TypeAdapter<List<Copyright>> mListOfCopyrightAdapter;
+        private final TypeAdapter<List<String>> mListOfStringAdapter;
+        private final TypeAdapter<Pager<TrackSimple>> mPagerOfTrackSimpleAdapter;
+
+        @SuppressWarnings("unchecked")
+        AlbumAdapter(Gson gson) {
+            mMarketsAdapter = new MarketSet.GsonAdapter();
+            mMapOfStringStringAdapter = (TypeAdapter<Map<String, String>>) gson.getAdapter(TypeToken.getParameterized(Map.class, String.class, String.class));
+            mListOfImageAdapter = (TypeAdapter<List<Image>>) gson.getAdapter(TypeToken.getParameterized(List.class, Image.class));
+            mListOfArtistSimpleAdapter = (TypeAdapter<List<ArtistSimple>>) gson.getAdapter(TypeToken.getParameterized(List.class, ArtistSimple.class));
+            mListOfCopyrightAdapter = (TypeAdapter<List<Copyright>>) gson.getAdapter(TypeToken.getParameterized(List.class, Copyright.class));
+            mListOfStringAdapter = (TypeAdapter<List<String>>) gson.getAdapter(TypeToken.getParameterized(List.class, String.class));
+            mPagerOfTrackSimpleAdapter = (TypeAdapter<Pager<TrackSimple>>) gson.getAdapter(TypeToken.getParameterized(Pager.class, TrackSimple.class));
+        }
+
+        @Override
+        public Album read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Album value = new Album();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "album_type":
+                        value.album_type = readString(in);
+                        break;
+                    case "available_markets":
+                        value.available_markets = LazyList.read(in, "available_markets", mMarketsAdapter);
+                        break;
+                    case "external_urls":
+                        value.external_urls = LazyMap.read(in, "external_urls", mMapOfStringStringAdapter);
+                        break;
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "id":
+                        value.id = readString(in);
+                        break;
+                    case "images":
+                        value.images = LazyList.read(in, "images", mListOfImageAdapter);
+                        break;
+                    case "name":
+                        value.name = readString(in);
+                        break;
+                    case "type":
+                        value.type = readString(in);
+                        break;
+                    case "uri":
+                        value.uri = readString(in);
+                        break;
+                    case "artists":
+                        value.artists = mListOfArtistSimpleAdapter.read(in);
+                        break;
+                    case "copyrights":
+                        value.copyrights = mListOfCopyrightAdapter.read(in);
+                        break;
+                    case "external_ids":
+                        value.external_ids = LazyMap.read(in, "external_ids", mMapOfStringStringAdapter);
+                        break;
+                    case "genres":
+                        value.genres = mListOfStringAdapter.read(in);
+                        break;
+                    case "popularity":
+                        value.popularity = in.nextInt();
+                        break;
+                    case "release_date":
+                        value.release_date = readString(in);
+                        break;
+                    case "release_date_precision":
+                        value.release_date_precision = readString(in);
+                        break;
+                    case "tracks":
+                        value.tracks = mPagerOfTrackSimpleAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Album value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("album_type");
+            out.value(value.album_type);
+            out.name("available_markets");
+            mMarketsAdapter.write(out, value.available_markets);
+            out.name("external_urls");
+            mMapOfStringStringAdapter.write(out, value.external_urls);
+            out.name("href");
+            out.value(value.href);
+            out.name("id");
+            out.value(value.id);
+            out.name("images");
+            mListOfImageAdapter.write(out, value.images);
+            out.name("name");
+            out.value(value.name);
+            out.name("type");
+            out.value(value.type);
+            out.name("uri");
+            out.value(value.uri);
+            out.name("artists");
+            mListOfArtistSimpleAdapter.write(out, value.artists);
+            out.name("copyrights");
+            mListOfCopyrightAdapter.write(out, value.copyrights);
+            out.name("external_ids");
+            mMapOfStringStringAdapter.write(out, value.external_ids);
+            out.name("genres");
+            mListOfStringAdapter.write(out, value.genres);
+            out.name("popularity");
+            out.value(value.popularity);
+            out.name("release_date");
+            out.value(value.release_date);
+            out.name("release_date_precision");
+            out.value(value.release_date_precision);
+            out.name("tracks");
+            mPagerOfTrackSimpleAdapter.write(out, value.tracks);
+            out.endObject();
+        }
+    }
+
+    static final class AlbumSimpleAdapter extends TypeAdapter<AlbumSimple> {
+
+        private final TypeAdapter<List<String>> mMarketsAdapter;
+        private final TypeAdapter<Map<String, String>> mMapOfStringStringAdapter;
+        private final TypeAdapter<List<Image>> mListOfImageAdapter;
+
+        @SuppressWarnings("unchecked")
+        AlbumSimpleAdapter(Gson gson) {
+            mMarketsAdapter = new MarketSet.GsonAdapter();
+            mMapOfStringStringAdapter = (TypeAdapter<Map<String, String>>) gson.getAdapter(TypeToken.getParameterized(Map.class, String.class, String.class));
+            mListOfImageAdapter = (TypeAdapter<List<Image>>) gson.getAdapter(TypeToken.getParameterized(List.class, Image.class));
+        }
+
+        @Override
+        public AlbumSimple read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            AlbumSimple value = new AlbumSimple();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "album_type":
+                        value.album_type = readString(in);
+                        break;
+                    case "available_markets":
+                        value.available_markets = LazyList.read(in, "available_markets", mMarketsAdapter);
+                        break;
+                    case "external_urls":
+                        value.external_urls = LazyMap.read(in, "external_urls", mMapOfStringStringAdapter);
+                        break;
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "id":
+                        value.id = readString(in);
+                        break;
+                    case "images":
+                        value.images = LazyList.read(in, "images", mListOfImageAdapter);
+                        break;
+                    case "name":
+                        value.name = readString(in);
+                        break;
+                    case "type":
+                        value.type = readString(in);
+                        break;
+                    case "uri":
+                        value.uri = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, AlbumSimple value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("album_type");
+            out.value(value.album_type);
+            out.name("available_markets");
+            mMarketsAdapter.write(out, value.available_markets);
+            out.name("external_urls");
+            mMapOfStringStringAdapter.write(out, value.external_urls);
+            out.name("href");
+            out.value(value.href);
+            out.name("id");
+            out.value(value.id);
+            out.name("images");
+            mListOfImageAdapter.write(out, value.images);
+            out.name("name");
+            out.value(value.name);
+            out.name("type");
+            out.value(value.type);
+            out.name("uri");
+            out.value(value.uri);
+            out.endObject();
+        }
+    }
+
+    static final class AlbumsAdapter extends TypeAdapter<Albums> {
+
+        private final TypeAdapter<List<Album>> mListOfAlbumAdapter;
+
+        @SuppressWarnings("unchecked")
+        AlbumsAdapter(Gson gson) {
+            mListOfAlbumAdapter = (TypeAdapter<List<Album>>) gson.getAdapter(TypeToken.getParameterized(List.class, Album.class));
+        }
+
+        @Override
+        public Albums read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Albums value = new Albums();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "albums":
+                        value.albums = mListOfAlbumAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Albums value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("albums");
+            mListOfAlbumAdapter.write(out, value.albums);
+            out.endObject();
+        }
+    }
+
+    static final class AlbumsPagerAdapter extends TypeAdapter<AlbumsPager> {
+
+        private final TypeAdapter<Pager<Album>> mPagerOfAlbumAdapter;
+
+        @SuppressWarnings("unchecked")
+        AlbumsPagerAdapter(Gson gson) {
+            mPagerOfAlbumAdapter = (TypeAdapter<Pager<Album>>) gson.getAdapter(TypeToken.getParameterized(Pager.class, Album.class));
+        }
+
+        @Override
+        public AlbumsPager read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            AlbumsPager value = new AlbumsPager();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "albums":
+                        value.albums = mPagerOfAlbumAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, AlbumsPager value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("albums");
+            mPagerOfAlbumAdapter.write(out, value.albums);
+            out.endObject();
+        }
+    }
+
+    static final class ArtistAdapter extends TypeAdapter<Artist> {
+
+        private final TypeAdapter<Map<String, String>> mMapOfStringStringAdapter;
+        private final TypeAdapter<Followers> mFollowersAdapter;
+        private final TypeAdapter<List<String>> mListOfStringAdapter;
+        private final TypeAdapter<List<Image>> mListOfImageAdapter;
+
+        @SuppressWarnings("unchecked")
+        ArtistAdapter(Gson gson) {
+            mMapOfStringStringAdapter = (TypeAdapter<Map<String, String>>) gson.getAdapter(TypeToken.getParameterized(Map.class, String.class, String.class));
+            mFollowersAdapter = gson.getAdapter(Followers.class);
+            mListOfStringAdapter = (TypeAdapter<List<String>>) gson.getAdapter(TypeToken.getParameterized(List.class, String.class));
+            mListOfImageAdapter = (TypeAdapter<List<Image>>) gson.getAdapter(TypeToken.getParameterized(List.class, Image.class));
+        }
+
+        @Override
+        public Artist read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Artist value = new Artist();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "external_urls":
+                        value.external_urls = LazyMap.read(in, "external_urls", mMapOfStringStringAdapter);
+                        break;
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "id":
+                        value.id = readString(in);
+                        break;
+                    case "name":
+                        value.name = readString(in);
+                        break;
+                    case "type":
+                        value.type = readString(in);
+                        break;
+                    case "uri":
+                        value.uri = readString(in);
+                        break;
+                    case "followers":
+                        value.followers = mFollowersAdapter.read(in);
+                        break;
+                    case "genres":
+                        value.genres = mListOfStringAdapter.read(in);
+                        break;
+                    case "images":
+                        value.images = LazyList.read(in, "images", mListOfImageAdapter);
+                        break;
+                    case "popularity":
+                        value.popularity = in.nextInt();
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Artist value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("external_urls");
+            mMapOfStringStringAdapter.write(out, value.external_urls);
+            out.name("href");
+            out.value(value.href);
+            out.name("id");
+            out.value(value.id);
+            out.name("name");
+            out.value(value.name);
+            out.name("type");
+            out.value(value.type);
+            out.name("uri");
+            out.value(value.uri);
+            out.name("followers");
+            mFollowersAdapter.write(out, value.followers);
+            out.name("genres");
+            mListOfStringAdapter.write(out, value.genres);
+            out.name("images");
+            mListOfImageAdapter.write(out, value.images);
+            out.name("popularity");
+            out.value(value.popularity);
+            out.endObject();
+        }
+    }
+
+    static final class ArtistSimpleAdapter extends TypeAdapter<ArtistSimple> {
+
+        private final TypeAdapter<Map<String, String>> mMapOfStringStringAdapter;
+
+        @SuppressWarnings("unchecked")
+        ArtistSimpleAdapter(Gson gson) {
+            mMapOfStringStringAdapter = (TypeAdapter<Map<String, String>>) gson.getAdapter(TypeToken.getParameterized(Map.class, String.class, String.class));
+        }
+
+        @Override
+        public ArtistSimple read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            ArtistSimple value = new ArtistSimple();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "external_urls":
+                        value.external_urls = LazyMap.read(in, "external_urls", mMapOfStringStringAdapter);
+                        break;
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "id":
+                        value.id = readString(in);
+                        break;
+                    case "name":
+                        value.name = readString(in);
+                        break;
+                    case "type":
+                        value.type = readString(in);
+                        break;
+                    case "uri":
+                        value.uri = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, ArtistSimple value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("external_urls");
+            mMapOfStringStringAdapter.write(out, value.external_urls);
+            out.name("href");
+            out.value(value.href);
+            out.name("id");
+            out.value(value.id);
+            out.name("name");
+            out.value(value.name);
+            out.name("type");
+            out.value(value.type);
+            out.name("uri");
+            out.value(value.uri);
+            out.endObject();
+        }
+    }
+
+    static final class ArtistsAdapter extends TypeAdapter<Artists> {
+
+        private final TypeAdapter<List<Artist>> mListOfArtistAdapter;
+
+        @SuppressWarnings("unchecked")
+        ArtistsAdapter(Gson gson) {
+            mListOfArtistAdapter = (TypeAdapter<List<Artist>>) gson.getAdapter(TypeToken.getParameterized(List.class, Artist.class));
+        }
+
+        @Override
+        public Artists read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Artists value = new Artists();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "artists":
+                        value.artists = mListOfArtistAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Artists value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("artists");
+            mListOfArtistAdapter.write(out, value.artists);
+            out.endObject();
+        }
+    }
+
+    static final class ArtistsCursorPagerAdapter extends TypeAdapter<ArtistsCursorPager> {
+
+        private final TypeAdapter<CursorPager<Artist>> mCursorPagerOfArtistAdapter;
+
+        @SuppressWarnings("unchecked")
+        ArtistsCursorPagerAdapter(Gson gson) {
+            mCursorPagerOfArtistAdapter = (TypeAdapter<CursorPager<Artist>>) gson.getAdapter(TypeToken.getParameterized(CursorPager.class, Artist.class));
+        }
+
+        @Override
+        public ArtistsCursorPager read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            ArtistsCursorPager value = new ArtistsCursorPager();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "artists":
+                        value.artists = mCursorPagerOfArtistAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, ArtistsCursorPager value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("artists");
+            mCursorPagerOfArtistAdapter.write(out, value.artists);
+            out.endObject();
+        }
+    }
+
+    static final class ArtistsPagerAdapter extends TypeAdapter<ArtistsPager> {
+
+        private final TypeAdapter<Pager<Artist>> mPagerOfArtistAdapter;
+
+        @SuppressWarnings("unchecked")
+        ArtistsPagerAdapter(Gson gson) {
+            mPagerOfArtistAdapter = (TypeAdapter<Pager<Artist>>) gson.getAdapter(TypeToken.getParameterized(Pager.class, Artist.class));
+        }
+
+        @Override
+        public ArtistsPager read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            ArtistsPager value = new ArtistsPager();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "artists":
+                        value.artists = mPagerOfArtistAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, ArtistsPager value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("artists");
+            mPagerOfArtistAdapter.write(out, value.artists);
+            out.endObject();
+        }
+    }
+
+    static final class AudioFeaturesTrackAdapter extends TypeAdapter<AudioFeaturesTrack> {
+
+        AudioFeaturesTrackAdapter(Gson gson) {
+        }
+
+        @Override
+        public AudioFeaturesTrack read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            AudioFeaturesTrack value = new AudioFeaturesTrack();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "acousticness":
+                        value.acousticness = (float) in.nextDouble();
+                        break;
+                    case "analysis_url":
+                        value.analysis_url = readString(in);
+                        break;
+                    case "danceability":
+                        value.danceability = (float) in.nextDouble();
+                        break;
+                    case "duration_ms":
+                        value.duration_ms = in.nextInt();
+                        break;
+                    case "energy":
+                        value.energy = (float) in.nextDouble();
+                        break;
+                    case "id":
+                        value.id = readString(in);
+                        break;
+                    case "instrumentalness":
+                        value.instrumentalness = (float) in.nextDouble();
+                        break;
+                    case "key":
+                        value.key = in.nextInt();
+                        break;
+                    case "liveness":
+                        value.liveness = (float) in.nextDouble();
+                        break;
+                    case "loudness":
+                        value.loudness = (float) in.nextDouble();
+                        break;
+                    case "mode":
+                        value.mode = in.nextInt();
+                        break;
+                    case "speechiness":
+                        value.speechiness = (float) in.nextDouble();
+                        break;
+                    case "tempo":
+                        value.tempo = (float) in.nextDouble();
+                        break;
+                    case "time_signature":
+                        value.time_signature = in.nextInt();
+                        break;
+                    case "track_href":
+                        value.track_href = readString(in);
+                        break;
+                    case "type":
+                        value.type = readString(in);
+                        break;
+                    case "uri":
+                        value.uri = readString(in);
+                        break;
+                    case "valence":
+                        value.valence = (float) in.nextDouble();
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, AudioFeaturesTrack value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("acousticness");
+            out.value((Number) value.acousticness);
+            out.name("analysis_url");
+            out.value(value.analysis_url);
+            out.name("danceability");
+            out.value((Number) value.danceability);
+            out.name("duration_ms");
+            out.value(value.duration_ms);
+            out.name("energy");
+            out.value((Number) value.energy);
+            out.name("id");
+            out.value(value.id);
+            out.name("instrumentalness");
+            out.value((Number) value.instrumentalness);
+            out.name("key");
+            out.value(value.key);
+            out.name("liveness");
+            out.value((Number) value.liveness);
+            out.name("loudness");
+            out.value((Number) value.loudness);
+            out.name("mode");
+            out.value(value.mode);
+            out.name("speechiness");
+            out.value((Number) value.speechiness);
+            out.name("tempo");
+            out.value((Number) value.tempo);
+            out.name("time_signature");
+            out.value(value.time_signature);
+            out.name("track_href");
+            out.value(value.track_href);
+            out.name("type");
+            out.value(value.type);
+            out.name("uri");
+            out.value(value.uri);
+            out.name("valence");
+            out.value((Number) value.valence);
+            out.endObject();
+        }
+    }
+
+    static final class AudioFeaturesTracksAdapter extends TypeAdapter<AudioFeaturesTracks> {
+
+        private final TypeAdapter<List<AudioFeaturesTrack>> mListOfAudioFeaturesTrackAdapter;
+
+        @SuppressWarnings("unchecked")
+        AudioFeaturesTracksAdapter(Gson gson) {
+            mListOfAudioFeaturesTrackAdapter = (TypeAdapter<List<AudioFeaturesTrack>>) gson.getAdapter(TypeToken.getParameterized(List.class, AudioFeaturesTrack.class));
+        }
+
+        @Override
+        public AudioFeaturesTracks read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            AudioFeaturesTracks value = new AudioFeaturesTracks();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "audio_features":
+                        value.audio_features = mListOfAudioFeaturesTrackAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, AudioFeaturesTracks value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("audio_features");
+            mListOfAudioFeaturesTrackAdapter.write(out, value.audio_features);
+            out.endObject();
+        }
+    }
+
+    static final class CategoriesPagerAdapter extends TypeAdapter<CategoriesPager> {
+
+        private final TypeAdapter<Pager<Category>> mPagerOfCategoryAdapter;
+
+        @SuppressWarnings("unchecked")
+        CategoriesPagerAdapter(Gson gson) {
+            mPagerOfCategoryAdapter = (TypeAdapter<Pager<Category>>) gson.getAdapter(TypeToken.getParameterized(Pager.class, Category.class));
+        }
+
+        @Override
+        public CategoriesPager read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            CategoriesPager value = new CategoriesPager();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "categories":
+                        value.categories = mPagerOfCategoryAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, CategoriesPager value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("categories");
+            mPagerOfCategoryAdapter.write(out, value.categories);
+            out.endObject();
+        }
+    }
+
+    static final class CategoryAdapter extends TypeAdapter<Category> {
+
+        private final TypeAdapter<List<Image>> mListOfImageAdapter;
+
+        @SuppressWarnings("unchecked")
+        CategoryAdapter(Gson gson) {
+            mListOfImageAdapter = (TypeAdapter<List<Image>>) gson.getAdapter(TypeToken.getParameterized(List.class, Image.class));
+        }
+
+        @Override
+        public Category read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Category value = new Category();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "icons":
+                        value.icons = mListOfImageAdapter.read(in);
+                        break;
+                    case "id":
+                        value.id = readString(in);
+                        break;
+                    case "name":
+                        value.name = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Category value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("href");
+            out.value(value.href);
+            out.name("icons");
+            mListOfImageAdapter.write(out, value.icons);
+            out.name("id");
+            out.value(value.id);
+            out.name("name");
+            out.value(value.name);
+            out.endObject();
+        }
+    }
+
+    static final class ContextAdapter extends TypeAdapter<Context> {
+
+        private final TypeAdapter<Map<String, String>> mMapOfStringStringAdapter;
+
+        @SuppressWarnings("unchecked")
+        ContextAdapter(Gson gson) {
+            mMapOfStringStringAdapter = (TypeAdapter<Map<String, String>>) gson.getAdapter(TypeToken.getParameterized(Map.class, String.class, String.class));
+        }
+
+        @Override
+        public Context read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Context value = new Context();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "uri":
+                        value.uri = readString(in);
+                        break;
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "external_urls":
+                        value.external_urls = LazyMap.read(in, "external_urls", mMapOfStringStringAdapter);
+                        break;
+                    case "type":
+                        value.type = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Context value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("uri");
+            out.value(value.uri);
+            out.name("href");
+            out.value(value.href);
+            out.name("external_urls");
+            mMapOfStringStringAdapter.write(out, value.external_urls);
+            out.name("type");
+            out.value(value.type);
+            out.endObject();
+        }
+    }
+
+    static final class CopyrightAdapter extends TypeAdapter<Copyright> {
+
+        CopyrightAdapter(Gson gson) {
+        }
+
+        @Override
+        public Copyright read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Copyright value = new Copyright();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "text":
+                        value.text = readString(in);
+                        break;
+                    case "type":
+                        value.type = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Copyright value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("text");
+            out.value(value.text);
+            out.name("type");
+            out.value(value.type);
+            out.endObject();
+        }
+    }
+
+    static final class CursorAdapter extends TypeAdapter<Cursor> {
+
+        CursorAdapter(Gson gson) {
+        }
+
+        @Override
+        public Cursor read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Cursor value = new Cursor();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "after":
+                        value.after = readString(in);
+                        break;
+                    case "before":
+                        value.before = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Cursor value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("after");
+            out.value(value.after);
+            out.name("before");
+            out.value(value.before);
+            out.endObject();
+        }
+    }
+
+    static final class CursorPagerAdapter<T> extends TypeAdapter<CursorPager<T>> {
+
+        private final TypeAdapter<List<T>> mListOfTAdapter;
+        private final TypeAdapter<Cursor> mCursorAdapter;
+
+        @SuppressWarnings("unchecked")
+        CursorPagerAdapter(Gson gson, Type itemType) {
+            mListOfTAdapter = (TypeAdapter<List<T>>) gson.getAdapter(TypeToken.getParameterized(List.class, itemType));
+            mCursorAdapter = gson.getAdapter(Cursor.class);
+        }
+
+        @Override
+        public CursorPager<T> read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            CursorPager<T> value = new CursorPager<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "items":
+                        value.items = mListOfTAdapter.read(in);
+                        break;
+                    case "limit":
+                        value.limit = in.nextInt();
+                        break;
+                    case "next":
+                        value.next = readString(in);
+                        break;
+                    case "cursors":
+                        value.cursors = mCursorAdapter.read(in);
+                        break;
+                    case "total":
+                        value.total = in.nextInt();
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, CursorPager<T> value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("href");
+            out.value(value.href);
+            out.name("items");
+            mListOfTAdapter.write(out, value.items);
+            out.name("limit");
+            out.value(value.limit);
+            out.name("next");
+            out.value(value.next);
+            out.name("cursors");
+            mCursorAdapter.write(out, value.cursors);
+            out.name("total");
+            out.value(value.total);
+            out.endObject();
+        }
+    }
+
+    static final class ErrorDetailsAdapter extends TypeAdapter<ErrorDetails> {
+
+        ErrorDetailsAdapter(Gson gson) {
+        }
+
+        @Override
+        public ErrorDetails read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            ErrorDetails value = new ErrorDetails();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "status":
+                        value.status = in.nextInt();
+                        break;
+                    case "message":
+                        value.message = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, ErrorDetails value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("status");
+            out.value(value.status);
+            out.name("message");
+            out.value(value.message);
+            out.endObject();
+        }
+    }
+
+    static final class ErrorResponseAdapter extends TypeAdapter<ErrorResponse> {
+
+        private final TypeAdapter<ErrorDetails> mErrorDetailsAdapter;
+
+        ErrorResponseAdapter(Gson gson) {
+            mErrorDetailsAdapter = gson.getAdapter(ErrorDetails.class);
+        }
+
+        @Override
+        public ErrorResponse read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            ErrorResponse value = new ErrorResponse();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "error":
+                        value.error = mErrorDetailsAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, ErrorResponse value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("error");
+            mErrorDetailsAdapter.write(out, value.error);
+            out.endObject();
+        }
+    }
+
+    static final class FeaturedPlaylistsAdapter extends TypeAdapter<FeaturedPlaylists> {
+
+        private final TypeAdapter<Pager<PlaylistSimple>> mPagerOfPlaylistSimpleAdapter;
+
+        @SuppressWarnings("unchecked")
+        FeaturedPlaylistsAdapter(Gson gson) {
+            mPagerOfPlaylistSimpleAdapter = (TypeAdapter<Pager<PlaylistSimple>>) gson.getAdapter(TypeToken.getParameterized(Pager.class, PlaylistSimple.class));
+        }
+
+        @Override
+        public FeaturedPlaylists read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            FeaturedPlaylists value = new FeaturedPlaylists();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "message":
+                        value.message = readString(in);
+                        break;
+                    case "playlists":
+                        value.playlists = mPagerOfPlaylistSimpleAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, FeaturedPlaylists value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("message");
+            out.value(value.message);
+            out.name("playlists");
+            mPagerOfPlaylistSimpleAdapter.write(out, value.playlists);
+            out.endObject();
+        }
+    }
+
+    static final class FollowersAdapter extends TypeAdapter<Followers> {
+
+        FollowersAdapter(Gson gson) {
+        }
+
+        @Override
+        public Followers read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Followers value = new Followers();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "total":
+                        value.total = in.nextInt();
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Followers value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("href");
+            out.value(value.href);
+            out.name("total");
+            out.value(value.total);
+            out.endObject();
+        }
+    }
+
+    static final class ImageAdapter extends TypeAdapter<Image> {
+
+        ImageAdapter(Gson gson) {
+        }
+
+        @Override
+        public Image read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Image value = new Image();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "width":
+                        value.width = in.nextInt();
+                        break;
+                    case "height":
+                        value.height = in.nextInt();
+                        break;
+                    case "url":
+                        value.url = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Image value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("width");
+            out.value(value.width);
+            out.name("height");
+            out.value(value.height);
+            out.name("url");
+            out.value(value.url);
+            out.endObject();
+        }
+    }
+
+    static final class LinkedTrackAdapter extends TypeAdapter<LinkedTrack> {
+
+        private final TypeAdapter<Map<String, String>> mMapOfStringStringAdapter;
+
+        @SuppressWarnings("unchecked")
+        LinkedTrackAdapter(Gson gson) {
+            mMapOfStringStringAdapter = (TypeAdapter<Map<String, String>>) gson.getAdapter(TypeToken.getParameterized(Map.class, String.class, String.class));
+        }
+
+        @Override
+        public LinkedTrack read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            LinkedTrack value = new LinkedTrack();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "external_urls":
+                        value.external_urls = LazyMap.read(in, "external_urls", mMapOfStringStringAdapter);
+                        break;
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "id":
+                        value.id = readString(in);
+                        break;
+                    case "type":
+                        value.type = readString(in);
+                        break;
+                    case "uri":
+                        value.uri = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, LinkedTrack value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("external_urls");
+            mMapOfStringStringAdapter.write(out, value.external_urls);
+            out.name("href");
+            out.value(value.href);
+            out.name("id");
+            out.value(value.id);
+            out.name("type");
+            out.value(value.type);
+            out.name("uri");
+            out.value(value.uri);
+            out.endObject();
+        }
+    }
+
+    static final class NewReleasesAdapter extends TypeAdapter<NewReleases> {
+
+        private final TypeAdapter<Pager<AlbumSimple>> mPagerOfAlbumSimpleAdapter;
+
+        @SuppressWarnings("unchecked")
+        NewReleasesAdapter(Gson gson) {
+            mPagerOfAlbumSimpleAdapter = (TypeAdapter<Pager<AlbumSimple>>) gson.getAdapter(TypeToken.getParameterized(Pager.class, AlbumSimple.class));
+        }
+
+        @Override
+        public NewReleases read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            NewReleases value = new NewReleases();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "albums":
+                        value.albums = mPagerOfAlbumSimpleAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, NewReleases value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("albums");
+            mPagerOfAlbumSimpleAdapter.write(out, value.albums);
+            out.endObject();
+        }
+    }
+
+    static final class PagerAdapter<T extends Parcelable> extends TypeAdapter<Pager<T>> {
+
+        private final TypeAdapter<List<T>> mListOfTAdapter;
+
+        @SuppressWarnings("unchecked")
+        PagerAdapter(Gson gson, Type itemType) {
+            mListOfTAdapter = (TypeAdapter<List<T>>) gson.getAdapter(TypeToken.getParameterized(List.class, itemType));
+        }
+
+        @Override
+        public Pager<T> read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Pager<T> value = new Pager<>();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "items":
+                        value.items = mListOfTAdapter.read(in);
+                        break;
+                    case "limit":
+                        value.limit = in.nextInt();
+                        break;
+                    case "next":
+                        value.next = readString(in);
+                        break;
+                    case "offset":
+                        value.offset = in.nextInt();
+                        break;
+                    case "previous":
+                        value.previous = readString(in);
+                        break;
+                    case "total":
+                        value.total = in.nextInt();
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Pager<T> value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("href");
+            out.value(value.href);
+            out.name("items");
+            mListOfTAdapter.write(out, value.items);
+            out.name("limit");
+            out.value(value.limit);
+            out.name("next");
+            out.value(value.next);
+            out.name("offset");
+            out.value(value.offset);
+            out.name("previous");
+            out.value(value.previous);
+            out.name("total");
+            out.value(value.total);
+            out.endObject();
+        }
+    }
+
+    static final class PlaylistAdapter extends TypeAdapter<Playlist> {
+
+        private final TypeAdapter<Map<String, String>> mMapOfStringStringAdapter;
+        private final TypeAdapter<List<Image>> mListOfImageAdapter;
+        private final TypeAdapter<UserPublic> mUserPublicAdapter;
+        private final TypeAdapter<Followers> mFollowersAdapter;
+        private final TypeAdapter<Pager<PlaylistTrack>> mPagerOfPlaylistTrackAdapter;
+
+        @SuppressWarnings("unchecked")
+        PlaylistAdapter(Gson gson) {
+            mMapOfStringStringAdapter = (TypeAdapter<Map<String, String>>) gson.getAdapter(TypeToken.getParameterized(Map.class, String.class, String.class));
+            mListOfImageAdapter = (TypeAdapter<List<Image>>) gson.getAdapter(TypeToken.getParameterized(List.class, Image.class));
+            mUserPublicAdapter = gson.getAdapter(UserPublic.class);
+            mFollowersAdapter = gson.getAdapter(Followers.class);
+            mPagerOfPlaylistTrackAdapter = (TypeAdapter<Pager<PlaylistTrack>>) gson.getAdapter(TypeToken.getParameterized(Pager.class, PlaylistTrack.class));
+        }
+
+        @Override
+        public Playlist read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Playlist value = new Playlist();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "collaborative":
+                        value.collaborative = in.nextBoolean();
+                        break;
+                    case "description":
+                        value.description = readString(in);
+                        break;
+                    case "external_urls":
+                        value.external_urls = LazyMap.read(in, "external_urls", mMapOfStringStringAdapter);
+                        break;
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "id":
+                        value.id = readString(in);
+                        break;
+                    case "images":
+                        value.images = LazyList.read(in, "images", mListOfImageAdapter);
+                        break;
+                    case "name":
+                        value.name = readString(in);
+                        break;
+                    case "owner":
+                        value.owner = mUserPublicAdapter.read(in);
+                        break;
+                    case "public":
+                        value.is_public = in.nextBoolean();
+                        break;
+                    case "snapshot_id":
+                        value.snapshot_id = readString(in);
+                        break;
+                    case "type":
+                        value.type = readString(in);
+                        break;
+                    case "uri":
+                        value.uri = readString(in);
+                        break;
+                    case "followers":
+                        value.followers = mFollowersAdapter.read(in);
+                        break;
+                    case "tracks":
+                        value.tracks = mPagerOfPlaylistTrackAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Playlist value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("collaborative");
+            out.value(value.collaborative);
+            out.name("description");
+            out.value(value.description);
+            out.name("external_urls");
+            mMapOfStringStringAdapter.write(out, value.external_urls);
+            out.name("href");
+            out.value(value.href);
+            out.name("id");
+            out.value(value.id);
+            out.name("images");
+            mListOfImageAdapter.write(out, value.images);
+            out.name("name");
+            out.value(value.name);
+            out.name("owner");
+            mUserPublicAdapter.write(out, value.owner);
+            out.name("public");
+            out.value(value.is_public);
+            out.name("snapshot_id");
+            out.value(value.snapshot_id);
+            out.name("type");
+            out.value(value.type);
+            out.name("uri");
+            out.value(value.uri);
+            out.name("followers");
+            mFollowersAdapter.write(out, value.followers);
+            out.name("tracks");
+            mPagerOfPlaylistTrackAdapter.write(out, value.tracks);
+            out.endObject();
+        }
+    }
+
+    static final class PlaylistFollowPrivacyAdapter extends TypeAdapter<PlaylistFollowPrivacy> {
+
+        PlaylistFollowPrivacyAdapter(Gson gson) {
+        }
+
+        @Override
+        public PlaylistFollowPrivacy read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            PlaylistFollowPrivacy value = new PlaylistFollowPrivacy();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "public":
+                        value.is_public = in.nextBoolean();
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, PlaylistFollowPrivacy value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("public");
+            out.value(value.is_public);
+            out.endObject();
+        }
+    }
+
+    static final class PlaylistSimpleAdapter extends TypeAdapter<PlaylistSimple> {
+
+        private final TypeAdapter<Map<String, String>> mMapOfStringStringAdapter;
+        private final TypeAdapter<List<Image>> mListOfImageAdapter;
+        private final TypeAdapter<UserPublic> mUserPublicAdapter;
+        private final TypeAdapter<PlaylistTracksInformation> mPlaylistTracksInformationAdapter;
+
+        @SuppressWarnings("unchecked")
+        PlaylistSimpleAdapter(Gson gson) {
+            mMapOfStringStringAdapter = (TypeAdapter<Map<String, String>>) gson.getAdapter(TypeToken.getParameterized(Map.class, String.class, String.class));
+            mListOfImageAdapter = (TypeAdapter<List<Image>>) gson.getAdapter(TypeToken.getParameterized(List.class, Image.class));
+            mUserPublicAdapter = gson.getAdapter(UserPublic.class);
+            mPlaylistTracksInformationAdapter = gson.getAdapter(PlaylistTracksInformation.class);
+        }
+
+        @Override
+        public PlaylistSimple read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            PlaylistSimple value = new PlaylistSimple();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "collaborative":
+                        value.collaborative = in.nextBoolean();
+                        break;
+                    case "description":
+                        value.description = readString(in);
+                        break;
+                    case "external_urls":
+                        value.external_urls = LazyMap.read(in, "external_urls", mMapOfStringStringAdapter);
+                        break;
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "id":
+                        value.id = readString(in);
+                        break;
+                    case "images":
+                        value.images = LazyList.read(in, "images", mListOfImageAdapter);
+                        break;
+                    case "name":
+                        value.name = readString(in);
+                        break;
+                    case "owner":
+                        value.owner = mUserPublicAdapter.read(in);
+                        break;
+                    case "public":
+                        value.is_public = in.nextBoolean();
+                        break;
+                    case "snapshot_id":
+                        value.snapshot_id = readString(in);
+                        break;
+                    case "type":
+                        value.type = readString(in);
+                        break;
+                    case "uri":
+                        value.uri = readString(in);
+                        break;
+                    case "tracks":
+                        value.tracks = mPlaylistTracksInformationAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, PlaylistSimple value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("collaborative");
+            out.value(value.collaborative);
+            out.name("description");
+            out.value(value.description);
+            out.name("external_urls");
+            mMapOfStringStringAdapter.write(out, value.external_urls);
+            out.name("href");
+            out.value(value.href);
+            out.name("id");
+            out.value(value.id);
+            out.name("images");
+            mListOfImageAdapter.write(out, value.images);
+            out.name("name");
+            out.value(value.name);
+            out.name("owner");
+            mUserPublicAdapter.write(out, value.owner);
+            out.name("public");
+            out.value(value.is_public);
+            out.name("snapshot_id");
+            out.value(value.snapshot_id);
+            out.name("type");
+            out.value(value.type);
+            out.name("uri");
+            out.value(value.uri);
+            out.name("tracks");
+            mPlaylistTracksInformationAdapter.write(out, value.tracks);
+            out.endObject();
+        }
+    }
+
+    static final class PlaylistTrackAdapter extends TypeAdapter<PlaylistTrack> {
+
+        private final TypeAdapter<UserPublic> mUserPublicAdapter;
+        private final TypeAdapter<Track> mTrackAdapter;
+
+        PlaylistTrackAdapter(Gson gson) {
+            mUserPublicAdapter = gson.getAdapter(UserPublic.class);
+            mTrackAdapter = gson.getAdapter(Track.class);
+        }
+
+        @Override
+        public PlaylistTrack read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            PlaylistTrack value = new PlaylistTrack();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "added_at":
+                        value.added_at = readString(in);
+                        break;
+                    case "added_by":
+                        value.added_by = mUserPublicAdapter.read(in);
+                        break;
+                    case "track":
+                        value.track = mTrackAdapter.read(in);
+                        break;
+                    case "is_local":
+                        value.is_local = in.nextBoolean();
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, PlaylistTrack value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("added_at");
+            out.value(value.added_at);
+            out.name("added_by");
+            mUserPublicAdapter.write(out, value.added_by);
+            out.name("track");
+            mTrackAdapter.write(out, value.track);
+            out.name("is_local");
+            out.value(value.is_local);
+            out.endObject();
+        }
+    }
+
+    static final class PlaylistTracksInformationAdapter extends TypeAdapter<PlaylistTracksInformation> {
+
+        PlaylistTracksInformationAdapter(Gson gson) {
+        }
+
+        @Override
+        public PlaylistTracksInformation read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            PlaylistTracksInformation value = new PlaylistTracksInformation();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "total":
+                        value.total = in.nextInt();
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, PlaylistTracksInformation value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("href");
+            out.value(value.href);
+            out.name("total");
+            out.value(value.total);
+            out.endObject();
+        }
+    }
+
+    static final class PlaylistsPagerAdapter extends TypeAdapter<PlaylistsPager> {
+
+        private final TypeAdapter<Pager<PlaylistSimple>> mPagerOfPlaylistSimpleAdapter;
+
+        @SuppressWarnings("unchecked")
+        PlaylistsPagerAdapter(Gson gson) {
+            mPagerOfPlaylistSimpleAdapter = (TypeAdapter<Pager<PlaylistSimple>>) gson.getAdapter(TypeToken.getParameterized(Pager.class, PlaylistSimple.class));
+        }
+
+        @Override
+        public PlaylistsPager read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            PlaylistsPager value = new PlaylistsPager();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "playlists":
+                        value.playlists = mPagerOfPlaylistSimpleAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, PlaylistsPager value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("playlists");
+            mPagerOfPlaylistSimpleAdapter.write(out, value.playlists);
+            out.endObject();
+        }
+    }
+
+    static final class RecentlyPlayedTrackAdapter extends TypeAdapter<RecentlyPlayedTrack> {
+
+        private final TypeAdapter<Context> mContextAdapter;
+        private final TypeAdapter<Track> mTrackAdapter;
+
+        RecentlyPlayedTrackAdapter(Gson gson) {
+            mContextAdapter = gson.getAdapter(Context.class);
+            mTrackAdapter = gson.getAdapter(Track.class);
+        }
+
+        @Override
+        public RecentlyPlayedTrack read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            RecentlyPlayedTrack value = new RecentlyPlayedTrack();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "context":
+                        value.context = mContextAdapter.read(in);
+                        break;
+                    case "played_at":
+                        value.played_at = readString(in);
+                        break;
+                    case "track":
+                        value.track = mTrackAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, RecentlyPlayedTrack value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("context");
+            mContextAdapter.write(out, value.context);
+            out.name("played_at");
+            out.value(value.played_at);
+            out.name("track");
+            mTrackAdapter.write(out, value.track);
+            out.endObject();
+        }
+    }
+
+    static final class RecommendationsAdapter extends TypeAdapter<Recommendations> {
+
+        private final TypeAdapter<List<Seed>> mListOfSeedAdapter;
+        private final TypeAdapter<List<Track>> mListOfTrackAdapter;
+
+        @SuppressWarnings("unchecked")
+        RecommendationsAdapter(Gson gson) {
+            mListOfSeedAdapter = (TypeAdapter<List<Seed>>) gson.getAdapter(TypeToken.getParameterized(List.class, Seed.class));
+            mListOfTrackAdapter = (TypeAdapter<List<Track>>) gson.getAdapter(TypeToken.getParameterized(List.class, Track.class));
+        }
+
+        @Override
+        public Recommendations read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Recommendations value = new Recommendations();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "seeds":
+                        value.seeds = mListOfSeedAdapter.read(in);
+                        break;
+                    case "tracks":
+                        value.tracks = mListOfTrackAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Recommendations value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("seeds");
+            mListOfSeedAdapter.write(out, value.seeds);
+            out.name("tracks");
+            mListOfTrackAdapter.write(out, value.tracks);
+            out.endObject();
+        }
+    }
+
+    static final class ResultAdapter extends TypeAdapter<Result> {
+
+        ResultAdapter(Gson gson) {
+        }
+
+        @Override
+        public Result read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Result value = new Result();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Result value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.endObject();
+        }
+    }
+
+    static final class SavedAlbumAdapter extends TypeAdapter<SavedAlbum> {
+
+        private final TypeAdapter<Album> mAlbumAdapter;
+
+        SavedAlbumAdapter(Gson gson) {
+            mAlbumAdapter = gson.getAdapter(Album.class);
+        }
+
+        @Override
+        public SavedAlbum read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            SavedAlbum value = new SavedAlbum();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "added_at":
+                        value.added_at = readString(in);
+                        break;
+                    case "album":
+                        value.album = mAlbumAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, SavedAlbum value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("added_at");
+            out.value(value.added_at);
+            out.name("album");
+            mAlbumAdapter.write(out, value.album);
+            out.endObject();
+        }
+    }
+
+    static final class SavedTrackAdapter extends TypeAdapter<SavedTrack> {
+
+        private final TypeAdapter<Track> mTrackAdapter;
+
+        SavedTrackAdapter(Gson gson) {
+            mTrackAdapter = gson.getAdapter(Track.class);
+        }
+
+        @Override
+        public SavedTrack read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            SavedTrack value = new SavedTrack();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "added_at":
+                        value.added_at = readString(in);
+                        break;
+                    case "track":
+                        value.track = mTrackAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, SavedTrack value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("added_at");
+            out.value(value.added_at);
+            out.name("track");
+            mTrackAdapter.write(out, value.track);
+            out.endObject();
+        }
+    }
+
+    static final class SearchResultAdapter extends TypeAdapter<SearchResult> {
+
+        private final TypeAdapter<Pager<Artist>> mPagerOfArtistAdapter;
+        private final TypeAdapter<Pager<Album>> mPagerOfAlbumAdapter;
+        private final TypeAdapter<Pager<Track>> mPagerOfTrackAdapter;
+        private final TypeAdapter<Pager<PlaylistSimple>> mPagerOfPlaylistSimpleAdapter;
+
+        @SuppressWarnings("unchecked")
+        SearchResultAdapter(Gson gson) {
+            mPagerOfArtistAdapter = (TypeAdapter<Pager<Artist>>) gson.getAdapter(TypeToken.getParameterized(Pager.class, Artist.class));
+            mPagerOfAlbumAdapter = (TypeAdapter<Pager<Album>>) gson.getAdapter(TypeToken.getParameterized(Pager.class, Album.class));
+            mPagerOfTrackAdapter = (TypeAdapter<Pager<Track>>) gson.getAdapter(TypeToken.getParameterized(Pager.class, Track.class));
+            mPagerOfPlaylistSimpleAdapter = (TypeAdapter<Pager<PlaylistSimple>>) gson.getAdapter(TypeToken.getParameterized(Pager.class, PlaylistSimple.class));
+        }
+
+        @Override
+        public SearchResult read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            SearchResult value = new SearchResult();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "artists":
+                        value.artists = mPagerOfArtistAdapter.read(in);
+                        break;
+                    case "albums":
+                        value.albums = mPagerOfAlbumAdapter.read(in);
+                        break;
+                    case "tracks":
+                        value.tracks = mPagerOfTrackAdapter.read(in);
+                        break;
+                    case "playlists":
+                        value.playlists = mPagerOfPlaylistSimpleAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, SearchResult value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("artists");
+            mPagerOfArtistAdapter.write(out, value.artists);
+            out.name("albums");
+            mPagerOfAlbumAdapter.write(out, value.albums);
+            out.name("tracks");
+            mPagerOfTrackAdapter.write(out, value.tracks);
+            out.name("playlists");
+            mPagerOfPlaylistSimpleAdapter.write(out, value.playlists);
+            out.endObject();
+        }
+    }
+
+    static final class SeedAdapter extends TypeAdapter<Seed> {
+
+        SeedAdapter(Gson gson) {
+        }
+
+        @Override
+        public Seed read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Seed value = new Seed();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "afterFilteringSize":
+                        value.afterFilteringSize = in.nextInt();
+                        break;
+                    case "afterRelinkingSize":
+                        value.afterRelinkingSize = in.nextInt();
+                        break;
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "id":
+                        value.id = readString(in);
+                        break;
+                    case "initialPoolSize":
+                        value.initialPoolSize = in.nextInt();
+                        break;
+                    case "type":
+                        value.type = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Seed value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("afterFilteringSize");
+            out.value(value.afterFilteringSize);
+            out.name("afterRelinkingSize");
+            out.value(value.afterRelinkingSize);
+            out.name("href");
+            out.value(value.href);
+            out.name("id");
+            out.value(value.id);
+            out.name("initialPoolSize");
+            out.value(value.initialPoolSize);
+            out.name("type");
+            out.value(value.type);
+            out.endObject();
+        }
+    }
+
+    static final class SeedsGenresAdapter extends TypeAdapter<SeedsGenres> {
+
+        private final TypeAdapter<List<String>> mListOfStringAdapter;
+
+        @SuppressWarnings("unchecked")
+        SeedsGenresAdapter(Gson gson) {
+            mListOfStringAdapter = (TypeAdapter<List<String>>) gson.getAdapter(TypeToken.getParameterized(List.class, String.class));
+        }
+
+        @Override
+        public SeedsGenres read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            SeedsGenres value = new SeedsGenres();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "genres":
+                        value.genres = mListOfStringAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, SeedsGenres value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("genres");
+            mListOfStringAdapter.write(out, value.genres);
+            out.endObject();
+        }
+    }
+
+    static final class SnapshotIdAdapter extends TypeAdapter<SnapshotId> {
+
+        SnapshotIdAdapter(Gson gson) {
+        }
+
+        @Override
+        public SnapshotId read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            SnapshotId value = new SnapshotId();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "snapshot_id":
+                        value.snapshot_id = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, SnapshotId value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("snapshot_id");
+            out.value(value.snapshot_id);
+            out.endObject();
+        }
+    }
+
+    static final class TrackAdapter extends TypeAdapter<Track> {
+
+        private final TypeAdapter<List<ArtistSimple>> mListOfArtistSimpleAdapter;
+        private final TypeAdapter<List<String>> mMarketsAdapter;
+        private final TypeAdapter<LinkedTrack> mLinkedTrackAdapter;
+        private final TypeAdapter<Map<String, String>> mMapOfStringStringAdapter;
+        private final TypeAdapter<AlbumSimple> mAlbumSimpleAdapter;
+
+        @SuppressWarnings("unchecked")
+        TrackAdapter(Gson gson) {
+            mListOfArtistSimpleAdapter = (TypeAdapter<List<ArtistSimple>>) gson.getAdapter(TypeToken.getParameterized(List.class, ArtistSimple.class));
+            mMarketsAdapter = new MarketSet.GsonAdapter();
+            mLinkedTrackAdapter = gson.getAdapter(LinkedTrack.class);
+            mMapOfStringStringAdapter = (TypeAdapter<Map<String, String>>) gson.getAdapter(TypeToken.getParameterized(Map.class, String.class, String.class));
+            mAlbumSimpleAdapter = gson.getAdapter(AlbumSimple.class);
+        }
+
+        @Override
+        public Track read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Track value = new Track();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "artists":
+                        value.artists = mListOfArtistSimpleAdapter.read(in);
+                        break;
+                    case "available_markets":
+                        value.available_markets = LazyList.read(in, "available_markets", mMarketsAdapter);
+                        break;
+                    case "is_playable":
+                        value.is_playable = in.nextBoolean();
+                        break;
+                    case "linked_from":
+                        value.linked_from = mLinkedTrackAdapter.read(in);
+                        break;
+                    case "disc_number":
+                        value.disc_number = in.nextInt();
+                        break;
+                    case "duration_ms":
+                        value.duration_ms = in.nextLong();
+                        break;
+                    case "explicit":
+                        value.explicit = in.nextBoolean();
+                        break;
+                    case "external_urls":
+                        value.external_urls = LazyMap.read(in, "external_urls", mMapOfStringStringAdapter);
+                        break;
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "id":
+                        value.id = readString(in);
+                        break;
+                    case "name":
+                        value.name = readString(in);
+                        break;
+                    case "preview_url":
+                        value.preview_url = readString(in);
+                        break;
+                    case "track_number":
+                        value.track_number = in.nextInt();
+                        break;
+                    case "type":
+                        value.type = readString(in);
+                        break;
+                    case "uri":
+                        value.uri = readString(in);
+                        break;
+                    case "album":
+                        value.album = mAlbumSimpleAdapter.read(in);
+                        break;
+                    case "external_ids":
+                        value.external_ids = LazyMap.read(in, "external_ids", mMapOfStringStringAdapter);
+                        break;
+                    case "popularity":
+                        value.popularity = in.nextInt();
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Track value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("artists");
+            mListOfArtistSimpleAdapter.write(out, value.artists);
+            out.name("available_markets");
+            mMarketsAdapter.write(out, value.available_markets);
+            out.name("is_playable");
+            out.value(value.is_playable);
+            out.name("linked_from");
+            mLinkedTrackAdapter.write(out, value.linked_from);
+            out.name("disc_number");
+            out.value(value.disc_number);
+            out.name("duration_ms");
+            out.value(value.duration_ms);
+            out.name("explicit");
+            out.value(value.explicit);
+            out.name("external_urls");
+            mMapOfStringStringAdapter.write(out, value.external_urls);
+            out.name("href");
+            out.value(value.href);
+            out.name("id");
+            out.value(value.id);
+            out.name("name");
+            out.value(value.name);
+            out.name("preview_url");
+            out.value(value.preview_url);
+            out.name("track_number");
+            out.value(value.track_number);
+            out.name("type");
+            out.value(value.type);
+            out.name("uri");
+            out.value(value.uri);
+            out.name("album");
+            mAlbumSimpleAdapter.write(out, value.album);
+            out.name("external_ids");
+            mMapOfStringStringAdapter.write(out, value.external_ids);
+            out.name("popularity");
+            out.value(value.popularity);
+            out.endObject();
+        }
+    }
+
+    static final class TrackSimpleAdapter extends TypeAdapter<TrackSimple> {
+
+        private final TypeAdapter<List<ArtistSimple>> mListOfArtistSimpleAdapter;
+        private final TypeAdapter<List<String>> mMarketsAdapter;
+        private final TypeAdapter<LinkedTrack> mLinkedTrackAdapter;
+        private final TypeAdapter<Map<String, String>> mMapOfStringStringAdapter;
+
+        @SuppressWarnings("unchecked")
+        TrackSimpleAdapter(Gson gson) {
+            mListOfArtistSimpleAdapter = (TypeAdapter<List<ArtistSimple>>) gson.getAdapter(TypeToken.getParameterized(List.class, ArtistSimple.class));
+            mMarketsAdapter = new MarketSet.GsonAdapter();
+            mLinkedTrackAdapter = gson.getAdapter(LinkedTrack.class);
+            mMapOfStringStringAdapter = (TypeAdapter<Map<String, String>>) gson.getAdapter(TypeToken.getParameterized(Map.class, String.class, String.class));
+        }
+
+        @Override
+        public TrackSimple read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            TrackSimple value = new TrackSimple();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "artists":
+                        value.artists = mListOfArtistSimpleAdapter.read(in);
+                        break;
+                    case "available_markets":
+                        value.available_markets = LazyList.read(in, "available_markets", mMarketsAdapter);
+                        break;
+                    case "is_playable":
+                        value.is_playable = in.nextBoolean();
+                        break;
+                    case "linked_from":
+                        value.linked_from = mLinkedTrackAdapter.read(in);
+                        break;
+                    case "disc_number":
+                        value.disc_number = in.nextInt();
+                        break;
+                    case "duration_ms":
+                        value.duration_ms = in.nextLong();
+                        break;
+                    case "explicit":
+                        value.explicit = in.nextBoolean();
+                        break;
+                    case "external_urls":
+                        value.external_urls = LazyMap.read(in, "external_urls", mMapOfStringStringAdapter);
+                        break;
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "id":
+                        value.id = readString(in);
+                        break;
+                    case "name":
+                        value.name = readString(in);
+                        break;
+                    case "preview_url":
+                        value.preview_url = readString(in);
+                        break;
+                    case "track_number":
+                        value.track_number = in.nextInt();
+                        break;
+                    case "type":
+                        value.type = readString(in);
+                        break;
+                    case "uri":
+                        value.uri = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, TrackSimple value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("artists");
+            mListOfArtistSimpleAdapter.write(out, value.artists);
+            out.name("available_markets");
+            mMarketsAdapter.write(out, value.available_markets);
+            out.name("is_playable");
+            out.value(value.is_playable);
+            out.name("linked_from");
+            mLinkedTrackAdapter.write(out, value.linked_from);
+            out.name("disc_number");
+            out.value(value.disc_number);
+            out.name("duration_ms");
+            out.value(value.duration_ms);
+            out.name("explicit");
+            out.value(value.explicit);
+            out.name("external_urls");
+            mMapOfStringStringAdapter.write(out, value.external_urls);
+            out.name("href");
+            out.value(value.href);
+            out.name("id");
+            out.value(value.id);
+            out.name("name");
+            out.value(value.name);
+            out.name("preview_url");
+            out.value(value.preview_url);
+            out.name("track_number");
+            out.value(value.track_number);
+            out.name("type");
+            out.value(value.type);
+            out.name("uri");
+            out.value(value.uri);
+            out.endObject();
+        }
+    }
+
+    static final class TrackToRemoveAdapter extends TypeAdapter<TrackToRemove> {
+
+        TrackToRemoveAdapter(Gson gson) {
+        }
+
+        @Override
+        public TrackToRemove read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            TrackToRemove value = new TrackToRemove();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "uri":
+                        value.uri = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, TrackToRemove value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("uri");
+            out.value(value.uri);
+            out.endObject();
+        }
+    }
+
+    static final class TrackToRemoveWithPositionAdapter extends TypeAdapter<TrackToRemoveWithPosition> {
+
+        private final TypeAdapter<List<Integer>> mListOfIntegerAdapter;
+
+        @SuppressWarnings("unchecked")
+        TrackToRemoveWithPositionAdapter(Gson gson) {
+            mListOfIntegerAdapter = (TypeAdapter<List<Integer>>) gson.getAdapter(TypeToken.getParameterized(List.class, Integer.class));
+        }
+
+        @Override
+        public TrackToRemoveWithPosition read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            TrackToRemoveWithPosition value = new TrackToRemoveWithPosition();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "uri":
+                        value.uri = readString(in);
+                        break;
+                    case "positions":
+                        value.positions = mListOfIntegerAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, TrackToRemoveWithPosition value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("uri");
+            out.value(value.uri);
+            out.name("positions");
+            mListOfIntegerAdapter.write(out, value.positions);
+            out.endObject();
+        }
+    }
+
+    static final class TracksAdapter extends TypeAdapter<Tracks> {
+
+        private final TypeAdapter<List<Track>> mListOfTrackAdapter;
+
+        @SuppressWarnings("unchecked")
+        TracksAdapter(Gson gson) {
+            mListOfTrackAdapter = (TypeAdapter<List<Track>>) gson.getAdapter(TypeToken.getParameterized(List.class, Track.class));
+        }
+
+        @Override
+        public Tracks read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            Tracks value = new Tracks();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "tracks":
+                        value.tracks = mListOfTrackAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, Tracks value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("tracks");
+            mListOfTrackAdapter.write(out, value.tracks);
+            out.endObject();
+        }
+    }
+
+    static final class TracksPagerAdapter extends TypeAdapter<TracksPager> {
+
+        private final TypeAdapter<Pager<Track>> mPagerOfTrackAdapter;
+
+        @SuppressWarnings("unchecked")
+        TracksPagerAdapter(Gson gson) {
+            mPagerOfTrackAdapter = (TypeAdapter<Pager<Track>>) gson.getAdapter(TypeToken.getParameterized(Pager.class, Track.class));
+        }
+
+        @Override
+        public TracksPager read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            TracksPager value = new TracksPager();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "tracks":
+                        value.tracks = mPagerOfTrackAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, TracksPager value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("tracks");
+            mPagerOfTrackAdapter.write(out, value.tracks);
+            out.endObject();
+        }
+    }
+
+    static final class TracksToRemoveAdapter extends TypeAdapter<TracksToRemove> {
+
+        private final TypeAdapter<List<TrackToRemove>> mListOfTrackToRemoveAdapter;
+
+        @SuppressWarnings("unchecked")
+        TracksToRemoveAdapter(Gson gson) {
+            mListOfTrackToRemoveAdapter = (TypeAdapter<List<TrackToRemove>>) gson.getAdapter(TypeToken.getParameterized(List.class, TrackToRemove.class));
+        }
+
+        @Override
+        public TracksToRemove read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            TracksToRemove value = new TracksToRemove();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "tracks":
+                        value.tracks = mListOfTrackToRemoveAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, TracksToRemove value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("tracks");
+            mListOfTrackToRemoveAdapter.write(out, value.tracks);
+            out.endObject();
+        }
+    }
+
+    static final class TracksToRemoveWithPositionAdapter extends TypeAdapter<TracksToRemoveWithPosition> {
+
+        private final TypeAdapter<List<TrackToRemoveWithPosition>> mListOfTrackToRemoveWithPositionAdapter;
+
+        @SuppressWarnings("unchecked")
+        TracksToRemoveWithPositionAdapter(Gson gson) {
+            mListOfTrackToRemoveWithPositionAdapter = (TypeAdapter<List<TrackToRemoveWithPosition>>) gson.getAdapter(TypeToken.getParameterized(List.class, TrackToRemoveWithPosition.class));
+        }
+
+        @Override
+        public TracksToRemoveWithPosition read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            TracksToRemoveWithPosition value = new TracksToRemoveWithPosition();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "tracks":
+                        value.tracks = mListOfTrackToRemoveWithPositionAdapter.read(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, TracksToRemoveWithPosition value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("tracks");
+            mListOfTrackToRemoveWithPositionAdapter.write(out, value.tracks);
+            out.endObject();
+        }
+    }
+
+    static final class UserPrivateAdapter extends TypeAdapter<UserPrivate> {
+
+        private final TypeAdapter<Map<String, String>> mMapOfStringStringAdapter;
+        private final TypeAdapter<Followers> mFollowersAdapter;
+        private final TypeAdapter<List<Image>> mListOfImageAdapter;
+
+        @SuppressWarnings("unchecked")
+        UserPrivateAdapter(Gson gson) {
+            mMapOfStringStringAdapter = (TypeAdapter<Map<String, String>>) gson.getAdapter(TypeToken.getParameterized(Map.class, String.class, String.class));
+            mFollowersAdapter = gson.getAdapter(Followers.class);
+            mListOfImageAdapter = (TypeAdapter<List<Image>>) gson.getAdapter(TypeToken.getParameterized(List.class, Image.class));
+        }
+
+        @Override
+        public UserPrivate read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            UserPrivate value = new UserPrivate();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "display_name":
+                        value.display_name = readString(in);
+                        break;
+                    case "external_urls":
+                        value.external_urls = LazyMap.read(in, "external_urls", mMapOfStringStringAdapter);
+                        break;
+                    case "followers":
+                        value.followers = mFollowersAdapter.read(in);
+                        break;
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "id":
+                        value.id = readString(in);
+                        break;
+                    case "images":
+                        value.images = LazyList.read(in, "images", mListOfImageAdapter);
+                        break;
+                    case "type":
+                        value.type = readString(in);
+                        break;
+                    case "uri":
+                        value.uri = readString(in);
+                        break;
+                    case "birthdate":
+                        value.birthdate = readString(in);
+                        break;
+                    case "country":
+                        value.country = readString(in);
+                        break;
+                    case "email":
+                        value.email = readString(in);
+                        break;
+                    case "product":
+                        value.product = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, UserPrivate value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("display_name");
+            out.value(value.display_name);
+            out.name("external_urls");
+            mMapOfStringStringAdapter.write(out, value.external_urls);
+            out.name("followers");
+            mFollowersAdapter.write(out, value.followers);
+            out.name("href");
+            out.value(value.href);
+            out.name("id");
+            out.value(value.id);
+            out.name("images");
+            mListOfImageAdapter.write(out, value.images);
+            out.name("type");
+            out.value(value.type);
+            out.name("uri");
+            out.value(value.uri);
+            out.name("birthdate");
+            out.value(value.birthdate);
+            out.name("country");
+            out.value(value.country);
+            out.name("email");
+            out.value(value.email);
+            out.name("product");
+            out.value(value.product);
+            out.endObject();
+        }
+    }
+
+    static final class UserPublicAdapter extends TypeAdapter<UserPublic> {
+
+        private final TypeAdapter<Map<String, String>> mMapOfStringStringAdapter;
+        private final TypeAdapter<Followers> mFollowersAdapter;
+        private final TypeAdapter<List<Image>> mListOfImageAdapter;
+
+        @SuppressWarnings("unchecked")
+        UserPublicAdapter(Gson gson) {
+            mMapOfStringStringAdapter = (TypeAdapter<Map<String, String>>) gson.getAdapter(TypeToken.getParameterized(Map.class, String.class, String.class));
+            mFollowersAdapter = gson.getAdapter(Followers.class);
+            mListOfImageAdapter = (TypeAdapter<List<Image>>) gson.getAdapter(TypeToken.getParameterized(List.class, Image.class));
+        }
+
+        @Override
+        public UserPublic read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+
+            UserPublic value = new UserPublic();
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                    continue;
+                }
+                switch (name) {
+                    case "display_name":
+                        value.display_name = readString(in);
+                        break;
+                    case "external_urls":
+                        value.external_urls = LazyMap.read(in, "external_urls", mMapOfStringStringAdapter);
+                        break;
+                    case "followers":
+                        value.followers = mFollowersAdapter.read(in);
+                        break;
+                    case "href":
+                        value.href = readString(in);
+                        break;
+                    case "id":
+                        value.id = readString(in);
+                        break;
+                    case "images":
+                        value.images = LazyList.read(in, "images", mListOfImageAdapter);
+                        break;
+                    case "type":
+                        value.type = readString(in);
+                        break;
+                    case "uri":
+                        value.uri = readString(in);
+                        break;
+                    default:
+                        in.skipValue();
+                        break;
+                }
+            }
+            in.endObject();
+            return value;
+        }
+
+        @Override
+        public void write(JsonWriter out, UserPublic value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+
+            out.beginObject();
+            out.name("display_name");
+            out.value(value.display_name);
+            out.name("external_urls");
+            mMapOfStringStringAdapter.write(out, value.external_urls);
+            out.name("followers");
+            mFollowersAdapter.write(out, value.followers);
+            out.name("href");
+            out.value(value.href);
+            out.name("id");
+            out.value(value.id);
+            out.name("images");
+            mListOfImageAdapter.write(out, value.images);
+            out.name("type");
+            out.value(value.type);
+            out.name("uri");
+            out.value(value.uri);
+            out.endObject();
+        }
+    }
+}
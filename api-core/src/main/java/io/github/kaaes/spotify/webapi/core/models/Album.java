@@ -30,12 +30,12 @@ public class Album extends AlbumSimple implements Parcelable {
         super.writeToParcel(dest, flags);
         dest.writeTypedList(artists);
         dest.writeTypedList(copyrights);
-        dest.writeMap(this.external_ids);
+        ModelParcels.writeStringMap(dest, this.external_ids);
         dest.writeStringList(this.genres);
-        dest.writeValue(this.popularity);
+        ModelParcels.writeInteger(dest, this.popularity);
         dest.writeString(this.release_date);
         dest.writeString(this.release_date_precision);
-        dest.writeParcelable(this.tracks, flags);
+        ModelParcels.writeModel(dest, this.tracks, Pager.class, flags);
     }
 
     public Album() {
@@ -45,12 +45,12 @@ public class Album extends AlbumSimple implements Parcelable {
         super(in);
         this.artists = in.createTypedArrayList(ArtistSimple.CREATOR);
         this.copyrights = in.createTypedArrayList(Copyright.CREATOR);
-        this.external_ids = in.readHashMap(ClassLoader.getSystemClassLoader());
+        this.external_ids = ModelParcels.readStringMap(in);
         this.genres = in.createStringArrayList();
-        this.popularity = (Integer) in.readValue(Integer.class.getClassLoader());
+        this.popularity = ModelParcels.readInteger(in);
         this.release_date = in.readString();
         this.release_date_precision = in.readString();
-        this.tracks = in.readParcelable(Pager.class.getClassLoader());
+        this.tracks = ModelParcels.readModel(in, Pager.CREATOR);
     }
 
     public static final Parcelable.Creator<Album> CREATOR = new Parcelable.Creator<Album>() {
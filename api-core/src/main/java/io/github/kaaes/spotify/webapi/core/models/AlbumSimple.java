@@ -3,11 +3,14 @@ package io.github.kaaes.spotify.webapi.core.models;
 import android.os.Parcel;
 import android.os.Parcelable;
 
+import com.google.gson.annotations.JsonAdapter;
+
 import java.util.List;
 import java.util.Map;
 
 public class AlbumSimple implements Parcelable {
     public String album_type;
+    @JsonAdapter(MarketSet.GsonAdapter.class)
     public List<String> available_markets;
     public Map<String, String> external_urls;
     public String href;
@@ -26,8 +29,8 @@ public class AlbumSimple implements Parcelable {
     @Override
     public void writeToParcel(Parcel dest, int flags) {
         dest.writeString(this.album_type);
-        dest.writeStringList(this.available_markets);
-        dest.writeMap(this.external_urls);
+        ModelParcels.writeMarkets(dest, this.available_markets);
+        ModelParcels.writeStringMap(dest, this.external_urls);
         dest.writeString(this.href);
         dest.writeString(this.id);
         dest.writeTypedList(images);
@@ -41,8 +44,8 @@ public class AlbumSimple implements Parcelable {
 
     protected AlbumSimple(Parcel in) {
         this.album_type = in.readString();
-        this.available_markets = in.createStringArrayList();
-        this.external_urls = in.readHashMap(ClassLoader.getSystemClassLoader());
+        this.available_markets = ModelParcels.readMarkets(in);
+        this.external_urls = ModelParcels.readStringMap(in);
         this.href = in.readString();
         this.id = in.readString();
         this.images = in.createTypedArrayList(Image.CREATOR);
@@ -14,14 +14,14 @@ public class AlbumsPager implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeParcelable(this.albums, 0);
+        ModelParcels.writeModel(dest, this.albums, Pager.class, 0);
     }
 
     public AlbumsPager() {
     }
 
     protected AlbumsPager(Parcel in) {
-        this.albums = in.readParcelable(Pager.class.getClassLoader());
+        this.albums = ModelParcels.readModel(in, Pager.CREATOR);
     }
 
     public static final Parcelable.Creator<AlbumsPager> CREATOR = new Parcelable.Creator<AlbumsPager>() {
@@ -22,10 +22,10 @@ public class Artist extends ArtistSimple {
     @Override
     public void writeToParcel(Parcel dest, int flags) {
         super.writeToParcel(dest, flags);
-        dest.writeParcelable(this.followers, flags);
+        ModelParcels.writeModel(dest, this.followers, Followers.class, flags);
         dest.writeStringList(this.genres);
         dest.writeTypedList(images);
-        dest.writeValue(this.popularity);
+        ModelParcels.writeInteger(dest, this.popularity);
     }
 
     public Artist() {
@@ -33,10 +33,10 @@ public class Artist extends ArtistSimple {
 
     protected Artist(Parcel in) {
         super(in);
-        this.followers = in.readParcelable(Followers.class.getClassLoader());
+        this.followers = ModelParcels.readModel(in, Followers.CREATOR);
         this.genres = in.createStringArrayList();
         this.images = in.createTypedArrayList(Image.CREATOR);
-        this.popularity = (Integer) in.readValue(Integer.class.getClassLoader());
+        this.popularity = ModelParcels.readInteger(in);
     }
 
     public static final Creator<Artist> CREATOR = new Creator<Artist>() {
@@ -25,7 +25,7 @@ public class ArtistSimple implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeMap(this.external_urls);
+        ModelParcels.writeStringMap(dest, this.external_urls);
         dest.writeString(this.href);
         dest.writeString(this.id);
         dest.writeString(this.name);
@@ -34,7 +34,7 @@ public class ArtistSimple implements Parcelable {
     }
 
     protected ArtistSimple(Parcel in) {
-        this.external_urls = in.readHashMap(Map.class.getClassLoader());
+        this.external_urls = ModelParcels.readStringMap(in);
         this.href = in.readString();
         this.id = in.readString();
         this.name = in.readString();
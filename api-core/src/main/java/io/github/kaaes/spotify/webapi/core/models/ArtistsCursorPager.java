@@ -19,7 +19,7 @@ public class ArtistsCursorPager implements Parcelable {
     }
 
     protected ArtistsCursorPager(Parcel in) {
-        this.artists = in.readParcelable(CursorPager.class.getClassLoader());
+        this.artists = ModelParcels.readModel(in, CursorPager.CREATOR);
     }
 
     @Override
@@ -29,6 +29,6 @@ public class ArtistsCursorPager implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeParcelable(this.artists, 0);
+        ModelParcels.writeModel(dest, this.artists, CursorPager.class, 0);
     }
 }
@@ -14,14 +14,14 @@ public class ArtistsPager implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeParcelable(this.artists, 0);
+        ModelParcels.writeModel(dest, this.artists, Pager.class, 0);
     }
 
     public ArtistsPager() {
     }
 
     protected ArtistsPager(Parcel in) {
-        this.artists = in.readParcelable(Pager.class.getClassLoader());
+        this.artists = ModelParcels.readModel(in, Pager.CREATOR);
     }
 
     public static final Parcelable.Creator<ArtistsPager> CREATOR = new Parcelable.Creator<ArtistsPager>() {
@@ -14,14 +14,14 @@ public class CategoriesPager implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeParcelable(this.categories, 0);
+        ModelParcels.writeModel(dest, this.categories, Pager.class, 0);
     }
 
     public CategoriesPager() {
     }
 
     protected CategoriesPager(Parcel in) {
-        this.categories = in.readParcelable(Pager.class.getClassLoader());
+        this.categories = ModelParcels.readModel(in, Pager.CREATOR);
     }
 
     public static final Parcelable.Creator<CategoriesPager> CREATOR = new Parcelable.Creator<CategoriesPager>() {
@@ -23,10 +23,13 @@ public class Context implements Parcelable {
     public Map<String, String> external_urls;
     public String type;
 
+    public Context() {
+    }
+
     protected Context(Parcel in) {
         this.uri = in.readString();
         this.href = in.readString();
-        this.external_urls = in.readHashMap(Map.class.getClassLoader());
+        this.external_urls = ModelParcels.readStringMap(in);
         this.type = in.readString();
     }
 
@@ -34,7 +37,7 @@ public class Context implements Parcelable {
     public void writeToParcel(Parcel dest, int flags) {
         dest.writeString(this.uri);
         dest.writeString(this.href);
-        dest.writeMap(this.external_urls);
+        ModelParcels.writeStringMap(dest, this.external_urls);
         dest.writeString(this.type);
     }
 
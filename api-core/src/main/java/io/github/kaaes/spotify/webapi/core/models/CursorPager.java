@@ -3,7 +3,6 @@ package io.github.kaaes.spotify.webapi.core.models;
 import android.os.Parcel;
 import android.os.Parcelable;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -27,10 +26,10 @@ public class CursorPager<T> implements Parcelable  {
     @Override
     public void writeToParcel(Parcel dest, int flags) {
         dest.writeString(href);
-        dest.writeList(items);
+        ModelParcels.writeItems(dest, items, flags);
         dest.writeInt(limit);
         dest.writeString(next);
-        dest.writeParcelable(this.cursors, flags);
+        ModelParcels.writeModel(dest, this.cursors, Cursor.class, flags);
         dest.writeInt(total);
     }
 
@@ -39,10 +38,10 @@ public class CursorPager<T> implements Parcelable  {
 
     protected CursorPager(Parcel in) {
         this.href = in.readString();
-        this.items = in.readArrayList(ArrayList.class.getClassLoader());
+        this.items = ModelParcels.readItems(in);
         this.limit = in.readInt();
         this.next = in.readString();
-        this.cursors = in.readParcelable(Cursor.class.getClassLoader());
+        this.cursors = ModelParcels.readModel(in, Cursor.CREATOR);
         this.total = in.readInt();
     }
 
@@ -13,14 +13,14 @@ public class ErrorResponse implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeParcelable(this.error, 0);
+        ModelParcels.writeModel(dest, this.error, ErrorDetails.class, 0);
     }
 
     public ErrorResponse() {
     }
 
     protected ErrorResponse(Parcel in) {
-        this.error = in.readParcelable(ErrorDetails.class.getClassLoader());
+        this.error = ModelParcels.readModel(in, ErrorDetails.CREATOR);
     }
 
     public static final Parcelable.Creator<ErrorResponse> CREATOR = new Parcelable.Creator<ErrorResponse>() {
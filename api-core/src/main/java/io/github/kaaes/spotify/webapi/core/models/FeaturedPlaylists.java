@@ -15,7 +15,7 @@ public class FeaturedPlaylists implements Parcelable {
     @Override
     public void writeToParcel(Parcel dest, int flags) {
         dest.writeString(this.message);
-        dest.writeParcelable(this.playlists, 0);
+        ModelParcels.writeModel(dest, this.playlists, Pager.class, 0);
     }
 
     public FeaturedPlaylists() {
@@ -23,7 +23,7 @@ public class FeaturedPlaylists implements Parcelable {
 
     protected FeaturedPlaylists(Parcel in) {
         this.message = in.readString();
-        this.playlists = in.readParcelable(Pager.class.getClassLoader());
+        this.playlists = ModelParcels.readModel(in, Pager.CREATOR);
     }
 
     public static final Parcelable.Creator<FeaturedPlaylists> CREATOR = new Parcelable.Creator<FeaturedPlaylists>() {
@@ -19,8 +19,8 @@ public class Image implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeValue(this.width);
-        dest.writeValue(this.height);
+        ModelParcels.writeInteger(dest, this.width);
+        ModelParcels.writeInteger(dest, this.height);
         dest.writeString(this.url);
     }
 
@@ -28,8 +28,8 @@ public class Image implements Parcelable {
     }
 
     protected Image(Parcel in) {
-        this.width = (Integer) in.readValue(Integer.class.getClassLoader());
-        this.height = (Integer) in.readValue(Integer.class.getClassLoader());
+        this.width = ModelParcels.readInteger(in);
+        this.height = ModelParcels.readInteger(in);
         this.url = in.readString();
     }
 
@@ -20,7 +20,7 @@ public class LinkedTrack implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeMap(this.external_urls);
+        ModelParcels.writeStringMap(dest, this.external_urls);
         dest.writeString(this.href);
         dest.writeString(this.id);
         dest.writeString(this.type);
@@ -31,7 +31,7 @@ public class LinkedTrack implements Parcelable {
     }
 
     protected LinkedTrack(Parcel in) {
-        this.external_urls = in.readHashMap(ClassLoader.getSystemClassLoader());
+        this.external_urls = ModelParcels.readStringMap(in);
         this.href = in.readString();
         this.id = in.readString();
         this.type = in.readString();
@@ -0,0 +1,377 @@
+package io.github.kaaes.spotify.webapi.core.models;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * List of ISO 3166-1 alpha-2 market codes stored as one bit per code.
+ * <p>
+ * Every two letter code {@code AA}..{@code ZZ} has a fixed position in the table, so a set
+ * of markets takes a few longs instead of one String per market, and {@link #contains(Object)}
+ * runs in constant time. Codes are listed in alphabetical order, whatever order they were
+ * added in. Values that are not two upper case letters are kept as they are, after the codes.
+ * <p>
+ * The list can be changed like the {@code ArrayList} these fields used to hold, with two
+ * differences that follow from storing bits: a market is only kept once, and it always goes
+ * to its alphabetical position, whatever index it is added or set at.
+ * <p>
+ * Used for {@code available_markets} of {@link TrackSimple} and {@link AlbumSimple},
+ * so checking whether a track is playable in a market stays cheap:
+ * if (track.available_markets != null &amp;&amp; track.available_markets.contains("DE")) { ... }
+ */
+public class MarketSet extends AbstractList<String> implements Parcelable {
+
+    private static final int CODE_COUNT = 26 * 26;
+    private static final int WORD_COUNT = (CODE_COUNT + 63) / 64;
+    private static final String[] NO_OTHERS = new String[0];
+
+    private final long[] mBits;
+    private String[] mOthers;
+    private int mCodeCount;
+
+    private MarketSet(long[] bits, String[] others) {
+        mBits = bits;
+        mOthers = others;
+        int codeCount = 0;
+        for (long word : bits) {
+            codeCount += Long.bitCount(word);
+        }
+        mCodeCount = codeCount;
+    }
+
+    /**
+     * Creates an empty list, markets can be added to it one by one.
+     */
+    public MarketSet() {
+        this(new long[WORD_COUNT], NO_OTHERS);
+    }
+
+    /**
+     * @return The given markets as a {@link MarketSet}, or the same instance if they already are one
+     */
+    public static MarketSet of(Collection<String> markets) {
+        if (markets instanceof MarketSet) {
+            return (MarketSet) markets;
+        }
+        Builder builder = new Builder();
+        for (String market : markets) {
+            builder.add(market);
+        }
+        return builder.build();
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof String)) {
+            return false;
+        }
+        int index = indexOf((String) o);
+        if (index >= 0) {
+            return (mBits[index >>> 6] & (1L << index)) != 0;
+        }
+        for (String other : mOthers) {
+            if (other.equals(o)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the market at its alphabetical position, {@code location} is only checked for bounds.
+     * Markets already in the list are not added again.
+     */
+    @Override
+    public void add(int location, String market) {
+        if (location < 0 || location > size()) {
+            throw new IndexOutOfBoundsException("Index: " + location + ", size: " + size());
+        }
+        insert(market);
+    }
+
+    @Override
+    public boolean add(String market) {
+        return insert(market);
+    }
+
+    @Override
+    public String remove(int location) {
+        String market = get(location);
+        delete(market);
+        return market;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof String && delete((String) o);
+    }
+
+    /**
+     * Replaces the market at {@code location}, the new one goes to its alphabetical position.
+     */
+    @Override
+    public String set(int location, String market) {
+        if (market == null) {
+            throw new IllegalArgumentException("Market can't be null");
+        }
+        String previous = remove(location);
+        insert(market);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(mBits, 0);
+        mOthers = NO_OTHERS;
+        mCodeCount = 0;
+        modCount++;
+    }
+
+    private boolean insert(String market) {
+        if (market == null) {
+            throw new IllegalArgumentException("Market can't be null");
+        }
+        if (contains(market)) {
+            return false;
+        }
+        int index = indexOf(market);
+        if (index >= 0) {
+            mBits[index >>> 6] |= 1L << index;
+            mCodeCount++;
+        } else {
+            mOthers = Arrays.copyOf(mOthers, mOthers.length + 1);
+            mOthers[mOthers.length - 1] = market;
+        }
+        modCount++;
+        return true;
+    }
+
+    private boolean delete(String market) {
+        int index = indexOf(market);
+        if (index >= 0) {
+            long bit = 1L << index;
+            if ((mBits[index >>> 6] & bit) == 0) {
+                return false;
+            }
+            mBits[index >>> 6] &= ~bit;
+            mCodeCount--;
+        } else {
+            int position = Arrays.asList(mOthers).indexOf(market);
+            if (position < 0) {
+                return false;
+            }
+            String[] others = new String[mOthers.length - 1];
+            System.arraycopy(mOthers, 0, others, 0, position);
+            System.arraycopy(mOthers, position + 1, others, position, others.length - position);
+            mOthers = others;
+        }
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return mCodeCount + mOthers.length;
+    }
+
+    @Override
+    public String get(int location) {
+        if (location < 0 || location >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + location + ", size: " + size());
+        }
+        if (location >= mCodeCount) {
+            return mOthers[location - mCodeCount];
+        }
+
+        int remaining = location;
+        for (int word = 0; word < mBits.length; word++) {
+            int count = Long.bitCount(mBits[word]);
+            if (remaining < count) {
+                long bits = mBits[word];
+                for (int i = 0; i < remaining; i++) {
+                    bits &= bits - 1;
+                }
+                return code(word * 64 + Long.numberOfTrailingZeros(bits));
+            }
+            remaining -= count;
+        }
+        throw new IllegalStateException();
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return new Iterator<String>() {
+            private int mWord;
+            private long mRemaining = mBits.length > 0 ? mBits[0] : 0;
+            private int mOther;
+            private String mLast;
+            private int mExpectedModCount = modCount;
+
+            @Override
+            public boolean hasNext() {
+                while (mRemaining == 0 && mWord < mBits.length - 1) {
+                    mRemaining = mBits[++mWord];
+                }
+                return mRemaining != 0 || mOther < mOthers.length;
+            }
+
+            @Override
+            public String next() {
+                if (modCount != mExpectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (mRemaining != 0) {
+                    int index = mWord * 64 + Long.numberOfTrailingZeros(mRemaining);
+                    mRemaining &= mRemaining - 1;
+                    mLast = code(index);
+                } else {
+                    mLast = mOthers[mOther++];
+                }
+                return mLast;
+            }
+
+            @Override
+            public void remove() {
+                if (mLast == null) {
+                    throw new IllegalStateException();
+                }
+                if (modCount != mExpectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (indexOf(mLast) < 0) {
+                    // Other values shift down, the next one is now where the removed one was
+                    mOther--;
+                }
+                delete(mLast);
+                mLast = null;
+                mExpectedModCount = modCount;
+            }
+        };
+    }
+
+    private static int indexOf(String market) {
+        if (market.length() != 2) {
+            return -1;
+        }
+        int first = market.charAt(0) - 'A';
+        int second = market.charAt(1) - 'A';
+        if (first < 0 || first >= 26 || second < 0 || second >= 26) {
+            return -1;
+        }
+        return first * 26 + second;
+    }
+
+    private static String code(int index) {
+        return new String(new char[]{(char) ('A' + index / 26), (char) ('A' + index % 26)});
+    }
+
+    public static class Builder {
+
+        private final long[] mBits = new long[WORD_COUNT];
+        private List<String> mOthers;
+
+        public Builder add(String market) {
+            if (market == null) {
+                throw new IllegalArgumentException("Market can't be null");
+            }
+            int index = indexOf(market);
+            if (index >= 0) {
+                mBits[index >>> 6] |= 1L << index;
+            } else {
+                if (mOthers == null) {
+                    mOthers = new ArrayList<>(1);
+                }
+                if (!mOthers.contains(market)) {
+                    mOthers.add(market);
+                }
+            }
+            return this;
+        }
+
+        public MarketSet build() {
+            String[] others = mOthers == null ? NO_OTHERS : mOthers.toArray(new String[mOthers.size()]);
+            return new MarketSet(mBits.clone(), others);
+        }
+    }
+
+    /**
+     * Reads a JSON array of market codes into a {@link MarketSet} without keeping a String per code.
+     */
+    public static class GsonAdapter extends TypeAdapter<List<String>> {
+
+        @Override
+        public void write(JsonWriter out, List<String> value) throws IOException {
+            if (value == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginArray();
+            for (String market : value) {
+                out.value(market);
+            }
+            out.endArray();
+        }
+
+        @Override
+        public List<String> read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            Builder builder = new Builder();
+            in.beginArray();
+            while (in.hasNext()) {
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                } else {
+                    builder.add(in.nextString());
+                }
+            }
+            in.endArray();
+            return builder.build();
+        }
+    }
+
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        dest.writeLongArray(mBits);
+        dest.writeStringArray(mOthers);
+    }
+
+    protected MarketSet(Parcel in) {
+        this(in.createLongArray(), in.createStringArray());
+    }
+
+    public static final Creator<MarketSet> CREATOR = new Creator<MarketSet>() {
+        public MarketSet createFromParcel(Parcel source) {
+            return new MarketSet(source);
+        }
+
+        public MarketSet[] newArray(int size) {
+            return new MarketSet[size];
+        }
+    };
+}
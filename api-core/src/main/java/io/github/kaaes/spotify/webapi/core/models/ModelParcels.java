@@ -0,0 +1,241 @@
+package io.github.kaaes.spotify.webapi.core.models;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Typed Parcel encoding shared by the models.
+ * <p>
+ * {@link Parcel#writeValue(Object)}, {@link Parcel#writeMap(Map)} and
+ * {@link Parcel#writeParcelable(Parcelable, int)} tag every value and write class names
+ * that are resolved through reflection when reading. The helpers here write only the
+ * values and read them back through the models' creators.
+ */
+final class ModelParcels {
+
+    private static final int NULL = -1;
+
+    private static final int MODEL_ABSENT = 0;
+    private static final int MODEL_TYPED = 1;
+    private static final int MODEL_OTHER = 2;
+
+    private static final int ITEMS_UNTYPED = -1;
+
+    /**
+     * Models that can be written as list items by their index in this table.
+     */
+    private static final Class<?>[] ITEM_TYPES = {
+            Album.class, AlbumSimple.class, Artist.class, ArtistSimple.class, Category.class,
+            PlaylistSimple.class, Playlist.class, PlaylistTrack.class, SavedAlbum.class,
+            SavedTrack.class, Track.class, TrackSimple.class, RecentlyPlayedTrack.class,
+            AudioFeaturesTrack.class, Image.class, Copyright.class, Seed.class, UserPublic.class,
+            UserPrivate.class, TrackToRemove.class, TrackToRemoveWithPosition.class
+    };
+
+    private static final Parcelable.Creator<?>[] ITEM_CREATORS = {
+            Album.CREATOR, AlbumSimple.CREATOR, Artist.CREATOR, ArtistSimple.CREATOR, Category.CREATOR,
+            PlaylistSimple.CREATOR, Playlist.CREATOR, PlaylistTrack.CREATOR, SavedAlbum.CREATOR,
+            SavedTrack.CREATOR, Track.CREATOR, TrackSimple.CREATOR, RecentlyPlayedTrack.CREATOR,
+            AudioFeaturesTrack.CREATOR, Image.CREATOR, Copyright.CREATOR, Seed.CREATOR, UserPublic.CREATOR,
+            UserPrivate.CREATOR, TrackToRemove.CREATOR, TrackToRemoveWithPosition.CREATOR
+    };
+
+    private ModelParcels() {
+    }
+
+    static void writeBoolean(Parcel dest, Boolean value) {
+        dest.writeInt(value == null ? NULL : value ? 1 : 0);
+    }
+
+    static Boolean readBoolean(Parcel in) {
+        int value = in.readInt();
+        return value == NULL ? null : value != 0;
+    }
+
+    static void writeInteger(Parcel dest, Integer value) {
+        if (value == null) {
+            dest.writeInt(0);
+        } else {
+            dest.writeInt(1);
+            dest.writeInt(value);
+        }
+    }
+
+    static Integer readInteger(Parcel in) {
+        return in.readInt() == 0 ? null : in.readInt();
+    }
+
+    static void writeIntegerList(Parcel dest, List<Integer> values) {
+        if (values == null) {
+            dest.writeInt(NULL);
+            return;
+        }
+        dest.writeInt(values.size());
+        for (Integer value : values) {
+            writeInteger(dest, value);
+        }
+    }
+
+    static List<Integer> readIntegerList(Parcel in) {
+        int size = in.readInt();
+        if (size == NULL) {
+            return null;
+        }
+        List<Integer> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(readInteger(in));
+        }
+        return values;
+    }
+
+    static void writeStringMap(Parcel dest, Map<String, String> map) {
+        if (map == null) {
+            dest.writeInt(NULL);
+            return;
+        }
+        dest.writeInt(map.size());
+        for (Map.Entry<String, String> entry : map.entrySet()) {
+            dest.writeString(entry.getKey());
+            dest.writeString(entry.getValue());
+        }
+    }
+
+    static Map<String, String> readStringMap(Parcel in) {
+        int size = in.readInt();
+        if (size == NULL) {
+            return null;
+        }
+        Map<String, String> map = new HashMap<>(size * 4 / 3 + 1);
+        for (int i = 0; i < size; i++) {
+            map.put(in.readString(), in.readString());
+        }
+        return map;
+    }
+
+    /**
+     * Writes a list of markets as the bits of a {@link MarketSet}.
+     */
+    static void writeMarkets(Parcel dest, List<String> markets) {
+        if (markets == null) {
+            dest.writeInt(MODEL_ABSENT);
+        } else {
+            dest.writeInt(MODEL_TYPED);
+            MarketSet.of(markets).writeToParcel(dest, 0);
+        }
+    }
+
+    static List<String> readMarkets(Parcel in) {
+        return in.readInt() == MODEL_ABSENT ? null : MarketSet.CREATOR.createFromParcel(in);
+    }
+
+    /**
+     * Writes a nested model without its class name. Instances of a subclass of the declared
+     * type are written with {@link Parcel#writeParcelable(Parcelable, int)} so they keep their type.
+     *
+     * @param declaredType The type of the field, whose creator is passed to {@link #readModel}
+     */
+    static void writeModel(Parcel dest, Parcelable value, Class<?> declaredType, int flags) {
+        if (value == null) {
+            dest.writeInt(MODEL_ABSENT);
+        } else if (value.getClass() == declaredType) {
+            dest.writeInt(MODEL_TYPED);
+            value.writeToParcel(dest, flags);
+        } else {
+            dest.writeInt(MODEL_OTHER);
+            dest.writeParcelable(value, flags);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T readModel(Parcel in, Parcelable.Creator<T> creator) {
+        switch (in.readInt()) {
+            case MODEL_TYPED:
+                return creator.createFromParcel(in);
+            case MODEL_OTHER:
+                return (T) in.readParcelable(ModelParcels.class.getClassLoader());
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Writes the items of a pager. When all items are of the same known model type only that
+     * type's index is written, followed by the items' own fields.
+     */
+    static void writeItems(Parcel dest, List<?> items, int flags) {
+        if (items == null) {
+            dest.writeInt(NULL);
+            return;
+        }
+
+        dest.writeInt(items.size());
+        if (items.isEmpty()) {
+            return;
+        }
+
+        int typeIndex = itemTypeIndex(items);
+        dest.writeInt(typeIndex);
+        for (Object item : items) {
+            if (typeIndex == ITEMS_UNTYPED) {
+                dest.writeValue(item);
+            } else {
+                ((Parcelable) item).writeToParcel(dest, flags);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> List<T> readItems(Parcel in) {
+        int size = in.readInt();
+        if (size == NULL) {
+            return null;
+        }
+
+        List<T> items = new ArrayList<>(size);
+        if (size == 0) {
+            return items;
+        }
+
+        int typeIndex = in.readInt();
+        Parcelable.Creator<?> creator = typeIndex == ITEMS_UNTYPED ? null : ITEM_CREATORS[typeIndex];
+        for (int i = 0; i < size; i++) {
+            if (creator == null) {
+                items.add((T) in.readValue(ModelParcels.class.getClassLoader()));
+            } else {
+                items.add((T) creator.createFromParcel(in));
+            }
+        }
+        return items;
+    }
+
+    private static int itemTypeIndex(List<?> items) {
+        Object first = items.get(0);
+        if (first == null) {
+            return ITEMS_UNTYPED;
+        }
+
+        Class<?> type = first.getClass();
+        int typeIndex = ITEMS_UNTYPED;
+        for (int i = 0; i < ITEM_TYPES.length; i++) {
+            if (ITEM_TYPES[i] == type) {
+                typeIndex = i;
+                break;
+            }
+        }
+        if (typeIndex == ITEMS_UNTYPED) {
+            return ITEMS_UNTYPED;
+        }
+
+        for (Object item : items) {
+            if (item == null || item.getClass() != type) {
+                return ITEMS_UNTYPED;
+            }
+        }
+        return typeIndex;
+    }
+}
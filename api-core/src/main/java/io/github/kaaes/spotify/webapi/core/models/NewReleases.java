@@ -13,14 +13,14 @@ public class NewReleases implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeParcelable(this.albums, 0);
+        ModelParcels.writeModel(dest, this.albums, Pager.class, 0);
     }
 
     public NewReleases() {
     }
 
     protected NewReleases(Parcel in) {
-        this.albums = in.readParcelable(Pager.class.getClassLoader());
+        this.albums = ModelParcels.readModel(in, Pager.CREATOR);
     }
 
     public static final Parcelable.Creator<NewReleases> CREATOR = new Parcelable.Creator<NewReleases>() {
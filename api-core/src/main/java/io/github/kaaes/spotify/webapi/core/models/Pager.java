@@ -3,7 +3,6 @@ package io.github.kaaes.spotify.webapi.core.models;
 import android.os.Parcel;
 import android.os.Parcelable;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -28,16 +27,7 @@ public class Pager<T extends Parcelable> implements Parcelable {
     @Override
     public void writeToParcel(Parcel dest, int flags) {
         dest.writeString(href);
-
-        if (items == null || items.size() == 0)
-            dest.writeInt(0);
-        else {
-            dest.writeInt(items.size());
-            final Class<?> objectsType = items.get(0).getClass();
-            dest.writeSerializable(objectsType);
-            dest.writeList(items);
-        }
-
+        ModelParcels.writeItems(dest, items, flags);
         dest.writeInt(limit);
         dest.writeString(next);
         dest.writeInt(offset);
@@ -50,16 +40,7 @@ public class Pager<T extends Parcelable> implements Parcelable {
 
     protected Pager(Parcel in) {
         this.href = in.readString();
-
-        int size = in.readInt();
-        if (size == 0) {
-            items = new ArrayList<>();
-        } else {
-            Class<?> type = (Class<?>) in.readSerializable();
-            items = new ArrayList<>(size);
-            in.readList(items, type.getClassLoader());
-        }
-
+        this.items = ModelParcels.readItems(in);
         this.limit = in.readInt();
         this.next = in.readString();
         this.offset = in.readInt();
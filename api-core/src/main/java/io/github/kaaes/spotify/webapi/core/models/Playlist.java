@@ -18,8 +18,8 @@ public class Playlist extends PlaylistBase {
     @Override
     public void writeToParcel(Parcel dest, int flags) {
         super.writeToParcel(dest, flags);
-        dest.writeParcelable(this.followers, 0);
-        dest.writeParcelable(this.tracks, 0);
+        ModelParcels.writeModel(dest, this.followers, Followers.class, 0);
+        ModelParcels.writeModel(dest, this.tracks, Pager.class, 0);
     }
 
     public Playlist() {
@@ -27,8 +27,8 @@ public class Playlist extends PlaylistBase {
 
     protected Playlist(Parcel in) {
         super(in);
-        this.followers = in.readParcelable(Followers.class.getClassLoader());
-        this.tracks = in.readParcelable(Pager.class.getClassLoader());
+        this.followers = ModelParcels.readModel(in, Followers.CREATOR);
+        this.tracks = ModelParcels.readModel(in, Pager.CREATOR);
     }
 
     public static final Parcelable.Creator<Playlist> CREATOR = new Parcelable.Creator<Playlist>() {
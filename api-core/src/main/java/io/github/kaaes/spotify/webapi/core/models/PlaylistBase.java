@@ -31,18 +31,18 @@ public abstract class PlaylistBase implements Parcelable {
     }
 
     protected PlaylistBase(Parcel in) {
-        this.collaborative = (Boolean) in.readValue(Boolean.class.getClassLoader());
+        this.collaborative = ModelParcels.readBoolean(in);
         this.description = in.readString();
-        this.external_urls = in.readHashMap(Map.class.getClassLoader());
-        this.href = (String) in.readValue(String.class.getClassLoader());
-        this.id = (String) in.readValue(String.class.getClassLoader());
+        this.external_urls = ModelParcels.readStringMap(in);
+        this.href = in.readString();
+        this.id = in.readString();
         this.images = in.createTypedArrayList(Image.CREATOR);
-        this.name = (String) in.readValue(String.class.getClassLoader());
-        this.owner = in.readParcelable(UserPublic.class.getClassLoader());
-        this.is_public = (Boolean) in.readValue(Boolean.class.getClassLoader());
-        this.snapshot_id = (String) in.readValue(String.class.getClassLoader());
-        this.type = (String) in.readValue(String.class.getClassLoader());
-        this.uri = (String) in.readValue(String.class.getClassLoader());
+        this.name = in.readString();
+        this.owner = ModelParcels.readModel(in, UserPublic.CREATOR);
+        this.is_public = ModelParcels.readBoolean(in);
+        this.snapshot_id = in.readString();
+        this.type = in.readString();
+        this.uri = in.readString();
     }
 
     @Override
@@ -52,17 +52,17 @@ public abstract class PlaylistBase implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeValue(this.collaborative);
+        ModelParcels.writeBoolean(dest, this.collaborative);
         dest.writeString(this.description);
-        dest.writeMap(this.external_urls);
-        dest.writeValue(this.href);
-        dest.writeValue(this.id);
+        ModelParcels.writeStringMap(dest, this.external_urls);
+        dest.writeString(this.href);
+        dest.writeString(this.id);
         dest.writeTypedList(this.images);
-        dest.writeValue(this.name);
-        dest.writeParcelable(owner, flags);
-        dest.writeValue(is_public);
-        dest.writeValue(snapshot_id);
-        dest.writeValue(type);
-        dest.writeValue(uri);
+        dest.writeString(this.name);
+        ModelParcels.writeModel(dest, this.owner, UserPublic.class, flags);
+        ModelParcels.writeBoolean(dest, this.is_public);
+        dest.writeString(this.snapshot_id);
+        dest.writeString(this.type);
+        dest.writeString(this.uri);
     }
 }
@@ -16,14 +16,14 @@ public class PlaylistFollowPrivacy implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeValue(this.is_public);
+        ModelParcels.writeBoolean(dest, this.is_public);
     }
 
     public PlaylistFollowPrivacy() {
     }
 
     protected PlaylistFollowPrivacy(Parcel in) {
-        this.is_public = (Boolean) in.readValue(Boolean.class.getClassLoader());
+        this.is_public = ModelParcels.readBoolean(in);
     }
 
     public static final Parcelable.Creator<PlaylistFollowPrivacy> CREATOR = new Parcelable.Creator<PlaylistFollowPrivacy>() {
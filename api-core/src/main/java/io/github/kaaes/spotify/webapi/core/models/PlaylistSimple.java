@@ -16,7 +16,7 @@ public class PlaylistSimple extends PlaylistBase {
     @Override
     public void writeToParcel(Parcel dest, int flags) {
         super.writeToParcel(dest, flags);
-        dest.writeParcelable(this.tracks, flags);
+        ModelParcels.writeModel(dest, this.tracks, PlaylistTracksInformation.class, flags);
     }
 
     public PlaylistSimple() {
@@ -24,7 +24,7 @@ public class PlaylistSimple extends PlaylistBase {
 
     protected PlaylistSimple(Parcel in) {
         super(in);
-        this.tracks = in.readParcelable(PlaylistTracksInformation.class.getClassLoader());
+        this.tracks = ModelParcels.readModel(in, PlaylistTracksInformation.CREATOR);
     }
 
     public static final Creator<PlaylistSimple> CREATOR = new Creator<PlaylistSimple>() {
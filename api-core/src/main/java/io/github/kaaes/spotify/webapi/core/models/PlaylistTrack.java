@@ -20,9 +20,9 @@ public class PlaylistTrack implements Parcelable {
     @Override
     public void writeToParcel(Parcel dest, int flags) {
         dest.writeString(this.added_at);
-        dest.writeParcelable(this.added_by, flags);
-        dest.writeParcelable(this.track, 0);
-        dest.writeValue(this.is_local);
+        ModelParcels.writeModel(dest, this.added_by, UserPublic.class, flags);
+        ModelParcels.writeModel(dest, this.track, Track.class, 0);
+        ModelParcels.writeBoolean(dest, this.is_local);
     }
 
     public PlaylistTrack() {
@@ -30,9 +30,9 @@ public class PlaylistTrack implements Parcelable {
 
     protected PlaylistTrack(Parcel in) {
         this.added_at = in.readString();
-        this.added_by = in.readParcelable(UserPublic.class.getClassLoader());
-        this.track = in.readParcelable(Track.class.getClassLoader());
-        this.is_local = (Boolean) in.readValue(Boolean.class.getClassLoader());
+        this.added_by = ModelParcels.readModel(in, UserPublic.CREATOR);
+        this.track = ModelParcels.readModel(in, Track.CREATOR);
+        this.is_local = ModelParcels.readBoolean(in);
     }
 
     public static final Parcelable.Creator<PlaylistTrack> CREATOR = new Parcelable.Creator<PlaylistTrack>() {
@@ -13,14 +13,14 @@ public class PlaylistsPager implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeParcelable(this.playlists, 0);
+        ModelParcels.writeModel(dest, this.playlists, Pager.class, 0);
     }
 
     public PlaylistsPager() {
     }
 
     protected PlaylistsPager(Parcel in) {
-        this.playlists = in.readParcelable(Pager.class.getClassLoader());
+        this.playlists = ModelParcels.readModel(in, Pager.CREATOR);
     }
 
     public static final Parcelable.Creator<PlaylistsPager> CREATOR = new Parcelable.Creator<PlaylistsPager>() {
@@ -20,17 +20,20 @@ public class RecentlyPlayedTrack implements Parcelable {
     public String played_at;
     public Track track;
 
+    public RecentlyPlayedTrack() {
+    }
+
     protected RecentlyPlayedTrack(Parcel in) {
-        this.context = in.readParcelable(Context.class.getClassLoader());
+        this.context = ModelParcels.readModel(in, Context.CREATOR);
         this.played_at = in.readString();
-        this.track = in.readParcelable(Track.class.getClassLoader());
+        this.track = ModelParcels.readModel(in, Track.CREATOR);
     }
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeParcelable(this.context, flags);
+        ModelParcels.writeModel(dest, this.context, Context.class, flags);
         dest.writeString(this.played_at);
-        dest.writeParcelable(this.track, flags);
+        ModelParcels.writeModel(dest, this.track, Track.class, flags);
     }
 
     @Override
@@ -18,7 +18,7 @@ public class SavedAlbum implements Parcelable {
     @Override
     public void writeToParcel(Parcel dest, int flags) {
         dest.writeString(this.added_at);
-        dest.writeParcelable(this.album, 0);
+        ModelParcels.writeModel(dest, this.album, Album.class, 0);
     }
 
     public SavedAlbum() {
@@ -26,7 +26,7 @@ public class SavedAlbum implements Parcelable {
 
     protected SavedAlbum(Parcel in) {
         this.added_at = in.readString();
-        this.album = in.readParcelable(Album.class.getClassLoader());
+        this.album = ModelParcels.readModel(in, Album.CREATOR);
     }
 
     public static final Parcelable.Creator<SavedAlbum> CREATOR = new Parcelable.Creator<SavedAlbum>() {
@@ -18,7 +18,7 @@ public class SavedTrack implements Parcelable {
     @Override
     public void writeToParcel(Parcel dest, int flags) {
         dest.writeString(this.added_at);
-        dest.writeParcelable(this.track, 0);
+        ModelParcels.writeModel(dest, this.track, Track.class, 0);
     }
 
     public SavedTrack() {
@@ -26,7 +26,7 @@ public class SavedTrack implements Parcelable {
 
     protected SavedTrack(Parcel in) {
         this.added_at = in.readString();
-        this.track = in.readParcelable(Track.class.getClassLoader());
+        this.track = ModelParcels.readModel(in, Track.CREATOR);
     }
 
     public static final Parcelable.Creator<SavedTrack> CREATOR = new Parcelable.Creator<SavedTrack>() {
@@ -23,11 +23,14 @@ public class SearchResult implements Parcelable {
 
     //TODO add episodes
 
+    public SearchResult() {
+    }
+
     protected SearchResult(Parcel in) {
-        this.artists = in.readParcelable(Pager.class.getClassLoader());
-        this.albums = in.readParcelable(Pager.class.getClassLoader());
-        this.tracks = in.readParcelable(Pager.class.getClassLoader());
-        this.playlists = in.readParcelable(Pager.class.getClassLoader());
+        this.artists = ModelParcels.readModel(in, Pager.CREATOR);
+        this.albums = ModelParcels.readModel(in, Pager.CREATOR);
+        this.tracks = ModelParcels.readModel(in, Pager.CREATOR);
+        this.playlists = ModelParcels.readModel(in, Pager.CREATOR);
     }
 
     @Override
@@ -37,9 +40,9 @@ public class SearchResult implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeParcelable(this.artists, flags);
-        dest.writeParcelable(this.albums, flags);
-        dest.writeParcelable(this.tracks, flags);
-        dest.writeParcelable(this.playlists, flags);
+        ModelParcels.writeModel(dest, this.artists, Pager.class, flags);
+        ModelParcels.writeModel(dest, this.albums, Pager.class, flags);
+        ModelParcels.writeModel(dest, this.tracks, Pager.class, flags);
+        ModelParcels.writeModel(dest, this.playlists, Pager.class, flags);
     }
 }
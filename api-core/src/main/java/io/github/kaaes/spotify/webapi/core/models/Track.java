@@ -20,9 +20,9 @@ public class Track extends TrackSimple {
     @Override
     public void writeToParcel(Parcel dest, int flags) {
         super.writeToParcel(dest, flags);
-        dest.writeParcelable(this.album, 0);
-        dest.writeMap(this.external_ids);
-        dest.writeValue(this.popularity);
+        ModelParcels.writeModel(dest, this.album, AlbumSimple.class, 0);
+        ModelParcels.writeStringMap(dest, this.external_ids);
+        ModelParcels.writeInteger(dest, this.popularity);
     }
 
     public Track() {
@@ -30,9 +30,9 @@ public class Track extends TrackSimple {
 
     protected Track(Parcel in) {
         super(in);
-        this.album = in.readParcelable(AlbumSimple.class.getClassLoader());
-        this.external_ids = in.readHashMap(Map.class.getClassLoader());
-        this.popularity = (Integer) in.readValue(Integer.class.getClassLoader());
+        this.album = ModelParcels.readModel(in, AlbumSimple.CREATOR);
+        this.external_ids = ModelParcels.readStringMap(in);
+        this.popularity = ModelParcels.readInteger(in);
     }
 
     public static final Creator<Track> CREATOR = new Creator<Track>() {
@@ -3,11 +3,14 @@ package io.github.kaaes.spotify.webapi.core.models;
 import android.os.Parcel;
 import android.os.Parcelable;
 
+import com.google.gson.annotations.JsonAdapter;
+
 import java.util.List;
 import java.util.Map;
 
 public class TrackSimple implements Parcelable {
     public List<ArtistSimple> artists;
+    @JsonAdapter(MarketSet.GsonAdapter.class)
     public List<String> available_markets;
     public Boolean is_playable;
     public LinkedTrack linked_from;
@@ -32,13 +35,13 @@ public class TrackSimple implements Parcelable {
     @Override
     public void writeToParcel(Parcel dest, int flags) {
         dest.writeTypedList(artists);
-        dest.writeStringList(this.available_markets);
-        dest.writeValue(this.is_playable);
-        dest.writeParcelable(this.linked_from, 0);
+        ModelParcels.writeMarkets(dest, this.available_markets);
+        ModelParcels.writeBoolean(dest, this.is_playable);
+        ModelParcels.writeModel(dest, this.linked_from, LinkedTrack.class, 0);
         dest.writeInt(this.disc_number);
         dest.writeLong(this.duration_ms);
-        dest.writeValue(this.explicit);
-        dest.writeMap(this.external_urls);
+        ModelParcels.writeBoolean(dest, this.explicit);
+        ModelParcels.writeStringMap(dest, this.external_urls);
         dest.writeString(this.href);
         dest.writeString(this.id);
         dest.writeString(this.name);
@@ -53,13 +56,13 @@ public class TrackSimple implements Parcelable {
 
     protected TrackSimple(Parcel in) {
         this.artists = in.createTypedArrayList(ArtistSimple.CREATOR);
-        this.available_markets = in.createStringArrayList();
-        this.is_playable = (Boolean) in.readValue(Boolean.class.getClassLoader());
-        this.linked_from = in.readParcelable(LinkedTrack.class.getClassLoader());
+        this.available_markets = ModelParcels.readMarkets(in);
+        this.is_playable = ModelParcels.readBoolean(in);
+        this.linked_from = ModelParcels.readModel(in, LinkedTrack.CREATOR);
         this.disc_number = in.readInt();
         this.duration_ms = in.readLong();
-        this.explicit = (Boolean) in.readValue(Boolean.class.getClassLoader());
-        this.external_urls = in.readHashMap(Map.class.getClassLoader());
+        this.explicit = ModelParcels.readBoolean(in);
+        this.external_urls = ModelParcels.readStringMap(in);
         this.href = in.readString();
         this.id = in.readString();
         this.name = in.readString();
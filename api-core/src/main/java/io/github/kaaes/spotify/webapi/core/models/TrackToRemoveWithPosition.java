@@ -3,7 +3,6 @@ package io.github.kaaes.spotify.webapi.core.models;
 import android.os.Parcel;
 import android.os.Parcelable;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class TrackToRemoveWithPosition implements Parcelable {
@@ -18,7 +17,7 @@ public class TrackToRemoveWithPosition implements Parcelable {
     @Override
     public void writeToParcel(Parcel dest, int flags) {
         dest.writeString(this.uri);
-        dest.writeList(this.positions);
+        ModelParcels.writeIntegerList(dest, this.positions);
     }
 
     public TrackToRemoveWithPosition() {
@@ -26,8 +25,7 @@ public class TrackToRemoveWithPosition implements Parcelable {
 
     protected TrackToRemoveWithPosition(Parcel in) {
         this.uri = in.readString();
-        this.positions = new ArrayList<Integer>();
-        in.readList(this.positions, List.class.getClassLoader());
+        this.positions = ModelParcels.readIntegerList(in);
     }
 
     public static final Parcelable.Creator<TrackToRemoveWithPosition> CREATOR = new Parcelable.Creator<TrackToRemoveWithPosition>() {
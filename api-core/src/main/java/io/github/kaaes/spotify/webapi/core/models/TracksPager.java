@@ -13,14 +13,14 @@ public class TracksPager implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeParcelable(this.tracks, 0);
+        ModelParcels.writeModel(dest, this.tracks, Pager.class, 0);
     }
 
     public TracksPager() {
     }
 
     protected TracksPager(Parcel in) {
-        this.tracks = in.readParcelable(Pager.class.getClassLoader());
+        this.tracks = ModelParcels.readModel(in, Pager.CREATOR);
     }
 
     public static final Parcelable.Creator<TracksPager> CREATOR = new Parcelable.Creator<TracksPager>() {
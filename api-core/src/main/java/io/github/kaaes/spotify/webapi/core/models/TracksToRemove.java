@@ -3,7 +3,6 @@ package io.github.kaaes.spotify.webapi.core.models;
 import android.os.Parcel;
 import android.os.Parcelable;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class TracksToRemove implements Parcelable {
@@ -16,15 +15,14 @@ public class TracksToRemove implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeList(this.tracks);
+        dest.writeTypedList(this.tracks);
     }
 
     public TracksToRemove() {
     }
 
     protected TracksToRemove(Parcel in) {
-        this.tracks = new ArrayList<TrackToRemove>();
-        in.readList(this.tracks, List.class.getClassLoader());
+        this.tracks = in.createTypedArrayList(TrackToRemove.CREATOR);
     }
 
     public static final Parcelable.Creator<TracksToRemove> CREATOR = new Parcelable.Creator<TracksToRemove>() {
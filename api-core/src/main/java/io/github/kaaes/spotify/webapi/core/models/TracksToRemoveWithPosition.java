@@ -3,7 +3,6 @@ package io.github.kaaes.spotify.webapi.core.models;
 import android.os.Parcel;
 import android.os.Parcelable;
 
-import java.util.ArrayList;
 import java.util.List;
 
 public class TracksToRemoveWithPosition implements Parcelable {
@@ -16,15 +15,14 @@ public class TracksToRemoveWithPosition implements Parcelable {
 
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeList(this.tracks);
+        dest.writeTypedList(this.tracks);
     }
 
     public TracksToRemoveWithPosition() {
     }
 
     protected TracksToRemoveWithPosition(Parcel in) {
-        this.tracks = new ArrayList<TrackToRemoveWithPosition>();
-        in.readList(this.tracks, List.class.getClassLoader());
+        this.tracks = in.createTypedArrayList(TrackToRemoveWithPosition.CREATOR);
     }
 
     public static final Parcelable.Creator<TracksToRemoveWithPosition> CREATOR = new Parcelable.Creator<TracksToRemoveWithPosition>() {
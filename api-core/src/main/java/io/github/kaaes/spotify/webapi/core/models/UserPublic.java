@@ -30,8 +30,8 @@ public class UserPublic implements Parcelable {
     @Override
     public void writeToParcel(Parcel dest, int flags) {
         dest.writeString(this.display_name);
-        dest.writeMap(this.external_urls);
-        dest.writeParcelable(this.followers, 0);
+        ModelParcels.writeStringMap(dest, this.external_urls);
+        ModelParcels.writeModel(dest, this.followers, Followers.class, 0);
         dest.writeString(this.href);
         dest.writeString(this.id);
         dest.writeTypedList(images);
@@ -41,8 +41,8 @@ public class UserPublic implements Parcelable {
 
     protected UserPublic(Parcel in) {
         this.display_name = in.readString();
-        this.external_urls = in.readHashMap(Map.class.getClassLoader());
-        this.followers = in.readParcelable(Followers.class.getClassLoader());
+        this.external_urls = ModelParcels.readStringMap(in);
+        this.followers = ModelParcels.readModel(in, Followers.CREATOR);
         this.href = in.readString();
         this.id = in.readString();
         this.images = in.createTypedArrayList(Image.CREATOR);
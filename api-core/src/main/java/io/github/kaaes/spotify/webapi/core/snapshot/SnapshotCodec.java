@@ -0,0 +1,347 @@
+package io.github.kaaes.spotify.webapi.core.snapshot;
+
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import io.github.kaaes.spotify.webapi.core.models.MarketSet;
+
+/**
+ * Compact binary snapshots of model graphs, for persisting responses between app starts
+ * without parsing JSON again.
+ * <p>
+ * A snapshot starts with a magic number, the format version and a fingerprint of the
+ * model layout, followed by a table of every distinct string and the encoded root value:
+ * <ul>
+ * <li>models write a bitmap of their reference fields that are not {@code null},
+ * then their fields in the order of their names</li>
+ * <li>strings are varint positions in the string table, so repeated values such as
+ * types, market codes and artist names are stored once</li>
+ * <li>sizes and integers are varints, floats and doubles are little endian</li>
+ * <li>lists, arrays and maps write their size and a bitmap of the values that are not {@code null}</li>
+ * </ul>
+ * Snapshots are read straight from a {@link ByteBuffer}, {@link #read(File, Type)} maps the file
+ * into memory. A snapshot written for another version of the format or of the models fails
+ * with an {@link IOException}, so callers can fall back to fetching the data again:
+ * SnapshotCodec codec = new SnapshotCodec();
+ * Type type = new TypeToken&lt;Pager&lt;SavedTrack&gt;&gt;() {}.getType();
+ * codec.write(savedTracks, type, file);
+ * Pager&lt;SavedTrack&gt; restored = codec.read(file, type);
+ * <p>
+ * Values are written as their declared type. Fields only present in a subclass of the
+ * declared type are not kept, just like with the Gson adapters of the models.
+ */
+public class SnapshotCodec {
+
+    public static final int FORMAT_VERSION = 1;
+
+    private static final byte[] MAGIC = {'S', 'W', 'A', 'S'};
+
+    private final Map<Type, ValueCodec> mCodecs = new HashMap<>();
+    private final Map<Type, Long> mFingerprints = new HashMap<>();
+
+    /**
+     * @param type Type of the value, with type arguments for generic models such as {@code Pager<Track>}
+     */
+    public byte[] toBytes(Object value, Type type) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            write(value, type, out);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public void write(Object value, Type type, OutputStream out) throws IOException {
+        ValueCodec codec = codecFor(type);
+
+        SnapshotWriter body = new SnapshotWriter();
+        body.writeBoolean(value != null);
+        if (value != null) {
+            codec.write(body, value);
+        }
+
+        SnapshotWriter header = new SnapshotWriter();
+        header.writeBytes(MAGIC, 0, MAGIC.length);
+        header.writeVarint(FORMAT_VERSION);
+        header.writeFixedLong(fingerprint(type));
+        body.writeTo(header, out);
+    }
+
+    /**
+     * Writes the snapshot to a temporary file first and renames it, so a crash
+     * while writing never leaves a truncated snapshot behind.
+     */
+    public void write(Object value, Type type, File file) throws IOException {
+        File temporary = new File(file.getPath() + ".tmp");
+        OutputStream out = new BufferedOutputStream(new FileOutputStream(temporary));
+        try {
+            write(value, type, out);
+        } finally {
+            out.close();
+        }
+        if (!temporary.renameTo(file)) {
+            if (!file.delete() || !temporary.renameTo(file)) {
+                throw new IOException("Can't replace " + file);
+            }
+        }
+    }
+
+    public <T> T read(ByteBuffer buffer, Class<T> type) throws IOException {
+        return type.cast(read(buffer, (Type) type));
+    }
+
+    /**
+     * Reads a snapshot from the current position of the buffer. The position of the buffer is not changed.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T read(ByteBuffer buffer, Type type) throws IOException {
+        ValueCodec codec = codecFor(type);
+        SnapshotReader in = new SnapshotReader(buffer);
+        try {
+            for (byte magic : MAGIC) {
+                if (in.readByte() != (magic & 0xff)) {
+                    throw new IOException("Not a snapshot");
+                }
+            }
+            int version = in.readVarint();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+            if (in.readFixedLong() != fingerprint(type)) {
+                throw new IOException("Snapshot was written for a different layout of " + type);
+            }
+            in.readStringTable();
+            return in.readBoolean() ? (T) codec.read(in) : null;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated snapshot", e);
+        }
+    }
+
+    /**
+     * Maps the file into memory and reads the snapshot from it.
+     */
+    public <T> T read(File file, Type type) throws IOException {
+        RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+        try {
+            FileChannel channel = randomAccessFile.getChannel();
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return read(buffer, type);
+        } finally {
+            randomAccessFile.close();
+        }
+    }
+
+    private synchronized long fingerprint(Type type) {
+        Long fingerprint = mFingerprints.get(type);
+        if (fingerprint == null) {
+            StringBuilder description = new StringBuilder();
+            codecFor(type).describe(description, new HashSet<Class<?>>());
+
+            // 64 bit FNV-1a
+            long hash = 0xcbf29ce484222325L;
+            for (int i = 0; i < description.length(); i++) {
+                hash ^= description.charAt(i);
+                hash *= 0x100000001b3L;
+            }
+            fingerprint = hash;
+            mFingerprints.put(type, fingerprint);
+        }
+        return fingerprint;
+    }
+
+    private synchronized ValueCodec codecFor(Type type) {
+        ValueCodec codec = mCodecs.get(type);
+        if (codec != null) {
+            return codec;
+        }
+
+        Class<?> raw = rawType(type);
+        if (raw == String.class) {
+            codec = ValueCodec.STRING;
+        } else if (raw == Integer.class || raw == int.class) {
+            codec = ValueCodec.INT;
+        } else if (raw == Long.class || raw == long.class) {
+            codec = ValueCodec.LONG;
+        } else if (raw == Float.class || raw == float.class) {
+            codec = ValueCodec.FLOAT;
+        } else if (raw == Double.class || raw == double.class) {
+            codec = ValueCodec.DOUBLE;
+        } else if (raw == Boolean.class || raw == boolean.class) {
+            codec = ValueCodec.BOOLEAN;
+        } else if (raw.isArray()) {
+            Type component = type instanceof GenericArrayType
+                    ? ((GenericArrayType) type).getGenericComponentType()
+                    : raw.getComponentType();
+            codec = new ValueCodec.ArrayCodec(raw.getComponentType(), codecFor(component));
+        } else if (raw == List.class) {
+            codec = new ValueCodec.ListCodec(codecFor(typeArgument(type, 0)));
+        } else if (raw == Map.class) {
+            if (rawType(typeArgument(type, 0)) != String.class) {
+                throw new IllegalArgumentException("Only maps with String keys are supported: " + type);
+            }
+            codec = new ValueCodec.MapCodec(codecFor(typeArgument(type, 1)));
+        } else if (raw.isInterface() || Modifier.isAbstract(raw.getModifiers()) || raw.isPrimitive()) {
+            throw new IllegalArgumentException("Unsupported type " + type);
+        } else {
+            ValueCodec.ObjectCodec objectCodec = new ValueCodec.ObjectCodec(raw);
+            mCodecs.put(type, objectCodec);
+            try {
+                initObjectCodec(objectCodec, type, raw);
+            } catch (RuntimeException e) {
+                mCodecs.remove(type);
+                throw e;
+            }
+            return objectCodec;
+        }
+        mCodecs.put(type, codec);
+        return codec;
+    }
+
+    private void initObjectCodec(ValueCodec.ObjectCodec codec, Type type, Class<?> raw) {
+        Constructor<?> constructor;
+        try {
+            constructor = raw.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException e) {
+            throw new IllegalArgumentException(raw.getName() + " has no constructor without parameters", e);
+        }
+
+        List<ModelField> fields = new ArrayList<>();
+        Map<TypeVariable<?>, Type> bindings = new HashMap<>();
+        Type current = type;
+        while (current != null && rawType(current) != Object.class) {
+            Class<?> currentRaw = rawType(current);
+            bind(bindings, current);
+            for (Field field : currentRaw.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (!Modifier.isPublic(modifiers) || Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers)) {
+                    continue;
+                }
+                fields.add(new ModelField(field, resolve(field.getGenericType(), bindings)));
+            }
+            current = currentRaw.getGenericSuperclass();
+            if (current != null) {
+                current = resolve(current, bindings);
+            }
+        }
+        Collections.sort(fields);
+
+        Field[] sortedFields = new Field[fields.size()];
+        ValueCodec[] codecs = new ValueCodec[fields.size()];
+        for (int i = 0; i < sortedFields.length; i++) {
+            Field field = fields.get(i).field;
+            sortedFields[i] = field;
+            if (!field.getType().isPrimitive()) {
+                JsonAdapter adapter = field.getAnnotation(JsonAdapter.class);
+                codecs[i] = adapter != null && adapter.value() == MarketSet.GsonAdapter.class
+                        ? ValueCodec.MARKETS
+                        : codecFor(fields.get(i).type);
+            }
+        }
+        codec.init(constructor, sortedFields, codecs);
+    }
+
+    private static void bind(Map<TypeVariable<?>, Type> bindings, Type type) {
+        if (type instanceof ParameterizedType) {
+            TypeVariable<?>[] variables = rawType(type).getTypeParameters();
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            for (int i = 0; i < variables.length; i++) {
+                bindings.put(variables[i], arguments[i]);
+            }
+        }
+    }
+
+    private static Type resolve(Type type, Map<TypeVariable<?>, Type> bindings) {
+        if (type instanceof TypeVariable) {
+            Type bound = bindings.get(type);
+            if (bound == null) {
+                throw new IllegalArgumentException("Type argument " + type + " is unknown, "
+                        + "pass a parameterized type such as new TypeToken<Pager<Track>>() {}.getType()");
+            }
+            return bound;
+        }
+        if (type instanceof WildcardType) {
+            return resolve(((WildcardType) type).getUpperBounds()[0], bindings);
+        }
+        if (type instanceof GenericArrayType) {
+            Type component = resolve(((GenericArrayType) type).getGenericComponentType(), bindings);
+            return Array.newInstance(rawType(component), 0).getClass();
+        }
+        if (type instanceof ParameterizedType) {
+            Type[] arguments = ((ParameterizedType) type).getActualTypeArguments();
+            Type[] resolved = new Type[arguments.length];
+            for (int i = 0; i < arguments.length; i++) {
+                resolved[i] = resolve(arguments[i], bindings);
+            }
+            return TypeToken.getParameterized(rawType(type), resolved).getType();
+        }
+        return type;
+    }
+
+    private static Type typeArgument(Type type, int index) {
+        if (!(type instanceof ParameterizedType)) {
+            throw new IllegalArgumentException("Missing type arguments for " + type);
+        }
+        return ((ParameterizedType) type).getActualTypeArguments()[index];
+    }
+
+    private static Class<?> rawType(Type type) {
+        if (type instanceof Class) {
+            return (Class<?>) type;
+        }
+        if (type instanceof ParameterizedType) {
+            return (Class<?>) ((ParameterizedType) type).getRawType();
+        }
+        if (type instanceof GenericArrayType) {
+            return Array.newInstance(rawType(((GenericArrayType) type).getGenericComponentType()), 0).getClass();
+        }
+        if (type instanceof WildcardType) {
+            return rawType(((WildcardType) type).getUpperBounds()[0]);
+        }
+        throw new IllegalArgumentException("Type argument " + type + " is unknown, "
+                + "pass a parameterized type such as new TypeToken<Pager<Track>>() {}.getType()");
+    }
+
+    private static class ModelField implements Comparable<ModelField> {
+        final Field field;
+        final Type type;
+
+        ModelField(Field field, Type type) {
+            this.field = field;
+            this.type = type;
+        }
+
+        @Override
+        public int compareTo(ModelField other) {
+            return field.getName().compareTo(other.field.getName());
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package io.github.kaaes.spotify.webapi.core.snapshot;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * Reads the values written by {@link SnapshotWriter} straight from a {@link ByteBuffer}.
+ */
+final class SnapshotReader {
+
+    private final ByteBuffer mBuffer;
+    private String[] mStrings;
+
+    SnapshotReader(ByteBuffer buffer) {
+        mBuffer = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Decodes the string table at the current position.
+     */
+    void readStringTable() throws IOException {
+        int count = readVarint();
+        if (count > mBuffer.remaining()) {
+            throw new IOException("Corrupt snapshot: " + count + " strings in " + mBuffer.remaining() + " bytes");
+        }
+        byte[] scratch = mBuffer.hasArray() ? null : new byte[256];
+        String[] strings = new String[count];
+        for (int i = 0; i < count; i++) {
+            int length = readVarint();
+            if (length > mBuffer.remaining()) {
+                throw new IOException("Corrupt snapshot: string of " + length + " bytes past the end");
+            }
+            if (scratch == null) {
+                int offset = mBuffer.arrayOffset() + mBuffer.position();
+                strings[i] = new String(mBuffer.array(), offset, length, SnapshotWriter.UTF_8);
+                mBuffer.position(mBuffer.position() + length);
+            } else {
+                if (length > scratch.length) {
+                    scratch = new byte[Math.max(length, scratch.length * 2)];
+                }
+                mBuffer.get(scratch, 0, length);
+                strings[i] = new String(scratch, 0, length, SnapshotWriter.UTF_8);
+            }
+        }
+        mStrings = strings;
+    }
+
+    int readByte() {
+        return mBuffer.get() & 0xff;
+    }
+
+    int readVarint() throws IOException {
+        long value = readVarlong();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new IOException("Corrupt snapshot: varint out of range");
+        }
+        return (int) value;
+    }
+
+    /**
+     * Reads the size of a list, array or map, which takes at least one bit per element.
+     */
+    int readSize() throws IOException {
+        int size = readVarint();
+        if (size > (long) mBuffer.remaining() * 8) {
+            throw new IOException("Corrupt snapshot: " + size + " elements in " + mBuffer.remaining() + " bytes");
+        }
+        return size;
+    }
+
+    long readVarlong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = mBuffer.get();
+            value |= (long) (b & 0x7f) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("Corrupt snapshot: varint too long");
+    }
+
+    int readInt() throws IOException {
+        long raw = readVarlong();
+        return (int) ((raw >>> 1) ^ -(raw & 1));
+    }
+
+    long readLong() throws IOException {
+        long raw = readVarlong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    float readFloat() {
+        return mBuffer.getFloat();
+    }
+
+    double readDouble() {
+        return mBuffer.getDouble();
+    }
+
+    long readFixedLong() {
+        return mBuffer.getLong();
+    }
+
+    boolean readBoolean() {
+        return mBuffer.get() != 0;
+    }
+
+    String readString() throws IOException {
+        int index = readVarint();
+        if (index >= mStrings.length) {
+            throw new IOException("Corrupt snapshot: string " + index + " of " + mStrings.length);
+        }
+        return mStrings[index];
+    }
+
+    /**
+     * @param flags Receives one flag per bit, least significant bit first
+     */
+    void readBitmap(boolean[] flags, int count) {
+        for (int start = 0; start < count; start += 8) {
+            int bits = readByte();
+            for (int i = start; i < Math.min(start + 8, count); i++) {
+                flags[i] = (bits & (1 << (i - start))) != 0;
+            }
+        }
+    }
+
+    boolean hasRemaining() {
+        return mBuffer.hasRemaining();
+    }
+}
@@ -0,0 +1,130 @@
+package io.github.kaaes.spotify.webapi.core.snapshot;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes the body of a snapshot into a growable buffer and collects the strings it
+ * refers to, so each distinct string is written once in the string table.
+ */
+final class SnapshotWriter {
+
+    static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private final Map<String, Integer> mStringIndices = new HashMap<>();
+    private final List<String> mStrings = new ArrayList<>();
+    private byte[] mBuffer = new byte[4096];
+    private int mPosition;
+
+    void writeByte(int value) {
+        ensureCapacity(1);
+        mBuffer[mPosition++] = (byte) value;
+    }
+
+    void writeBytes(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, mBuffer, mPosition, length);
+        mPosition += length;
+    }
+
+    /**
+     * Writes a non-negative value in 7 bit groups, least significant first.
+     */
+    void writeVarint(int value) {
+        writeVarlong(value & 0xffffffffL);
+    }
+
+    void writeVarlong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7fL) != 0) {
+            mBuffer[mPosition++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        mBuffer[mPosition++] = (byte) value;
+    }
+
+    void writeInt(int value) {
+        writeVarint((value << 1) ^ (value >> 31));
+    }
+
+    void writeLong(long value) {
+        writeVarlong((value << 1) ^ (value >> 63));
+    }
+
+    void writeFloat(float value) {
+        writeFixed(Float.floatToIntBits(value), 4);
+    }
+
+    void writeDouble(double value) {
+        writeFixed(Double.doubleToLongBits(value), 8);
+    }
+
+    void writeFixedLong(long value) {
+        writeFixed(value, 8);
+    }
+
+    void writeBoolean(boolean value) {
+        writeByte(value ? 1 : 0);
+    }
+
+    /**
+     * Writes the position of the string in the string table.
+     */
+    void writeString(String value) {
+        Integer index = mStringIndices.get(value);
+        if (index == null) {
+            index = mStrings.size();
+            mStringIndices.put(value, index);
+            mStrings.add(value);
+        }
+        writeVarint(index);
+    }
+
+    /**
+     * Writes one bit per flag, least significant bit first.
+     */
+    void writeBitmap(boolean[] flags, int count) {
+        for (int start = 0; start < count; start += 8) {
+            int bits = 0;
+            for (int i = start; i < Math.min(start + 8, count); i++) {
+                if (flags[i]) {
+                    bits |= 1 << (i - start);
+                }
+            }
+            writeByte(bits);
+        }
+    }
+
+    /**
+     * Writes the string table followed by the body written so far.
+     */
+    void writeTo(SnapshotWriter header, OutputStream out) throws IOException {
+        header.writeVarint(mStrings.size());
+        for (String string : mStrings) {
+            byte[] bytes = string.getBytes(UTF_8);
+            header.writeVarint(bytes.length);
+            header.writeBytes(bytes, 0, bytes.length);
+        }
+        out.write(header.mBuffer, 0, header.mPosition);
+        out.write(mBuffer, 0, mPosition);
+    }
+
+    private void writeFixed(long bits, int byteCount) {
+        ensureCapacity(byteCount);
+        for (int i = 0; i < byteCount; i++) {
+            mBuffer[mPosition++] = (byte) (bits >>> (8 * i));
+        }
+    }
+
+    private void ensureCapacity(int count) {
+        if (mPosition + count > mBuffer.length) {
+            mBuffer = Arrays.copyOf(mBuffer, Math.max(mBuffer.length * 2, mPosition + count));
+        }
+    }
+}
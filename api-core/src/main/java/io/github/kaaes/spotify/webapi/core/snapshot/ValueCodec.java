@@ -0,0 +1,493 @@
+package io.github.kaaes.spotify.webapi.core.snapshot;
+
+import java.io.IOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.kaaes.spotify.webapi.core.models.MarketSet;
+
+/**
+ * Writes and reads values of one type. Values are never {@code null} here,
+ * the enclosing object, list or map records which values are present in a bitmap.
+ */
+abstract class ValueCodec {
+
+    abstract void write(SnapshotWriter out, Object value) throws IOException;
+
+    abstract Object read(SnapshotReader in) throws IOException;
+
+    /**
+     * Appends a description of the encoded layout, used to detect snapshots written
+     * for a different version of the models.
+     *
+     * @param described Models already described, which are only referred to by name
+     */
+    abstract void describe(StringBuilder out, Set<Class<?>> described);
+
+    static final ValueCodec STRING = new ValueCodec() {
+        @Override
+        void write(SnapshotWriter out, Object value) {
+            out.writeString((String) value);
+        }
+
+        @Override
+        Object read(SnapshotReader in) throws IOException {
+            return in.readString();
+        }
+
+        @Override
+        void describe(StringBuilder out, Set<Class<?>> described) {
+            out.append("s");
+        }
+    };
+
+    static final ValueCodec INT = new ValueCodec() {
+        @Override
+        void write(SnapshotWriter out, Object value) {
+            out.writeInt((Integer) value);
+        }
+
+        @Override
+        Object read(SnapshotReader in) throws IOException {
+            return in.readInt();
+        }
+
+        @Override
+        void describe(StringBuilder out, Set<Class<?>> described) {
+            out.append("i");
+        }
+    };
+
+    static final ValueCodec LONG = new ValueCodec() {
+        @Override
+        void write(SnapshotWriter out, Object value) {
+            out.writeLong((Long) value);
+        }
+
+        @Override
+        Object read(SnapshotReader in) throws IOException {
+            return in.readLong();
+        }
+
+        @Override
+        void describe(StringBuilder out, Set<Class<?>> described) {
+            out.append("l");
+        }
+    };
+
+    static final ValueCodec FLOAT = new ValueCodec() {
+        @Override
+        void write(SnapshotWriter out, Object value) {
+            out.writeFloat((Float) value);
+        }
+
+        @Override
+        Object read(SnapshotReader in) {
+            return in.readFloat();
+        }
+
+        @Override
+        void describe(StringBuilder out, Set<Class<?>> described) {
+            out.append("f");
+        }
+    };
+
+    static final ValueCodec DOUBLE = new ValueCodec() {
+        @Override
+        void write(SnapshotWriter out, Object value) {
+            out.writeDouble((Double) value);
+        }
+
+        @Override
+        Object read(SnapshotReader in) {
+            return in.readDouble();
+        }
+
+        @Override
+        void describe(StringBuilder out, Set<Class<?>> described) {
+            out.append("d");
+        }
+    };
+
+    static final ValueCodec BOOLEAN = new ValueCodec() {
+        @Override
+        void write(SnapshotWriter out, Object value) {
+            out.writeBoolean((Boolean) value);
+        }
+
+        @Override
+        Object read(SnapshotReader in) {
+            return in.readBoolean();
+        }
+
+        @Override
+        void describe(StringBuilder out, Set<Class<?>> described) {
+            out.append("z");
+        }
+    };
+
+    /**
+     * Market codes are read back into a {@link MarketSet}, like the Gson adapter of the field does.
+     */
+    static final ValueCodec MARKETS = new ListCodec(STRING) {
+        @Override
+        Object read(SnapshotReader in) throws IOException {
+            MarketSet.Builder builder = new MarketSet.Builder();
+            int size = in.readSize();
+            boolean[] present = new boolean[size];
+            in.readBitmap(present, size);
+            for (int i = 0; i < size; i++) {
+                if (present[i]) {
+                    builder.add(in.readString());
+                }
+            }
+            return builder.build();
+        }
+
+        @Override
+        void describe(StringBuilder out, Set<Class<?>> described) {
+            out.append("m");
+        }
+    };
+
+    /**
+     * Size, a bitmap of the elements that are not {@code null}, then those elements.
+     */
+    static class ListCodec extends ValueCodec {
+
+        private final ValueCodec mElement;
+
+        ListCodec(ValueCodec element) {
+            mElement = element;
+        }
+
+        @Override
+        void write(SnapshotWriter out, Object value) throws IOException {
+            List<?> list = (List<?>) value;
+            int size = list.size();
+            boolean[] present = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                present[i] = list.get(i) != null;
+            }
+            out.writeVarint(size);
+            out.writeBitmap(present, size);
+            for (int i = 0; i < size; i++) {
+                if (present[i]) {
+                    mElement.write(out, list.get(i));
+                }
+            }
+        }
+
+        @Override
+        Object read(SnapshotReader in) throws IOException {
+            int size = in.readSize();
+            boolean[] present = new boolean[size];
+            in.readBitmap(present, size);
+            List<Object> list = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                list.add(present[i] ? mElement.read(in) : null);
+            }
+            return list;
+        }
+
+        @Override
+        void describe(StringBuilder out, Set<Class<?>> described) {
+            out.append("L");
+            mElement.describe(out, described);
+        }
+    }
+
+    /**
+     * Same layout as a list, read back into an array of the component type.
+     */
+    static class ArrayCodec extends ValueCodec {
+
+        private final Class<?> mComponentType;
+        private final ValueCodec mElement;
+
+        ArrayCodec(Class<?> componentType, ValueCodec element) {
+            mComponentType = componentType;
+            mElement = element;
+        }
+
+        @Override
+        void write(SnapshotWriter out, Object value) throws IOException {
+            int size = Array.getLength(value);
+            boolean[] present = new boolean[size];
+            for (int i = 0; i < size; i++) {
+                present[i] = Array.get(value, i) != null;
+            }
+            out.writeVarint(size);
+            out.writeBitmap(present, size);
+            for (int i = 0; i < size; i++) {
+                if (present[i]) {
+                    mElement.write(out, Array.get(value, i));
+                }
+            }
+        }
+
+        @Override
+        Object read(SnapshotReader in) throws IOException {
+            int size = in.readSize();
+            boolean[] present = new boolean[size];
+            in.readBitmap(present, size);
+            Object array = Array.newInstance(mComponentType, size);
+            for (int i = 0; i < size; i++) {
+                if (present[i]) {
+                    Array.set(array, i, mElement.read(in));
+                } else if (mComponentType.isPrimitive()) {
+                    throw new IOException("Corrupt snapshot: missing element in a primitive array");
+                }
+            }
+            return array;
+        }
+
+        @Override
+        void describe(StringBuilder out, Set<Class<?>> described) {
+            out.append(mComponentType.isPrimitive() ? "P" : "A");
+            mElement.describe(out, described);
+        }
+    }
+
+    /**
+     * Size, a bitmap of the values that are not {@code null}, then each key followed by its value if present.
+     */
+    static class MapCodec extends ValueCodec {
+
+        private final ValueCodec mValue;
+
+        MapCodec(ValueCodec value) {
+            mValue = value;
+        }
+
+        @Override
+        void write(SnapshotWriter out, Object value) throws IOException {
+            Map<?, ?> map = (Map<?, ?>) value;
+            int size = map.size();
+            boolean[] present = new boolean[size];
+            int i = 0;
+            for (Object entryValue : map.values()) {
+                present[i++] = entryValue != null;
+            }
+            out.writeVarint(size);
+            out.writeBitmap(present, size);
+            i = 0;
+            for (Map.Entry<?, ?> entry : map.entrySet()) {
+                if (entry.getKey() == null) {
+                    throw new IllegalArgumentException("Map keys can't be null");
+                }
+                out.writeString((String) entry.getKey());
+                if (present[i++]) {
+                    mValue.write(out, entry.getValue());
+                }
+            }
+        }
+
+        @Override
+        Object read(SnapshotReader in) throws IOException {
+            int size = in.readSize();
+            boolean[] present = new boolean[size];
+            in.readBitmap(present, size);
+            Map<String, Object> map = new LinkedHashMap<>(size * 4 / 3 + 1);
+            for (int i = 0; i < size; i++) {
+                String key = in.readString();
+                map.put(key, present[i] ? mValue.read(in) : null);
+            }
+            return map;
+        }
+
+        @Override
+        void describe(StringBuilder out, Set<Class<?>> described) {
+            out.append("M");
+            mValue.describe(out, described);
+        }
+    }
+
+    /**
+     * A bitmap of the reference fields that are not {@code null}, then every primitive
+     * field and every present reference field in the order of their names.
+     */
+    static class ObjectCodec extends ValueCodec {
+
+        private static final int KIND_REFERENCE = 0;
+        private static final int KIND_INT = 1;
+        private static final int KIND_LONG = 2;
+        private static final int KIND_FLOAT = 3;
+        private static final int KIND_DOUBLE = 4;
+        private static final int KIND_BOOLEAN = 5;
+
+        private final Class<?> mType;
+        private Constructor<?> mConstructor;
+        private Field[] mFields;
+        private int[] mKinds;
+        private ValueCodec[] mCodecs;
+        private int mReferenceCount;
+
+        ObjectCodec(Class<?> type) {
+            mType = type;
+        }
+
+        /**
+         * Called once all field codecs are known. Kept separate from the constructor
+         * so models that refer to themselves can share the same codec.
+         *
+         * @param codecs Codec per field, {@code null} for primitive fields
+         */
+        void init(Constructor<?> constructor, Field[] fields, ValueCodec[] codecs) {
+            int[] kinds = new int[fields.length];
+            int referenceCount = 0;
+            for (int i = 0; i < fields.length; i++) {
+                kinds[i] = kindOf(fields[i].getType());
+                if (kinds[i] == KIND_REFERENCE) {
+                    referenceCount++;
+                }
+            }
+            mConstructor = constructor;
+            mFields = fields;
+            mKinds = kinds;
+            mCodecs = codecs;
+            mReferenceCount = referenceCount;
+        }
+
+        private static int kindOf(Class<?> type) {
+            if (type == int.class) {
+                return KIND_INT;
+            } else if (type == long.class) {
+                return KIND_LONG;
+            } else if (type == float.class) {
+                return KIND_FLOAT;
+            } else if (type == double.class) {
+                return KIND_DOUBLE;
+            } else if (type == boolean.class) {
+                return KIND_BOOLEAN;
+            } else if (type.isPrimitive()) {
+                throw new IllegalArgumentException("Unsupported field type " + type);
+            }
+            return KIND_REFERENCE;
+        }
+
+        @Override
+        void write(SnapshotWriter out, Object value) throws IOException {
+            try {
+                Object[] references = new Object[mFields.length];
+                boolean[] present = new boolean[mReferenceCount];
+                int reference = 0;
+                for (int i = 0; i < mFields.length; i++) {
+                    if (mKinds[i] == KIND_REFERENCE) {
+                        references[i] = mFields[i].get(value);
+                        present[reference++] = references[i] != null;
+                    }
+                }
+                out.writeBitmap(present, mReferenceCount);
+
+                for (int i = 0; i < mFields.length; i++) {
+                    Field field = mFields[i];
+                    switch (mKinds[i]) {
+                        case KIND_INT:
+                            out.writeInt(field.getInt(value));
+                            break;
+                        case KIND_LONG:
+                            out.writeLong(field.getLong(value));
+                            break;
+                        case KIND_FLOAT:
+                            out.writeFloat(field.getFloat(value));
+                            break;
+                        case KIND_DOUBLE:
+                            out.writeDouble(field.getDouble(value));
+                            break;
+                        case KIND_BOOLEAN:
+                            out.writeBoolean(field.getBoolean(value));
+                            break;
+                        default:
+                            if (references[i] != null) {
+                                mCodecs[i].write(out, references[i]);
+                            }
+                            break;
+                    }
+                }
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        Object read(SnapshotReader in) throws IOException {
+            try {
+                Object value = mConstructor.newInstance();
+                boolean[] present = new boolean[mReferenceCount];
+                in.readBitmap(present, mReferenceCount);
+
+                int reference = 0;
+                for (int i = 0; i < mFields.length; i++) {
+                    Field field = mFields[i];
+                    switch (mKinds[i]) {
+                        case KIND_INT:
+                            field.setInt(value, in.readInt());
+                            break;
+                        case KIND_LONG:
+                            field.setLong(value, in.readLong());
+                            break;
+                        case KIND_FLOAT:
+                            field.setFloat(value, in.readFloat());
+                            break;
+                        case KIND_DOUBLE:
+                            field.setDouble(value, in.readDouble());
+                            break;
+                        case KIND_BOOLEAN:
+                            field.setBoolean(value, in.readBoolean());
+                            break;
+                        default:
+                            if (present[reference++]) {
+                                field.set(value, mCodecs[i].read(in));
+                            }
+                            break;
+                    }
+                }
+                return value;
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new IllegalStateException("Can't create " + mType.getName(), e);
+            }
+        }
+
+        @Override
+        void describe(StringBuilder out, Set<Class<?>> described) {
+            out.append(mType.getName());
+            if (!described.add(mType)) {
+                return;
+            }
+            out.append('{');
+            for (int i = 0; i < mFields.length; i++) {
+                out.append(mFields[i].getName()).append(':');
+                switch (mKinds[i]) {
+                    case KIND_INT:
+                        out.append("I");
+                        break;
+                    case KIND_LONG:
+                        out.append("J");
+                        break;
+                    case KIND_FLOAT:
+                        out.append("F");
+                        break;
+                    case KIND_DOUBLE:
+                        out.append("D");
+                        break;
+                    case KIND_BOOLEAN:
+                        out.append("Z");
+                        break;
+                    default:
+                        mCodecs[i].describe(out, described);
+                        break;
+                }
+                out.append(';');
+            }
+            out.append('}');
+        }
+    }
+}
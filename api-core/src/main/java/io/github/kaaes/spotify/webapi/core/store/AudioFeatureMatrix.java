@@ -0,0 +1,345 @@
+package io.github.kaaes.spotify.webapi.core.store;
+
+import java.util.Arrays;
+
+import io.github.kaaes.spotify.webapi.core.models.AudioFeaturesTrack;
+import io.github.kaaes.spotify.webapi.core.models.AudioFeaturesTracks;
+
+/**
+ * Immutable matrix of audio features, one row per track and one {@code float} column per {@link Feature}.
+ * <p>
+ * All values are kept in a single array, column after column, so statistics over a feature
+ * and distances between tracks run over primitive arrays without touching per-track objects.
+ * Fill it from the results of {@code getTracksAudioFeatures} with a {@link Builder}:
+ * AudioFeatureMatrix matrix = new AudioFeatureMatrix.Builder().addAll(features).build();
+ * float danceability = matrix.mean(AudioFeatureMatrix.Feature.DANCEABILITY);
+ * <p>
+ * Features have very different ranges, tempo and duration dwarf everything else, so
+ * distances are usually computed on {@link #normalized()} values or on a subset of features.
+ */
+public final class AudioFeatureMatrix {
+
+    public enum Feature {
+        ACOUSTICNESS,
+        DANCEABILITY,
+        DURATION_MS,
+        ENERGY,
+        INSTRUMENTALNESS,
+        KEY,
+        LIVENESS,
+        LOUDNESS,
+        MODE,
+        SPEECHINESS,
+        TEMPO,
+        TIME_SIGNATURE,
+        VALENCE
+    }
+
+    private static final Feature[] FEATURES = Feature.values();
+
+    private final int mRowCount;
+    private final String[] mIds;
+    private final float[] mValues;
+
+    private AudioFeatureMatrix(int rowCount, String[] ids, float[] values) {
+        mRowCount = rowCount;
+        mIds = ids;
+        mValues = values;
+    }
+
+    public int size() {
+        return mRowCount;
+    }
+
+    public String getId(int row) {
+        checkRow(row);
+        return mIds[row];
+    }
+
+    /**
+     * @return Position of the first row with the given track ID or -1 if there is none
+     */
+    public int indexOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        for (int row = 0; row < mRowCount; row++) {
+            if (id.equals(mIds[row])) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    public float get(int row, Feature feature) {
+        checkRow(row);
+        return mValues[offset(feature) + row];
+    }
+
+    /**
+     * @return Copy of the values of one feature, indexed by row
+     */
+    public float[] getColumn(Feature feature) {
+        int offset = offset(feature);
+        return Arrays.copyOfRange(mValues, offset, offset + mRowCount);
+    }
+
+    public float min(Feature feature) {
+        checkNotEmpty();
+        int offset = offset(feature);
+        float min = Float.POSITIVE_INFINITY;
+        for (int i = offset, end = offset + mRowCount; i < end; i++) {
+            min = Math.min(min, mValues[i]);
+        }
+        return min;
+    }
+
+    public float max(Feature feature) {
+        checkNotEmpty();
+        int offset = offset(feature);
+        float max = Float.NEGATIVE_INFINITY;
+        for (int i = offset, end = offset + mRowCount; i < end; i++) {
+            max = Math.max(max, mValues[i]);
+        }
+        return max;
+    }
+
+    public float mean(Feature feature) {
+        checkNotEmpty();
+        int offset = offset(feature);
+        double sum = 0;
+        for (int i = offset, end = offset + mRowCount; i < end; i++) {
+            sum += mValues[i];
+        }
+        return (float) (sum / mRowCount);
+    }
+
+    /**
+     * @return Population variance of the feature
+     */
+    public float variance(Feature feature) {
+        checkNotEmpty();
+        int offset = offset(feature);
+        double mean = mean(feature);
+        double sum = 0;
+        for (int i = offset, end = offset + mRowCount; i < end; i++) {
+            double delta = mValues[i] - mean;
+            sum += delta * delta;
+        }
+        return (float) (sum / mRowCount);
+    }
+
+    /**
+     * @param percentile Value between 0 and 100
+     * @return The percentile of the feature, linearly interpolated between the closest rows
+     */
+    public float percentile(Feature feature, double percentile) {
+        checkNotEmpty();
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        float[] sorted = getColumn(feature);
+        Arrays.sort(sorted);
+        double position = percentile / 100 * (mRowCount - 1);
+        int lower = (int) Math.floor(position);
+        int upper = Math.min(lower + 1, mRowCount - 1);
+        return (float) (sorted[lower] + (position - lower) * (sorted[upper] - sorted[lower]));
+    }
+
+    /**
+     * @return A matrix with every feature scaled to the range 0..1 by its minimum and maximum.
+     * Features with the same value in every row become 0.
+     */
+    public AudioFeatureMatrix normalized() {
+        float[] values = new float[mValues.length];
+        for (Feature feature : FEATURES) {
+            if (mRowCount == 0) {
+                break;
+            }
+            int offset = offset(feature);
+            float min = min(feature);
+            float range = max(feature) - min;
+            float scale = range == 0 ? 0 : 1 / range;
+            for (int i = offset, end = offset + mRowCount; i < end; i++) {
+                values[i] = (mValues[i] - min) * scale;
+            }
+        }
+        return new AudioFeatureMatrix(mRowCount, mIds, values);
+    }
+
+    /**
+     * @param features Features to compare, all features if none are given
+     */
+    public float euclideanDistance(int row, int other, Feature... features) {
+        checkRow(row);
+        checkRow(other);
+        double sum = 0;
+        for (Feature feature : orAll(features)) {
+            int offset = offset(feature);
+            double delta = mValues[offset + row] - mValues[offset + other];
+            sum += delta * delta;
+        }
+        return (float) Math.sqrt(sum);
+    }
+
+    /**
+     * @param features Features to compare, all features if none are given
+     * @return 1 minus the cosine similarity of the two rows, 0 for identical directions
+     */
+    public float cosineDistance(int row, int other, Feature... features) {
+        checkRow(row);
+        checkRow(other);
+        double dot = 0;
+        double normRow = 0;
+        double normOther = 0;
+        for (Feature feature : orAll(features)) {
+            int offset = offset(feature);
+            double a = mValues[offset + row];
+            double b = mValues[offset + other];
+            dot += a * b;
+            normRow += a * a;
+            normOther += b * b;
+        }
+        return cosineDistance(dot, normRow, normOther);
+    }
+
+    /**
+     * Distances from one row to every row, computed column by column.
+     *
+     * @param features Features to compare, all features if none are given
+     * @return Distances indexed by row
+     */
+    public float[] euclideanDistances(int row, Feature... features) {
+        checkRow(row);
+        float[] distances = new float[mRowCount];
+        for (Feature feature : orAll(features)) {
+            int offset = offset(feature);
+            float value = mValues[offset + row];
+            for (int i = 0; i < mRowCount; i++) {
+                float delta = mValues[offset + i] - value;
+                distances[i] += delta * delta;
+            }
+        }
+        for (int i = 0; i < mRowCount; i++) {
+            distances[i] = (float) Math.sqrt(distances[i]);
+        }
+        return distances;
+    }
+
+    /**
+     * Cosine distances from one row to every row, computed column by column.
+     *
+     * @param features Features to compare, all features if none are given
+     * @return Distances indexed by row
+     */
+    public float[] cosineDistances(int row, Feature... features) {
+        checkRow(row);
+        double[] dots = new double[mRowCount];
+        double[] norms = new double[mRowCount];
+        for (Feature feature : orAll(features)) {
+            int offset = offset(feature);
+            float value = mValues[offset + row];
+            for (int i = 0; i < mRowCount; i++) {
+                double other = mValues[offset + i];
+                dots[i] += value * other;
+                norms[i] += other * other;
+            }
+        }
+        float[] distances = new float[mRowCount];
+        for (int i = 0; i < mRowCount; i++) {
+            distances[i] = cosineDistance(dots[i], norms[row], norms[i]);
+        }
+        return distances;
+    }
+
+    private static float cosineDistance(double dot, double normA, double normB) {
+        if (normA == 0 || normB == 0) {
+            return normA == normB ? 0 : 1;
+        }
+        return (float) (1 - dot / Math.sqrt(normA * normB));
+    }
+
+    private static Feature[] orAll(Feature[] features) {
+        return features == null || features.length == 0 ? FEATURES : features;
+    }
+
+    private int offset(Feature feature) {
+        return feature.ordinal() * mRowCount;
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= mRowCount) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", size: " + mRowCount);
+        }
+    }
+
+    private void checkNotEmpty() {
+        if (mRowCount == 0) {
+            throw new IllegalStateException("Matrix is empty");
+        }
+    }
+
+    public static class Builder {
+
+        private int mRowCount;
+        private String[] mIds = new String[16];
+        private float[][] mColumns = new float[FEATURES.length][16];
+
+        public Builder add(AudioFeaturesTrack features) {
+            if (features == null) {
+                throw new IllegalArgumentException("Audio features can't be null");
+            }
+            if (mRowCount == mIds.length) {
+                int capacity = mRowCount * 2;
+                mIds = Arrays.copyOf(mIds, capacity);
+                for (int i = 0; i < mColumns.length; i++) {
+                    mColumns[i] = Arrays.copyOf(mColumns[i], capacity);
+                }
+            }
+            int row = mRowCount++;
+            mIds[row] = features.id;
+            mColumns[Feature.ACOUSTICNESS.ordinal()][row] = features.acousticness;
+            mColumns[Feature.DANCEABILITY.ordinal()][row] = features.danceability;
+            mColumns[Feature.DURATION_MS.ordinal()][row] = features.duration_ms;
+            mColumns[Feature.ENERGY.ordinal()][row] = features.energy;
+            mColumns[Feature.INSTRUMENTALNESS.ordinal()][row] = features.instrumentalness;
+            mColumns[Feature.KEY.ordinal()][row] = features.key;
+            mColumns[Feature.LIVENESS.ordinal()][row] = features.liveness;
+            mColumns[Feature.LOUDNESS.ordinal()][row] = features.loudness;
+            mColumns[Feature.MODE.ordinal()][row] = features.mode;
+            mColumns[Feature.SPEECHINESS.ordinal()][row] = features.speechiness;
+            mColumns[Feature.TEMPO.ordinal()][row] = features.tempo;
+            mColumns[Feature.TIME_SIGNATURE.ordinal()][row] = features.time_signature;
+            mColumns[Feature.VALENCE.ordinal()][row] = features.valence;
+            return this;
+        }
+
+        /**
+         * Adds every entry of an {@code getTracksAudioFeatures} result. Entries for
+         * unknown track IDs come back as {@code null} and are skipped.
+         */
+        public Builder addAll(AudioFeaturesTracks features) {
+            if (features != null && features.audio_features != null) {
+                addAll(features.audio_features);
+            }
+            return this;
+        }
+
+        public Builder addAll(Iterable<? extends AudioFeaturesTrack> features) {
+            for (AudioFeaturesTrack item : features) {
+                if (item != null) {
+                    add(item);
+                }
+            }
+            return this;
+        }
+
+        public AudioFeatureMatrix build() {
+            float[] values = new float[FEATURES.length * mRowCount];
+            for (int i = 0; i < mColumns.length; i++) {
+                System.arraycopy(mColumns[i], 0, values, i * mRowCount, mRowCount);
+            }
+            return new AudioFeatureMatrix(mRowCount, Arrays.copyOf(mIds, mRowCount), values);
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package io.github.kaaes.spotify.webapi.core.store;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import io.github.kaaes.spotify.webapi.core.gson.LazyJsonReader;
+import io.github.kaaes.spotify.webapi.core.models.Album;
+import io.github.kaaes.spotify.webapi.core.models.AlbumSimple;
+import io.github.kaaes.spotify.webapi.core.models.Artist;
+import io.github.kaaes.spotify.webapi.core.models.ArtistSimple;
+import io.github.kaaes.spotify.webapi.core.models.Track;
+import io.github.kaaes.spotify.webapi.core.models.TrackSimple;
+
+/**
+ * Normalized in-memory store of tracks, albums and artists keyed by their Spotify ID.
+ * <p>
+ * {@link #putAll(Object)} walks any deserialized response, for example a
+ * {@code Pager<PlaylistTrack>} or {@code Recommendations}, and remembers every entity that
+ * has an ID. A full object ({@link Track}, {@link Album}, {@link Artist}) is never replaced
+ * by its simplified form while it is still fresh.
+ * <p>
+ * Entries expire after a time to live and the least recently used ones are evicted once
+ * the estimated memory weight of all entries exceeds the configured bound.
+ * <p>
+ * Responses are walked and weighed before the store's lock is taken. Lists and maps that
+ * {@link LazyJsonReader} has not decoded yet are left alone and only counted with a flat
+ * weight, so storing a response never forces a deferred field to be parsed.
+ */
+public class EntityStore {
+
+    public static final long DEFAULT_MAX_WEIGHT_BYTES = 4 * 1024 * 1024;
+    public static final long DEFAULT_TTL_MS = TimeUnit.MINUTES.toMillis(10);
+
+    private static final String KEY_TRACK = "track:";
+    private static final String KEY_ALBUM = "album:";
+    private static final String KEY_ARTIST = "artist:";
+
+    private static final String MODELS_PACKAGE = Track.class.getName().substring(0, Track.class.getName().lastIndexOf('.') + 1);
+    private static final int MAX_DEPTH = 8;
+    private static final long PENDING_WEIGHT_BYTES = 48;
+
+    private final long mMaxWeightBytes;
+    private final long mTtlMs;
+    private final LinkedHashMap<String, Entry> mEntries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<Class<?>, Field[]> mFields = new ConcurrentHashMap<>();
+
+    private long mWeightBytes;
+    private long mHitCount;
+    private long mMissCount;
+    private long mEvictionCount;
+
+    private static class Entry {
+        final Object value;
+        final long storedAtMs;
+        final long weightBytes;
+
+        Entry(Object value, long storedAtMs, long weightBytes) {
+            this.value = value;
+            this.storedAtMs = storedAtMs;
+            this.weightBytes = weightBytes;
+        }
+    }
+
+    public EntityStore() {
+        this(DEFAULT_MAX_WEIGHT_BYTES, DEFAULT_TTL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * @param maxWeightBytes Upper bound for the estimated memory used by all entries
+     * @param ttl            How long an entry is considered fresh
+     * @param unit           Unit of {@code ttl}
+     */
+    public EntityStore(long maxWeightBytes, long ttl, TimeUnit unit) {
+        if (maxWeightBytes <= 0 || ttl <= 0) {
+            throw new IllegalArgumentException("Weight bound and time to live must be positive");
+        }
+        mMaxWeightBytes = maxWeightBytes;
+        mTtlMs = unit.toMillis(ttl);
+    }
+
+    /**
+     * Stores every track, album and artist found anywhere in the given response.
+     * <p>
+     * Only pass complete responses. A response requested with a {@code fields} filter holds
+     * models with most fields left {@code null} and would replace the complete ones.
+     *
+     * @param response Any deserialized model, list of models or array of models
+     */
+    public void putAll(Object response) {
+        List<Object> entities = new ArrayList<>();
+        collect(response, entities, 0);
+        if (entities.isEmpty()) {
+            return;
+        }
+
+        long[] weights = new long[entities.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = estimateWeight(entities.get(i), 0);
+        }
+
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            for (int i = 0; i < weights.length; i++) {
+                store(entities.get(i), weights[i], now);
+            }
+            trimToWeight();
+        }
+    }
+
+    /**
+     * Stores a single entity. Objects that are not a track, album or artist are ignored.
+     */
+    public void put(Object entity) {
+        if (keyOf(entity) == null) {
+            return;
+        }
+
+        long weight = estimateWeight(entity, 0);
+        long now = System.currentTimeMillis();
+        synchronized (this) {
+            store(entity, weight, now);
+            trimToWeight();
+        }
+    }
+
+    public Track getTrack(String id) {
+        return getTrack(id, mTtlMs);
+    }
+
+    /**
+     * @param maxAgeMs Oldest acceptable entry, capped by the store's time to live
+     * @return The full track or {@code null} if it is unknown, too old or only a simplified version is stored
+     */
+    public Track getTrack(String id, long maxAgeMs) {
+        return get(KEY_TRACK, id, maxAgeMs, Track.class);
+    }
+
+    public TrackSimple getTrackSimple(String id) {
+        return get(KEY_TRACK, id, mTtlMs, TrackSimple.class);
+    }
+
+    public Album getAlbum(String id) {
+        return getAlbum(id, mTtlMs);
+    }
+
+    public Album getAlbum(String id, long maxAgeMs) {
+        return get(KEY_ALBUM, id, maxAgeMs, Album.class);
+    }
+
+    public AlbumSimple getAlbumSimple(String id) {
+        return get(KEY_ALBUM, id, mTtlMs, AlbumSimple.class);
+    }
+
+    public Artist getArtist(String id) {
+        return getArtist(id, mTtlMs);
+    }
+
+    public Artist getArtist(String id, long maxAgeMs) {
+        return get(KEY_ARTIST, id, maxAgeMs, Artist.class);
+    }
+
+    public ArtistSimple getArtistSimple(String id) {
+        return get(KEY_ARTIST, id, mTtlMs, ArtistSimple.class);
+    }
+
+    public synchronized void clear() {
+        mEntries.clear();
+        mWeightBytes = 0;
+    }
+
+    public synchronized int size() {
+        return mEntries.size();
+    }
+
+    public synchronized long getWeightBytes() {
+        return mWeightBytes;
+    }
+
+    public synchronized long getHitCount() {
+        return mHitCount;
+    }
+
+    public synchronized long getMissCount() {
+        return mMissCount;
+    }
+
+    public synchronized long getEvictionCount() {
+        return mEvictionCount;
+    }
+
+    private synchronized <T> T get(String prefix, String id, long maxAgeMs, Class<T> type) {
+        if (id == null) {
+            return null;
+        }
+
+        Entry entry = mEntries.get(prefix + id);
+        long age = entry != null ? System.currentTimeMillis() - entry.storedAtMs : Long.MAX_VALUE;
+        if (entry != null && age > mTtlMs) {
+            remove(prefix + id);
+            entry = null;
+        }
+
+        if (entry == null || age > maxAgeMs || !type.isInstance(entry.value)) {
+            mMissCount++;
+            return null;
+        }
+
+        mHitCount++;
+        return type.cast(entry.value);
+    }
+
+    private void collect(Object node, List<Object> entities, int depth) {
+        if (node == null || depth > MAX_DEPTH || LazyJsonReader.isPending(node)) {
+            return;
+        }
+
+        if (node instanceof List) {
+            for (Object item : (List<?>) node) {
+                collect(item, entities, depth + 1);
+            }
+            return;
+        }
+
+        if (node instanceof Object[]) {
+            for (Object item : (Object[]) node) {
+                collect(item, entities, depth + 1);
+            }
+            return;
+        }
+
+        if (!node.getClass().getName().startsWith(MODELS_PACKAGE)) {
+            return;
+        }
+
+        if (keyOf(node) != null) {
+            entities.add(node);
+        }
+
+        for (Field field : nestedFields(node.getClass())) {
+            try {
+                collect(field.get(node), entities, depth + 1);
+            } catch (IllegalAccessException e) {
+                // Model fields are public
+            }
+        }
+    }
+
+    private void store(Object entity, long weightBytes, long now) {
+        String key = keyOf(entity);
+        if (key == null) {
+            return;
+        }
+
+        Entry existing = mEntries.get(key);
+        if (existing != null
+                && now - existing.storedAtMs <= mTtlMs
+                && isFuller(existing.value, entity)) {
+            return;
+        }
+
+        remove(key);
+        Entry entry = new Entry(entity, now, weightBytes);
+        mEntries.put(key, entry);
+        mWeightBytes += entry.weightBytes;
+    }
+
+    private void remove(String key) {
+        Entry removed = mEntries.remove(key);
+        if (removed != null) {
+            mWeightBytes -= removed.weightBytes;
+        }
+    }
+
+    private void trimToWeight() {
+        Iterator<Map.Entry<String, Entry>> iterator = mEntries.entrySet().iterator();
+        while (mWeightBytes > mMaxWeightBytes && iterator.hasNext()) {
+            Entry eldest = iterator.next().getValue();
+            iterator.remove();
+            mWeightBytes -= eldest.weightBytes;
+            mEvictionCount++;
+        }
+    }
+
+    private static String keyOf(Object entity) {
+        if (entity instanceof TrackSimple && ((TrackSimple) entity).id != null) {
+            return KEY_TRACK + ((TrackSimple) entity).id;
+        }
+        if (entity instanceof AlbumSimple && ((AlbumSimple) entity).id != null) {
+            return KEY_ALBUM + ((AlbumSimple) entity).id;
+        }
+        if (entity instanceof ArtistSimple && ((ArtistSimple) entity).id != null) {
+            return KEY_ARTIST + ((ArtistSimple) entity).id;
+        }
+        return null;
+    }
+
+    private static boolean isFuller(Object existing, Object candidate) {
+        return (existing instanceof Track && !(candidate instanceof Track))
+                || (existing instanceof Album && !(candidate instanceof Album))
+                || (existing instanceof Artist && !(candidate instanceof Artist));
+    }
+
+    /**
+     * @return Public instance fields that may hold other models
+     */
+    private Field[] nestedFields(Class<?> type) {
+        Field[] fields = mFields.get(type);
+        if (fields == null) {
+            List<Field> nested = new ArrayList<>();
+            for (Field field : type.getFields()) {
+                Class<?> fieldType = field.getType();
+                if (Modifier.isStatic(field.getModifiers())
+                        || fieldType.isPrimitive()
+                        || fieldType == String.class
+                        || Number.class.isAssignableFrom(fieldType)
+                        || fieldType == Boolean.class
+                        || Map.class.isAssignableFrom(fieldType)) {
+                    continue;
+                }
+                nested.add(field);
+            }
+            fields = nested.toArray(new Field[nested.size()]);
+            mFields.put(type, fields);
+        }
+        return fields;
+    }
+
+    /**
+     * Rough estimate of the memory retained by a model graph, good enough to bound the store.
+     */
+    private long estimateWeight(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (LazyJsonReader.isPending(value)) {
+            return PENDING_WEIGHT_BYTES;
+        }
+        if (value instanceof String) {
+            return 40 + 2L * ((String) value).length();
+        }
+        if (value instanceof Number || value instanceof Boolean) {
+            return 16;
+        }
+        if (depth > MAX_DEPTH) {
+            return 16;
+        }
+        if (value instanceof List) {
+            long weight = 24 + 8L * ((List<?>) value).size();
+            for (Object item : (List<?>) value) {
+                weight += estimateWeight(item, depth + 1);
+            }
+            return weight;
+        }
+        if (value instanceof Map) {
+            long weight = 48;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                weight += 32 + estimateWeight(entry.getKey(), depth + 1) + estimateWeight(entry.getValue(), depth + 1);
+            }
+            return weight;
+        }
+
+        long weight = 16;
+        for (Field field : value.getClass().getFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            weight += 8;
+            if (!field.getType().isPrimitive()) {
+                try {
+                    weight += estimateWeight(field.get(value), depth + 1);
+                } catch (IllegalAccessException e) {
+                    // Model fields are public
+                }
+            }
+        }
+        return weight;
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.kaaes.spotify.webapi.core.store;
+
+import java.util.Arrays;
+
+/**
+ * Growable list of strings with an open addressing index, so equal strings
+ * share one slot and are referenced by their position.
+ */
+final class StringPool {
+
+    private String[] mValues = new String[16];
+    private int[] mSlots = new int[32];
+    private int mSize;
+
+    /**
+     * @return Position of the value, added to the pool if it is not there yet, or -1 for {@code null}
+     */
+    int intern(String value) {
+        if (value == null) {
+            return -1;
+        }
+        int mask = mSlots.length - 1;
+        int slot = value.hashCode() & mask;
+        while (mSlots[slot] != 0) {
+            int index = mSlots[slot] - 1;
+            if (value.equals(mValues[index])) {
+                return index;
+            }
+            slot = (slot + 1) & mask;
+        }
+        int index = append(value);
+        mSlots[slot] = index + 1;
+        if (mSize * 2 > mSlots.length) {
+            rehash();
+        }
+        return index;
+    }
+
+    /**
+     * Adds the value without looking for an equal one. Appended values are not found by {@link #intern(String)}.
+     *
+     * @return Position of the value
+     */
+    int append(String value) {
+        if (mSize == mValues.length) {
+            mValues = Arrays.copyOf(mValues, mSize * 2);
+        }
+        mValues[mSize] = value;
+        return mSize++;
+    }
+
+    int size() {
+        return mSize;
+    }
+
+    /**
+     * @return Copy of the pooled values, without the index
+     */
+    String[] toArray() {
+        return Arrays.copyOf(mValues, mSize);
+    }
+
+    private void rehash() {
+        int[] slots = new int[mSlots.length * 2];
+        int mask = slots.length - 1;
+        for (int i = 0; i < mSlots.length; i++) {
+            if (mSlots[i] == 0) {
+                continue;
+            }
+            int slot = mValues[mSlots[i] - 1].hashCode() & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = mSlots[i];
+        }
+        mSlots = slots;
+    }
+}
@@ -0,0 +1,443 @@
+package io.github.kaaes.spotify.webapi.core.store;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import io.github.kaaes.spotify.webapi.core.models.AlbumSimple;
+import io.github.kaaes.spotify.webapi.core.models.ArtistSimple;
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTrack;
+import io.github.kaaes.spotify.webapi.core.models.SavedTrack;
+import io.github.kaaes.spotify.webapi.core.models.Track;
+import io.github.kaaes.spotify.webapi.core.models.TrackSimple;
+
+/**
+ * Immutable, column oriented table of tracks for mirroring large libraries.
+ * <p>
+ * Each column is a primitive array indexed by row: durations, popularity, explicit flags
+ * and references to albums and artists. Track, album and artist names are kept once in a
+ * shared string pool, and every album and artist is kept once no matter how many tracks
+ * refer to it. Markets, images, external URLs, external IDs and linked tracks are not kept.
+ * <p>
+ * Fill it page by page with a {@link Builder} and drop the pages afterwards:
+ * TrackTable.Builder builder = new TrackTable.Builder();
+ * builder.addSavedTracks(spotify.getMySavedTracks(options).execute().body());
+ * TrackTable table = builder.build();
+ * <p>
+ * Rows can be read through the column getters or through a {@link Row} view.
+ */
+public final class TrackTable {
+
+    private static final int NO_POPULARITY = -1;
+
+    private final int mRowCount;
+    private final String[] mIds;
+    private final int[] mNames;
+    private final int[] mDurations;
+    private final byte[] mPopularity;
+    private final long[] mExplicit;
+    private final int[] mAlbums;
+    private final int[] mArtistOffsets;
+    private final int[] mArtists;
+
+    private final String[] mNamePool;
+    private final String[] mAlbumIds;
+    private final int[] mAlbumNames;
+    private final String[] mArtistIds;
+    private final int[] mArtistNames;
+
+    private TrackTable(Builder builder) {
+        mRowCount = builder.mRowCount;
+        mIds = Arrays.copyOf(builder.mIds, mRowCount);
+        mNames = Arrays.copyOf(builder.mNames, mRowCount);
+        mDurations = Arrays.copyOf(builder.mDurations, mRowCount);
+        mPopularity = Arrays.copyOf(builder.mPopularity, mRowCount);
+        mExplicit = Arrays.copyOf(builder.mExplicit, (mRowCount + 63) / 64);
+        mAlbums = Arrays.copyOf(builder.mAlbums, mRowCount);
+        mArtistOffsets = Arrays.copyOf(builder.mArtistOffsets, mRowCount + 1);
+        mArtists = Arrays.copyOf(builder.mArtists, builder.mArtistRefCount);
+
+        mNamePool = builder.mNamePool.toArray();
+        mAlbumIds = builder.mAlbumIds.toArray();
+        mAlbumNames = Arrays.copyOf(builder.mAlbumNames, mAlbumIds.length);
+        mArtistIds = builder.mArtistIds.toArray();
+        mArtistNames = Arrays.copyOf(builder.mArtistNames, mArtistIds.length);
+    }
+
+    public int size() {
+        return mRowCount;
+    }
+
+    /**
+     * @return Number of distinct albums referenced by the rows
+     */
+    public int getAlbumCount() {
+        return mAlbumIds.length;
+    }
+
+    /**
+     * @return Number of distinct artists referenced by the rows
+     */
+    public int getArtistCount() {
+        return mArtistIds.length;
+    }
+
+    /**
+     * @return A view of the given row. Views are cheap and read straight from the table.
+     */
+    public Row row(int row) {
+        checkRow(row);
+        return new Row(this, row);
+    }
+
+    /**
+     * @return Position of the first row with the given track ID or -1 if there is none
+     */
+    public int indexOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        for (int row = 0; row < mRowCount; row++) {
+            if (id.equals(mIds[row])) {
+                return row;
+            }
+        }
+        return -1;
+    }
+
+    public String getId(int row) {
+        checkRow(row);
+        return mIds[row];
+    }
+
+    public String getName(int row) {
+        checkRow(row);
+        return name(mNames[row]);
+    }
+
+    public long getDurationMs(int row) {
+        checkRow(row);
+        return mDurations[row];
+    }
+
+    /**
+     * @return Popularity of the track or {@code null} if the response did not include it
+     */
+    public Integer getPopularity(int row) {
+        checkRow(row);
+        return mPopularity[row] == NO_POPULARITY ? null : (int) mPopularity[row];
+    }
+
+    /**
+     * @return Whether the track is explicit, {@code false} if it is unknown
+     */
+    public boolean isExplicit(int row) {
+        checkRow(row);
+        return (mExplicit[row >>> 6] & (1L << row)) != 0;
+    }
+
+    public String getAlbumId(int row) {
+        checkRow(row);
+        return mAlbums[row] < 0 ? null : mAlbumIds[mAlbums[row]];
+    }
+
+    public String getAlbumName(int row) {
+        checkRow(row);
+        return mAlbums[row] < 0 ? null : name(mAlbumNames[mAlbums[row]]);
+    }
+
+    public int getArtistCount(int row) {
+        checkRow(row);
+        return mArtistOffsets[row + 1] - mArtistOffsets[row];
+    }
+
+    public String getArtistId(int row, int artist) {
+        return mArtistIds[artistRef(row, artist)];
+    }
+
+    public String getArtistName(int row, int artist) {
+        return name(mArtistNames[artistRef(row, artist)]);
+    }
+
+    /**
+     * Creates a {@link Track} holding the values kept for the given row,
+     * with a simplified album and simplified artists.
+     */
+    public Track toTrack(int row) {
+        checkRow(row);
+        Track track = new Track();
+        track.id = mIds[row];
+        track.name = name(mNames[row]);
+        track.duration_ms = mDurations[row];
+        track.popularity = getPopularity(row);
+        track.explicit = isExplicit(row);
+        track.type = "track";
+        if (track.id != null) {
+            track.uri = "spotify:track:" + track.id;
+        }
+        if (mAlbums[row] >= 0) {
+            AlbumSimple album = new AlbumSimple();
+            album.id = mAlbumIds[mAlbums[row]];
+            album.name = name(mAlbumNames[mAlbums[row]]);
+            album.type = "album";
+            track.album = album;
+        }
+        int artistCount = getArtistCount(row);
+        track.artists = new ArrayList<>(artistCount);
+        for (int i = 0; i < artistCount; i++) {
+            ArtistSimple artist = new ArtistSimple();
+            artist.id = getArtistId(row, i);
+            artist.name = getArtistName(row, i);
+            artist.type = "artist";
+            track.artists.add(artist);
+        }
+        return track;
+    }
+
+    /**
+     * @return All rows as {@link Track} objects, see {@link #toTrack(int)}
+     */
+    public List<Track> toTracks() {
+        List<Track> tracks = new ArrayList<>(mRowCount);
+        for (int row = 0; row < mRowCount; row++) {
+            tracks.add(toTrack(row));
+        }
+        return tracks;
+    }
+
+    private String name(int index) {
+        return index < 0 ? null : mNamePool[index];
+    }
+
+    private int artistRef(int row, int artist) {
+        checkRow(row);
+        int start = mArtistOffsets[row];
+        if (artist < 0 || start + artist >= mArtistOffsets[row + 1]) {
+            throw new IndexOutOfBoundsException("Artist: " + artist + ", count: " + (mArtistOffsets[row + 1] - start));
+        }
+        return mArtists[start + artist];
+    }
+
+    private void checkRow(int row) {
+        if (row < 0 || row >= mRowCount) {
+            throw new IndexOutOfBoundsException("Row: " + row + ", size: " + mRowCount);
+        }
+    }
+
+    /**
+     * View of a single row of a {@link TrackTable}.
+     */
+    public static final class Row {
+
+        private final TrackTable mTable;
+        private final int mRow;
+
+        private Row(TrackTable table, int row) {
+            mTable = table;
+            mRow = row;
+        }
+
+        public int getIndex() {
+            return mRow;
+        }
+
+        public String getId() {
+            return mTable.getId(mRow);
+        }
+
+        public String getName() {
+            return mTable.getName(mRow);
+        }
+
+        public long getDurationMs() {
+            return mTable.getDurationMs(mRow);
+        }
+
+        public Integer getPopularity() {
+            return mTable.getPopularity(mRow);
+        }
+
+        public boolean isExplicit() {
+            return mTable.isExplicit(mRow);
+        }
+
+        public String getAlbumId() {
+            return mTable.getAlbumId(mRow);
+        }
+
+        public String getAlbumName() {
+            return mTable.getAlbumName(mRow);
+        }
+
+        public int getArtistCount() {
+            return mTable.getArtistCount(mRow);
+        }
+
+        public String getArtistId(int artist) {
+            return mTable.getArtistId(mRow, artist);
+        }
+
+        public String getArtistName(int artist) {
+            return mTable.getArtistName(mRow, artist);
+        }
+
+        public Track toTrack() {
+            return mTable.toTrack(mRow);
+        }
+    }
+
+    public static class Builder {
+
+        private int mRowCount;
+        private String[] mIds = new String[16];
+        private int[] mNames = new int[16];
+        private int[] mDurations = new int[16];
+        private byte[] mPopularity = new byte[16];
+        private long[] mExplicit = new long[1];
+        private int[] mAlbums = new int[16];
+        private int[] mArtistOffsets = new int[17];
+        private int[] mArtists = new int[16];
+        private int mArtistRefCount;
+
+        private final StringPool mNamePool = new StringPool();
+        private final StringPool mAlbumIds = new StringPool();
+        private int[] mAlbumNames = new int[16];
+        private final StringPool mArtistIds = new StringPool();
+        private int[] mArtistNames = new int[16];
+
+        /**
+         * Adds one row. The album is only kept for a full {@link Track}.
+         */
+        public Builder add(TrackSimple track) {
+            if (track == null) {
+                throw new IllegalArgumentException("Track can't be null");
+            }
+            ensureRowCapacity(mRowCount + 1);
+
+            int row = mRowCount;
+            mIds[row] = track.id;
+            mNames[row] = mNamePool.intern(track.name);
+            mDurations[row] = (int) Math.max(0, Math.min(track.duration_ms, Integer.MAX_VALUE));
+            mPopularity[row] = NO_POPULARITY;
+            mAlbums[row] = -1;
+            if (Boolean.TRUE.equals(track.explicit)) {
+                mExplicit[row >>> 6] |= 1L << row;
+            }
+            if (track instanceof Track) {
+                Track full = (Track) track;
+                if (full.popularity != null) {
+                    mPopularity[row] = (byte) Math.max(0, Math.min(full.popularity, 100));
+                }
+                if (full.album != null) {
+                    mAlbums[row] = addAlbum(full.album);
+                }
+            }
+            if (track.artists != null) {
+                for (ArtistSimple artist : track.artists) {
+                    if (artist != null) {
+                        addArtistRef(addArtist(artist));
+                    }
+                }
+            }
+            mRowCount++;
+            mArtistOffsets[mRowCount] = mArtistRefCount;
+            return this;
+        }
+
+        public Builder addAll(Iterable<? extends TrackSimple> tracks) {
+            for (TrackSimple track : tracks) {
+                if (track != null) {
+                    add(track);
+                }
+            }
+            return this;
+        }
+
+        public Builder addTracks(Pager<Track> pager) {
+            if (pager != null && pager.items != null) {
+                addAll(pager.items);
+            }
+            return this;
+        }
+
+        public Builder addSavedTracks(Pager<SavedTrack> pager) {
+            if (pager != null && pager.items != null) {
+                for (SavedTrack item : pager.items) {
+                    if (item != null && item.track != null) {
+                        add(item.track);
+                    }
+                }
+            }
+            return this;
+        }
+
+        /**
+         * Adds the tracks of a playlist page. Items without a track, for example
+         * tracks that are no longer available, are skipped.
+         */
+        public Builder addPlaylistTracks(Pager<PlaylistTrack> pager) {
+            if (pager != null && pager.items != null) {
+                for (PlaylistTrack item : pager.items) {
+                    if (item != null && item.track != null) {
+                        add(item.track);
+                    }
+                }
+            }
+            return this;
+        }
+
+        public TrackTable build() {
+            return new TrackTable(this);
+        }
+
+        /**
+         * Albums are kept once per ID. Albums without an ID, such as those of local files, are not shared.
+         */
+        private int addAlbum(AlbumSimple album) {
+            int count = mAlbumIds.size();
+            int index = album.id == null ? mAlbumIds.append(null) : mAlbumIds.intern(album.id);
+            if (index == count) {
+                if (index == mAlbumNames.length) {
+                    mAlbumNames = Arrays.copyOf(mAlbumNames, index * 2);
+                }
+                mAlbumNames[index] = mNamePool.intern(album.name);
+            }
+            return index;
+        }
+
+        private int addArtist(ArtistSimple artist) {
+            int count = mArtistIds.size();
+            int index = artist.id == null ? mArtistIds.append(null) : mArtistIds.intern(artist.id);
+            if (index == count) {
+                if (index == mArtistNames.length) {
+                    mArtistNames = Arrays.copyOf(mArtistNames, index * 2);
+                }
+                mArtistNames[index] = mNamePool.intern(artist.name);
+            }
+            return index;
+        }
+
+        private void addArtistRef(int artist) {
+            if (mArtistRefCount == mArtists.length) {
+                mArtists = Arrays.copyOf(mArtists, mArtistRefCount * 2);
+            }
+            mArtists[mArtistRefCount++] = artist;
+        }
+
+        private void ensureRowCapacity(int rows) {
+            if (rows > mIds.length) {
+                int capacity = Math.max(rows, mIds.length * 2);
+                mIds = Arrays.copyOf(mIds, capacity);
+                mNames = Arrays.copyOf(mNames, capacity);
+                mDurations = Arrays.copyOf(mDurations, capacity);
+                mPopularity = Arrays.copyOf(mPopularity, capacity);
+                mAlbums = Arrays.copyOf(mAlbums, capacity);
+                mArtistOffsets = Arrays.copyOf(mArtistOffsets, capacity + 1);
+            }
+            if ((rows + 63) / 64 > mExplicit.length) {
+                mExplicit = Arrays.copyOf(mExplicit, mExplicit.length * 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package io.github.kaaes.spotify.webapi.core;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import io.github.kaaes.spotify.webapi.core.models.AudioFeaturesTrack;
+import io.github.kaaes.spotify.webapi.core.models.AudioFeaturesTracks;
+import io.github.kaaes.spotify.webapi.core.store.AudioFeatureMatrix;
+import io.github.kaaes.spotify.webapi.core.store.AudioFeatureMatrix.Feature;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class AudioFeatureMatrixTest {
+
+    private static final float DELTA = 1e-4f;
+
+    @Test
+    public void computesStatistics() {
+        AudioFeaturesTracks tracks = new AudioFeaturesTracks();
+        tracks.audio_features = Arrays.asList(features("a", 0.1f, 100), null, features("b", 0.3f, 120), features("c", 0.8f, 140));
+
+        AudioFeatureMatrix matrix = new AudioFeatureMatrix.Builder().addAll(tracks).build();
+
+        assertEquals(3, matrix.size());
+        assertEquals(2, matrix.indexOf("c"));
+        assertEquals(0.4f, matrix.mean(Feature.DANCEABILITY), DELTA);
+        assertEquals(0.0867f, matrix.variance(Feature.DANCEABILITY), DELTA);
+        assertEquals(0.3f, matrix.percentile(Feature.DANCEABILITY, 50), DELTA);
+        assertEquals(0.55f, matrix.percentile(Feature.DANCEABILITY, 75), DELTA);
+        assertEquals(0.1f, matrix.min(Feature.DANCEABILITY), DELTA);
+        assertEquals(140f, matrix.max(Feature.TEMPO), DELTA);
+    }
+
+    @Test
+    public void normalizesAndComputesDistances() {
+        AudioFeatureMatrix matrix = new AudioFeatureMatrix.Builder()
+                .add(features("a", 0.2f, 100))
+                .add(features("b", 0.4f, 150))
+                .add(features("c", 0.6f, 200))
+                .build()
+                .normalized();
+
+        assertEquals(0.5f, matrix.get(1, Feature.DANCEABILITY), DELTA);
+        assertEquals(1f, matrix.get(2, Feature.TEMPO), DELTA);
+        assertEquals(0f, matrix.get(2, Feature.MODE), DELTA);
+
+        assertEquals((float) Math.sqrt(2), matrix.euclideanDistance(0, 2, Feature.DANCEABILITY, Feature.TEMPO), DELTA);
+        assertEquals(0f, matrix.cosineDistance(1, 2, Feature.DANCEABILITY, Feature.TEMPO), DELTA);
+        assertEquals(1f, matrix.cosineDistance(0, 2, Feature.DANCEABILITY, Feature.TEMPO), DELTA);
+
+        float[] distances = matrix.euclideanDistances(2, Feature.DANCEABILITY, Feature.TEMPO);
+        assertEquals(matrix.euclideanDistance(2, 0, Feature.DANCEABILITY, Feature.TEMPO), distances[0], DELTA);
+        assertEquals(0f, distances[2], DELTA);
+        assertEquals(matrix.cosineDistance(2, 1), matrix.cosineDistances(2)[1], DELTA);
+    }
+
+    @Test
+    public void distancesMatchComputationOverObjects() {
+        Random random = new Random(42);
+        List<AudioFeaturesTrack> list = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            AudioFeaturesTrack features = features("track" + i, random.nextFloat(), 60 + random.nextFloat() * 140);
+            features.energy = random.nextFloat();
+            features.valence = random.nextFloat();
+            list.add(features);
+        }
+        AudioFeatureMatrix matrix = new AudioFeatureMatrix.Builder().addAll(list).build();
+        float[] min = {matrix.min(Feature.DANCEABILITY), matrix.min(Feature.ENERGY), matrix.min(Feature.VALENCE)};
+        float[] max = {matrix.max(Feature.DANCEABILITY), matrix.max(Feature.ENERGY), matrix.max(Feature.VALENCE)};
+
+        float[] distances = matrix.normalized().euclideanDistances(0, Feature.DANCEABILITY, Feature.ENERGY, Feature.VALENCE);
+        double sum = 0;
+        for (float distance : distances) {
+            sum += distance;
+        }
+
+        assertEquals(meanDistanceFromFirst(list, min, max), (float) (sum / distances.length), 1e-3f);
+    }
+
+    /**
+     * Average distance to the first track over danceability, energy and valence, computed
+     * from the objects and scaled by the minimum and maximum of each feature.
+     */
+    private static float meanDistanceFromFirst(List<AudioFeaturesTrack> list, float[] min, float[] max) {
+        AudioFeaturesTrack first = list.get(0);
+        float[] origin = {first.danceability, first.energy, first.valence};
+        double sum = 0;
+        for (AudioFeaturesTrack features : list) {
+            float[] values = {features.danceability, features.energy, features.valence};
+            double squares = 0;
+            for (int i = 0; i < values.length; i++) {
+                float scale = 1 / (max[i] - min[i]);
+                float delta = (values[i] - min[i]) * scale - (origin[i] - min[i]) * scale;
+                squares += delta * delta;
+            }
+            sum += Math.sqrt(squares);
+        }
+        return (float) (sum / list.size());
+    }
+
+    private static AudioFeaturesTrack features(String id, float danceability, float tempo) {
+        AudioFeaturesTrack features = new AudioFeaturesTrack();
+        features.id = id;
+        features.danceability = danceability;
+        features.tempo = tempo;
+        features.mode = 1;
+        return features;
+    }
+}
@@ -0,0 +1,231 @@
+package io.github.kaaes.spotify.webapi.core;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import io.github.kaaes.spotify.webapi.core.gson.LazyJsonReader;
+import io.github.kaaes.spotify.webapi.core.gson.ModelTypeAdapterFactory;
+import io.github.kaaes.spotify.webapi.core.models.Album;
+import io.github.kaaes.spotify.webapi.core.models.AlbumSimple;
+import io.github.kaaes.spotify.webapi.core.models.Artist;
+import io.github.kaaes.spotify.webapi.core.models.ArtistSimple;
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTrack;
+import io.github.kaaes.spotify.webapi.core.models.Track;
+import io.github.kaaes.spotify.webapi.core.models.TrackSimple;
+import io.github.kaaes.spotify.webapi.core.store.EntityStore;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class EntityStoreTest {
+
+    @Test
+    public void returnsStoredEntities() {
+        EntityStore store = new EntityStore();
+        Track track = track(1, 1, 1);
+        Album album = album(2);
+        Artist artist = artist(3);
+
+        store.put(track);
+        store.put(album);
+        store.put(artist);
+
+        assertSame(track, store.getTrack("track1"));
+        assertSame(album, store.getAlbum("album2"));
+        assertSame(artist, store.getArtist("artist3"));
+        assertEquals(3, store.getHitCount());
+        assertEquals(0, store.getMissCount());
+    }
+
+    @Test
+    public void countsMisses() {
+        EntityStore store = new EntityStore();
+        store.put(track(1, 1, 1));
+
+        assertNull(store.getTrack("track2"));
+        assertNull(store.getAlbum("album2"));
+        assertNull(store.getArtist("artist2"));
+        assertNull(store.getTrack(null));
+        assertEquals(3, store.getMissCount());
+        assertEquals(0, store.getHitCount());
+    }
+
+    @Test
+    public void extractsNestedEntities() {
+        EntityStore store = new EntityStore();
+        PlaylistTrack first = new PlaylistTrack();
+        first.track = track(1, 1, 1, 2);
+        PlaylistTrack second = new PlaylistTrack();
+        second.track = track(2, 1, 3);
+        Pager<PlaylistTrack> pager = new Pager<>();
+        pager.items = Arrays.asList(first, second);
+
+        store.putAll(pager);
+
+        assertSame(first.track, store.getTrack("track1"));
+        assertSame(second.track, store.getTrack("track2"));
+        assertSame(second.track.album, store.getAlbumSimple("album1"));
+        assertSame(first.track.artists.get(1), store.getArtistSimple("artist2"));
+        assertSame(second.track.artists.get(0), store.getArtistSimple("artist3"));
+        assertEquals(6, store.size());
+    }
+
+    @Test
+    public void simplifiedEntityDoesNotReplaceFullOne() {
+        EntityStore store = new EntityStore();
+        Album album = album(1);
+        store.put(album);
+
+        store.putAll(track(1, 1, 1));
+
+        assertSame(album, store.getAlbum("album1"));
+    }
+
+    @Test
+    public void simplifiedEntityIsNotServedAsFullOne() {
+        EntityStore store = new EntityStore();
+        store.putAll(track(1, 1, 1));
+
+        assertNull(store.getAlbum("album1"));
+        assertNotNull(store.getAlbumSimple("album1"));
+        assertNull(store.getArtist("artist1"));
+        assertNotNull(store.getArtistSimple("artist1"));
+    }
+
+    @Test
+    public void expiresEntriesAfterTimeToLive() throws InterruptedException {
+        EntityStore store = new EntityStore(EntityStore.DEFAULT_MAX_WEIGHT_BYTES, 50, TimeUnit.MILLISECONDS);
+        store.put(track(1, 1, 1));
+        assertNotNull(store.getTrack("track1"));
+
+        Thread.sleep(100);
+
+        assertNull(store.getTrack("track1"));
+        assertEquals(0, store.size());
+        assertEquals(0, store.getWeightBytes());
+    }
+
+    @Test
+    public void maxAgeIsCheckedPerRead() throws InterruptedException {
+        EntityStore store = new EntityStore();
+        store.put(track(1, 1, 1));
+
+        Thread.sleep(20);
+
+        assertNull(store.getTrack("track1", 10));
+        assertNotNull(store.getTrack("track1"));
+    }
+
+    @Test
+    public void evictsLeastRecentlyUsedOverWeightBound() {
+        EntityStore probe = new EntityStore();
+        probe.put(artist(0));
+        long artistWeight = probe.getWeightBytes();
+
+        EntityStore store = new EntityStore(artistWeight * 3, 1, TimeUnit.HOURS);
+        store.put(artist(1));
+        store.put(artist(2));
+        store.put(artist(3));
+        assertNotNull(store.getArtist("artist1"));
+
+        store.put(artist(4));
+
+        assertEquals(3, store.size());
+        assertEquals(1, store.getEvictionCount());
+        assertNull(store.getArtist("artist2"));
+        assertNotNull(store.getArtist("artist1"));
+        assertNotNull(store.getArtist("artist3"));
+        assertNotNull(store.getArtist("artist4"));
+        assertTrue(store.getWeightBytes() <= artistWeight * 3);
+    }
+
+    @Test
+    public void replacingEntryKeepsWeightConsistent() {
+        EntityStore store = new EntityStore();
+        store.put(artist(1));
+        long weight = store.getWeightBytes();
+
+        store.put(artist(1));
+
+        assertEquals(1, store.size());
+        assertEquals(weight, store.getWeightBytes());
+
+        store.clear();
+        assertEquals(0, store.getWeightBytes());
+    }
+
+    @Test
+    public void doesNotDecodeDeferredFields() {
+        Gson gson = new GsonBuilder().registerTypeAdapterFactory(new ModelTypeAdapterFactory()).create();
+        String body = "{\"id\":\"track1\",\"name\":\"Track 1\","
+                + "\"available_markets\":[\"DE\",\"SE\"],"
+                + "\"external_urls\":{\"spotify\":\"https://open.spotify.com/track/track1\"},"
+                + "\"album\":{\"id\":\"album1\",\"images\":[{\"url\":\"https://i.scdn.co/image/1\"}]}}";
+        Track track = gson.fromJson(new LazyJsonReader(body), Track.class);
+        assertTrue(LazyJsonReader.isPending(track.available_markets));
+
+        EntityStore store = new EntityStore();
+        store.putAll(track);
+
+        assertSame(track, store.getTrack("track1"));
+        assertNotNull(store.getAlbumSimple("album1"));
+        assertTrue(LazyJsonReader.isPending(track.available_markets));
+        assertTrue(LazyJsonReader.isPending(track.external_urls));
+        assertTrue(LazyJsonReader.isPending(track.album.images));
+
+        assertEquals(2, track.available_markets.size());
+        assertFalse(LazyJsonReader.isPending(track.available_markets));
+    }
+
+    private static Track track(int number, int albumNumber, int... artistNumbers) {
+        Track track = new Track();
+        track.id = "track" + number;
+        track.name = "Track " + number;
+        track.available_markets = new ArrayList<>(Arrays.asList("DE", "SE"));
+
+        track.album = new AlbumSimple();
+        track.album.id = "album" + albumNumber;
+        track.album.name = "Album " + albumNumber;
+
+        track.artists = new ArrayList<>();
+        for (int artistNumber : artistNumbers) {
+            ArtistSimple artist = new ArtistSimple();
+            artist.id = "artist" + artistNumber;
+            artist.name = "Artist " + artistNumber;
+            track.artists.add(artist);
+        }
+        return track;
+    }
+
+    private static Album album(int number) {
+        Album album = new Album();
+        album.id = "album" + number;
+        album.name = "Album " + number;
+        album.tracks = new Pager<>();
+        album.tracks.items = Collections.<TrackSimple>emptyList();
+        return album;
+    }
+
+    private static Artist artist(int number) {
+        Artist artist = new Artist();
+        artist.id = "artist" + number;
+        artist.name = "Artist " + number;
+        artist.genres = Collections.singletonList("genre" + number);
+        return artist;
+    }
+}
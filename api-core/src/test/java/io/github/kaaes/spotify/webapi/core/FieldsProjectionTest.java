@@ -0,0 +1,57 @@
+package io.github.kaaes.spotify.webapi.core;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import io.github.kaaes.spotify.webapi.core.models.Playlist;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTrack;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class FieldsProjectionTest {
+
+    @Test
+    public void pagerProjectionIncludesPagingFields() {
+        FieldsProjection fields = FieldsProjection.pagerOf(PlaylistTrack.class)
+                .add("track.name")
+                .add("track.artists.name")
+                .add("track.album.images")
+                .build();
+
+        assertEquals("next,total,offset,limit,items(track(name,artists(name),album(images)))", fields.toString());
+    }
+
+    @Test
+    public void nestedPagersAndSerializedNamesAreResolved() {
+        assertEquals("public,tracks(items(track(album(name))))", FieldsProjection.of(Playlist.class)
+                .add("is_public")
+                .add("tracks.track.album.name")
+                .build()
+                .toString());
+
+        assertEquals("tracks(items(track(artists))),name", FieldsProjection.of(Playlist.class)
+                .add("tracks.track.artists.id")
+                .add("tracks.track.artists")
+                .add("name")
+                .build()
+                .toString());
+    }
+
+    @Test
+    public void putIntoAddsFieldsOption() {
+        Map<String, Object> options = new HashMap<>();
+        FieldsProjection.of(Playlist.class).add("id").build().putInto(options);
+
+        assertEquals("id", options.get(Options.FIELDS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownFieldIsRejected() {
+        FieldsProjection.pagerOf(PlaylistTrack.class).add("track.album.nam");
+    }
+}
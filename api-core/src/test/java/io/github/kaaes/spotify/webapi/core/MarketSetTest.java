@@ -0,0 +1,108 @@
+package io.github.kaaes.spotify.webapi.core;
+
+import android.os.Parcel;
+
+import com.google.gson.Gson;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import io.github.kaaes.spotify.webapi.core.models.MarketSet;
+import io.github.kaaes.spotify.webapi.core.models.TrackSimple;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class MarketSetTest {
+
+    @Test
+    public void deserializesAvailableMarkets() {
+        TrackSimple track = new Gson().fromJson("{\"available_markets\":[\"AD\",\"DE\",\"SE\",\"XK\"]}", TrackSimple.class);
+
+        assertTrue(track.available_markets instanceof MarketSet);
+        assertEquals(Arrays.asList("AD", "DE", "SE", "XK"), track.available_markets);
+        assertTrue(track.available_markets.contains("DE"));
+        assertFalse(track.available_markets.contains("US"));
+        assertTrue(new Gson().toJson(track).contains("\"available_markets\":[\"AD\",\"DE\",\"SE\",\"XK\"]"));
+    }
+
+    @Test
+    public void keepsNullMarkets() {
+        TrackSimple track = new Gson().fromJson("{\"available_markets\":null}", TrackSimple.class);
+
+        assertNull(track.available_markets);
+    }
+
+    @Test
+    public void listsCodesAlphabeticallyFollowedByOtherValues() {
+        MarketSet markets = MarketSet.of(Arrays.asList("SE", "unknown", "AD", "ZZ", "AA"));
+
+        assertEquals(Arrays.asList("AA", "AD", "SE", "ZZ", "unknown"), markets);
+        assertEquals(5, markets.size());
+        assertEquals("ZZ", markets.get(3));
+        assertTrue(markets.contains("unknown"));
+        assertFalse(markets.contains("de"));
+    }
+
+    @Test
+    public void addsAndRemovesMarkets() {
+        TrackSimple track = new Gson().fromJson("{\"available_markets\":[\"DE\",\"SE\"]}", TrackSimple.class);
+
+        assertTrue(track.available_markets.add("AD"));
+        assertFalse(track.available_markets.add("DE"));
+        assertTrue(track.available_markets.add("unknown"));
+        assertEquals(Arrays.asList("AD", "DE", "SE", "unknown"), track.available_markets);
+
+        assertTrue(track.available_markets.remove("DE"));
+        assertFalse(track.available_markets.remove("US"));
+        assertEquals("AD", track.available_markets.remove(0));
+        assertEquals("SE", track.available_markets.set(0, "BE"));
+        assertEquals(Arrays.asList("BE", "unknown"), track.available_markets);
+        assertFalse(track.available_markets.contains("SE"));
+        assertTrue(track.available_markets.contains("BE"));
+    }
+
+    @Test
+    public void removesThroughIterator() {
+        MarketSet markets = MarketSet.of(Arrays.asList("AD", "DE", "SE", "other", "unknown"));
+
+        Iterator<String> iterator = markets.iterator();
+        while (iterator.hasNext()) {
+            String market = iterator.next();
+            if (!market.equals("SE")) {
+                iterator.remove();
+            }
+        }
+
+        assertEquals(Collections.singletonList("SE"), markets);
+        markets.clear();
+        assertTrue(markets.isEmpty());
+        markets.addAll(Arrays.asList("US", "GB"));
+        assertEquals(Arrays.asList("GB", "US"), markets);
+    }
+
+    @Test
+    public void parcelsBits() {
+        TrackSimple track = new TrackSimple();
+        track.available_markets = Arrays.asList("DE", "SE", "US");
+
+        Parcel parcel = Parcel.obtain();
+        parcel.writeParcelable(track, 0);
+        parcel.setDataPosition(0);
+        TrackSimple fromParcel = parcel.readParcelable(TrackSimple.class.getClassLoader());
+        parcel.recycle();
+
+        List<String> markets = fromParcel.available_markets;
+        assertTrue(markets instanceof MarketSet);
+        assertEquals(track.available_markets, markets);
+    }
+}
@@ -0,0 +1,536 @@
+package io.github.kaaes.spotify.webapi.core;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+import io.github.kaaes.spotify.webapi.core.models.Album;
+import io.github.kaaes.spotify.webapi.core.models.AlbumSimple;
+import io.github.kaaes.spotify.webapi.core.models.Albums;
+import io.github.kaaes.spotify.webapi.core.models.AlbumsPager;
+import io.github.kaaes.spotify.webapi.core.models.Artist;
+import io.github.kaaes.spotify.webapi.core.models.ArtistSimple;
+import io.github.kaaes.spotify.webapi.core.models.Artists;
+import io.github.kaaes.spotify.webapi.core.models.ArtistsCursorPager;
+import io.github.kaaes.spotify.webapi.core.models.ArtistsPager;
+import io.github.kaaes.spotify.webapi.core.models.AudioFeaturesTrack;
+import io.github.kaaes.spotify.webapi.core.models.AudioFeaturesTracks;
+import io.github.kaaes.spotify.webapi.core.models.CategoriesPager;
+import io.github.kaaes.spotify.webapi.core.models.Category;
+import io.github.kaaes.spotify.webapi.core.models.Context;
+import io.github.kaaes.spotify.webapi.core.models.Copyright;
+import io.github.kaaes.spotify.webapi.core.models.Cursor;
+import io.github.kaaes.spotify.webapi.core.models.CursorPager;
+import io.github.kaaes.spotify.webapi.core.models.ErrorDetails;
+import io.github.kaaes.spotify.webapi.core.models.ErrorResponse;
+import io.github.kaaes.spotify.webapi.core.models.FeaturedPlaylists;
+import io.github.kaaes.spotify.webapi.core.models.Followers;
+import io.github.kaaes.spotify.webapi.core.models.Image;
+import io.github.kaaes.spotify.webapi.core.models.LinkedTrack;
+import io.github.kaaes.spotify.webapi.core.models.MarketSet;
+import io.github.kaaes.spotify.webapi.core.models.NewReleases;
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import io.github.kaaes.spotify.webapi.core.models.Playlist;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistFollowPrivacy;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistSimple;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTrack;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTracksInformation;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistsPager;
+import io.github.kaaes.spotify.webapi.core.models.RecentlyPlayedTrack;
+import io.github.kaaes.spotify.webapi.core.models.Recommendations;
+import io.github.kaaes.spotify.webapi.core.models.Result;
+import io.github.kaaes.spotify.webapi.core.models.SavedAlbum;
+import io.github.kaaes.spotify.webapi.core.models.SavedTrack;
+import io.github.kaaes.spotify.webapi.core.models.SearchResult;
+import io.github.kaaes.spotify.webapi.core.models.Seed;
+import io.github.kaaes.spotify.webapi.core.models.SeedsGenres;
+import io.github.kaaes.spotify.webapi.core.models.SnapshotId;
+import io.github.kaaes.spotify.webapi.core.models.Track;
+import io.github.kaaes.spotify.webapi.core.models.TrackSimple;
+import io.github.kaaes.spotify.webapi.core.models.TrackToRemove;
+import io.github.kaaes.spotify.webapi.core.models.TrackToRemoveWithPosition;
+import io.github.kaaes.spotify.webapi.core.models.Tracks;
+import io.github.kaaes.spotify.webapi.core.models.TracksPager;
+import io.github.kaaes.spotify.webapi.core.models.TracksToRemove;
+import io.github.kaaes.spotify.webapi.core.models.TracksToRemoveWithPosition;
+import io.github.kaaes.spotify.webapi.core.models.UserPrivate;
+import io.github.kaaes.spotify.webapi.core.models.UserPublic;
+
+/**
+ * Writes {@code gson/ModelTypeAdapters.java} from the model classes.
+ * <p>
+ * Every public instance field of a model becomes a case in its adapter, superclass fields
+ * first and each class in declaration order. Scalars are read and written directly, every
+ * other type goes through an adapter obtained from the {@link com.google.gson.Gson}
+ * instance. Two rules go beyond what Gson's reflective adapter does:
+ * <ul>
+ * <li>{@code available_markets} is read and written with {@link MarketSet.GsonAdapter}.</li>
+ * <li>Lists and maps named like the fields {@code LazyJsonReader} defers are read through
+ * {@code LazyList.read} and {@code LazyMap.read}.</li>
+ * </ul>
+ * Run it after changing a model, {@code ModelTypeAdaptersTest} fails while the checked in
+ * file differs from its output:
+ * ./gradlew :api-core:testDebugUnitTest --tests '*ModelTypeAdaptersTest' -PgenerateModelTypeAdapters
+ * or with the unit test classpath, from the {@code api-core} directory:
+ * java io.github.kaaes.spotify.webapi.core.ModelTypeAdaptersGenerator
+ */
+public final class ModelTypeAdaptersGenerator {
+
+    static final String OUTPUT_PATH = "src/main/java/io/github/kaaes/spotify/webapi/core/gson/ModelTypeAdapters.java";
+
+    static final List<Class<?>> MODEL_CLASSES = Arrays.<Class<?>>asList(
+            Album.class,
+            AlbumSimple.class,
+            Albums.class,
+            AlbumsPager.class,
+            Artist.class,
+            ArtistSimple.class,
+            Artists.class,
+            ArtistsCursorPager.class,
+            ArtistsPager.class,
+            AudioFeaturesTrack.class,
+            AudioFeaturesTracks.class,
+            CategoriesPager.class,
+            Category.class,
+            Context.class,
+            Copyright.class,
+            Cursor.class,
+            CursorPager.class,
+            ErrorDetails.class,
+            ErrorResponse.class,
+            FeaturedPlaylists.class,
+            Followers.class,
+            Image.class,
+            LinkedTrack.class,
+            NewReleases.class,
+            Pager.class,
+            Playlist.class,
+            PlaylistFollowPrivacy.class,
+            PlaylistSimple.class,
+            PlaylistTrack.class,
+            PlaylistTracksInformation.class,
+            PlaylistsPager.class,
+            RecentlyPlayedTrack.class,
+            Recommendations.class,
+            Result.class,
+            SavedAlbum.class,
+            SavedTrack.class,
+            SearchResult.class,
+            Seed.class,
+            SeedsGenres.class,
+            SnapshotId.class,
+            Track.class,
+            TrackSimple.class,
+            TrackToRemove.class,
+            TrackToRemoveWithPosition.class,
+            Tracks.class,
+            TracksPager.class,
+            TracksToRemove.class,
+            TracksToRemoveWithPosition.class,
+            UserPrivate.class,
+            UserPublic.class);
+
+    /**
+     * The names {@code LazyJsonReader} skips while parsing.
+     */
+    private static final List<String> DEFERRED_NAMES = Arrays.asList("available_markets", "external_urls", "external_ids", "images");
+
+    private static final String MARKETS_NAME = "available_markets";
+    private static final String MARKETS_ADAPTER = "mMarketsAdapter";
+    private static final String ITEM_TYPE = "itemType";
+
+    private final TreeSet<String> mImports = new TreeSet<>();
+    private final StringBuilder mOut = new StringBuilder();
+
+    private ModelTypeAdaptersGenerator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        File file = new File(args.length > 0 ? args[0] : OUTPUT_PATH);
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), "UTF-8")) {
+            writer.write(generate());
+        }
+        System.out.println("Wrote " + file);
+    }
+
+    /**
+     * @return The source of {@code ModelTypeAdapters.java}
+     */
+    public static String generate() {
+        return new ModelTypeAdaptersGenerator().source();
+    }
+
+    private String source() {
+        mImports.add("com.google.gson.Gson");
+        mImports.add("com.google.gson.TypeAdapter");
+        mImports.add("com.google.gson.stream.JsonReader");
+        mImports.add("com.google.gson.stream.JsonToken");
+        mImports.add("com.google.gson.stream.JsonWriter");
+        mImports.add("java.io.IOException");
+
+        StringBuilder body = new StringBuilder();
+        for (Class<?> modelClass : MODEL_CLASSES) {
+            body.append('\n');
+            body.append(adapter(modelClass));
+        }
+
+        mOut.append("package io.github.kaaes.spotify.webapi.core.gson;\n");
+        appendImports("android.");
+        appendImports("com.");
+        appendImports("java.");
+        appendImports("io.");
+        mOut.append('\n');
+        mOut.append("/**\n");
+        mOut.append(" * {@link TypeAdapter}s for the Web API models, written out field by field so no reflection\n");
+        mOut.append(" * is involved when parsing or serializing a model.\n");
+        mOut.append(" * <p>\n");
+        mOut.append(" * The adapters mirror what Gson's reflective adapter does for the same class: JSON names\n");
+        mOut.append(" * come from the field names or {@code @SerializedName}, unknown names are skipped and\n");
+        mOut.append(" * {@code null} values leave the field untouched. Collections, maps and nested models are\n");
+        mOut.append(" * delegated to the {@link Gson} instance so they go through {@link ModelTypeAdapterFactory}\n");
+        mOut.append(" * as well. {@code available_markets} is kept in a {@link MarketSet} and the fields\n");
+        mOut.append(" * {@link LazyJsonReader} defers are read through {@link LazyList} and {@link LazyMap}.\n");
+        mOut.append(" * <p>\n");
+        mOut.append(" * Generated by {@code ModelTypeAdaptersGenerator} in the unit tests, run it after changing\n");
+        mOut.append(" * a model instead of editing this file.\n");
+        mOut.append(" */\n");
+        mOut.append("final class ModelTypeAdapters {\n");
+        mOut.append('\n');
+        mOut.append("    private ModelTypeAdapters() {\n");
+        mOut.append("    }\n");
+        mOut.append('\n');
+        mOut.append("    /**\n");
+        mOut.append("     * Same coercion as Gson's built-in {@code String} adapter.\n");
+        mOut.append("     */\n");
+        mOut.append("    static String readString(JsonReader in) throws IOException {\n");
+        mOut.append("        if (in.peek() == JsonToken.BOOLEAN) {\n");
+        mOut.append("            return Boolean.toString(in.nextBoolean());\n");
+        mOut.append("        }\n");
+        mOut.append("        return in.nextString();\n");
+        mOut.append("    }\n");
+        mOut.append(body);
+        mOut.append("}\n");
+        return mOut.toString();
+    }
+
+    private void appendImports(String prefix) {
+        boolean first = true;
+        for (String name : mImports) {
+            if (name.startsWith(prefix)) {
+                if (first) {
+                    mOut.append('\n');
+                    first = false;
+                }
+                mOut.append("import ").append(name).append(";\n");
+            }
+        }
+    }
+
+    private String adapter(Class<?> modelClass) {
+        String name = modelClass.getSimpleName();
+        TypeVariable<?>[] typeParameters = modelClass.getTypeParameters();
+        if (typeParameters.length > 1) {
+            throw new IllegalArgumentException(name + " has more than one type parameter");
+        }
+        boolean generic = typeParameters.length == 1;
+        String modelType = generic ? name + "<" + typeParameters[0].getName() + ">" : name;
+        importClass(modelClass);
+
+        List<Field> fields = fields(modelClass);
+        Map<String, Type> adapters = new LinkedHashMap<>();
+        for (Field field : fields) {
+            Type type = field.getGenericType();
+            if (isMarkets(field)) {
+                adapters.put(MARKETS_ADAPTER, type);
+            } else if (scalar(field.getType()) == null) {
+                adapters.put(adapterName(type), type);
+            }
+        }
+
+        StringBuilder out = new StringBuilder();
+        out.append("    static final class ").append(name).append("Adapter");
+        if (generic) {
+            out.append('<').append(typeParameterDeclaration(typeParameters[0])).append('>');
+        }
+        out.append(" extends TypeAdapter<").append(modelType).append("> {\n");
+        out.append('\n');
+
+        boolean unchecked = false;
+        for (Map.Entry<String, Type> adapter : adapters.entrySet()) {
+            out.append("        private final TypeAdapter<").append(javaName(adapter.getValue())).append("> ")
+                    .append(adapter.getKey()).append(";\n");
+            unchecked |= adapter.getValue() instanceof ParameterizedType && !adapter.getKey().equals(MARKETS_ADAPTER);
+        }
+        if (!adapters.isEmpty()) {
+            out.append('\n');
+        }
+
+        if (unchecked) {
+            out.append("        @SuppressWarnings(\"unchecked\")\n");
+        }
+        out.append("        ").append(name).append("Adapter(Gson gson");
+        if (generic) {
+            mImports.add("java.lang.reflect.Type");
+            out.append(", Type ").append(ITEM_TYPE);
+        }
+        out.append(") {\n");
+        for (Map.Entry<String, Type> adapter : adapters.entrySet()) {
+            out.append("            ").append(adapter.getKey()).append(" = ")
+                    .append(adapterInitializer(adapter.getKey(), adapter.getValue())).append(";\n");
+        }
+        out.append("        }\n");
+        out.append('\n');
+
+        out.append("        @Override\n");
+        out.append("        public ").append(modelType).append(" read(JsonReader in) throws IOException {\n");
+        out.append("            if (in.peek() == JsonToken.NULL) {\n");
+        out.append("                in.nextNull();\n");
+        out.append("                return null;\n");
+        out.append("            }\n");
+        out.append('\n');
+        out.append("            ").append(modelType).append(" value = new ").append(name).append(generic ? "<>" : "").append("();\n");
+        out.append("            in.beginObject();\n");
+        out.append("            while (in.hasNext()) {\n");
+        out.append("                String name = in.nextName();\n");
+        out.append("                if (in.peek() == JsonToken.NULL) {\n");
+        out.append("                    in.nextNull();\n");
+        out.append("                    continue;\n");
+        out.append("                }\n");
+        out.append("                switch (name) {\n");
+        for (Field field : fields) {
+            out.append("                    case \"").append(jsonName(field)).append("\":\n");
+            out.append("                        value.").append(field.getName()).append(" = ").append(readExpression(field)).append(";\n");
+            out.append("                        break;\n");
+        }
+        out.append("                    default:\n");
+        out.append("                        in.skipValue();\n");
+        out.append("                        break;\n");
+        out.append("                }\n");
+        out.append("            }\n");
+        out.append("            in.endObject();\n");
+        out.append("            return value;\n");
+        out.append("        }\n");
+        out.append('\n');
+
+        out.append("        @Override\n");
+        out.append("        public void write(JsonWriter out, ").append(modelType).append(" value) throws IOException {\n");
+        out.append("            if (value == null) {\n");
+        out.append("                out.nullValue();\n");
+        out.append("                return;\n");
+        out.append("            }\n");
+        out.append('\n');
+        out.append("            out.beginObject();\n");
+        for (Field field : fields) {
+            out.append("            out.name(\"").append(jsonName(field)).append("\");\n");
+            out.append("            ").append(writeStatement(field)).append('\n');
+        }
+        out.append("            out.endObject();\n");
+        out.append("        }\n");
+        out.append("    }\n");
+        return out.toString();
+    }
+
+    /**
+     * @return The serialized fields, superclass fields first
+     */
+    private static List<Field> fields(Class<?> modelClass) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> type = modelClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            hierarchy.add(0, type);
+        }
+
+        List<Field> fields = new ArrayList<>();
+        for (Class<?> type : hierarchy) {
+            for (Field field : type.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                    continue;
+                }
+                if (!Modifier.isPublic(modifiers)) {
+                    throw new IllegalArgumentException(type.getSimpleName() + "." + field.getName() + " is not public");
+                }
+                fields.add(field);
+            }
+        }
+        return fields;
+    }
+
+    private static String jsonName(Field field) {
+        SerializedName serializedName = field.getAnnotation(SerializedName.class);
+        return serializedName != null ? serializedName.value() : field.getName();
+    }
+
+    private static boolean isMarkets(Field field) {
+        return MARKETS_NAME.equals(jsonName(field)) && List.class.equals(field.getType());
+    }
+
+    private String readExpression(Field field) {
+        String scalar = scalar(field.getType());
+        if (scalar != null) {
+            return scalar;
+        }
+
+        String adapter = isMarkets(field) ? MARKETS_ADAPTER : adapterName(field.getGenericType());
+        String name = jsonName(field);
+        if (DEFERRED_NAMES.contains(name) && List.class.equals(field.getType())) {
+            return "LazyList.read(in, \"" + name + "\", " + adapter + ")";
+        }
+        if (DEFERRED_NAMES.contains(name) && Map.class.equals(field.getType())) {
+            return "LazyMap.read(in, \"" + name + "\", " + adapter + ")";
+        }
+        return adapter + ".read(in)";
+    }
+
+    private String writeStatement(Field field) {
+        Class<?> type = field.getType();
+        if (scalar(type) == null) {
+            String adapter = isMarkets(field) ? MARKETS_ADAPTER : adapterName(field.getGenericType());
+            return adapter + ".write(out, value." + field.getName() + ");";
+        }
+        if (type == float.class || type == Float.class) {
+            // JsonWriter.value(double) would widen the float and write its binary noise
+            return "out.value((Number) value." + field.getName() + ");";
+        }
+        return "out.value(value." + field.getName() + ");";
+    }
+
+    /**
+     * @return The expression reading a value of a type Gson handles without an adapter,
+     * {@code null} for every other type
+     */
+    private static String scalar(Class<?> type) {
+        if (type == String.class) {
+            return "readString(in)";
+        }
+        if (type == int.class || type == Integer.class) {
+            return "in.nextInt()";
+        }
+        if (type == long.class || type == Long.class) {
+            return "in.nextLong()";
+        }
+        if (type == float.class || type == Float.class) {
+            return "(float) in.nextDouble()";
+        }
+        if (type == double.class || type == Double.class) {
+            return "in.nextDouble()";
+        }
+        if (type == boolean.class || type == Boolean.class) {
+            return "in.nextBoolean()";
+        }
+        return null;
+    }
+
+    private String adapterInitializer(String adapterName, Type type) {
+        if (MARKETS_ADAPTER.equals(adapterName)) {
+            importClass(MarketSet.class);
+            return "new MarketSet.GsonAdapter()";
+        }
+        if (type instanceof Class) {
+            importClass((Class<?>) type);
+            return "gson.getAdapter(" + ((Class<?>) type).getSimpleName() + ".class)";
+        }
+        mImports.add("com.google.gson.reflect.TypeToken");
+        return "(TypeAdapter<" + javaName(type) + ">) gson.getAdapter(" + typeToken(type) + ")";
+    }
+
+    private String typeToken(Type type) {
+        ParameterizedType parameterized = (ParameterizedType) type;
+        StringBuilder token = new StringBuilder("TypeToken.getParameterized(")
+                .append(javaName(parameterized.getRawType())).append(".class");
+        for (Type argument : parameterized.getActualTypeArguments()) {
+            token.append(", ");
+            if (argument instanceof Class) {
+                token.append(javaName(argument)).append(".class");
+            } else if (argument instanceof TypeVariable) {
+                token.append(ITEM_TYPE);
+            } else {
+                token.append(typeToken(argument)).append(".getType()");
+            }
+        }
+        return token.append(')').toString();
+    }
+
+    private String typeParameterDeclaration(TypeVariable<?> typeParameter) {
+        Type bound = typeParameter.getBounds()[0];
+        if (bound == Object.class) {
+            return typeParameter.getName();
+        }
+        return typeParameter.getName() + " extends " + javaName(bound);
+    }
+
+    /**
+     * @return The type as written in source, importing the classes it names
+     */
+    private String javaName(Type type) {
+        if (type instanceof Class) {
+            importClass((Class<?>) type);
+            return ((Class<?>) type).getSimpleName();
+        }
+        if (type instanceof TypeVariable) {
+            return ((TypeVariable<?>) type).getName();
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            StringBuilder name = new StringBuilder(javaName(parameterized.getRawType())).append('<');
+            Type[] arguments = parameterized.getActualTypeArguments();
+            for (int i = 0; i < arguments.length; i++) {
+                name.append(i > 0 ? ", " : "").append(javaName(arguments[i]));
+            }
+            return name.append('>').toString();
+        }
+        throw new IllegalArgumentException("Unsupported field type " + type);
+    }
+
+    /**
+     * @return The adapter field for a type, for example {@code mListOfImageAdapter}
+     */
+    private static String adapterName(Type type) {
+        return "m" + typeName(type) + "Adapter";
+    }
+
+    private static String typeName(Type type) {
+        if (type instanceof Class) {
+            return ((Class<?>) type).getSimpleName();
+        }
+        if (type instanceof TypeVariable) {
+            return ((TypeVariable<?>) type).getName();
+        }
+        if (type instanceof ParameterizedType) {
+            ParameterizedType parameterized = (ParameterizedType) type;
+            StringBuilder name = new StringBuilder(typeName(parameterized.getRawType())).append("Of");
+            for (Type argument : parameterized.getActualTypeArguments()) {
+                name.append(typeName(argument));
+            }
+            return name.toString();
+        }
+        throw new IllegalArgumentException("Unsupported field type " + type);
+    }
+
+    private void importClass(Class<?> type) {
+        if (type.isPrimitive() || type.getPackage() == null || "java.lang".equals(type.getPackage().getName())) {
+            return;
+        }
+        Class<?> outer = type;
+        while (outer.getEnclosingClass() != null) {
+            outer = outer.getEnclosingClass();
+        }
+        if (!"io.github.kaaes.spotify.webapi.core.gson".equals(outer.getPackage().getName())) {
+            mImports.add(outer.getName());
+        }
+    }
+}
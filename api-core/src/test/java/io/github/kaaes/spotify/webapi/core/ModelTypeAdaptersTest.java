@@ -0,0 +1,100 @@
+package io.github.kaaes.spotify.webapi.core;
+
+import android.os.Parcelable;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.kaaes.spotify.webapi.core.gson.ModelTypeAdapterFactory;
+
+import static org.junit.Assert.assertEquals;
+
+@RunWith(RobolectricTestRunner.class)
+public class ModelTypeAdaptersTest {
+
+    private final Gson mReflectiveGson = new Gson();
+    private final Gson mGeneratedGson = new GsonBuilder()
+            .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+            .create();
+    private final JsonParser mParser = new JsonParser();
+
+    /**
+     * Fails when a model changed without regenerating the adapters. With
+     * {@code -PgenerateModelTypeAdapters} the file is rewritten first.
+     */
+    @Test
+    public void generatedSourceIsUpToDate() throws Exception {
+        File file = new File(ModelTypeAdaptersGenerator.OUTPUT_PATH);
+        if (Boolean.getBoolean("generateModelTypeAdapters")) {
+            ModelTypeAdaptersGenerator.main(new String[]{file.getPath()});
+        }
+
+        String checkedIn = new String(Files.readAllBytes(file.toPath()), "UTF-8");
+        assertEquals("ModelTypeAdapters.java is out of date, run ModelTypeAdaptersGenerator",
+                ModelTypeAdaptersGenerator.generate(), checkedIn);
+    }
+
+    @Test
+    public void generatedAdaptersCoverEveryField() throws Exception {
+        for (Class<? extends Parcelable> modelClass : new ParcelableModelsTest().getModelClasses()) {
+            Object model = populate(modelClass);
+            JsonElement expected = mParser.parse(mReflectiveGson.toJson(model));
+
+            JsonElement written = mParser.parse(mGeneratedGson.toJson(model));
+            assertEquals("Writing " + modelClass.getSimpleName(), expected, written);
+
+            Object read = mGeneratedGson.fromJson(mReflectiveGson.toJson(model), modelClass);
+            assertEquals("Reading " + modelClass.getSimpleName(), expected, mParser.parse(mReflectiveGson.toJson(read)));
+        }
+    }
+
+    /**
+     * Sets every field to a non-default value so a field missing from an adapter shows up
+     * in the JSON. Collections stay empty so generic items don't need a concrete type.
+     */
+    private static Object populate(Class<?> type) throws Exception {
+        Object instance = type.newInstance();
+        for (Field field : type.getFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+
+            Class<?> fieldType = field.getType();
+            Object value;
+            if (fieldType == String.class) {
+                value = field.getName();
+            } else if (fieldType == int.class || fieldType == Integer.class) {
+                value = 7;
+            } else if (fieldType == long.class) {
+                value = 7L;
+            } else if (fieldType == float.class) {
+                value = 0.5f;
+            } else if (fieldType == Boolean.class) {
+                value = Boolean.TRUE;
+            } else if (List.class.isAssignableFrom(fieldType)) {
+                value = new ArrayList<>();
+            } else if (Map.class.isAssignableFrom(fieldType)) {
+                value = new HashMap<>();
+            } else {
+                value = populate(fieldType);
+            }
+            field.set(instance, value);
+        }
+        return instance;
+    }
+}
@@ -26,6 +26,7 @@ import io.github.kaaes.spotify.webapi.core.models.Followers;
 import io.github.kaaes.spotify.webapi.core.models.Image;
 import io.github.kaaes.spotify.webapi.core.models.LinkedTrack;
 import io.github.kaaes.spotify.webapi.core.models.NewReleases;
+import io.github.kaaes.spotify.webapi.core.models.Pager;
 import io.github.kaaes.spotify.webapi.core.models.Playlist;
 import io.github.kaaes.spotify.webapi.core.models.PlaylistFollowPrivacy;
 import io.github.kaaes.spotify.webapi.core.models.PlaylistSimple;
@@ -56,6 +57,7 @@ import java.io.FileReader;
 import java.io.IOException;
 import java.io.Reader;
 import java.nio.CharBuffer;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.fest.assertions.api.Assertions.assertThat;
@@ -101,6 +103,64 @@ public class ParcelableModelsTest {
         }
     }
 
+    @Test
+    public void nestedSubclassKeepsItsType() {
+        ModelPopulator populator = new ModelPopulator("CREATOR", "$jacocoData");
+        Track track = populator.populateWithRandomValues(Track.class);
+        track.album = populator.populateWithRandomValues(Album.class);
+
+        Track fromParcel = roundTrip(track);
+
+        assertThat(fromParcel.album).isInstanceOf(Album.class);
+        ModelAssert.assertThat(fromParcel).isEqualByComparingFields(track);
+    }
+
+    @Test
+    public void pagerWithMixedItemTypes() {
+        ModelPopulator populator = new ModelPopulator("CREATOR", "$jacocoData");
+        Pager<Parcelable> pager = populator.populateWithRandomValues(Pager.class);
+        pager.items = new ArrayList<>();
+        pager.items.add(populator.populateWithRandomValues(Track.class));
+        pager.items.add(populator.populateWithRandomValues(Album.class));
+        pager.items.add(null);
+
+        Pager<Parcelable> fromParcel = roundTrip(pager);
+
+        assertThat(fromParcel.items).hasSize(3);
+        assertThat(fromParcel.items.get(0)).isInstanceOf(Track.class);
+        assertThat(fromParcel.items.get(1)).isInstanceOf(Album.class);
+        assertThat(fromParcel.items.get(2)).isNull();
+        ModelAssert.assertThat(fromParcel).isEqualByComparingFields(pager);
+    }
+
+    @Test
+    public void nullIntegerAndBooleanFields() {
+        ModelPopulator populator = new ModelPopulator("CREATOR", "$jacocoData");
+        Track track = populator.populateWithRandomValues(Track.class);
+        track.popularity = null;
+        track.explicit = null;
+        track.is_playable = false;
+        Image image = new Image();
+        image.height = 0;
+        PlaylistSimple playlist = populator.populateWithRandomValues(PlaylistSimple.class);
+        playlist.collaborative = null;
+        playlist.is_public = true;
+
+        Track trackFromParcel = roundTrip(track);
+        Image imageFromParcel = roundTrip(image);
+        PlaylistSimple playlistFromParcel = roundTrip(playlist);
+
+        assertThat(trackFromParcel.popularity).isNull();
+        assertThat(trackFromParcel.explicit).isNull();
+        assertThat(trackFromParcel.is_playable).isFalse();
+        assertThat(imageFromParcel.width).isNull();
+        assertThat(imageFromParcel.height).isEqualTo(0);
+        assertThat(playlistFromParcel.collaborative).isNull();
+        assertThat(playlistFromParcel.is_public).isTrue();
+        ModelAssert.assertThat(trackFromParcel).isEqualByComparingFields(track);
+        ModelAssert.assertThat(playlistFromParcel).isEqualByComparingFields(playlist);
+    }
+
    List<Class<? extends Parcelable>> getModelClasses() {
         return java.util.Arrays.asList(
                 Album.class,
@@ -148,6 +208,16 @@ public class ParcelableModelsTest {
         );
     }
 
+    <T extends Parcelable> T roundTrip(T underTest) {
+
+        Parcel parcel = Parcel.obtain();
+        parcel.writeParcelable(underTest, 0);
+        parcel.setDataPosition(0);
+        T fromParcel = parcel.readParcelable(underTest.getClass().getClassLoader());
+        parcel.recycle();
+        return fromParcel;
+    }
+
     <T extends Parcelable> void testSingleParcelable(T underTest) {
 
         Parcel parcel = Parcel.obtain();
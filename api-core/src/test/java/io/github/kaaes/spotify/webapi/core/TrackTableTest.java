@@ -0,0 +1,248 @@
+package io.github.kaaes.spotify.webapi.core;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.kaaes.spotify.webapi.core.models.AlbumSimple;
+import io.github.kaaes.spotify.webapi.core.models.ArtistSimple;
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTrack;
+import io.github.kaaes.spotify.webapi.core.models.SavedTrack;
+import io.github.kaaes.spotify.webapi.core.models.Track;
+import io.github.kaaes.spotify.webapi.core.store.TrackTable;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class TrackTableTest {
+
+    @Test
+    public void readsColumnsAndRows() {
+        Track first = track(1, 0, 0, 1);
+        first.explicit = true;
+        Track second = track(2, 0, 1);
+        second.popularity = null;
+
+        Pager<Track> pager = new Pager<>();
+        pager.items = Arrays.asList(first, second);
+        TrackTable table = new TrackTable.Builder().addTracks(pager).build();
+
+        assertEquals(2, table.size());
+        assertEquals(1, table.getAlbumCount());
+        assertEquals(2, table.getArtistCount());
+
+        assertEquals("track1", table.getId(0));
+        assertEquals("Track 1", table.getName(0));
+        assertEquals(181000, table.getDurationMs(0));
+        assertEquals(Integer.valueOf(51), table.getPopularity(0));
+        assertTrue(table.isExplicit(0));
+        assertEquals("album0", table.getAlbumId(0));
+        assertEquals("Album 0", table.getAlbumName(0));
+        assertEquals(2, table.getArtistCount(0));
+        assertEquals("artist1", table.getArtistId(0, 1));
+        assertEquals("Artist 1", table.getArtistName(0, 1));
+
+        TrackTable.Row row = table.row(1);
+        assertEquals("track2", row.getId());
+        assertNull(row.getPopularity());
+        assertFalse(row.isExplicit());
+        assertEquals(1, row.getArtistCount());
+        assertEquals("artist1", row.getArtistId(0));
+        assertEquals(1, table.indexOf("track2"));
+
+        Track track = row.toTrack();
+        assertEquals("spotify:track:track2", track.uri);
+        assertEquals("Album 0", track.album.name);
+        assertEquals("Artist 1", track.artists.get(0).name);
+    }
+
+    @Test
+    public void fillsFromSavedAndPlaylistTracks() {
+        SavedTrack saved = new SavedTrack();
+        saved.track = track(1, 0, 0);
+        Pager<SavedTrack> savedPager = new Pager<>();
+        savedPager.items = Arrays.asList(saved);
+
+        PlaylistTrack available = new PlaylistTrack();
+        available.track = track(2, 1, 0);
+        PlaylistTrack unavailable = new PlaylistTrack();
+        Pager<PlaylistTrack> playlistPager = new Pager<>();
+        playlistPager.items = Arrays.asList(available, unavailable);
+
+        TrackTable table = new TrackTable.Builder()
+                .addSavedTracks(savedPager)
+                .addPlaylistTracks(playlistPager)
+                .build();
+
+        assertEquals(2, table.size());
+        assertEquals(2, table.getAlbumCount());
+        assertEquals(1, table.getArtistCount());
+        assertEquals("album1", table.getAlbumId(1));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void rejectsRowOutOfRange() {
+        new TrackTable.Builder().add(track(1, 0, 0)).build().getName(1);
+    }
+
+    @Test
+    public void retainedSizeComparedToListOfTracks() {
+        int trackCount = 20000;
+        List<Track> tracks = new ArrayList<>(trackCount);
+        for (int i = 0; i < trackCount; i++) {
+            tracks.add(track(i, i / 12, i / 40, i / 40 + 1));
+        }
+
+        TrackTable table = new TrackTable.Builder().addAll(tracks).build();
+
+        long listBytes = retainedSize(tracks);
+        long tableBytes = retainedSize(table);
+
+        assertEquals(trackCount, table.size());
+        assertTrue("TrackTable " + tableBytes + " bytes, List<Track> " + listBytes + " bytes",
+                tableBytes * 4 < listBytes);
+    }
+
+    /**
+     * Builds a track the way Gson would, with separate String instances for repeated values.
+     */
+    private static Track track(int number, int albumNumber, int... artistNumbers) {
+        Track track = new Track();
+        track.id = "track" + number;
+        track.name = "Track " + number;
+        track.uri = "spotify:track:" + track.id;
+        track.href = "https://api.spotify.com/v1/tracks/" + track.id;
+        track.type = new String("track");
+        track.duration_ms = 180000 + number * 1000;
+        track.popularity = 50 + number % 50;
+        track.explicit = false;
+        track.disc_number = 1;
+        track.track_number = number % 12 + 1;
+        track.external_urls = urls("https://open.spotify.com/track/" + track.id);
+        track.external_ids = new HashMap<>();
+        track.external_ids.put("isrc", "USRC1" + number);
+        track.available_markets = new ArrayList<>(Arrays.asList(new String("DE"), new String("SE"), new String("US")));
+
+        track.album = new AlbumSimple();
+        track.album.id = "album" + albumNumber;
+        track.album.name = "Album " + albumNumber;
+        track.album.type = new String("album");
+        track.album.album_type = new String("album");
+        track.album.uri = "spotify:album:" + track.album.id;
+        track.album.href = "https://api.spotify.com/v1/albums/" + track.album.id;
+        track.album.external_urls = urls("https://open.spotify.com/album/" + track.album.id);
+
+        track.artists = new ArrayList<>();
+        for (int artistNumber : artistNumbers) {
+            ArtistSimple artist = new ArtistSimple();
+            artist.id = "artist" + artistNumber;
+            artist.name = "Artist " + artistNumber;
+            artist.type = new String("artist");
+            artist.uri = "spotify:artist:" + artist.id;
+            artist.href = "https://api.spotify.com/v1/artists/" + artist.id;
+            artist.external_urls = urls("https://open.spotify.com/artist/" + artist.id);
+            track.artists.add(artist);
+        }
+        return track;
+    }
+
+    private static Map<String, String> urls(String url) {
+        Map<String, String> urls = new HashMap<>();
+        urls.put("spotify", url);
+        return urls;
+    }
+
+    /**
+     * Approximate retained size assuming a 64 bit VM with compressed references:
+     * 12 byte object headers, 4 byte references and 8 byte alignment.
+     * JDK collections and strings are sized from their contents instead of their private fields.
+     */
+    private static long retainedSize(Object root) {
+        IdentityHashMap<Object, Boolean> visited = new IdentityHashMap<>();
+        List<Object> pending = new ArrayList<>();
+        pending.add(root);
+        long bytes = 0;
+        while (!pending.isEmpty()) {
+            Object value = pending.remove(pending.size() - 1);
+            if (value == null || visited.put(value, Boolean.TRUE) != null) {
+                continue;
+            }
+            Class<?> type = value.getClass();
+            if (value instanceof String) {
+                bytes += align(12 + 4 + 4) + align(16 + ((String) value).length());
+            } else if (value instanceof Number || value instanceof Boolean) {
+                bytes += 16;
+            } else if (value instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) value;
+                bytes += 48 + align(16 + 4 * Math.max(16, map.size() * 2)) + 32L * map.size();
+                pending.addAll(map.keySet());
+                pending.addAll(map.values());
+            } else if (value instanceof Collection && type.getName().startsWith("java.")) {
+                Collection<?> collection = (Collection<?>) value;
+                bytes += 24 + align(16 + 4 * collection.size());
+                pending.addAll(collection);
+            } else if (type.isArray()) {
+                int length = Array.getLength(value);
+                Class<?> component = type.getComponentType();
+                bytes += align(16 + (long) length * elementSize(component));
+                if (!component.isPrimitive()) {
+                    for (int i = 0; i < length; i++) {
+                        pending.add(Array.get(value, i));
+                    }
+                }
+            } else {
+                long shallow = 12;
+                for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                    for (Field field : c.getDeclaredFields()) {
+                        if (Modifier.isStatic(field.getModifiers())) {
+                            continue;
+                        }
+                        shallow += elementSize(field.getType());
+                        if (!field.getType().isPrimitive()) {
+                            field.setAccessible(true);
+                            try {
+                                pending.add(field.get(value));
+                            } catch (IllegalAccessException e) {
+                                throw new AssertionError(e);
+                            }
+                        }
+                    }
+                }
+                bytes += align(shallow);
+            }
+        }
+        return bytes;
+    }
+
+    private static int elementSize(Class<?> type) {
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == byte.class || type == boolean.class) {
+            return 1;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 4;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+}
@@ -0,0 +1,261 @@
+package io.github.kaaes.spotify.webapi.retrofit.kt
+
+import android.os.Parcelable
+import io.github.kaaes.spotify.webapi.core.Options
+import io.github.kaaes.spotify.webapi.core.models.Album
+import io.github.kaaes.spotify.webapi.core.models.AlbumSimple
+import io.github.kaaes.spotify.webapi.core.models.Artist
+import io.github.kaaes.spotify.webapi.core.models.Category
+import io.github.kaaes.spotify.webapi.core.models.CursorPager
+import io.github.kaaes.spotify.webapi.core.models.Pager
+import io.github.kaaes.spotify.webapi.core.models.PlaylistSimple
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTrack
+import io.github.kaaes.spotify.webapi.core.models.RecentlyPlayedTrack
+import io.github.kaaes.spotify.webapi.core.models.SavedAlbum
+import io.github.kaaes.spotify.webapi.core.models.SavedTrack
+import io.github.kaaes.spotify.webapi.core.models.Track
+import kotlinx.coroutines.flow.Flow
+import kotlinx.coroutines.flow.buffer
+import kotlinx.coroutines.flow.flow
+import kotlinx.coroutines.flow.transform
+
+/**
+ * Streams paged collections as a [Flow] of items.
+ *
+ * A page is requested only when the collector has consumed the previous ones, up to `prefetch`
+ * pages ahead, so at most `prefetch + 1` pages are held at a time however large the collection.
+ * Cancelling the collector, e.g. with `take`, cancels the request in flight and fetches nothing
+ * more.
+ *
+ * Basic usage:
+ * spotifyService.mySavedTracksFlow(prefetch = 2).collect { savedTrack -> index(savedTrack) }
+ */
+
+const val DEFAULT_PAGE_SIZE = 50
+const val DEFAULT_PREFETCH = 1
+
+private const val PLAYLIST_TRACKS_PAGE_SIZE = 100
+
+/**
+ * Streams a collection paged with `offset` and `limit`.
+ *
+ * @param options  Parameters sent with every page request
+ * @param pageSize Items per page, the `limit` parameter
+ * @param prefetch Pages requested ahead of the collector, 0 to request each page on demand
+ * @param loadPage Requests a page with the given parameters
+ */
+fun <T : Parcelable> offsetPagedFlow(
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH,
+    loadPage: suspend (options: Map<String?, Any>) -> Pager<T>?
+): Flow<T> {
+    val pages = flow {
+        var offset = 0
+        while (true) {
+            val pageOptions = HashMap(options)
+            pageOptions[Options.OFFSET] = offset
+            pageOptions[Options.LIMIT] = pageSize
+            val page = loadPage(pageOptions) ?: break
+            val size = page.items?.size ?: 0
+            emit(page)
+            if (page.next == null || size == 0) {
+                break
+            }
+            offset = page.offset + size
+        }
+    }
+    return items(pages, prefetch) { it.items }
+}
+
+/**
+ * Streams a collection paged with cursors.
+ *
+ * @param cursorOption The parameter that takes the cursor, [Options.AFTER] or [Options.BEFORE]
+ * @param options      Parameters sent with every page request
+ * @param pageSize     Items per page, the `limit` parameter
+ * @param prefetch     Pages requested ahead of the collector, 0 to request each page on demand
+ * @param loadPage     Requests a page with the given parameters
+ */
+fun <T> cursorPagedFlow(
+    cursorOption: String = Options.AFTER,
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH,
+    loadPage: suspend (options: Map<String?, Any>) -> CursorPager<T>?
+): Flow<T> {
+    val pages = flow {
+        var cursor: String? = null
+        while (true) {
+            val pageOptions = HashMap(options)
+            pageOptions[Options.LIMIT] = pageSize
+            cursor?.let { pageOptions[cursorOption] = it }
+            val page = loadPage(pageOptions) ?: break
+            val size = page.items?.size ?: 0
+            emit(page)
+            cursor = if (cursorOption == Options.BEFORE) page.cursors?.before else page.cursors?.after
+            if (page.next == null || size == 0 || cursor == null) {
+                break
+            }
+        }
+    }
+    return items(pages, prefetch) { it.items }
+}
+
+private fun <P, T> items(pages: Flow<P>, prefetch: Int, itemsOf: (P) -> List<T>?): Flow<T> {
+    require(prefetch >= 0) { "Prefetch can't be negative" }
+    // buffer() collects the pages in a coroutine of its own, which suspends once
+    // it is prefetch pages ahead
+    val buffered = if (prefetch > 0) pages.buffer(prefetch) else pages
+    return buffered.transform { page -> itemsOf(page)?.forEach { emit(it) } }
+}
+
+private fun Map<String?, Any>.withStringKeys(): Map<String, Any> {
+    val options = HashMap<String, Any>(size)
+    forEach { (key, value) -> if (key != null) options[key] = value }
+    return options
+}
+
+/*************
+ * Playlists *
+ */
+
+fun SpotifyService.myPlaylistsFlow(
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<PlaylistSimple> = offsetPagedFlow(options, pageSize, prefetch) { getMyPlaylists(it.withStringKeys()) }
+
+fun SpotifyService.playlistsFlow(
+    userId: String,
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<PlaylistSimple> = offsetPagedFlow(options, pageSize, prefetch) { getPlaylists(userId, it.withStringKeys()) }
+
+fun SpotifyService.playlistTracksFlow(
+    userId: String?,
+    playlistId: String?,
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = PLAYLIST_TRACKS_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<PlaylistTrack> = offsetPagedFlow(options, pageSize, prefetch) { getPlaylistTracks(userId, playlistId, it) }
+
+/******************
+ * Albums, artists *
+ */
+
+fun SpotifyService.albumTracksFlow(
+    albumId: String?,
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<Track> = offsetPagedFlow(options, pageSize, prefetch) { getAlbumTracks(albumId, it) }
+
+fun SpotifyService.artistAlbumsFlow(
+    artistId: String?,
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<Album> = offsetPagedFlow(options, pageSize, prefetch) { getArtistAlbums(artistId, it) }
+
+/**********
+ * Browse *
+ */
+
+fun SpotifyService.newReleasesFlow(
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<AlbumSimple> = offsetPagedFlow(options, pageSize, prefetch) { getNewReleases(it).albums }
+
+fun SpotifyService.featuredPlaylistsFlow(
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<PlaylistSimple> = offsetPagedFlow(options, pageSize, prefetch) { getFeaturedPlaylists(it).playlists }
+
+fun SpotifyService.categoriesFlow(
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<Category> = offsetPagedFlow(options, pageSize, prefetch) { getCategories(it).categories }
+
+/*****************
+ * Library, follow *
+ */
+
+fun SpotifyService.mySavedTracksFlow(
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<SavedTrack> = offsetPagedFlow(options, pageSize, prefetch) { getMySavedTracks(it) }
+
+fun SpotifyService.mySavedAlbumsFlow(
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<SavedAlbum> = offsetPagedFlow(options, pageSize, prefetch) { getMySavedAlbums(it) }
+
+fun SpotifyService.followedArtistsFlow(
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<Artist> = cursorPagedFlow(Options.AFTER, options, pageSize, prefetch) { getFollowedArtists(it).artists }
+
+/**********
+ * Search *
+ */
+
+fun SpotifyService.searchTracksFlow(
+    q: String?,
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<Track> = offsetPagedFlow(options, pageSize, prefetch) { searchTracks(q, it).tracks }
+
+fun SpotifyService.searchArtistsFlow(
+    q: String?,
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<Artist> = offsetPagedFlow(options, pageSize, prefetch) { searchArtists(q, it).artists }
+
+fun SpotifyService.searchAlbumsFlow(
+    q: String?,
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<Album> = offsetPagedFlow(options, pageSize, prefetch) { searchAlbums(q, it).albums }
+
+fun SpotifyService.searchPlaylistsFlow(
+    q: String?,
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<PlaylistSimple> = offsetPagedFlow(options, pageSize, prefetch) { searchPlaylists(q, it).playlists }
+
+/***************************
+ * Personalization, player *
+ */
+
+fun SpotifyService.topArtistsFlow(
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<Artist> = offsetPagedFlow(options, pageSize, prefetch) { getTopArtists(it) }
+
+fun SpotifyService.topTracksFlow(
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<Track> = offsetPagedFlow(options, pageSize, prefetch) { getTopTracks(it) }
+
+/**
+ * Streams recently played tracks from the most recent back, following the `before` cursor.
+ */
+fun SpotifyService.recentlyPlayedFlow(
+    options: Map<String?, Any> = emptyMap(),
+    pageSize: Int = DEFAULT_PAGE_SIZE,
+    prefetch: Int = DEFAULT_PREFETCH
+): Flow<RecentlyPlayedTrack> = cursorPagedFlow(Options.BEFORE, options, pageSize, prefetch) { getRecentlyPlayed(it) }
@@ -1,9 +1,13 @@
 package io.github.kaaes.spotify.webapi.retrofit.kt;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 
 import io.github.kaaes.spotify.webapi.core.Config;
+import io.github.kaaes.spotify.webapi.core.gson.ModelTypeAdapterFactory;
 import io.github.kaaes.spotify.webapi.core.models.ErrorDetails;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
@@ -32,13 +36,25 @@ import retrofit2.converter.gson.GsonConverterFactory;
  */
 public class Spotify {
 
+    private static final GsonConverterFactory GSON_CONVERTER_FACTORY = GsonConverterFactory.create(createGson());
+
     private static Converter<ResponseBody, ErrorDetails> errorConverter = null;
 
+    /**
+     * @return A Gson instance that parses the models with the generated adapters of
+     * {@link ModelTypeAdapterFactory} instead of reflection
+     */
+    public static Gson createGson() {
+        return new GsonBuilder()
+                .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+                .create();
+    }
+
     public static SpotifyService createAuthenticatedService(String accessToken) {
 
         Retrofit build = new Retrofit.Builder()
                 .client(createHttpClient(accessToken))
-                .addConverterFactory(GsonConverterFactory.create())
+                .addConverterFactory(GSON_CONVERTER_FACTORY)
                 .baseUrl(Config.API_URL)
                 .build();
 
@@ -48,7 +64,7 @@ public class Spotify {
     public static SpotifyService createNotAuthenticatedService() {
 
         Retrofit build = new Retrofit.Builder()
-                .addConverterFactory(GsonConverterFactory.create())
+                .addConverterFactory(GSON_CONVERTER_FACTORY)
                 .baseUrl(Config.API_URL)
                 .build();
 
@@ -73,7 +89,7 @@ public class Spotify {
         OkHttpClient okHttpClient = new OkHttpClient();
         Retrofit restAdapter = new Retrofit.Builder()
                 .client(okHttpClient)
-                .addConverterFactory(GsonConverterFactory.create())
+                .addConverterFactory(GSON_CONVERTER_FACTORY)
                 .baseUrl(Config.API_URL)
                 .build();
 
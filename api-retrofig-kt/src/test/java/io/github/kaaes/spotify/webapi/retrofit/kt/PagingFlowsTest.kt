@@ -0,0 +1,85 @@
+package io.github.kaaes.spotify.webapi.retrofit.kt
+
+import io.github.kaaes.spotify.webapi.core.Options
+import io.github.kaaes.spotify.webapi.core.models.Cursor
+import io.github.kaaes.spotify.webapi.core.models.CursorPager
+import io.github.kaaes.spotify.webapi.core.models.Pager
+import io.github.kaaes.spotify.webapi.core.models.Track
+import kotlinx.coroutines.delay
+import kotlinx.coroutines.flow.count
+import kotlinx.coroutines.flow.onEach
+import kotlinx.coroutines.flow.take
+import kotlinx.coroutines.flow.toList
+import kotlinx.coroutines.runBlocking
+import org.junit.Assert.assertEquals
+import org.junit.Assert.assertTrue
+import org.junit.Test
+
+class PagingFlowsTest {
+
+    private val total = 95
+
+    private val requests = mutableListOf<Map<String?, Any>>()
+
+    private suspend fun loadPage(options: Map<String?, Any>): Pager<Track> {
+        requests.add(options)
+        val offset = options[Options.OFFSET] as Int
+        val limit = options[Options.LIMIT] as Int
+        val end = minOf(offset + limit, total)
+        return Pager<Track>().apply {
+            this.offset = offset
+            this.limit = limit
+            this.total = total
+            items = (offset until end).map { Track().apply { id = it.toString() } }
+            next = if (end < total) "next" else null
+        }
+    }
+
+    @Test
+    fun emitsAllItemsInOrder() = runBlocking {
+        val ids = offsetPagedFlow(pageSize = 20) { loadPage(it) }.toList().map { it.id }
+
+        assertEquals((0 until total).map { it.toString() }, ids)
+        assertEquals(listOf(0, 20, 40, 60, 80), requests.map { it[Options.OFFSET] })
+    }
+
+    @Test
+    fun stopsFetchingWhenCollectorCancels() = runBlocking {
+        offsetPagedFlow(pageSize = 20, prefetch = 0) { loadPage(it) }.take(25).toList()
+
+        assertEquals(2, requests.size)
+    }
+
+    @Test
+    fun prefetchIsBounded() = runBlocking {
+        var fetchedAhead = 0
+        var consumed = 0
+        val count = offsetPagedFlow(pageSize = 10, prefetch = 2) { loadPage(it) }.onEach {
+            consumed++
+            delay(1)
+            val pagesConsumed = (consumed + 9) / 10
+            fetchedAhead = maxOf(fetchedAhead, requests.size - pagesConsumed)
+        }.count()
+
+        assertEquals(total, count)
+        // two pages in the buffer and one suspended in emit
+        assertTrue("Fetched $fetchedAhead pages ahead", fetchedAhead <= 3)
+    }
+
+    @Test
+    fun followsCursor() = runBlocking {
+        val ids = cursorPagedFlow(Options.BEFORE, pageSize = 2) { options ->
+            requests.add(options)
+            val before = options[Options.BEFORE] as String?
+            val page = if (before == null) 0 else before.toInt()
+            CursorPager<Track>().apply {
+                items = listOf(Track().apply { id = "${page}a" }, Track().apply { id = "${page}b" })
+                cursors = Cursor().apply { this.before = (page + 1).toString() }
+                next = if (page < 2) "next" else null
+            }
+        }.toList().map { it.id }
+
+        assertEquals(listOf("0a", "0b", "1a", "1b", "2a", "2b"), ids)
+        assertEquals(listOf(null, "1", "2"), requests.map { it[Options.BEFORE] })
+    }
+}
@@ -0,0 +1,71 @@
+package io.github.kaaes.spotify.webapi;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.lang.reflect.Type;
+
+import io.github.kaaes.spotify.webapi.core.gson.LazyJsonReader;
+import io.github.kaaes.spotify.webapi.core.gson.ModelTypeAdapterFactory;
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTrack;
+
+@RunWith(RobolectricTestRunner.class)
+public class LazyJsonReaderBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 500;
+    private static final int MEASURED_ITERATIONS = 2000;
+
+    private final Gson mGson = new GsonBuilder().registerTypeAdapterFactory(new ModelTypeAdapterFactory()).create();
+
+    /**
+     * Compares parsing a page of playlist tracks and reading the fields shown in a list,
+     * eagerly and lazily.
+     */
+    @Test
+    public void parseTimeOfPlaylistTracks() throws Exception {
+        String body = TestUtils.readTestData("playlist-tracks.json");
+        Type type = new TypeToken<Pager<PlaylistTrack>>() {}.getType();
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            parseEager(body, type);
+            parseLazy(body, type);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            parseEager(body, type);
+        }
+        long eagerNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            parseLazy(body, type);
+        }
+        long lazyNanos = System.nanoTime() - start;
+
+        System.out.println(String.format("Parse playlist-tracks.json: eager %.1f us, lazy %.1f us",
+                eagerNanos / 1e3 / MEASURED_ITERATIONS, lazyNanos / 1e3 / MEASURED_ITERATIONS));
+    }
+
+    private int parseEager(String body, Type type) {
+        Pager<PlaylistTrack> page = mGson.fromJson(body, type);
+        return readNames(page);
+    }
+
+    private int parseLazy(String body, Type type) {
+        Pager<PlaylistTrack> page = mGson.fromJson(new LazyJsonReader(body), type);
+        return readNames(page);
+    }
+
+    private static int readNames(Pager<PlaylistTrack> page) {
+        int length = 0;
+        for (PlaylistTrack item : page.items) {
+            length += item.track.name.length() + item.track.album.name.length();
+        }
+        return length;
+    }
+}
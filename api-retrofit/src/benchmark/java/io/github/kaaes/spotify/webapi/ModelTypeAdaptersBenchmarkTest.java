@@ -0,0 +1,154 @@
+package io.github.kaaes.spotify.webapi;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.github.kaaes.spotify.webapi.core.gson.ModelTypeAdapterFactory;
+import io.github.kaaes.spotify.webapi.core.models.Album;
+import io.github.kaaes.spotify.webapi.core.models.Albums;
+import io.github.kaaes.spotify.webapi.core.models.AlbumsPager;
+import io.github.kaaes.spotify.webapi.core.models.Artist;
+import io.github.kaaes.spotify.webapi.core.models.Artists;
+import io.github.kaaes.spotify.webapi.core.models.ArtistsCursorPager;
+import io.github.kaaes.spotify.webapi.core.models.ArtistsPager;
+import io.github.kaaes.spotify.webapi.core.models.CategoriesPager;
+import io.github.kaaes.spotify.webapi.core.models.Category;
+import io.github.kaaes.spotify.webapi.core.models.FeaturedPlaylists;
+import io.github.kaaes.spotify.webapi.core.models.NewReleases;
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import io.github.kaaes.spotify.webapi.core.models.Playlist;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistSimple;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTrack;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistsPager;
+import io.github.kaaes.spotify.webapi.core.models.Track;
+import io.github.kaaes.spotify.webapi.core.models.Tracks;
+import io.github.kaaes.spotify.webapi.core.models.TracksPager;
+import io.github.kaaes.spotify.webapi.core.models.UserPrivate;
+import io.github.kaaes.spotify.webapi.core.models.UserPublic;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares parsing the fixtures with the generated adapters against Gson's reflective adapter.
+ * Results are printed, not asserted, since timings depend on the machine.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class ModelTypeAdaptersBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 1000;
+
+    private static Map<String, Type> fixtures() {
+        Map<String, Type> fixtures = new LinkedHashMap<>();
+        fixtures.put("track.json", Track.class);
+        fixtures.put("tracks.json", Tracks.class);
+        fixtures.put("tracks-for-artist.json", Tracks.class);
+        fixtures.put("album.json", Album.class);
+        fixtures.put("albums.json", Albums.class);
+        fixtures.put("artist.json", Artist.class);
+        fixtures.put("artists.json", Artists.class);
+        fixtures.put("artist-album.json", new TypeToken<Pager<Album>>() {}.getType());
+        fixtures.put("playlist-response.json", Playlist.class);
+        fixtures.put("playlist-tracks.json", new TypeToken<Pager<PlaylistTrack>>() {}.getType());
+        fixtures.put("user-playlists.json", new TypeToken<Pager<PlaylistSimple>>() {}.getType());
+        fixtures.put("new-releases.json", NewReleases.class);
+        fixtures.put("featured-playlists.json", FeaturedPlaylists.class);
+        fixtures.put("user.json", UserPublic.class);
+        fixtures.put("current-user.json", UserPrivate.class);
+        fixtures.put("followed-artists.json", ArtistsCursorPager.class);
+        fixtures.put("search-track.json", TracksPager.class);
+        fixtures.put("search-album.json", AlbumsPager.class);
+        fixtures.put("search-artist.json", ArtistsPager.class);
+        fixtures.put("search-playlist.json", PlaylistsPager.class);
+        fixtures.put("category-playlist.json", PlaylistsPager.class);
+        fixtures.put("get-categories.json", CategoriesPager.class);
+        fixtures.put("category.json", Category.class);
+        return fixtures;
+    }
+
+    private static Gson generatedGson() {
+        return new GsonBuilder().registerTypeAdapterFactory(new ModelTypeAdapterFactory()).create();
+    }
+
+    @Test
+    public void generatedAdaptersParseFixturesLikeReflectiveGson() throws Exception {
+        Gson reflective = new Gson();
+        Gson generated = generatedGson();
+        JsonParser parser = new JsonParser();
+
+        for (Map.Entry<String, Type> fixture : fixtures().entrySet()) {
+            String body = TestUtils.readTestData(fixture.getKey());
+            Object expected = reflective.fromJson(body, fixture.getValue());
+            Object actual = generated.fromJson(body, fixture.getValue());
+
+            assertEquals(fixture.getKey(),
+                    parser.parse(reflective.toJson(expected)),
+                    parser.parse(reflective.toJson(actual)));
+        }
+    }
+
+    @Test
+    public void parseThroughputAndAllocations() throws Exception {
+        Map<String, String> bodies = new LinkedHashMap<>();
+        for (String fileName : fixtures().keySet()) {
+            bodies.put(fileName, TestUtils.readTestData(fileName));
+        }
+
+        long reflectiveFirstUse = parseAll(new Gson(), bodies, 1)[0];
+        long generatedFirstUse = parseAll(generatedGson(), bodies, 1)[0];
+
+        Gson reflective = new Gson();
+        Gson generated = generatedGson();
+        parseAll(reflective, bodies, WARMUP_ITERATIONS);
+        parseAll(generated, bodies, WARMUP_ITERATIONS);
+        long[] reflectiveResult = parseAll(reflective, bodies, MEASURED_ITERATIONS);
+        long[] generatedResult = parseAll(generated, bodies, MEASURED_ITERATIONS);
+
+        int documents = bodies.size() * MEASURED_ITERATIONS;
+        System.out.println(String.format("First use:  reflective %.2f ms, generated %.2f ms",
+                reflectiveFirstUse / 1e6, generatedFirstUse / 1e6));
+        System.out.println(String.format("Throughput: reflective %.0f docs/s, generated %.0f docs/s",
+                documents / (reflectiveResult[0] / 1e9), documents / (generatedResult[0] / 1e9)));
+        if (reflectiveResult[1] >= 0) {
+            System.out.println(String.format("Allocated:  reflective %d B/doc, generated %d B/doc",
+                    reflectiveResult[1] / documents, generatedResult[1] / documents));
+        }
+    }
+
+    /**
+     * @return Elapsed nanoseconds and allocated bytes, -1 when the VM can't report allocations
+     */
+    private static long[] parseAll(Gson gson, Map<String, String> bodies, int iterations) {
+        Map<String, Type> fixtures = fixtures();
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            for (Map.Entry<String, String> body : bodies.entrySet()) {
+                gson.fromJson(body.getValue(), fixtures.get(body.getKey()));
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocatedAfter = allocatedBytes();
+        return new long[]{elapsed, allocatedBefore >= 0 ? allocatedAfter - allocatedBefore : -1};
+    }
+
+    private static long allocatedBytes() {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        if (threadMXBean instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threadMXBean).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,78 @@
+package io.github.kaaes.spotify.webapi;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.github.kaaes.spotify.webapi.core.gson.ModelTypeAdapterFactory;
+import io.github.kaaes.spotify.webapi.core.snapshot.SnapshotCodec;
+
+@RunWith(RobolectricTestRunner.class)
+public class SnapshotCodecBenchmarkTest {
+
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 1000;
+
+    /**
+     * Compares loading the fixtures from snapshots with parsing them with the generated Gson adapters.
+     */
+    @Test
+    public void loadTimeAndSizeComparedToJson() throws Exception {
+        Gson gson = new GsonBuilder().registerTypeAdapterFactory(new ModelTypeAdapterFactory()).create();
+        SnapshotCodec codec = new SnapshotCodec();
+        Map<String, Type> fixtures = SnapshotCodecTest.fixtures();
+
+        Map<String, String> json = new LinkedHashMap<>();
+        Map<String, ByteBuffer> snapshots = new LinkedHashMap<>();
+        long jsonBytes = 0;
+        long snapshotBytes = 0;
+        for (Map.Entry<String, Type> fixture : fixtures.entrySet()) {
+            String body = TestUtils.readTestData(fixture.getKey());
+            byte[] snapshot = codec.toBytes(gson.fromJson(body, fixture.getValue()), fixture.getValue());
+            json.put(fixture.getKey(), body);
+            snapshots.put(fixture.getKey(), ByteBuffer.wrap(snapshot));
+            jsonBytes += body.getBytes("UTF-8").length;
+            snapshotBytes += snapshot.length;
+        }
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            loadJson(gson, json, fixtures);
+            loadSnapshots(codec, snapshots, fixtures);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            loadJson(gson, json, fixtures);
+        }
+        long jsonNanos = System.nanoTime() - start;
+        start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            loadSnapshots(codec, snapshots, fixtures);
+        }
+        long snapshotNanos = System.nanoTime() - start;
+
+        System.out.println(String.format("Size: JSON %d B, snapshot %d B", jsonBytes, snapshotBytes));
+        System.out.println(String.format("Load all fixtures: JSON %.1f us, snapshot %.1f us",
+                jsonNanos / 1e3 / MEASURED_ITERATIONS, snapshotNanos / 1e3 / MEASURED_ITERATIONS));
+    }
+
+    private static void loadJson(Gson gson, Map<String, String> json, Map<String, Type> fixtures) {
+        for (Map.Entry<String, String> body : json.entrySet()) {
+            gson.fromJson(body.getValue(), fixtures.get(body.getKey()));
+        }
+    }
+
+    private static void loadSnapshots(SnapshotCodec codec, Map<String, ByteBuffer> snapshots, Map<String, Type> fixtures) throws IOException {
+        for (Map.Entry<String, ByteBuffer> snapshot : snapshots.entrySet()) {
+            codec.read(snapshot.getValue(), fixtures.get(snapshot.getKey()));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.kaaes.spotify.webapi.retrofit.v1;
+
+import com.squareup.okhttp.Cache;
+import com.squareup.okhttp.ConnectionPool;
+import com.squareup.okhttp.OkHttpClient;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import retrofit.client.Client;
+import retrofit.client.OkClient;
+import retrofit.client.Request;
+import retrofit.client.Response;
+
+/**
+ * A Retrofit {@link Client} backed by one OkHttp client, so every REST adapter using it shares
+ * its connection pool, keep-alive connections, HTTP/2 sessions and response cache.
+ * <p>
+ * With a cache, responses carrying an {@code ETag} or {@code Last-Modified} header are
+ * revalidated with a conditional request and served from disk on {@code 304 Not Modified}.
+ * The cache is keyed on the URL only, so a transport with a cache must only serve one account:
+ * {@code /me} and the other user endpoints have the same URL for everyone.
+ * <p>
+ * Basic usage:
+ * OkHttpTransport transport = new OkHttpTransport.Builder()
+ * .setCache(new File(context.getCacheDir(), "spotify"), 10 * 1024 * 1024)
+ * .build();
+ * SpotifyClient client = new SpotifyClient.Builder().setClient(transport).build();
+ */
+public class OkHttpTransport implements Client {
+
+    private static final long DEFAULT_CONNECT_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(15);
+    private static final long DEFAULT_READ_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(20);
+    private static final long DEFAULT_WRITE_TIMEOUT_MS = TimeUnit.SECONDS.toMillis(20);
+    private static final int DEFAULT_MAX_IDLE_CONNECTIONS = 5;
+    private static final long DEFAULT_KEEP_ALIVE_MS = TimeUnit.MINUTES.toMillis(5);
+
+    private final OkHttpClient mHttpClient;
+    private final OkClient mClient;
+
+    private OkHttpTransport(OkHttpClient httpClient) {
+        mHttpClient = httpClient;
+        mClient = new OkClient(httpClient);
+    }
+
+    /**
+     * Wraps a client configured elsewhere, e.g. to share it with other parts of the app.
+     */
+    public static OkHttpTransport wrap(OkHttpClient httpClient) {
+        return new OkHttpTransport(httpClient);
+    }
+
+    @Override
+    public Response execute(Request request) throws IOException {
+        return mClient.execute(request);
+    }
+
+    public OkHttpClient getHttpClient() {
+        return mHttpClient;
+    }
+
+    /**
+     * @return The response cache or {@code null} if none was configured
+     */
+    public Cache getCache() {
+        return mHttpClient.getCache();
+    }
+
+    public static class Builder {
+
+        private long mConnectTimeoutMs = DEFAULT_CONNECT_TIMEOUT_MS;
+        private long mReadTimeoutMs = DEFAULT_READ_TIMEOUT_MS;
+        private long mWriteTimeoutMs = DEFAULT_WRITE_TIMEOUT_MS;
+        private int mMaxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+        private long mKeepAliveMs = DEFAULT_KEEP_ALIVE_MS;
+        private Cache mCache;
+
+        public Builder setConnectTimeout(long timeout, TimeUnit unit) {
+            mConnectTimeoutMs = unit.toMillis(timeout);
+            return this;
+        }
+
+        public Builder setReadTimeout(long timeout, TimeUnit unit) {
+            mReadTimeoutMs = unit.toMillis(timeout);
+            return this;
+        }
+
+        public Builder setWriteTimeout(long timeout, TimeUnit unit) {
+            mWriteTimeoutMs = unit.toMillis(timeout);
+            return this;
+        }
+
+        /**
+         * Sets how many idle connections are kept open and for how long. Defaults to 5
+         * connections for 5 minutes.
+         */
+        public Builder setConnectionPool(int maxIdleConnections, long keepAlive, TimeUnit unit) {
+            if (maxIdleConnections < 0) {
+                throw new IllegalArgumentException("Max idle connections can't be negative");
+            }
+            mMaxIdleConnections = maxIdleConnections;
+            mKeepAliveMs = unit.toMillis(keepAlive);
+            return this;
+        }
+
+        /**
+         * Stores responses on disk, entries are keyed on the URL. Call
+         * {@code getCache().evictAll()} when the user logs out.
+         * <p>
+         * Never share a transport with a cache, or its directory, between accounts: the URL
+         * doesn't tell users apart, so one account would be served another's {@code /me}
+         * responses. With several accounts, build a transport per account with a directory
+         * per account, or leave the shared transport without a cache.
+         *
+         * @param directory    A directory reserved for this cache and one account
+         * @param maxSizeBytes Size limit, least recently used entries are evicted beyond it
+         */
+        public Builder setCache(File directory, long maxSizeBytes) {
+            mCache = new Cache(directory, maxSizeBytes);
+            return this;
+        }
+
+        public OkHttpTransport build() {
+            OkHttpClient httpClient = new OkHttpClient();
+            httpClient.setConnectTimeout(mConnectTimeoutMs, TimeUnit.MILLISECONDS);
+            httpClient.setReadTimeout(mReadTimeoutMs, TimeUnit.MILLISECONDS);
+            httpClient.setWriteTimeout(mWriteTimeoutMs, TimeUnit.MILLISECONDS);
+            httpClient.setConnectionPool(new ConnectionPool(mMaxIdleConnections, mKeepAliveMs));
+            if (mCache != null) {
+                httpClient.setCache(mCache);
+            }
+            return new OkHttpTransport(httpClient);
+        }
+    }
+}
@@ -0,0 +1,232 @@
+package io.github.kaaes.spotify.webapi.retrofit.v1;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the HTTP requests of REST adapters on a bounded pool of threads, taking interactive
+ * requests ahead of background ones.
+ * <p>
+ * Each {@link Lane} is an {@link Executor} for {@code RestAdapter.Builder.setExecutors},
+ * see {@link #getLane(Lane)}. A lane never holds more threads than its cap, so a burst of
+ * background requests leaves threads free for interactive ones.
+ * <p>
+ * Basic usage:
+ * PriorityHttpExecutor executor = new PriorityHttpExecutor.Builder()
+ * .setThreadCount(4)
+ * .setMaxConcurrent(PriorityHttpExecutor.Lane.BACKGROUND, 2)
+ * .build();
+ */
+public class PriorityHttpExecutor {
+
+    public enum Lane {
+        /**
+         * Requests the user is waiting for
+         */
+        INTERACTIVE,
+
+        /**
+         * Prefetching, syncing and other requests that can wait
+         */
+        BACKGROUND
+    }
+
+    private static final int DEFAULT_THREAD_COUNT = 4;
+    private static final long DEFAULT_KEEP_ALIVE_SECONDS = 30;
+
+    private final ThreadPoolExecutor mPool;
+    private final LaneExecutor[] mLanes;
+    private final AtomicLong mSequence = new AtomicLong();
+
+    private PriorityHttpExecutor(Builder builder) {
+        mPool = new ThreadPoolExecutor(builder.mThreadCount, builder.mThreadCount,
+                builder.mKeepAliveSeconds, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<Runnable>(), new HttpThreadFactory());
+        mPool.allowCoreThreadTimeOut(true);
+
+        Lane[] lanes = Lane.values();
+        mLanes = new LaneExecutor[lanes.length];
+        for (Lane lane : lanes) {
+            int maxConcurrent = builder.mMaxConcurrent[lane.ordinal()];
+            mLanes[lane.ordinal()] = new LaneExecutor(lane,
+                    maxConcurrent > 0 ? maxConcurrent : builder.mThreadCount);
+        }
+    }
+
+    /**
+     * @return The executor running requests in {@code lane}
+     */
+    public Executor getLane(Lane lane) {
+        return mLanes[lane.ordinal()];
+    }
+
+    public int getThreadCount() {
+        return mPool.getMaximumPoolSize();
+    }
+
+    public int getMaxConcurrent(Lane lane) {
+        return mLanes[lane.ordinal()].mMaxConcurrent;
+    }
+
+    /**
+     * Runs the requests already submitted and rejects new ones.
+     */
+    public void shutdown() {
+        mPool.shutdown();
+    }
+
+    /**
+     * Holds back the requests of a lane beyond its cap and hands them to the pool as its
+     * running requests complete.
+     */
+    private class LaneExecutor implements Executor {
+
+        final Lane mLane;
+        final int mMaxConcurrent;
+
+        private final Queue<LaneTask> mWaiting = new ArrayDeque<>();
+        private int mActive;
+
+        LaneExecutor(Lane lane, int maxConcurrent) {
+            mLane = lane;
+            mMaxConcurrent = maxConcurrent;
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            LaneTask task = new LaneTask(this, command, mSequence.getAndIncrement());
+            synchronized (this) {
+                if (mActive >= mMaxConcurrent) {
+                    mWaiting.add(task);
+                    return;
+                }
+                mActive++;
+            }
+            dispatch(task);
+        }
+
+        void onFinished() {
+            LaneTask next;
+            synchronized (this) {
+                next = mWaiting.poll();
+                if (next == null) {
+                    mActive--;
+                    return;
+                }
+            }
+            dispatch(next);
+        }
+
+        private void dispatch(LaneTask task) {
+            try {
+                mPool.execute(task);
+            } catch (RejectedExecutionException e) {
+                synchronized (this) {
+                    mActive--;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Orders the pool queue by lane, then by submission within a lane.
+     */
+    private static class LaneTask implements Runnable, Comparable<LaneTask> {
+
+        private final LaneExecutor mLaneExecutor;
+        private final Runnable mCommand;
+        private final long mSequence;
+
+        LaneTask(LaneExecutor laneExecutor, Runnable command, long sequence) {
+            mLaneExecutor = laneExecutor;
+            mCommand = command;
+            mSequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            try {
+                mCommand.run();
+            } finally {
+                mLaneExecutor.onFinished();
+            }
+        }
+
+        @Override
+        public int compareTo(LaneTask other) {
+            int byLane = mLaneExecutor.mLane.compareTo(other.mLaneExecutor.mLane);
+            if (byLane != 0) {
+                return byLane;
+            }
+            return mSequence < other.mSequence ? -1 : (mSequence == other.mSequence ? 0 : 1);
+        }
+    }
+
+    private static class HttpThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger mCount = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "SpotifyHttp-" + mCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    public static class Builder {
+
+        private int mThreadCount = DEFAULT_THREAD_COUNT;
+        private long mKeepAliveSeconds = DEFAULT_KEEP_ALIVE_SECONDS;
+        private final int[] mMaxConcurrent = new int[Lane.values().length];
+
+        public Builder() {
+            mMaxConcurrent[Lane.BACKGROUND.ordinal()] = DEFAULT_THREAD_COUNT / 2;
+        }
+
+        /**
+         * Sets the number of threads, started on demand and stopped after the keep-alive
+         * time without requests. Defaults to 4.
+         */
+        public Builder setThreadCount(int threadCount) {
+            if (threadCount < 1) {
+                throw new IllegalArgumentException("Thread count must be at least 1");
+            }
+            mThreadCount = threadCount;
+            return this;
+        }
+
+        /**
+         * Sets how many requests of a lane run at once. Defaults to the thread count for
+         * interactive requests and to 2 for background ones.
+         */
+        public Builder setMaxConcurrent(Lane lane, int maxConcurrent) {
+            if (maxConcurrent < 1) {
+                throw new IllegalArgumentException("Max concurrent requests must be at least 1");
+            }
+            mMaxConcurrent[lane.ordinal()] = maxConcurrent;
+            return this;
+        }
+
+        public Builder setKeepAlive(long keepAlive, TimeUnit unit) {
+            mKeepAliveSeconds = unit.toSeconds(keepAlive);
+            return this;
+        }
+
+        public PriorityHttpExecutor build() {
+            if (mKeepAliveSeconds <= 0) {
+                throw new IllegalArgumentException("Keep-alive time must be positive");
+            }
+            return new PriorityHttpExecutor(this);
+        }
+    }
+}
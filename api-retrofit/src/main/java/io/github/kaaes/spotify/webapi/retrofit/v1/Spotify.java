@@ -1,7 +1,6 @@
 package io.github.kaaes.spotify.webapi.retrofit.v1;
 
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
 
 import io.github.kaaes.spotify.webapi.core.Config;
 import retrofit.RequestInterceptor;
@@ -24,13 +23,21 @@ import retrofit.android.MainThreadExecutor;
  */
 public class Spotify {
 
-    public static final Executor HTTP_EXECUTOR = Executors.newSingleThreadExecutor();
+    private static final PriorityHttpExecutor DEFAULT_HTTP_EXECUTOR = new PriorityHttpExecutor.Builder().build();
+
+    /**
+     * The interactive lane of {@link #getDefaultHttpExecutor()}
+     */
+    public static final Executor HTTP_EXECUTOR = DEFAULT_HTTP_EXECUTOR.getLane(PriorityHttpExecutor.Lane.INTERACTIVE);
     public static final MainThreadExecutor CALLBACK_EXECUTOR = new MainThreadExecutor();
 
+    private static final OkHttpTransport SHARED_TRANSPORT = new OkHttpTransport.Builder().build();
+
     public static SpotifyService createAuthenticatedService(String accessToken) {
         RestAdapter adapter = new RestAdapter.Builder()
                 .setEndpoint(Config.API_URL)
                 .setRequestInterceptor(new Spotify.ApiAuthenticator(accessToken))
+                .setClient(SHARED_TRANSPORT)
                 .setExecutors(Spotify.HTTP_EXECUTOR, Spotify.CALLBACK_EXECUTOR)
                 .build();
 
@@ -40,12 +47,29 @@ public class Spotify {
     public static SpotifyService createNotAuthenticatedService() {
         RestAdapter adapter = new RestAdapter.Builder()
                 .setEndpoint(Config.API_URL)
+                .setClient(SHARED_TRANSPORT)
                 .setExecutors(Spotify.HTTP_EXECUTOR, Spotify.CALLBACK_EXECUTOR)
                 .build();
 
         return adapter.create(SpotifyService.class);
     }
 
+    /**
+     * @return The executor shared by the services created here and by {@link SpotifyClient}s
+     * built without one
+     */
+    public static PriorityHttpExecutor getDefaultHttpExecutor() {
+        return DEFAULT_HTTP_EXECUTOR;
+    }
+
+    /**
+     * @return The transport shared by the services created here and by {@link SpotifyClient}s
+     * built without a client, it has no response cache
+     */
+    public static OkHttpTransport getSharedTransport() {
+        return SHARED_TRANSPORT;
+    }
+
     /**
      * The request interceptor that will add the header with OAuth
      * token to every request made with the wrapper.
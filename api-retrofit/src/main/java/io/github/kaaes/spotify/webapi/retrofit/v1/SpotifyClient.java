@@ -0,0 +1,117 @@
+package io.github.kaaes.spotify.webapi.retrofit.v1;
+
+import java.util.concurrent.Executor;
+
+import io.github.kaaes.spotify.webapi.core.Config;
+import retrofit.RestAdapter;
+import retrofit.client.Client;
+
+/**
+ * Configures the REST adapters for Spotify Web API, one per {@link PriorityHttpExecutor.Lane}.
+ * <p>
+ * Asynchronous calls on {@link #getService()} are run ahead of those on
+ * {@link #getBackgroundService()}, and background calls never take all the threads.
+ * <p>
+ * Basic usage:
+ * SpotifyClient client = new SpotifyClient.Builder().setAccessToken(accessToken).build();
+ * client.getService().getMe(callback);
+ * client.getBackgroundService().getPlaylist(userId, playlistId, callback);
+ */
+public class SpotifyClient {
+
+    private final PriorityHttpExecutor mHttpExecutor;
+    private final SpotifyService[] mServices;
+
+    private SpotifyClient(Builder builder) {
+        mHttpExecutor = builder.mHttpExecutor != null ? builder.mHttpExecutor : Spotify.getDefaultHttpExecutor();
+        Executor callbackExecutor = builder.mCallbackExecutor != null ? builder.mCallbackExecutor : Spotify.CALLBACK_EXECUTOR;
+        Client client = builder.mClient != null ? builder.mClient : Spotify.getSharedTransport();
+
+        PriorityHttpExecutor.Lane[] lanes = PriorityHttpExecutor.Lane.values();
+        mServices = new SpotifyService[lanes.length];
+        for (PriorityHttpExecutor.Lane lane : lanes) {
+            RestAdapter.Builder adapterBuilder = new RestAdapter.Builder()
+                    .setEndpoint(builder.mEndpoint)
+                    .setClient(client)
+                    .setExecutors(mHttpExecutor.getLane(lane), callbackExecutor);
+            if (builder.mAccessToken != null) {
+                adapterBuilder.setRequestInterceptor(new Spotify.ApiAuthenticator(builder.mAccessToken));
+            }
+            mServices[lane.ordinal()] = adapterBuilder.build().create(SpotifyService.class);
+        }
+    }
+
+    /**
+     * @return The service running asynchronous calls in the interactive lane
+     */
+    public SpotifyService getService() {
+        return getService(PriorityHttpExecutor.Lane.INTERACTIVE);
+    }
+
+    /**
+     * @return The service running asynchronous calls in the background lane
+     */
+    public SpotifyService getBackgroundService() {
+        return getService(PriorityHttpExecutor.Lane.BACKGROUND);
+    }
+
+    public SpotifyService getService(PriorityHttpExecutor.Lane lane) {
+        return mServices[lane.ordinal()];
+    }
+
+    public PriorityHttpExecutor getHttpExecutor() {
+        return mHttpExecutor;
+    }
+
+    public static class Builder {
+
+        private String mEndpoint = Config.API_URL;
+        private String mAccessToken;
+        private PriorityHttpExecutor mHttpExecutor;
+        private Executor mCallbackExecutor;
+        private Client mClient;
+
+        public Builder setEndpoint(String endpoint) {
+            if (endpoint == null) {
+                throw new IllegalArgumentException("Endpoint can't be null");
+            }
+            mEndpoint = endpoint;
+            return this;
+        }
+
+        public Builder setAccessToken(String accessToken) {
+            mAccessToken = accessToken;
+            return this;
+        }
+
+        /**
+         * Sets the executor running the requests. Defaults to the process-wide executor
+         * returned by {@link Spotify#getDefaultHttpExecutor()}.
+         */
+        public Builder setHttpExecutor(PriorityHttpExecutor httpExecutor) {
+            mHttpExecutor = httpExecutor;
+            return this;
+        }
+
+        /**
+         * Sets the executor running the callbacks. Defaults to the main thread.
+         */
+        public Builder setCallbackExecutor(Executor callbackExecutor) {
+            mCallbackExecutor = callbackExecutor;
+            return this;
+        }
+
+        /**
+         * Sets the HTTP client, usually an {@link OkHttpTransport}. Defaults to the process-wide
+         * transport returned by {@link Spotify#getSharedTransport()}.
+         */
+        public Builder setClient(Client client) {
+            mClient = client;
+            return this;
+        }
+
+        public SpotifyClient build() {
+            return new SpotifyClient(this);
+        }
+    }
+}
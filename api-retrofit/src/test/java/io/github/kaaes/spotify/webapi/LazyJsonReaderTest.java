@@ -0,0 +1,112 @@
+package io.github.kaaes.spotify.webapi;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import io.github.kaaes.spotify.webapi.core.gson.LazyJsonReader;
+import io.github.kaaes.spotify.webapi.core.gson.ModelTypeAdapterFactory;
+import io.github.kaaes.spotify.webapi.core.models.Album;
+import io.github.kaaes.spotify.webapi.core.models.Artists;
+import io.github.kaaes.spotify.webapi.core.models.FeaturedPlaylists;
+import io.github.kaaes.spotify.webapi.core.models.Image;
+import io.github.kaaes.spotify.webapi.core.models.MarketSet;
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import io.github.kaaes.spotify.webapi.core.models.Playlist;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTrack;
+import io.github.kaaes.spotify.webapi.core.models.Track;
+import io.github.kaaes.spotify.webapi.core.models.Tracks;
+import io.github.kaaes.spotify.webapi.core.models.TracksPager;
+import io.github.kaaes.spotify.webapi.core.models.UserPrivate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(RobolectricTestRunner.class)
+public class LazyJsonReaderTest {
+
+    private final Gson mGson = new GsonBuilder().registerTypeAdapterFactory(new ModelTypeAdapterFactory()).create();
+
+    private static Map<String, Type> fixtures() {
+        Map<String, Type> fixtures = new LinkedHashMap<>();
+        fixtures.put("album.json", Album.class);
+        fixtures.put("artists.json", Artists.class);
+        fixtures.put("current-user.json", UserPrivate.class);
+        fixtures.put("featured-playlists.json", FeaturedPlaylists.class);
+        fixtures.put("playlist-response.json", Playlist.class);
+        fixtures.put("playlist-tracks.json", new TypeToken<Pager<PlaylistTrack>>() {}.getType());
+        fixtures.put("search-track.json", TracksPager.class);
+        fixtures.put("track.json", Track.class);
+        fixtures.put("tracks.json", Tracks.class);
+        return fixtures;
+    }
+
+    @Test
+    public void lazyParseMatchesEagerParse() throws Exception {
+        JsonParser parser = new JsonParser();
+        for (Map.Entry<String, Type> fixture : fixtures().entrySet()) {
+            String body = TestUtils.readTestData(fixture.getKey());
+            Object eager = mGson.fromJson(body, fixture.getValue());
+            Object lazy = mGson.fromJson(new LazyJsonReader(body), fixture.getValue());
+
+            assertEquals(fixture.getKey(),
+                    parser.parse(mGson.toJson(eager, fixture.getValue())),
+                    parser.parse(mGson.toJson(lazy, fixture.getValue())));
+        }
+    }
+
+    @Test
+    public void heavyFieldsAreDeferredUntilRead() throws Exception {
+        Album album = mGson.fromJson(new LazyJsonReader(TestUtils.readTestData("album.json")), Album.class);
+
+        assertFalse(album.images instanceof ArrayList);
+        assertFalse(album.available_markets instanceof MarketSet);
+        assertFalse(album.external_ids instanceof HashMap);
+
+        Album eager = mGson.fromJson(TestUtils.readTestData("album.json"), Album.class);
+        assertEquals(eager.name, album.name);
+        assertEquals(eager.images.size(), album.images.size());
+        assertEquals(eager.images.get(0).url, album.images.get(0).url);
+        assertEquals(eager.available_markets.contains("SE"), album.available_markets.contains("SE"));
+        assertEquals(eager.external_ids, album.external_ids);
+        assertEquals(eager.external_urls.get("spotify"), album.external_urls.get("spotify"));
+    }
+
+    @Test
+    public void deferredFieldsCanBeModified() throws Exception {
+        Track track = mGson.fromJson(new LazyJsonReader(TestUtils.readTestData("track.json")), Track.class);
+        int markets = track.available_markets.size();
+
+        List<Image> images = track.album.images;
+        images.remove(0);
+        track.external_urls.put("web", "https://example.com");
+
+        assertEquals(markets, track.available_markets.size());
+        assertEquals("https://example.com", track.external_urls.get("web"));
+        assertEquals(images.size(), track.album.images.size());
+    }
+
+    @Test
+    public void nullAndMissingFieldsStayNull() throws Exception {
+        String body = "{\"name\": \"images\", \"images\": null, \"external_urls\": {}}";
+        Album album = mGson.fromJson(new LazyJsonReader(body), Album.class);
+
+        assertEquals("images", album.name);
+        assertEquals(null, album.images);
+        assertEquals(null, album.available_markets);
+        assertTrue(album.external_urls.isEmpty());
+    }
+}
@@ -0,0 +1,92 @@
+package io.github.kaaes.spotify.webapi;
+
+import com.squareup.okhttp.mockwebserver.MockResponse;
+import com.squareup.okhttp.mockwebserver.MockWebServer;
+import com.squareup.okhttp.mockwebserver.RecordedRequest;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import io.github.kaaes.spotify.webapi.core.models.UserPrivate;
+import io.github.kaaes.spotify.webapi.retrofit.v1.OkHttpTransport;
+import io.github.kaaes.spotify.webapi.retrofit.v1.SpotifyClient;
+import io.github.kaaes.spotify.webapi.retrofit.v1.SpotifyService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(RobolectricTestRunner.class)
+public class OkHttpTransportTest {
+
+    private static final String USER_JSON = "{\"id\":\"user\",\"display_name\":\"User\"}";
+
+    @Rule
+    public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+    private MockWebServer mServer;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void reusesConnection() throws InterruptedException {
+        mServer.enqueue(new MockResponse().setBody(USER_JSON));
+        mServer.enqueue(new MockResponse().setBody(USER_JSON));
+        SpotifyService service = createService(new OkHttpTransport.Builder().build());
+
+        service.getMe();
+        service.getMe();
+
+        assertEquals(0, mServer.takeRequest().getSequenceNumber());
+        assertEquals(1, mServer.takeRequest().getSequenceNumber());
+    }
+
+    @Test
+    public void revalidatesCachedResponse() throws InterruptedException {
+        mServer.enqueue(new MockResponse()
+                .setBody(USER_JSON)
+                .setHeader("ETag", "\"v1\"")
+                .setHeader("Cache-Control", "no-cache"));
+        mServer.enqueue(new MockResponse().setResponseCode(304));
+        OkHttpTransport transport = new OkHttpTransport.Builder()
+                .setCache(mTemporaryFolder.getRoot(), 1024 * 1024)
+                .setReadTimeout(5, TimeUnit.SECONDS)
+                .build();
+        SpotifyService service = createService(transport);
+
+        UserPrivate first = service.getMe();
+        UserPrivate second = service.getMe();
+
+        RecordedRequest firstRequest = mServer.takeRequest();
+        RecordedRequest secondRequest = mServer.takeRequest();
+        assertNull(firstRequest.getHeader("If-None-Match"));
+        assertEquals("\"v1\"", secondRequest.getHeader("If-None-Match"));
+        assertEquals(first.id, second.id);
+        assertEquals(first.display_name, second.display_name);
+        assertEquals(1, transport.getCache().getHitCount());
+    }
+
+    private SpotifyService createService(OkHttpTransport transport) {
+        return new SpotifyClient.Builder()
+                .setEndpoint(mServer.url("/v1").toString())
+                .setClient(transport)
+                .build()
+                .getService();
+    }
+}
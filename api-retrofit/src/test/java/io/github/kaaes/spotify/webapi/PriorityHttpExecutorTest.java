@@ -0,0 +1,155 @@
+package io.github.kaaes.spotify.webapi;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.kaaes.spotify.webapi.core.models.Playlist;
+import io.github.kaaes.spotify.webapi.core.models.UserPrivate;
+import io.github.kaaes.spotify.webapi.retrofit.v1.PriorityHttpExecutor;
+import io.github.kaaes.spotify.webapi.retrofit.v1.SpotifyClient;
+import retrofit.Callback;
+import retrofit.RetrofitError;
+import retrofit.client.Client;
+import retrofit.client.Request;
+import retrofit.client.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs concurrent asynchronous calls against a local stub that answers after a delay.
+ */
+@RunWith(RobolectricTestRunner.class)
+public class PriorityHttpExecutorTest {
+
+    private static final int THREAD_COUNT = 4;
+    private static final int BACKGROUND_CAP = 2;
+    private static final int BACKGROUND_CALLS = 16;
+    private static final long LATENCY_MS = 50;
+
+    private static final Executor DIRECT_EXECUTOR = new Executor() {
+        @Override
+        public void execute(Runnable command) {
+            command.run();
+        }
+    };
+
+    private StubClient mStubClient;
+    private PriorityHttpExecutor mHttpExecutor;
+    private SpotifyClient mSpotifyClient;
+
+    @Before
+    public void setUp() {
+        mStubClient = new StubClient();
+        mHttpExecutor = new PriorityHttpExecutor.Builder()
+                .setThreadCount(THREAD_COUNT)
+                .setMaxConcurrent(PriorityHttpExecutor.Lane.BACKGROUND, BACKGROUND_CAP)
+                .build();
+        mSpotifyClient = new SpotifyClient.Builder()
+                .setAccessToken("token")
+                .setHttpExecutor(mHttpExecutor)
+                .setCallbackExecutor(DIRECT_EXECUTOR)
+                .setClient(mStubClient)
+                .build();
+    }
+
+    @After
+    public void tearDown() {
+        mHttpExecutor.shutdown();
+    }
+
+    @Test
+    public void interactiveCallIsNotQueuedBehindBackgroundCalls() throws InterruptedException {
+        CountDownLatch backgroundDone = new CountDownLatch(BACKGROUND_CALLS);
+        for (int i = 0; i < BACKGROUND_CALLS; i++) {
+            mSpotifyClient.getBackgroundService().getPlaylist("user", "playlist" + i, new CountingCallback<Playlist>(backgroundDone));
+        }
+
+        CountDownLatch interactiveDone = new CountDownLatch(1);
+        mSpotifyClient.getService().getMe(new CountingCallback<UserPrivate>(interactiveDone));
+
+        assertTrue(interactiveDone.await(5, TimeUnit.SECONDS));
+        assertTrue("Background calls were still running", backgroundDone.getCount() > 0);
+
+        assertTrue(backgroundDone.await(10, TimeUnit.SECONDS));
+        assertEquals(BACKGROUND_CAP, mStubClient.mMaxBackground.get());
+    }
+
+    @Test
+    public void interactiveCallsUseAllThreads() throws InterruptedException {
+        int calls = THREAD_COUNT * 8;
+        CountDownLatch done = new CountDownLatch(calls);
+        for (int i = 0; i < calls; i++) {
+            mSpotifyClient.getService().getMe(new CountingCallback<UserPrivate>(done));
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(THREAD_COUNT, mStubClient.mMaxInteractive.get());
+    }
+
+    /**
+     * Answers every request after {@link #LATENCY_MS} and records the most concurrent requests
+     * per lane, telling them apart by path.
+     */
+    private static class StubClient implements Client {
+
+        final AtomicInteger mMaxInteractive = new AtomicInteger();
+        final AtomicInteger mMaxBackground = new AtomicInteger();
+        private final AtomicInteger mInteractive = new AtomicInteger();
+        private final AtomicInteger mBackground = new AtomicInteger();
+
+        @Override
+        public Response execute(Request request) throws IOException {
+            boolean background = request.getUrl().contains("/playlists/");
+            AtomicInteger running = background ? mBackground : mInteractive;
+            AtomicInteger max = background ? mMaxBackground : mMaxInteractive;
+
+            int concurrent = running.incrementAndGet();
+            while (true) {
+                int current = max.get();
+                if (concurrent <= current || max.compareAndSet(current, concurrent)) {
+                    break;
+                }
+            }
+            try {
+                Thread.sleep(LATENCY_MS);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            } finally {
+                running.decrementAndGet();
+            }
+
+            return background
+                    ? TestUtils.getResponseFromModel(new Playlist(), Playlist.class)
+                    : TestUtils.getResponseFromModel(new UserPrivate(), UserPrivate.class);
+        }
+    }
+
+    private static class CountingCallback<T> implements Callback<T> {
+
+        private final CountDownLatch mDone;
+
+        CountingCallback(CountDownLatch done) {
+            mDone = done;
+        }
+
+        @Override
+        public void success(T t, Response response) {
+            mDone.countDown();
+        }
+
+        @Override
+        public void failure(RetrofitError error) {
+            throw new AssertionError(error);
+        }
+    }
+}
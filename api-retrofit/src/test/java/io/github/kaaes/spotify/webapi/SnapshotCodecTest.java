@@ -0,0 +1,168 @@
+package io.github.kaaes.spotify.webapi;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import com.google.gson.reflect.TypeToken;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.Robolectric;
+import org.robolectric.RobolectricTestRunner;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+import io.github.kaaes.spotify.webapi.core.models.Album;
+import io.github.kaaes.spotify.webapi.core.models.Albums;
+import io.github.kaaes.spotify.webapi.core.models.AlbumsPager;
+import io.github.kaaes.spotify.webapi.core.models.Artist;
+import io.github.kaaes.spotify.webapi.core.models.Artists;
+import io.github.kaaes.spotify.webapi.core.models.ArtistsCursorPager;
+import io.github.kaaes.spotify.webapi.core.models.ArtistsPager;
+import io.github.kaaes.spotify.webapi.core.models.CategoriesPager;
+import io.github.kaaes.spotify.webapi.core.models.Category;
+import io.github.kaaes.spotify.webapi.core.models.ErrorResponse;
+import io.github.kaaes.spotify.webapi.core.models.FeaturedPlaylists;
+import io.github.kaaes.spotify.webapi.core.models.MarketSet;
+import io.github.kaaes.spotify.webapi.core.models.NewReleases;
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import io.github.kaaes.spotify.webapi.core.models.Playlist;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistSimple;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTrack;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistsPager;
+import io.github.kaaes.spotify.webapi.core.models.SnapshotId;
+import io.github.kaaes.spotify.webapi.core.models.Track;
+import io.github.kaaes.spotify.webapi.core.models.Tracks;
+import io.github.kaaes.spotify.webapi.core.models.TracksPager;
+import io.github.kaaes.spotify.webapi.core.models.UserPrivate;
+import io.github.kaaes.spotify.webapi.core.models.UserPublic;
+import io.github.kaaes.spotify.webapi.core.snapshot.SnapshotCodec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+@RunWith(RobolectricTestRunner.class)
+public class SnapshotCodecTest {
+
+    /**
+     * Token responses of the accounts service, which are not api-core models.
+     */
+    private static final Set<String> NOT_MODELS = new HashSet<>(Arrays.asList(
+            "application-authentication-token.json",
+            "auth-invalid-client.json",
+            "auth-refreshtoken.json",
+            "auth-tokens.json"));
+
+    /**
+     * @return The model type of each fixture
+     */
+    static Map<String, Type> fixtures() {
+        Map<String, Type> fixtures = new LinkedHashMap<>();
+        fixtures.put("album.json", Album.class);
+        fixtures.put("albums.json", Albums.class);
+        fixtures.put("albums-none-found.json", Albums.class);
+        fixtures.put("artist.json", Artist.class);
+        fixtures.put("artists.json", Artists.class);
+        fixtures.put("artist-album.json", new TypeToken<Pager<Album>>() {}.getType());
+        fixtures.put("artist-related-artists.json", Artists.class);
+        fixtures.put("category.json", Category.class);
+        fixtures.put("category-playlist.json", PlaylistsPager.class);
+        fixtures.put("created-playlist.json", Playlist.class);
+        fixtures.put("current-user.json", UserPrivate.class);
+        fixtures.put("error-cannot-add-tracks.json", ErrorResponse.class);
+        fixtures.put("error-unauthorized.json", ErrorResponse.class);
+        fixtures.put("error_bad-field.json", ErrorResponse.class);
+        fixtures.put("error_id-not-found.json", ErrorResponse.class);
+        fixtures.put("featured-playlists.json", FeaturedPlaylists.class);
+        fixtures.put("follow_is_following_artists.json", Boolean[].class);
+        fixtures.put("follow_is_following_users.json", Boolean[].class);
+        fixtures.put("followed-artists.json", ArtistsCursorPager.class);
+        fixtures.put("get-categories.json", CategoriesPager.class);
+        fixtures.put("new-releases.json", NewReleases.class);
+        fixtures.put("playlist-followers-contains.json", Boolean[].class);
+        fixtures.put("playlist-response.json", Playlist.class);
+        fixtures.put("playlist-tracks.json", new TypeToken<Pager<PlaylistTrack>>() {}.getType());
+        fixtures.put("search-album.json", AlbumsPager.class);
+        fixtures.put("search-artist.json", ArtistsPager.class);
+        fixtures.put("search-playlist.json", PlaylistsPager.class);
+        fixtures.put("search-track.json", TracksPager.class);
+        fixtures.put("snapshot-response.json", SnapshotId.class);
+        fixtures.put("track.json", Track.class);
+        fixtures.put("tracks.json", Tracks.class);
+        fixtures.put("tracks-for-artist.json", Tracks.class);
+        fixtures.put("user.json", UserPublic.class);
+        fixtures.put("user-playlists.json", new TypeToken<Pager<PlaylistSimple>>() {}.getType());
+        return fixtures;
+    }
+
+    @Test
+    public void everyFixtureIsCovered() throws Exception {
+        File directory = new File(Robolectric.class.getResource("/fixtures/").toURI());
+        Map<String, Type> fixtures = fixtures();
+        for (String fileName : directory.list()) {
+            assertTrue(fileName + " has no model type", fixtures.containsKey(fileName) || NOT_MODELS.contains(fileName));
+        }
+    }
+
+    @Test
+    public void roundTripsEveryFixture() throws Exception {
+        Gson gson = new Gson();
+        JsonParser parser = new JsonParser();
+        SnapshotCodec codec = new SnapshotCodec();
+
+        for (Map.Entry<String, Type> fixture : fixtures().entrySet()) {
+            Object expected = gson.fromJson(TestUtils.readTestData(fixture.getKey()), fixture.getValue());
+            Object actual = codec.read(ByteBuffer.wrap(codec.toBytes(expected, fixture.getValue())), fixture.getValue());
+
+            assertEquals(fixture.getKey(),
+                    parser.parse(gson.toJson(expected, fixture.getValue())),
+                    parser.parse(gson.toJson(actual, fixture.getValue())));
+        }
+    }
+
+    @Test
+    public void readsMemoryMappedFile() throws Exception {
+        Type type = new TypeToken<Pager<PlaylistTrack>>() {}.getType();
+        Pager<PlaylistTrack> expected = new Gson().fromJson(TestUtils.readTestData("playlist-tracks.json"), type);
+        SnapshotCodec codec = new SnapshotCodec();
+
+        File file = File.createTempFile("playlist-tracks", ".snapshot");
+        try {
+            codec.write(expected, type, file);
+            Pager<PlaylistTrack> actual = codec.read(file, type);
+
+            assertEquals(expected.items.size(), actual.items.size());
+            assertEquals(expected.items.get(0).track.name, actual.items.get(0).track.name);
+            assertTrue(actual.items.get(0).track.available_markets instanceof MarketSet);
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    public void rejectsSnapshotOfAnotherType() throws Exception {
+        SnapshotCodec codec = new SnapshotCodec();
+        Track track = new Gson().fromJson(TestUtils.readTestData("track.json"), Track.class);
+        byte[] bytes = codec.toBytes(track, Track.class);
+
+        try {
+            codec.read(ByteBuffer.wrap(bytes), Album.class);
+            fail("Snapshot of a track was read as an album");
+        } catch (IOException expected) {
+        }
+
+        try {
+            codec.read(ByteBuffer.wrap(Arrays.copyOf(bytes, bytes.length / 2)), Track.class);
+            fail("Truncated snapshot was read");
+        } catch (IOException expected) {
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.kaaes.spotify.webapi.core.models.SeedsGenres;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.tls.HandshakeCertificates;
+import okhttp3.tls.HeldCertificate;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Compares a new client stack per token (the old {@link Spotify#createAuthenticatedService(String)}
+ * behaviour) with a single {@link SpotifyClient} whose token is rotated before every request.
+ */
+public class SpotifyClientBenchmarkTest {
+
+    private static final int ITERATIONS = 200;
+    private static final String GENRES_BODY = "{\"genres\":[\"acoustic\",\"afrobeat\",\"alt-rock\"]}";
+
+    private MockWebServer mServer;
+    private HandshakeCertificates mClientCertificates;
+    private final AtomicInteger mHandshakes = new AtomicInteger();
+    private volatile String mLastAuthorization;
+
+    @Before
+    public void setUp() throws IOException {
+        HeldCertificate localhost = new HeldCertificate.Builder()
+                .addSubjectAlternativeName("localhost")
+                .build();
+        HandshakeCertificates serverCertificates = new HandshakeCertificates.Builder()
+                .heldCertificate(localhost)
+                .build();
+        mClientCertificates = new HandshakeCertificates.Builder()
+                .addTrustedCertificate(localhost.certificate())
+                .build();
+
+        mServer = new MockWebServer();
+        mServer.useHttps(serverCertificates.sslSocketFactory(), false);
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                mLastAuthorization = request.getHeader("Authorization");
+                return new MockResponse().setBody(GENRES_BODY);
+            }
+        });
+        mServer.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void sharedClientReusesConnectionsAcrossTokenRotation() throws IOException {
+        long[] before = runServicePerToken();
+        int handshakesBefore = mHandshakes.getAndSet(0);
+
+        long[] after = runSharedClient();
+        int handshakesAfter = mHandshakes.getAndSet(0);
+
+        report("service per token", handshakesBefore, before);
+        report("shared SpotifyClient", handshakesAfter, after);
+
+        assertEquals(ITERATIONS, handshakesBefore);
+        assertEquals(1, handshakesAfter);
+    }
+
+    private long[] runServicePerToken() throws IOException {
+        long[] latencies = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            String token = "token-" + i;
+            long start = System.nanoTime();
+
+            OkHttpClient httpClient = newBaseClientBuilder()
+                    .addInterceptor(new Spotify.ApiAuthenticator(token))
+                    .build();
+            SpotifyService service = new Retrofit.Builder()
+                    .client(httpClient)
+                    .addConverterFactory(GsonConverterFactory.create())
+                    .baseUrl(mServer.url("/"))
+                    .build()
+                    .create(SpotifyService.class);
+            execute(service, token);
+
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private long[] runSharedClient() throws IOException {
+        SpotifyClient client = new SpotifyClient.Builder()
+                .setHttpClient(newBaseClientBuilder().build())
+                .setBaseUrl(mServer.url("/").toString())
+                .build();
+
+        long[] latencies = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            String token = "token-" + i;
+            long start = System.nanoTime();
+
+            client.setAccessToken(token);
+            execute(client.getService(), token);
+
+            latencies[i] = System.nanoTime() - start;
+        }
+        return latencies;
+    }
+
+    private void execute(SpotifyService service, String token) throws IOException {
+        Response<SeedsGenres> response = service.getSeedsGenres().execute();
+        assertTrue(response.isSuccessful());
+        assertEquals(3, response.body().genres.size());
+        assertEquals("Bearer " + token, mLastAuthorization);
+    }
+
+    private OkHttpClient.Builder newBaseClientBuilder() {
+        return new OkHttpClient.Builder()
+                .sslSocketFactory(mClientCertificates.sslSocketFactory(), mClientCertificates.trustManager())
+                .eventListener(new EventListener() {
+                    @Override
+                    public void secureConnectStart(Call call) {
+                        mHandshakes.incrementAndGet();
+                    }
+                });
+    }
+
+    private static void report(String name, int handshakes, long[] latencies) {
+        System.out.println(String.format("%-22s handshakes=%4d p50=%6.2fms p99=%6.2fms",
+                name, handshakes, percentile(latencies, 50) / 1e6, percentile(latencies, 99) / 1e6));
+    }
+
+    private static long percentile(long[] values, int percentile) {
+        long[] sorted = Arrays.copyOf(values, values.length);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+}
@@ -0,0 +1,54 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import java.io.IOException;
+
+import okhttp3.Authenticator;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+/**
+ * Answers {@code 401 Unauthorized} by asking a {@link RefreshableAccessTokenProvider} for a new
+ * token and sending the request again with it.
+ * <p>
+ * All requests that fail with the same expired token wait for a single refresh. A request
+ * is retried once, so a token the API keeps rejecting surfaces as the original 401.
+ */
+public class AccessTokenAuthenticator implements Authenticator {
+
+    private static final String AUTHORIZATION = "Authorization";
+    private static final String BEARER = "Bearer ";
+
+    private final RefreshableAccessTokenProvider mAccessTokenProvider;
+
+    public AccessTokenAuthenticator(RefreshableAccessTokenProvider accessTokenProvider) {
+        mAccessTokenProvider = accessTokenProvider;
+    }
+
+    @Override
+    public Request authenticate(Route route, Response response) throws IOException {
+        if (response.priorResponse() != null) {
+            // Already retried with a refreshed token
+            return null;
+        }
+
+        Request request = response.request();
+        String rejectedAccessToken = getAccessToken(request);
+        String accessToken = mAccessTokenProvider.refreshAccessToken(rejectedAccessToken);
+        if (accessToken == null || accessToken.equals(rejectedAccessToken)) {
+            return null;
+        }
+
+        return request.newBuilder()
+                .header(AUTHORIZATION, BEARER + accessToken)
+                .build();
+    }
+
+    private static String getAccessToken(Request request) {
+        String authorization = request.header(AUTHORIZATION);
+        if (authorization == null || !authorization.startsWith(BEARER)) {
+            return null;
+        }
+        return authorization.substring(BEARER.length());
+    }
+}
@@ -0,0 +1,15 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+/**
+ * Supplies the OAuth access token that is attached to every request.
+ * <p>
+ * The provider is queried once per request so returning a refreshed
+ * token is enough to rotate credentials without rebuilding the client.
+ */
+public interface AccessTokenProvider {
+
+    /**
+     * @return The current access token or {@code null} to send the request unauthenticated
+     */
+    String getAccessToken();
+}
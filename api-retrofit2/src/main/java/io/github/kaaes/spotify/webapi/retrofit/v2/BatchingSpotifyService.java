@@ -0,0 +1,551 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import io.github.kaaes.spotify.webapi.core.models.Album;
+import io.github.kaaes.spotify.webapi.core.models.Albums;
+import io.github.kaaes.spotify.webapi.core.models.Artist;
+import io.github.kaaes.spotify.webapi.core.models.Artists;
+import io.github.kaaes.spotify.webapi.core.models.AudioFeaturesTrack;
+import io.github.kaaes.spotify.webapi.core.models.AudioFeaturesTracks;
+import io.github.kaaes.spotify.webapi.core.models.Track;
+import io.github.kaaes.spotify.webapi.core.models.Tracks;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * A {@link SpotifyService} that coalesces single-ID lookups into the multi-ID endpoints.
+ * <p>
+ * Calls to {@link #getTrack(String)}, {@link #getArtist(String)}, {@link #getAlbum(String)}
+ * and {@link #getTrackAudioFeatures(String)} made within a short window are collected and
+ * sent as comma-joined bulk requests, chunked to each endpoint's maximum number of IDs.
+ * Every caller still gets its own {@link Call}. All other endpoints go straight to the
+ * wrapped service.
+ * <p>
+ * Basic usage:
+ * SpotifyClient client = new SpotifyClient.Builder().setAccessToken(accessToken).build();
+ * SpotifyService spotifyService = new BatchingSpotifyService(client.getService(),
+ * client.getRetrofit().callbackExecutor());
+ */
+public class BatchingSpotifyService extends ForwardingSpotifyService {
+
+    public static final long DEFAULT_WINDOW_MS = 10;
+
+    public static final int MAX_TRACK_IDS = 50;
+    public static final int MAX_ARTIST_IDS = 50;
+    public static final int MAX_ALBUM_IDS = 20;
+    public static final int MAX_AUDIO_FEATURES_IDS = 100;
+
+    private static final long TIMER_KEEP_ALIVE_MS = TimeUnit.SECONDS.toMillis(30);
+    private static final MediaType JSON = MediaType.parse("application/json; charset=utf-8");
+    private static final String NOT_FOUND_BODY = "{\"error\":{\"status\":404,\"message\":\"non existing id\"}}";
+
+    /**
+     * Fires the window flushes of every instance. Bulk requests are enqueued on the OkHttp
+     * dispatcher, so a slow request never delays a timer. The thread exits after
+     * {@link #TIMER_KEEP_ALIVE_MS} without work so services that are simply dropped don't keep
+     * it alive.
+     */
+    private static final ScheduledExecutorService SCHEDULER = createScheduler();
+
+    private final Executor mCallbackExecutor;
+    private final long mWindowMs;
+
+    private volatile boolean mShutdown;
+
+    private final Batcher<Tracks, Track> mTrackBatcher = new Batcher<Tracks, Track>(MAX_TRACK_IDS) {
+        @Override
+        Call<Tracks> bulkCall(String ids) {
+            return mDelegate.getTracks(ids);
+        }
+
+        @Override
+        Call<Track> singleCall(String id) {
+            return mDelegate.getTrack(id);
+        }
+
+        @Override
+        List<Track> items(Tracks body) {
+            return body.tracks;
+        }
+
+        @Override
+        String idOf(Track item) {
+            return item.id;
+        }
+    };
+
+    private final Batcher<Artists, Artist> mArtistBatcher = new Batcher<Artists, Artist>(MAX_ARTIST_IDS) {
+        @Override
+        Call<Artists> bulkCall(String ids) {
+            return mDelegate.getArtists(ids);
+        }
+
+        @Override
+        Call<Artist> singleCall(String id) {
+            return mDelegate.getArtist(id);
+        }
+
+        @Override
+        List<Artist> items(Artists body) {
+            return body.artists;
+        }
+
+        @Override
+        String idOf(Artist item) {
+            return item.id;
+        }
+    };
+
+    private final Batcher<Albums, Album> mAlbumBatcher = new Batcher<Albums, Album>(MAX_ALBUM_IDS) {
+        @Override
+        Call<Albums> bulkCall(String ids) {
+            return mDelegate.getAlbums(ids);
+        }
+
+        @Override
+        Call<Album> singleCall(String id) {
+            return mDelegate.getAlbum(id);
+        }
+
+        @Override
+        List<Album> items(Albums body) {
+            return body.albums;
+        }
+
+        @Override
+        String idOf(Album item) {
+            return item.id;
+        }
+    };
+
+    private final Batcher<AudioFeaturesTracks, AudioFeaturesTrack> mAudioFeaturesBatcher =
+            new Batcher<AudioFeaturesTracks, AudioFeaturesTrack>(MAX_AUDIO_FEATURES_IDS) {
+                @Override
+                Call<AudioFeaturesTracks> bulkCall(String ids) {
+                    return mDelegate.getTracksAudioFeatures(ids);
+                }
+
+                @Override
+                Call<AudioFeaturesTrack> singleCall(String id) {
+                    return mDelegate.getTrackAudioFeatures(id);
+                }
+
+                @Override
+                List<AudioFeaturesTrack> items(AudioFeaturesTracks body) {
+                    return body.audio_features;
+                }
+
+                @Override
+                String idOf(AudioFeaturesTrack item) {
+                    return item.id;
+                }
+            };
+
+    /**
+     * @param delegate         The service that performs the bulk requests
+     * @param callbackExecutor Executor on which {@link Callback}s are invoked,
+     *                         usually {@code retrofit.callbackExecutor()}. If {@code null}
+     *                         callbacks run on the thread that received the bulk response.
+     */
+    public BatchingSpotifyService(SpotifyService delegate, Executor callbackExecutor) {
+        this(delegate, callbackExecutor, DEFAULT_WINDOW_MS);
+    }
+
+    /**
+     * @param delegate         The service that performs the bulk requests
+     * @param callbackExecutor Executor on which {@link Callback}s are invoked
+     * @param windowMs         How long single lookups are collected before a bulk request is sent
+     */
+    public BatchingSpotifyService(SpotifyService delegate, Executor callbackExecutor, long windowMs) {
+        super(delegate);
+        mCallbackExecutor = callbackExecutor;
+        mWindowMs = windowMs;
+    }
+
+    private static ScheduledExecutorService createScheduler() {
+        ScheduledThreadPoolExecutor scheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "Spotify Batching Timer");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+        scheduler.setRemoveOnCancelPolicy(true);
+        scheduler.setKeepAliveTime(TIMER_KEEP_ALIVE_MS, TimeUnit.MILLISECONDS);
+        scheduler.allowCoreThreadTimeOut(true);
+        return scheduler;
+    }
+
+    @Override
+    public Call<Track> getTrack(String trackId) {
+        return mTrackBatcher.newCall(trackId);
+    }
+
+    @Override
+    public Call<Artist> getArtist(String artistId) {
+        return mArtistBatcher.newCall(artistId);
+    }
+
+    @Override
+    public Call<Album> getAlbum(String albumId) {
+        return mAlbumBatcher.newCall(albumId);
+    }
+
+    @Override
+    public Call<AudioFeaturesTrack> getTrackAudioFeatures(String id) {
+        return mAudioFeaturesBatcher.newCall(id);
+    }
+
+    /**
+     * Sends all collected lookups immediately instead of waiting for the window to end.
+     */
+    public void flush() {
+        mTrackBatcher.flush();
+        mArtistBatcher.flush();
+        mAlbumBatcher.flush();
+        mAudioFeaturesBatcher.flush();
+    }
+
+    /**
+     * Sends the pending lookups. Lookups made afterwards fail. The timer thread is shared
+     * with other instances and exits on its own once idle.
+     */
+    public void shutdown() {
+        mShutdown = true;
+        flush();
+    }
+
+    private static String joinIds(List<String> ids) {
+        StringBuilder builder = new StringBuilder();
+        for (String id : ids) {
+            if (builder.length() > 0) {
+                builder.append(',');
+            }
+            builder.append(id);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * Collects lookups for one bulk endpoint.
+     *
+     * @param <B> The bulk response type
+     * @param <T> The single item type
+     */
+    private abstract class Batcher<B, T> {
+
+        private final int mMaxIds;
+        private final Map<String, List<BatchedCall<T>>> mPending = new LinkedHashMap<>();
+        private ScheduledFuture<?> mScheduledFlush;
+
+        Batcher(int maxIds) {
+            mMaxIds = maxIds;
+        }
+
+        abstract Call<B> bulkCall(String ids);
+
+        abstract Call<T> singleCall(String id);
+
+        abstract List<T> items(B body);
+
+        abstract String idOf(T item);
+
+        Call<T> newCall(String id) {
+            return new BatchedCall<>(this, id);
+        }
+
+        void add(BatchedCall<T> call) {
+            if (mShutdown) {
+                call.complete(null, new IOException("BatchingSpotifyService was shut down"));
+                return;
+            }
+
+            boolean full;
+            synchronized (this) {
+                List<BatchedCall<T>> callers = mPending.get(call.mId);
+                if (callers == null) {
+                    callers = new ArrayList<>();
+                    mPending.put(call.mId, callers);
+                }
+                callers.add(call);
+
+                full = mPending.size() >= mMaxIds;
+                if (!full && mScheduledFlush == null) {
+                    mScheduledFlush = SCHEDULER.schedule(new Runnable() {
+                        @Override
+                        public void run() {
+                            flush();
+                        }
+                    }, mWindowMs, TimeUnit.MILLISECONDS);
+                }
+            }
+
+            if (full) {
+                flush();
+            }
+        }
+
+        synchronized boolean remove(BatchedCall<T> call) {
+            List<BatchedCall<T>> callers = mPending.get(call.mId);
+            if (callers == null || !callers.remove(call)) {
+                return false;
+            }
+            if (callers.isEmpty()) {
+                mPending.remove(call.mId);
+            }
+            return true;
+        }
+
+        void flush() {
+            final Map<String, List<BatchedCall<T>>> batch;
+            synchronized (this) {
+                if (mScheduledFlush != null) {
+                    mScheduledFlush.cancel(false);
+                    mScheduledFlush = null;
+                }
+                if (mPending.isEmpty()) {
+                    return;
+                }
+                batch = new LinkedHashMap<>(mPending);
+                mPending.clear();
+            }
+
+            List<String> ids = new ArrayList<>(batch.keySet());
+            for (int start = 0; start < ids.size(); start += mMaxIds) {
+                final List<String> chunk = ids.subList(start, Math.min(start + mMaxIds, ids.size()));
+                try {
+                    bulkCall(joinIds(chunk)).enqueue(new Callback<B>() {
+                        @Override
+                        public void onResponse(Call<B> call, Response<B> response) {
+                            complete(chunk, batch, response);
+                        }
+
+                        @Override
+                        public void onFailure(Call<B> call, Throwable t) {
+                            fail(chunk, batch, t);
+                        }
+                    });
+                } catch (RuntimeException e) {
+                    fail(chunk, batch, e);
+                }
+            }
+        }
+
+        private void fail(List<String> chunk, Map<String, List<BatchedCall<T>>> batch, Throwable t) {
+            for (String id : chunk) {
+                for (BatchedCall<T> call : batch.get(id)) {
+                    call.complete(null, t);
+                }
+            }
+        }
+
+        private void complete(List<String> chunk, Map<String, List<BatchedCall<T>>> batch, Response<B> response) {
+            if (response.isSuccessful()) {
+                Map<String, T> itemsById = new HashMap<>();
+                List<T> items = response.body() != null ? items(response.body()) : null;
+                if (items != null) {
+                    for (T item : items) {
+                        // Unknown IDs come back as null entries
+                        if (item != null && idOf(item) != null) {
+                            itemsById.put(idOf(item), item);
+                        }
+                    }
+                }
+
+                for (String id : chunk) {
+                    T item = itemsById.get(id);
+                    for (BatchedCall<T> call : batch.get(id)) {
+                        if (item != null) {
+                            call.complete(Response.success(item, response.raw()), null);
+                        } else {
+                            call.complete(Response.<T>error(404, ResponseBody.create(JSON, NOT_FOUND_BODY)), null);
+                        }
+                    }
+                }
+            } else {
+                MediaType contentType = JSON;
+                byte[] errorBytes = new byte[0];
+                ResponseBody errorBody = response.errorBody();
+                if (errorBody != null) {
+                    contentType = errorBody.contentType();
+                    try {
+                        errorBytes = errorBody.bytes();
+                    } catch (IOException e) {
+                        // Every caller gets the status code without the details
+                    }
+                }
+
+                for (String id : chunk) {
+                    for (BatchedCall<T> call : batch.get(id)) {
+                        call.complete(Response.<T>error(ResponseBody.create(contentType, errorBytes), response.raw()), null);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The per-caller {@link Call} handed out for a single lookup.
+     */
+    private final class BatchedCall<T> implements Call<T> {
+
+        private final Batcher<?, T> mBatcher;
+        private final String mId;
+        private final AtomicBoolean mExecuted = new AtomicBoolean();
+        private final AtomicBoolean mCompleted = new AtomicBoolean();
+        private final CountDownLatch mDone = new CountDownLatch(1);
+
+        private volatile boolean mCanceled;
+        private volatile Callback<T> mCallback;
+        private volatile Response<T> mResponse;
+        private volatile Throwable mFailure;
+
+        BatchedCall(Batcher<?, T> batcher, String id) {
+            mBatcher = batcher;
+            mId = id;
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            if (!mExecuted.compareAndSet(false, true)) {
+                throw new IllegalStateException("Already executed.");
+            }
+            if (mCanceled) {
+                throw new IOException("Canceled");
+            }
+
+            mBatcher.add(this);
+            try {
+                mDone.await();
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for batched response");
+            }
+
+            Throwable failure = mFailure;
+            if (failure == null) {
+                return mResponse;
+            } else if (failure instanceof IOException) {
+                throw (IOException) failure;
+            } else if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            throw new RuntimeException(failure);
+        }
+
+        @Override
+        public void enqueue(Callback<T> callback) {
+            if (callback == null) {
+                throw new NullPointerException("callback == null");
+            }
+            if (!mExecuted.compareAndSet(false, true)) {
+                throw new IllegalStateException("Already executed.");
+            }
+
+            mCallback = callback;
+            if (mCanceled) {
+                complete(null, new IOException("Canceled"));
+            } else {
+                mBatcher.add(this);
+            }
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return mExecuted.get();
+        }
+
+        /**
+         * Cancels only this caller. A bulk request that is already on the wire is left
+         * running for the other callers that share it.
+         */
+        @Override
+        public void cancel() {
+            mCanceled = true;
+            if (mBatcher.remove(this)) {
+                complete(null, new IOException("Canceled"));
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return mCanceled;
+        }
+
+        @Override
+        public Call<T> clone() {
+            return new BatchedCall<>(mBatcher, mId);
+        }
+
+        @Override
+        public Request request() {
+            return mBatcher.singleCall(mId).request();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return Timeout.NONE;
+        }
+
+        void complete(Response<T> response, Throwable failure) {
+            if (!mCompleted.compareAndSet(false, true)) {
+                return;
+            }
+            if (mCanceled && failure == null) {
+                response = null;
+                failure = new IOException("Canceled");
+            }
+            mResponse = response;
+            mFailure = failure;
+            mDone.countDown();
+
+            final Callback<T> callback = mCallback;
+            if (callback == null) {
+                return;
+            }
+
+            final Response<T> finalResponse = response;
+            final Throwable finalFailure = failure;
+            Runnable delivery = new Runnable() {
+                @Override
+                public void run() {
+                    if (finalFailure != null) {
+                        callback.onFailure(BatchedCall.this, finalFailure);
+                    } else {
+                        callback.onResponse(BatchedCall.this, finalResponse);
+                    }
+                }
+            };
+
+            if (mCallbackExecutor != null) {
+                mCallbackExecutor.execute(delivery);
+            } else {
+                delivery.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+/**
+ * A {@link Call} whose response is already known, used to answer requests locally.
+ */
+class CompletedCall<T> implements Call<T> {
+
+    private final Response<T> mResponse;
+    private final Request mRequest;
+    private final Executor mCallbackExecutor;
+    private final AtomicBoolean mExecuted = new AtomicBoolean();
+    private volatile boolean mCanceled;
+
+    /**
+     * @param body             The response body
+     * @param request          The request that would have been sent, as returned by {@link #request()}
+     * @param callbackExecutor Executor on which {@link Callback}s are invoked, {@code null} to invoke them directly
+     */
+    CompletedCall(T body, Request request, Executor callbackExecutor) {
+        mResponse = Response.success(body);
+        mRequest = request;
+        mCallbackExecutor = callbackExecutor;
+    }
+
+    @Override
+    public Response<T> execute() throws IOException {
+        if (!mExecuted.compareAndSet(false, true)) {
+            throw new IllegalStateException("Already executed.");
+        }
+        if (mCanceled) {
+            throw new IOException("Canceled");
+        }
+        return mResponse;
+    }
+
+    @Override
+    public void enqueue(final Callback<T> callback) {
+        if (callback == null) {
+            throw new NullPointerException("callback == null");
+        }
+        if (!mExecuted.compareAndSet(false, true)) {
+            throw new IllegalStateException("Already executed.");
+        }
+
+        Runnable delivery = new Runnable() {
+            @Override
+            public void run() {
+                if (mCanceled) {
+                    callback.onFailure(CompletedCall.this, new IOException("Canceled"));
+                } else {
+                    callback.onResponse(CompletedCall.this, mResponse);
+                }
+            }
+        };
+
+        if (mCallbackExecutor != null) {
+            mCallbackExecutor.execute(delivery);
+        } else {
+            delivery.run();
+        }
+    }
+
+    @Override
+    public boolean isExecuted() {
+        return mExecuted.get();
+    }
+
+    @Override
+    public void cancel() {
+        mCanceled = true;
+    }
+
+    @Override
+    public boolean isCanceled() {
+        return mCanceled;
+    }
+
+    @Override
+    public Call<T> clone() {
+        return new CompletedCall<>(mResponse.body(), mRequest, mCallbackExecutor);
+    }
+
+    @Override
+    public Request request() {
+        return mRequest;
+    }
+
+    @Override
+    public Timeout timeout() {
+        return Timeout.NONE;
+    }
+}
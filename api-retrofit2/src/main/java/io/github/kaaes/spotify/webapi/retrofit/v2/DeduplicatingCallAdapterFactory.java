@@ -0,0 +1,379 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.ResponseBody;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.http.GET;
+
+/**
+ * Collapses identical GET requests that are in flight at the same time into one network
+ * exchange.
+ * <p>
+ * Calls are keyed on the HTTP method, the full URL, which includes path parameters and
+ * the query map, and the access token, so calls made for different accounts never share an
+ * exchange. Every {@link Call} still gets its own result but all of them share the
+ * same deserialized body. Cancellation is reference-counted: the shared exchange is only
+ * cancelled when every call waiting for it was cancelled.
+ * <p>
+ * Basic usage:
+ * SpotifyClient client = new SpotifyClient.Builder()
+ * .setAccessToken(accessToken)
+ * .setDeduplicateGetRequests(true)
+ * .build();
+ */
+public class DeduplicatingCallAdapterFactory extends CallAdapter.Factory {
+
+    private static final String HEADER_AUTHORIZATION = "Authorization";
+
+    private final Map<String, Flight<?>> mFlights = new HashMap<>();
+    private final AccessTokenProvider mAccessTokenProvider;
+
+    /**
+     * Keys calls on the {@code Authorization} header set on the Retrofit request, use
+     * {@link #DeduplicatingCallAdapterFactory(AccessTokenProvider)} when the token is added
+     * by an interceptor.
+     */
+    public DeduplicatingCallAdapterFactory() {
+        this(null);
+    }
+
+    /**
+     * @param accessTokenProvider The provider the interceptor reads the token from, queried
+     *                            when a call is made so that it only joins calls sent with
+     *                            the same token
+     */
+    public DeduplicatingCallAdapterFactory(AccessTokenProvider accessTokenProvider) {
+        mAccessTokenProvider = accessTokenProvider;
+    }
+
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class || !(returnType instanceof ParameterizedType)) {
+            return null;
+        }
+
+        boolean isGet = false;
+        for (Annotation annotation : annotations) {
+            if (annotation instanceof GET) {
+                isGet = true;
+                break;
+            }
+        }
+        if (!isGet) {
+            return null;
+        }
+
+        final Type responseType = getParameterUpperBound(0, (ParameterizedType) returnType);
+        final Executor callbackExecutor = retrofit.callbackExecutor();
+
+        return new CallAdapter<Object, Call<?>>() {
+            @Override
+            public Type responseType() {
+                return responseType;
+            }
+
+            @Override
+            public Call<?> adapt(Call<Object> call) {
+                return new SharedCall<>(call, callbackExecutor);
+            }
+        };
+    }
+
+    /**
+     * @return Number of distinct requests currently on the wire
+     */
+    public int getInFlightCount() {
+        synchronized (mFlights) {
+            return mFlights.size();
+        }
+    }
+
+    private String keyOf(Request request) {
+        String authorization = request.header(HEADER_AUTHORIZATION);
+        if (authorization == null && mAccessTokenProvider != null) {
+            authorization = mAccessTokenProvider.getAccessToken();
+        }
+        return request.method() + ' ' + request.url() + ' ' + authorization;
+    }
+
+    /**
+     * One network exchange shared by all calls with the same key.
+     */
+    private final class Flight<T> {
+
+        private final String mKey;
+        private final Call<T> mCall;
+        private final List<SharedCall<T>> mSubscribers = new ArrayList<>();
+
+        private boolean mFinished;
+
+        Flight(String key, Call<T> call) {
+            mKey = key;
+            mCall = call;
+        }
+
+        void start() {
+            mCall.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(Call<T> call, Response<T> response) {
+                    finish(response, null);
+                }
+
+                @Override
+                public void onFailure(Call<T> call, Throwable t) {
+                    finish(null, t);
+                }
+            });
+        }
+
+        void finish(Response<T> response, Throwable failure) {
+            List<SharedCall<T>> subscribers;
+            synchronized (mFlights) {
+                if (mFlights.get(mKey) == this) {
+                    mFlights.remove(mKey);
+                }
+                mFinished = true;
+                subscribers = new ArrayList<>(mSubscribers);
+                mSubscribers.clear();
+            }
+
+            MediaType errorType = null;
+            byte[] errorBytes = null;
+            if (response != null && !response.isSuccessful() && response.errorBody() != null) {
+                // The error body is a one-shot stream so every subscriber gets its own copy
+                errorType = response.errorBody().contentType();
+                try {
+                    errorBytes = response.errorBody().bytes();
+                } catch (IOException e) {
+                    errorBytes = new byte[0];
+                }
+            }
+
+            for (SharedCall<T> subscriber : subscribers) {
+                if (errorBytes != null) {
+                    subscriber.complete(Response.<T>error(ResponseBody.create(errorType, errorBytes), response.raw()), null);
+                } else {
+                    subscriber.complete(response, failure);
+                }
+            }
+        }
+
+        void unsubscribe(SharedCall<T> subscriber) {
+            boolean cancelExchange = false;
+            synchronized (mFlights) {
+                if (mFinished || !mSubscribers.remove(subscriber)) {
+                    return;
+                }
+                if (mSubscribers.isEmpty()) {
+                    if (mFlights.get(mKey) == this) {
+                        mFlights.remove(mKey);
+                    }
+                    cancelExchange = true;
+                }
+            }
+
+            subscriber.complete(null, new IOException("Canceled"));
+            if (cancelExchange) {
+                mCall.cancel();
+            }
+        }
+    }
+
+    /**
+     * The per-caller {@link Call} that subscribes to a shared {@link Flight}.
+     */
+    private final class SharedCall<T> implements Call<T> {
+
+        private final Call<T> mDelegate;
+        private final Executor mCallbackExecutor;
+        private final AtomicBoolean mExecuted = new AtomicBoolean();
+        private final AtomicBoolean mCompleted = new AtomicBoolean();
+        private final CountDownLatch mDone = new CountDownLatch(1);
+
+        private volatile boolean mCanceled;
+        private volatile Flight<T> mFlight;
+        private volatile Callback<T> mCallback;
+        private volatile Response<T> mResponse;
+        private volatile Throwable mFailure;
+
+        SharedCall(Call<T> delegate, Executor callbackExecutor) {
+            mDelegate = delegate;
+            mCallbackExecutor = callbackExecutor;
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            if (!mExecuted.compareAndSet(false, true)) {
+                throw new IllegalStateException("Already executed.");
+            }
+            if (mCanceled) {
+                throw new IOException("Canceled");
+            }
+
+            Flight<T> flight = join();
+            if (flight != null) {
+                // This call leads the exchange, run it on the calling thread
+                Response<T> response;
+                try {
+                    response = flight.mCall.execute();
+                } catch (Throwable t) {
+                    flight.finish(null, t);
+                    throw t;
+                }
+                flight.finish(response, null);
+            }
+
+            try {
+                mDone.await();
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for shared response");
+            }
+
+            Throwable failure = mFailure;
+            if (failure == null) {
+                return mResponse;
+            } else if (failure instanceof IOException) {
+                throw (IOException) failure;
+            } else if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            }
+            throw new RuntimeException(failure);
+        }
+
+        @Override
+        public void enqueue(Callback<T> callback) {
+            if (callback == null) {
+                throw new NullPointerException("callback == null");
+            }
+            if (!mExecuted.compareAndSet(false, true)) {
+                throw new IllegalStateException("Already executed.");
+            }
+
+            mCallback = callback;
+            if (mCanceled) {
+                complete(null, new IOException("Canceled"));
+                return;
+            }
+
+            Flight<T> flight = join();
+            if (flight != null) {
+                flight.start();
+            }
+        }
+
+        /**
+         * Subscribes to the flight for this request, creating it if there is none.
+         *
+         * @return The new flight if this call has to start it, {@code null} if it joined one
+         */
+        @SuppressWarnings("unchecked")
+        private Flight<T> join() {
+            String key = keyOf(mDelegate.request());
+            synchronized (mFlights) {
+                Flight<T> flight = (Flight<T>) mFlights.get(key);
+                boolean leader = flight == null;
+                if (leader) {
+                    flight = new Flight<>(key, mDelegate);
+                    mFlights.put(key, flight);
+                }
+                flight.mSubscribers.add(this);
+                mFlight = flight;
+                return leader ? flight : null;
+            }
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return mExecuted.get();
+        }
+
+        @Override
+        public void cancel() {
+            mCanceled = true;
+            Flight<T> flight = mFlight;
+            if (flight != null) {
+                flight.unsubscribe(this);
+            }
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return mCanceled;
+        }
+
+        @Override
+        public Call<T> clone() {
+            return new SharedCall<>(mDelegate.clone(), mCallbackExecutor);
+        }
+
+        @Override
+        public Request request() {
+            return mDelegate.request();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return mDelegate.timeout();
+        }
+
+        void complete(Response<T> response, Throwable failure) {
+            if (!mCompleted.compareAndSet(false, true)) {
+                return;
+            }
+            if (mCanceled && failure == null) {
+                response = null;
+                failure = new IOException("Canceled");
+            }
+            mResponse = response;
+            mFailure = failure;
+            mDone.countDown();
+
+            final Callback<T> callback = mCallback;
+            if (callback == null) {
+                return;
+            }
+
+            final Response<T> finalResponse = response;
+            final Throwable finalFailure = failure;
+            Runnable delivery = new Runnable() {
+                @Override
+                public void run() {
+                    if (finalFailure != null) {
+                        callback.onFailure(SharedCall.this, finalFailure);
+                    } else {
+                        callback.onResponse(SharedCall.this, finalResponse);
+                    }
+                }
+            };
+
+            if (mCallbackExecutor != null) {
+                mCallbackExecutor.execute(delivery);
+            } else {
+                delivery.run();
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import io.github.kaaes.spotify.webapi.core.Options;
+import io.github.kaaes.spotify.webapi.core.store.EntityStore;
+import okhttp3.Request;
+import okio.Timeout;
+import retrofit2.Call;
+import retrofit2.CallAdapter;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+
+/**
+ * Feeds every successful response body into an {@link EntityStore}.
+ * <p>
+ * Responses to requests with a {@code fields} query parameter are not stored, they only
+ * hold the requested subset of each model and would shadow the complete objects already in
+ * the store. The store is filled on the thread the call runs on, before the result is handed
+ * to the callback executor.
+ * <p>
+ * It has to be added before any other call adapter factory, which it delegates to.
+ */
+public class EntityStoreCallAdapterFactory extends CallAdapter.Factory {
+
+    private final EntityStore mEntityStore;
+
+    public EntityStoreCallAdapterFactory(EntityStore entityStore) {
+        mEntityStore = entityStore;
+    }
+
+    @Override
+    public CallAdapter<?, ?> get(Type returnType, Annotation[] annotations, Retrofit retrofit) {
+        if (getRawType(returnType) != Call.class) {
+            return null;
+        }
+
+        @SuppressWarnings("unchecked")
+        final CallAdapter<Object, Object> delegate =
+                (CallAdapter<Object, Object>) retrofit.nextCallAdapter(this, returnType, annotations);
+
+        return new CallAdapter<Object, Object>() {
+            @Override
+            public Type responseType() {
+                return delegate.responseType();
+            }
+
+            @Override
+            public Object adapt(Call<Object> call) {
+                return delegate.adapt(new StoringCall<>(call));
+            }
+        };
+    }
+
+    private void store(Call<?> call, Response<?> response) {
+        if (response.isSuccessful()
+                && response.body() != null
+                && call.request().url().queryParameter(Options.FIELDS) == null) {
+            mEntityStore.putAll(response.body());
+        }
+    }
+
+    private final class StoringCall<T> implements Call<T> {
+
+        private final Call<T> mDelegate;
+
+        StoringCall(Call<T> delegate) {
+            mDelegate = delegate;
+        }
+
+        @Override
+        public Response<T> execute() throws IOException {
+            Response<T> response = mDelegate.execute();
+            store(mDelegate, response);
+            return response;
+        }
+
+        @Override
+        public void enqueue(final Callback<T> callback) {
+            mDelegate.enqueue(new Callback<T>() {
+                @Override
+                public void onResponse(Call<T> call, Response<T> response) {
+                    store(call, response);
+                    callback.onResponse(StoringCall.this, response);
+                }
+
+                @Override
+                public void onFailure(Call<T> call, Throwable t) {
+                    callback.onFailure(StoringCall.this, t);
+                }
+            });
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return mDelegate.isExecuted();
+        }
+
+        @Override
+        public void cancel() {
+            mDelegate.cancel();
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return mDelegate.isCanceled();
+        }
+
+        @Override
+        public Call<T> clone() {
+            return new StoringCall<>(mDelegate.clone());
+        }
+
+        @Override
+        public Request request() {
+            return mDelegate.request();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return mDelegate.timeout();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import java.util.concurrent.Executor;
+
+import io.github.kaaes.spotify.webapi.core.models.Album;
+import io.github.kaaes.spotify.webapi.core.models.Artist;
+import io.github.kaaes.spotify.webapi.core.models.Track;
+import io.github.kaaes.spotify.webapi.core.store.EntityStore;
+import retrofit2.Call;
+
+/**
+ * A {@link SpotifyService} that answers {@link #getTrack(String)}, {@link #getAlbum(String)}
+ * and {@link #getArtist(String)} from an {@link EntityStore} when it holds a fresh full object.
+ * <p>
+ * The store is filled by {@link EntityStoreCallAdapterFactory}, so tracks seen in playlists,
+ * saved tracks or recommendations are not requested again on detail screens. Responses
+ * requested with a {@code fields} filter are not stored.
+ * <p>
+ * Basic usage:
+ * SpotifyClient client = new SpotifyClient.Builder()
+ * .setAccessToken(accessToken)
+ * .setEntityStore(new EntityStore())
+ * .build();
+ */
+public class EntityStoreSpotifyService extends ForwardingSpotifyService {
+
+    private final EntityStore mEntityStore;
+    private final Executor mCallbackExecutor;
+
+    /**
+     * @param delegate         The service used when the store can't answer
+     * @param entityStore      The store to read from
+     * @param callbackExecutor Executor on which callbacks of answered calls are invoked,
+     *                         usually {@code retrofit.callbackExecutor()}
+     */
+    public EntityStoreSpotifyService(SpotifyService delegate, EntityStore entityStore, Executor callbackExecutor) {
+        super(delegate);
+        mEntityStore = entityStore;
+        mCallbackExecutor = callbackExecutor;
+    }
+
+    @Override
+    public Call<Track> getTrack(String trackId) {
+        Call<Track> call = mDelegate.getTrack(trackId);
+        Track track = mEntityStore.getTrack(trackId);
+        return track != null ? new CompletedCall<>(track, call.request(), mCallbackExecutor) : call;
+    }
+
+    @Override
+    public Call<Album> getAlbum(String albumId) {
+        Call<Album> call = mDelegate.getAlbum(albumId);
+        Album album = mEntityStore.getAlbum(albumId);
+        return album != null ? new CompletedCall<>(album, call.request(), mCallbackExecutor) : call;
+    }
+
+    @Override
+    public Call<Artist> getArtist(String artistId) {
+        Call<Artist> call = mDelegate.getArtist(artistId);
+        Artist artist = mEntityStore.getArtist(artistId);
+        return artist != null ? new CompletedCall<>(artist, call.request(), mCallbackExecutor) : call;
+    }
+}
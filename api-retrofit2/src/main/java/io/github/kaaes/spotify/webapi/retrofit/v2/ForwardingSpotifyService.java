@@ -0,0 +1,462 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import java.util.Map;
+
+import io.github.kaaes.spotify.webapi.core.models.Album;
+import io.github.kaaes.spotify.webapi.core.models.Albums;
+import io.github.kaaes.spotify.webapi.core.models.AlbumsPager;
+import io.github.kaaes.spotify.webapi.core.models.Artist;
+import io.github.kaaes.spotify.webapi.core.models.Artists;
+import io.github.kaaes.spotify.webapi.core.models.ArtistsCursorPager;
+import io.github.kaaes.spotify.webapi.core.models.ArtistsPager;
+import io.github.kaaes.spotify.webapi.core.models.AudioFeaturesTrack;
+import io.github.kaaes.spotify.webapi.core.models.AudioFeaturesTracks;
+import io.github.kaaes.spotify.webapi.core.models.CategoriesPager;
+import io.github.kaaes.spotify.webapi.core.models.Category;
+import io.github.kaaes.spotify.webapi.core.models.CursorPager;
+import io.github.kaaes.spotify.webapi.core.models.FeaturedPlaylists;
+import io.github.kaaes.spotify.webapi.core.models.NewReleases;
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import io.github.kaaes.spotify.webapi.core.models.Playlist;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistFollowPrivacy;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistSimple;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTrack;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistsPager;
+import io.github.kaaes.spotify.webapi.core.models.RecentlyPlayedTrack;
+import io.github.kaaes.spotify.webapi.core.models.Recommendations;
+import io.github.kaaes.spotify.webapi.core.models.Result;
+import io.github.kaaes.spotify.webapi.core.models.SavedAlbum;
+import io.github.kaaes.spotify.webapi.core.models.SavedTrack;
+import io.github.kaaes.spotify.webapi.core.models.SearchResult;
+import io.github.kaaes.spotify.webapi.core.models.SeedsGenres;
+import io.github.kaaes.spotify.webapi.core.models.SnapshotId;
+import io.github.kaaes.spotify.webapi.core.models.Track;
+import io.github.kaaes.spotify.webapi.core.models.Tracks;
+import io.github.kaaes.spotify.webapi.core.models.TracksPager;
+import io.github.kaaes.spotify.webapi.core.models.TracksToRemove;
+import io.github.kaaes.spotify.webapi.core.models.TracksToRemoveWithPosition;
+import io.github.kaaes.spotify.webapi.core.models.UserPrivate;
+import io.github.kaaes.spotify.webapi.core.models.UserPublic;
+import retrofit2.Call;
+
+/**
+ * A {@link SpotifyService} that forwards every call to another service.
+ * <p>
+ * Subclasses override only the endpoints they want to decorate.
+ */
+public abstract class ForwardingSpotifyService implements SpotifyService {
+
+    protected final SpotifyService mDelegate;
+
+    protected ForwardingSpotifyService(SpotifyService delegate) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate service can't be null");
+        }
+        mDelegate = delegate;
+    }
+
+    @Override
+    public Call<UserPrivate> getMe() {
+        return mDelegate.getMe();
+    }
+
+    @Override
+    public Call<UserPublic> getUser(String userId) {
+        return mDelegate.getUser(userId);
+    }
+
+    @Override
+    public Call<Pager<PlaylistSimple>> getMyPlaylists() {
+        return mDelegate.getMyPlaylists();
+    }
+
+    @Override
+    public Call<Pager<PlaylistSimple>> getMyPlaylists(Map<String, Object> options) {
+        return mDelegate.getMyPlaylists(options);
+    }
+
+    @Override
+    public Call<Pager<PlaylistSimple>> getPlaylists(String userId, Map<String, Object> options) {
+        return mDelegate.getPlaylists(userId, options);
+    }
+
+    @Override
+    public Call<Pager<PlaylistSimple>> getPlaylists(String userId) {
+        return mDelegate.getPlaylists(userId);
+    }
+
+    @Override
+    public Call<Playlist> getPlaylist(String userId, String playlistId, Map<String, Object> options) {
+        return mDelegate.getPlaylist(userId, playlistId, options);
+    }
+
+    @Override
+    public Call<Playlist> getPlaylist(String userId, String playlistId) {
+        return mDelegate.getPlaylist(userId, playlistId);
+    }
+
+    @Override
+    public Call<Pager<PlaylistTrack>> getPlaylistTracks(String userId, String playlistId, Map<String, Object> options) {
+        return mDelegate.getPlaylistTracks(userId, playlistId, options);
+    }
+
+    @Override
+    public Call<Pager<PlaylistTrack>> getPlaylistTracks(String userId, String playlistId) {
+        return mDelegate.getPlaylistTracks(userId, playlistId);
+    }
+
+    @Override
+    public Call<Playlist> createPlaylist(String userId, Map<String, Object> options) {
+        return mDelegate.createPlaylist(userId, options);
+    }
+
+    @Override
+    public Call<SnapshotId> addTracksToPlaylist(String userId, String playlistId, Map<String, Object> queryParameters, Map<String, Object> body) {
+        return mDelegate.addTracksToPlaylist(userId, playlistId, queryParameters, body);
+    }
+
+    @Override
+    public Call<SnapshotId> removeTracksFromPlaylist(String userId, String playlistId, TracksToRemove tracksToRemove) {
+        return mDelegate.removeTracksFromPlaylist(userId, playlistId, tracksToRemove);
+    }
+
+    @Override
+    public Call<SnapshotId> removeTracksFromPlaylist(String userId, String playlistId, TracksToRemoveWithPosition tracksToRemoveWithPosition) {
+        return mDelegate.removeTracksFromPlaylist(userId, playlistId, tracksToRemoveWithPosition);
+    }
+
+    @Override
+    public Call<Result> replaceTracksInPlaylist(String userId, String playlistId, String trackUris) {
+        return mDelegate.replaceTracksInPlaylist(userId, playlistId, trackUris);
+    }
+
+    @Override
+    public Call<Result> changePlaylistDetails(String userId, String playlistId, Map<String, Object> body) {
+        return mDelegate.changePlaylistDetails(userId, playlistId, body);
+    }
+
+    @Override
+    public Call<Result> followPlaylist(String userId, String playlistId) {
+        return mDelegate.followPlaylist(userId, playlistId);
+    }
+
+    @Override
+    public Call<Result> followPlaylist(String userId, String playlistId, PlaylistFollowPrivacy playlistFollowPrivacy) {
+        return mDelegate.followPlaylist(userId, playlistId, playlistFollowPrivacy);
+    }
+
+    @Override
+    public Call<Result> unfollowPlaylist(String userId, String playlistId) {
+        return mDelegate.unfollowPlaylist(userId, playlistId);
+    }
+
+    @Override
+    public Call<SnapshotId> reorderPlaylistTracks(String userId, String playlistId, Map<String, Object> body) {
+        return mDelegate.reorderPlaylistTracks(userId, playlistId, body);
+    }
+
+    @Override
+    public Call<Album> getAlbum(String albumId) {
+        return mDelegate.getAlbum(albumId);
+    }
+
+    @Override
+    public Call<Album> getAlbum(String albumId, Map<String, Object> options) {
+        return mDelegate.getAlbum(albumId, options);
+    }
+
+    @Override
+    public Call<Albums> getAlbums(String albumIds) {
+        return mDelegate.getAlbums(albumIds);
+    }
+
+    @Override
+    public Call<Albums> getAlbums(String albumIds, Map<String, Object> options) {
+        return mDelegate.getAlbums(albumIds, options);
+    }
+
+    @Override
+    public Call<Pager<Track>> getAlbumTracks(String albumId) {
+        return mDelegate.getAlbumTracks(albumId);
+    }
+
+    @Override
+    public Call<Pager<Track>> getAlbumTracks(String albumId, Map<String, Object> options) {
+        return mDelegate.getAlbumTracks(albumId, options);
+    }
+
+    @Override
+    public Call<Artist> getArtist(String artistId) {
+        return mDelegate.getArtist(artistId);
+    }
+
+    @Override
+    public Call<Artists> getArtists(String artistIds) {
+        return mDelegate.getArtists(artistIds);
+    }
+
+    @Override
+    public Call<Pager<Album>> getArtistAlbums(String artistId) {
+        return mDelegate.getArtistAlbums(artistId);
+    }
+
+    @Override
+    public Call<Pager<Album>> getArtistAlbums(String artistId, Map<String, Object> options) {
+        return mDelegate.getArtistAlbums(artistId, options);
+    }
+
+    @Override
+    public Call<Tracks> getArtistTopTrack(String artistId, String country) {
+        return mDelegate.getArtistTopTrack(artistId, country);
+    }
+
+    @Override
+    public Call<Artists> getRelatedArtists(String artistId) {
+        return mDelegate.getRelatedArtists(artistId);
+    }
+
+    @Override
+    public Call<Track> getTrack(String trackId) {
+        return mDelegate.getTrack(trackId);
+    }
+
+    @Override
+    public Call<Track> getTrack(String trackId, Map<String, Object> options) {
+        return mDelegate.getTrack(trackId, options);
+    }
+
+    @Override
+    public Call<Tracks> getTracks(String trackIds) {
+        return mDelegate.getTracks(trackIds);
+    }
+
+    @Override
+    public Call<Tracks> getTracks(String trackIds, Map<String, Object> options) {
+        return mDelegate.getTracks(trackIds, options);
+    }
+
+    @Override
+    public Call<FeaturedPlaylists> getFeaturedPlaylists() {
+        return mDelegate.getFeaturedPlaylists();
+    }
+
+    @Override
+    public Call<FeaturedPlaylists> getFeaturedPlaylists(Map<String, Object> options) {
+        return mDelegate.getFeaturedPlaylists(options);
+    }
+
+    @Override
+    public Call<NewReleases> getNewReleases() {
+        return mDelegate.getNewReleases();
+    }
+
+    @Override
+    public Call<NewReleases> getNewReleases(Map<String, Object> options) {
+        return mDelegate.getNewReleases(options);
+    }
+
+    @Override
+    public Call<CategoriesPager> getCategories(Map<String, Object> options) {
+        return mDelegate.getCategories(options);
+    }
+
+    @Override
+    public Call<Category> getCategory(String categoryId, Map<String, Object> options) {
+        return mDelegate.getCategory(categoryId, options);
+    }
+
+    @Override
+    public Call<PlaylistsPager> getPlaylistsForCategory(String categoryId, Map<String, Object> options) {
+        return mDelegate.getPlaylistsForCategory(categoryId, options);
+    }
+
+    @Override
+    public Call<Pager<SavedTrack>> getMySavedTracks() {
+        return mDelegate.getMySavedTracks();
+    }
+
+    @Override
+    public Call<Pager<SavedTrack>> getMySavedTracks(Map<String, Object> options) {
+        return mDelegate.getMySavedTracks(options);
+    }
+
+    @Override
+    public Call<Boolean[]> containsMySavedTracks(String ids) {
+        return mDelegate.containsMySavedTracks(ids);
+    }
+
+    @Override
+    public Call<Result> addToMySavedTracks(String ids) {
+        return mDelegate.addToMySavedTracks(ids);
+    }
+
+    @Override
+    public Call<Result> removeFromMySavedTracks(String ids) {
+        return mDelegate.removeFromMySavedTracks(ids);
+    }
+
+    @Override
+    public Call<Pager<SavedAlbum>> getMySavedAlbums() {
+        return mDelegate.getMySavedAlbums();
+    }
+
+    @Override
+    public Call<Pager<SavedAlbum>> getMySavedAlbums(Map<String, Object> options) {
+        return mDelegate.getMySavedAlbums(options);
+    }
+
+    @Override
+    public Call<Boolean[]> containsMySavedAlbums(String ids) {
+        return mDelegate.containsMySavedAlbums(ids);
+    }
+
+    @Override
+    public Call<Result> addToMySavedAlbums(String ids) {
+        return mDelegate.addToMySavedAlbums(ids);
+    }
+
+    @Override
+    public Call<Result> removeFromMySavedAlbums(String ids) {
+        return mDelegate.removeFromMySavedAlbums(ids);
+    }
+
+    @Override
+    public Call<Result> followUsers(String ids) {
+        return mDelegate.followUsers(ids);
+    }
+
+    @Override
+    public Call<Result> followArtists(String ids) {
+        return mDelegate.followArtists(ids);
+    }
+
+    @Override
+    public Call<Result> unfollowUsers(String ids) {
+        return mDelegate.unfollowUsers(ids);
+    }
+
+    @Override
+    public Call<Result> unfollowArtists(String ids) {
+        return mDelegate.unfollowArtists(ids);
+    }
+
+    @Override
+    public Call<Boolean[]> isFollowingUsers(String ids) {
+        return mDelegate.isFollowingUsers(ids);
+    }
+
+    @Override
+    public Call<Boolean[]> isFollowingArtists(String ids) {
+        return mDelegate.isFollowingArtists(ids);
+    }
+
+    @Override
+    public Call<Boolean[]> areFollowingPlaylist(String userId, String playlistId, String ids) {
+        return mDelegate.areFollowingPlaylist(userId, playlistId, ids);
+    }
+
+    @Override
+    public Call<ArtistsCursorPager> getFollowedArtists() {
+        return mDelegate.getFollowedArtists();
+    }
+
+    @Override
+    public Call<ArtistsCursorPager> getFollowedArtists(Map<String, Object> options) {
+        return mDelegate.getFollowedArtists(options);
+    }
+
+    @Override
+    public Call<SearchResult> search(String q, String type) {
+        return mDelegate.search(q, type);
+    }
+
+    @Override
+    public Call<SearchResult> search(String q, String type, Map<String, Object> options) {
+        return mDelegate.search(q, type, options);
+    }
+
+    @Override
+    public Call<TracksPager> searchTracks(String q) {
+        return mDelegate.searchTracks(q);
+    }
+
+    @Override
+    public Call<TracksPager> searchTracks(String q, Map<String, Object> options) {
+        return mDelegate.searchTracks(q, options);
+    }
+
+    @Override
+    public Call<ArtistsPager> searchArtists(String q) {
+        return mDelegate.searchArtists(q);
+    }
+
+    @Override
+    public Call<ArtistsPager> searchArtists(String q, Map<String, Object> options) {
+        return mDelegate.searchArtists(q, options);
+    }
+
+    @Override
+    public Call<AlbumsPager> searchAlbums(String q) {
+        return mDelegate.searchAlbums(q);
+    }
+
+    @Override
+    public Call<AlbumsPager> searchAlbums(String q, Map<String, Object> options) {
+        return mDelegate.searchAlbums(q, options);
+    }
+
+    @Override
+    public Call<PlaylistsPager> searchPlaylists(String q) {
+        return mDelegate.searchPlaylists(q);
+    }
+
+    @Override
+    public Call<PlaylistsPager> searchPlaylists(String q, Map<String, Object> options) {
+        return mDelegate.searchPlaylists(q, options);
+    }
+
+    @Override
+    public Call<AudioFeaturesTracks> getTracksAudioFeatures(String ids) {
+        return mDelegate.getTracksAudioFeatures(ids);
+    }
+
+    @Override
+    public Call<AudioFeaturesTrack> getTrackAudioFeatures(String id) {
+        return mDelegate.getTrackAudioFeatures(id);
+    }
+
+    @Override
+    public Call<Recommendations> getRecommendations(Map<String, Object> options) {
+        return mDelegate.getRecommendations(options);
+    }
+
+    @Override
+    public Call<SeedsGenres> getSeedsGenres() {
+        return mDelegate.getSeedsGenres();
+    }
+
+    @Override
+    public Call<Pager<Artist>> getTopArtists() {
+        return mDelegate.getTopArtists();
+    }
+
+    @Override
+    public Call<Pager<Artist>> getTopArtists(Map<String, Object> options) {
+        return mDelegate.getTopArtists(options);
+    }
+
+    @Override
+    public Call<Pager<Track>> getTopTracks() {
+        return mDelegate.getTopTracks();
+    }
+
+    @Override
+    public Call<Pager<Track>> getTopTracks(Map<String, Object> options) {
+        return mDelegate.getTopTracks(options);
+    }
+
+    @Override
+    public Call<CursorPager<RecentlyPlayedTrack>> getRecentlyPlayed(Map<String, Object> options) {
+        return mDelegate.getRecentlyPlayed(options);
+    }
+}
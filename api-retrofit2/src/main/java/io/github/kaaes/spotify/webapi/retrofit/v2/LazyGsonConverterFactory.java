@@ -0,0 +1,47 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.reflect.TypeToken;
+
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+
+import io.github.kaaes.spotify.webapi.core.gson.LazyJsonReader;
+import okhttp3.ResponseBody;
+import retrofit2.Converter;
+import retrofit2.Retrofit;
+
+/**
+ * Parses response bodies with a {@link LazyJsonReader}, so images, markets, external URLs
+ * and external IDs of the models are only parsed when they are read.
+ * <p>
+ * The Gson instance has to come from {@link Spotify#createGson()}, since only the generated
+ * adapters defer fields. Request bodies are left to the next converter factory.
+ */
+public class LazyGsonConverterFactory extends Converter.Factory {
+
+    private final Gson mGson;
+
+    public LazyGsonConverterFactory(Gson gson) {
+        mGson = gson;
+    }
+
+    @Override
+    public Converter<ResponseBody, ?> responseBodyConverter(Type type, Annotation[] annotations, Retrofit retrofit) {
+        final TypeAdapter<?> adapter = mGson.getAdapter(TypeToken.get(type));
+        return new Converter<ResponseBody, Object>() {
+            @Override
+            public Object convert(ResponseBody value) throws IOException {
+                try {
+                    LazyJsonReader reader = new LazyJsonReader(value.string());
+                    reader.setLenient(true);
+                    return adapter.read(reader);
+                } finally {
+                    value.close();
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,307 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import io.github.kaaes.spotify.webapi.core.Options;
+import io.github.kaaes.spotify.webapi.core.models.ErrorDetails;
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import retrofit2.Response;
+
+/**
+ * Fetches a whole offset-paged collection with several page requests in flight.
+ * <p>
+ * The first page tells the {@code total}, so every remaining offset is known up front and
+ * the pages can be requested concurrently, with bounded parallelism, instead of one after
+ * the other. Pages are put back in order and a page that fails with a network error or a
+ * server error is retried on its own. Rate limited responses are not retried here. Build the
+ * client with a {@link RateLimitInterceptor}, which waits and retries them.
+ * <p>
+ * Works with endpoints returning a {@link Pager} such as {@code getMySavedTracks},
+ * {@code getMySavedAlbums}, {@code getPlaylistTracks} and {@code getArtistAlbums}.
+ * {@link #fetchAll()} blocks until every page is loaded so it must not be called on the
+ * main thread.
+ * <p>
+ * Basic usage:
+ * List&lt;SavedTrack&gt; library = new OffsetPageFetcher.Builder&lt;&gt;(new PagedIterable.PageLoader&lt;Pager&lt;SavedTrack&gt;&gt;() {
+ * public Call&lt;Pager&lt;SavedTrack&gt;&gt; load(Map&lt;String, Object&gt; options) {
+ * return spotify.getMySavedTracks(options);
+ * }
+ * }).setPageSize(50).build().fetchAll();
+ *
+ * @param <T> Type of the paged items
+ */
+public class OffsetPageFetcher<T> {
+
+    public static final int DEFAULT_PARALLELISM = 4;
+    public static final int DEFAULT_MAX_RETRIES = 2;
+
+    private static final long RETRY_BACKOFF_MS = 250;
+    private static final long FETCH_KEEP_ALIVE_MS = 30 * 1000;
+
+    /**
+     * Runs the page loads of every fetcher that was not given its own executor. It is not
+     * shared with {@link PagedIterable} and grows with the number of fetches, so a fetch never
+     * waits for a thread held by another one that is blocked waiting for its own pages.
+     */
+    static final ExecutorService DEFAULT_EXECUTOR = createDefaultExecutor();
+
+    private static ExecutorService createDefaultExecutor() {
+        return new ThreadPoolExecutor(
+                0, Integer.MAX_VALUE, FETCH_KEEP_ALIVE_MS, TimeUnit.MILLISECONDS,
+                new SynchronousQueue<Runnable>(),
+                new ThreadFactory() {
+                    private final AtomicInteger mCount = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "SpotifyPageFetch-" + mCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+    }
+
+    private final PagedIterable.PageLoader<? extends Pager<? extends T>> mLoader;
+    private final Map<String, Object> mOptions;
+    private final int mPageSize;
+    private final int mParallelism;
+    private final int mMaxRetries;
+    private final Executor mExecutor;
+
+    private OffsetPageFetcher(Builder<T> builder) {
+        mLoader = builder.mLoader;
+        mOptions = builder.mOptions;
+        mPageSize = builder.mPageSize;
+        mParallelism = builder.mParallelism;
+        mMaxRetries = builder.mMaxRetries;
+        mExecutor = builder.mExecutor;
+    }
+
+    /**
+     * Loads the first page, then every remaining page concurrently.
+     *
+     * @return All items of the collection in order
+     * @throws SpotifyError If a page still fails after its retries, can't be read or has no body
+     */
+    public List<T> fetchAll() throws SpotifyError {
+        Pager<? extends T> first = loadPage(0);
+        if (first == null) {
+            return new ArrayList<>();
+        }
+        int limit = first.limit > 0 ? first.limit : size(first);
+        int total = first.total;
+
+        final List<Integer> offsets = new ArrayList<>();
+        for (int offset = first.offset + limit; limit > 0 && offset < total; offset += limit) {
+            offsets.add(offset);
+        }
+
+        final AtomicReferenceArray<Pager<? extends T>> pages = new AtomicReferenceArray<>(offsets.size());
+        final SpotifyError[] failure = new SpotifyError[1];
+        final AtomicInteger nextIndex = new AtomicInteger();
+
+        int workers = Math.min(mParallelism, offsets.size());
+        final CountDownLatch done = new CountDownLatch(workers);
+        for (int i = 0; i < workers; i++) {
+            mExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        int index;
+                        while ((index = nextIndex.getAndIncrement()) < offsets.size()) {
+                            synchronized (failure) {
+                                if (failure[0] != null) {
+                                    return;
+                                }
+                            }
+                            SpotifyError error;
+                            try {
+                                Pager<? extends T> page = loadPage(offsets.get(index));
+                                if (page != null) {
+                                    pages.set(index, page);
+                                    continue;
+                                }
+                                error = error(SpotifyError.ERROR_UNEXPECTED,
+                                        "Empty page at offset " + offsets.get(index), null);
+                            } catch (SpotifyError e) {
+                                error = e;
+                            } catch (RuntimeException e) {
+                                error = error(SpotifyError.ERROR_UNEXPECTED,
+                                        "Failed to load page at offset " + offsets.get(index), e);
+                            }
+                            synchronized (failure) {
+                                if (failure[0] == null) {
+                                    failure[0] = error;
+                                }
+                            }
+                            return;
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            });
+        }
+
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            synchronized (failure) {
+                if (failure[0] == null) {
+                    failure[0] = error(SpotifyError.ERROR_UNEXPECTED, "Interrupted while fetching pages", e);
+                }
+            }
+        }
+
+        synchronized (failure) {
+            if (failure[0] != null) {
+                throw failure[0];
+            }
+        }
+
+        List<T> items = new ArrayList<>(Math.max(total, size(first)));
+        addItems(items, first);
+        for (int i = 0; i < pages.length(); i++) {
+            addItems(items, pages.get(i));
+        }
+        return items;
+    }
+
+    private Pager<? extends T> loadPage(int offset) throws SpotifyError {
+        Map<String, Object> options = new HashMap<>(mOptions);
+        if (offset > 0) {
+            options.put(Options.OFFSET, offset);
+        }
+        if (mPageSize > 0) {
+            options.put(Options.LIMIT, mPageSize);
+        }
+
+        int attempt = 0;
+        while (true) {
+            SpotifyError error;
+            try {
+                Response<? extends Pager<? extends T>> response = mLoader.load(options).execute();
+                if (response.isSuccessful()) {
+                    return response.body();
+                }
+                error = SpotifyError.fromResponse(response);
+                if (!isRetryable(response.code())) {
+                    throw error;
+                }
+            } catch (IOException e) {
+                error = error(SpotifyError.ERROR_NETWORK, "Network error", e);
+            }
+
+            if (attempt++ >= mMaxRetries) {
+                throw error;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(RETRY_BACKOFF_MS << (attempt - 1));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw error;
+            }
+        }
+    }
+
+    private static boolean isRetryable(int code) {
+        return code >= 500;
+    }
+
+    private static int size(Pager<?> page) {
+        return page != null && page.items != null ? page.items.size() : 0;
+    }
+
+    private static <T> void addItems(List<T> items, Pager<? extends T> page) {
+        if (page != null && page.items != null) {
+            items.addAll(page.items);
+        }
+    }
+
+    private static SpotifyError error(int status, String message, Throwable cause) {
+        ErrorDetails details = new ErrorDetails();
+        details.status = status;
+        details.message = message;
+        return new SpotifyError(details, cause);
+    }
+
+    public static class Builder<T> {
+
+        private final PagedIterable.PageLoader<? extends Pager<? extends T>> mLoader;
+        private Map<String, Object> mOptions = new HashMap<>();
+        private int mPageSize;
+        private int mParallelism = DEFAULT_PARALLELISM;
+        private int mMaxRetries = DEFAULT_MAX_RETRIES;
+        private Executor mExecutor = DEFAULT_EXECUTOR;
+
+        public Builder(PagedIterable.PageLoader<? extends Pager<? extends T>> loader) {
+            mLoader = loader;
+        }
+
+        /**
+         * Sets options passed with every page, for example {@link Options#MARKET}.
+         */
+        public Builder<T> setOptions(Map<String, Object> options) {
+            mOptions = new HashMap<>(options);
+            return this;
+        }
+
+        /**
+         * Sets the {@link Options#LIMIT} of every page. Defaults to the endpoint's default limit.
+         */
+        public Builder<T> setPageSize(int pageSize) {
+            mPageSize = pageSize;
+            return this;
+        }
+
+        /**
+         * Sets how many pages may be requested at the same time.
+         */
+        public Builder<T> setParallelism(int parallelism) {
+            if (parallelism < 1) {
+                throw new IllegalArgumentException("Parallelism must be at least 1");
+            }
+            mParallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Sets how many times a page failing with a network or server error is retried.
+         */
+        public Builder<T> setMaxRetries(int maxRetries) {
+            if (maxRetries < 0) {
+                throw new IllegalArgumentException("Max retries can't be negative");
+            }
+            mMaxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * Sets the executor that loads pages. Defaults to a pool used only by fetchers.
+         * {@link #fetchAll()} waits for the pages, so it must not be called on a thread
+         * of a bounded executor it loads with.
+         */
+        public Builder<T> setExecutor(Executor executor) {
+            mExecutor = executor;
+            return this;
+        }
+
+        public OffsetPageFetcher<T> build() {
+            return new OffsetPageFetcher<>(this);
+        }
+    }
+}
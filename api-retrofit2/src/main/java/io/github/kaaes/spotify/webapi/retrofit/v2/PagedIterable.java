@@ -0,0 +1,454 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.kaaes.spotify.webapi.core.Options;
+import io.github.kaaes.spotify.webapi.core.models.CursorPager;
+import io.github.kaaes.spotify.webapi.core.models.ErrorDetails;
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import okhttp3.HttpUrl;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Iterates over every item of a paged endpoint, requesting the following pages as needed.
+ * <p>
+ * While a page is being consumed the next one is already fetched in the background, up to
+ * the configured number of buffered pages, so walking a large library is pipelined instead
+ * of waiting for each page in turn. Pages are followed through the {@code next} URL of
+ * {@link Pager} or the {@code after} cursor of {@link CursorPager}.
+ * <p>
+ * The iterator blocks while the page it needs is loading, so it must not be used on the
+ * main thread. A failed page is reported as a {@link PageException} from
+ * {@link Iterator#hasNext()}.
+ * <p>
+ * Basic usage:
+ * PagedIterable&lt;SavedTrack&gt; savedTracks = PagedIterable.ofPager(new PagedIterable.PageLoader&lt;Pager&lt;SavedTrack&gt;&gt;() {
+ * public Call&lt;Pager&lt;SavedTrack&gt;&gt; load(Map&lt;String, Object&gt; options) {
+ * return spotify.getMySavedTracks(options);
+ * }
+ * });
+ * for (SavedTrack savedTrack : savedTracks) { ... }
+ *
+ * @param <T> Type of the paged items
+ */
+public class PagedIterable<T> implements Iterable<T> {
+
+    public static final int DEFAULT_BUFFERED_PAGES = 2;
+
+    private static final int PAGING_THREADS = 4;
+    private static final long PAGING_KEEP_ALIVE_MS = 30 * 1000;
+
+    /**
+     * Shared by every iterator that was not given its own executor. Page loads never wait for each other, so once all threads are busy the
+     * remaining loads simply queue up.
+     */
+    static final ExecutorService DEFAULT_EXECUTOR = createDefaultExecutor();
+
+    private static final Object END = new Object();
+
+    private static ExecutorService createDefaultExecutor() {
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                PAGING_THREADS, PAGING_THREADS, PAGING_KEEP_ALIVE_MS, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    private final AtomicInteger mCount = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "SpotifyPaging-" + mCount.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Creates the call for one page.
+     *
+     * @param <P> Type of the page response
+     */
+    public interface PageLoader<P> {
+
+        /**
+         * @param options Query options for the page, including the paging parameters
+         */
+        Call<P> load(Map<String, Object> options);
+    }
+
+    /**
+     * Extracts the items and the position of the following page from a page response.
+     * Use it directly for responses that wrap a pager, for example {@code TracksPager}.
+     *
+     * @param <P> Type of the page response
+     * @param <T> Type of the paged items
+     */
+    public interface PageReader<P, T> {
+
+        List<T> getItems(P page);
+
+        /**
+         * @param page    The page that was just loaded
+         * @param options The options the page was loaded with
+         * @return Options for the following page or {@code null} if this was the last one
+         */
+        Map<String, Object> getNextOptions(P page, Map<String, Object> options);
+    }
+
+    /**
+     * Thrown from the iterator when a page could not be loaded.
+     */
+    public static class PageException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        public PageException(SpotifyError cause) {
+            super(cause.getMessage(), cause);
+        }
+
+        public SpotifyError getSpotifyError() {
+            return (SpotifyError) getCause();
+        }
+    }
+
+    private final PageLoader<?> mLoader;
+    private final PageReader<?, T> mReader;
+    private final Map<String, Object> mOptions;
+    private final int mBufferedPages;
+    private final Executor mExecutor;
+
+    private <P> PagedIterable(Builder<P, T> builder) {
+        mLoader = builder.mLoader;
+        mReader = builder.mReader;
+        mOptions = builder.mOptions;
+        mBufferedPages = builder.mBufferedPages;
+        mExecutor = builder.mExecutor;
+    }
+
+    /**
+     * Pages through a {@link Pager} by following its {@code next} URL.
+     */
+    public static <T> PagedIterable<T> ofPager(PageLoader<? extends Pager<? extends T>> loader) {
+        return pagerBuilder(loader).build();
+    }
+
+    /**
+     * Pages through a {@link CursorPager} by following its {@code after} cursor.
+     */
+    public static <T> PagedIterable<T> ofCursorPager(PageLoader<? extends CursorPager<? extends T>> loader) {
+        return cursorPagerBuilder(loader).build();
+    }
+
+    public static <T> Builder<Pager<? extends T>, T> pagerBuilder(PageLoader<? extends Pager<? extends T>> loader) {
+        @SuppressWarnings("unchecked")
+        PageLoader<Pager<? extends T>> pagerLoader = (PageLoader<Pager<? extends T>>) loader;
+        return new Builder<>(pagerLoader, new PageReader<Pager<? extends T>, T>() {
+            @Override
+            public List<T> getItems(Pager<? extends T> page) {
+                return page.items != null ? Collections.<T>unmodifiableList(page.items) : Collections.<T>emptyList();
+            }
+
+            @Override
+            public Map<String, Object> getNextOptions(Pager<? extends T> page, Map<String, Object> options) {
+                return nextOptionsFromUrl(page.next, options, Options.OFFSET, Options.LIMIT);
+            }
+        });
+    }
+
+    public static <T> Builder<CursorPager<? extends T>, T> cursorPagerBuilder(PageLoader<? extends CursorPager<? extends T>> loader) {
+        @SuppressWarnings("unchecked")
+        PageLoader<CursorPager<? extends T>> cursorPagerLoader = (PageLoader<CursorPager<? extends T>>) loader;
+        return new Builder<>(cursorPagerLoader, new PageReader<CursorPager<? extends T>, T>() {
+            @Override
+            public List<T> getItems(CursorPager<? extends T> page) {
+                return page.items != null ? Collections.<T>unmodifiableList(page.items) : Collections.<T>emptyList();
+            }
+
+            @Override
+            public Map<String, Object> getNextOptions(CursorPager<? extends T> page, Map<String, Object> options) {
+                if (page.next == null) {
+                    return null;
+                }
+                if (page.cursors != null && page.cursors.after != null) {
+                    Map<String, Object> nextOptions = new HashMap<>(options);
+                    nextOptions.put(Options.AFTER, page.cursors.after);
+                    return nextOptions;
+                }
+                return nextOptionsFromUrl(page.next, options, Options.AFTER, Options.LIMIT);
+            }
+        });
+    }
+
+    /**
+     * Copies the paging parameters of a {@code next} URL over the given options. Other query
+     * parameters are left out since the loader already passes them as method arguments.
+     */
+    static Map<String, Object> nextOptionsFromUrl(String next, Map<String, Object> options, String... pagingParameters) {
+        HttpUrl url = next != null ? HttpUrl.parse(next) : null;
+        if (url == null) {
+            return null;
+        }
+
+        Map<String, Object> nextOptions = new HashMap<>(options);
+        for (String parameter : pagingParameters) {
+            String value = url.queryParameter(parameter);
+            if (value != null) {
+                nextOptions.put(parameter, value);
+            }
+        }
+        return nextOptions;
+    }
+
+    private static SpotifyError error(int status, String message, Throwable cause) {
+        ErrorDetails details = new ErrorDetails();
+        details.status = status;
+        details.message = message;
+        return new SpotifyError(details, cause);
+    }
+
+    /**
+     * @return A new iterator that starts from the first page. Close it to stop prefetching
+     * when it is abandoned before the last item.
+     */
+    @Override
+    public PageIterator iterator() {
+        return new PageIterator();
+    }
+
+    public static class Builder<P, T> {
+
+        private final PageLoader<P> mLoader;
+        private final PageReader<P, T> mReader;
+        private Map<String, Object> mOptions = new HashMap<>();
+        private int mBufferedPages = DEFAULT_BUFFERED_PAGES;
+        private Executor mExecutor = DEFAULT_EXECUTOR;
+
+        public Builder(PageLoader<P> loader, PageReader<P, T> reader) {
+            mLoader = loader;
+            mReader = reader;
+        }
+
+        /**
+         * Sets the options of the first page, for example {@link Options#LIMIT}.
+         * They are passed to every following page as well.
+         */
+        public Builder<P, T> setOptions(Map<String, Object> options) {
+            mOptions = new HashMap<>(options);
+            return this;
+        }
+
+        /**
+         * Sets how many loaded pages may wait ahead of the one being consumed.
+         * {@code 0} disables prefetching.
+         */
+        public Builder<P, T> setBufferedPages(int bufferedPages) {
+            if (bufferedPages < 0) {
+                throw new IllegalArgumentException("Buffered pages can't be negative");
+            }
+            mBufferedPages = bufferedPages;
+            return this;
+        }
+
+        /**
+         * Sets the executor that loads pages. Defaults to a shared pool of four daemon threads.
+         */
+        public Builder<P, T> setExecutor(Executor executor) {
+            mExecutor = executor;
+            return this;
+        }
+
+        public PagedIterable<T> build() {
+            return new PagedIterable<>(this);
+        }
+    }
+
+    /**
+     * Iterator over the items of all pages, loading pages ahead of the consumer.
+     */
+    public class PageIterator implements Iterator<T>, Closeable {
+
+        private final BlockingQueue<Object> mPages = new LinkedBlockingQueue<>();
+
+        private Map<String, Object> mNextOptions = mOptions;
+        private boolean mLoading;
+        private boolean mWaiting;
+        private int mBuffered;
+        private boolean mClosed;
+        private Call<?> mCall;
+
+        private Iterator<T> mCurrent = Collections.<T>emptyList().iterator();
+        private boolean mFinished;
+
+        PageIterator() {
+            loadIfNeeded();
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!mCurrent.hasNext()) {
+                if (mFinished) {
+                    return false;
+                }
+
+                Object page = takePage();
+                if (page == END) {
+                    mFinished = true;
+                    return false;
+                }
+                if (page instanceof SpotifyError) {
+                    mFinished = true;
+                    throw new PageException((SpotifyError) page);
+                }
+
+                @SuppressWarnings("unchecked")
+                List<T> items = (List<T>) page;
+                mCurrent = items.iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return mCurrent.next();
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        /**
+         * Stops loading pages and cancels the request in flight.
+         */
+        @Override
+        public void close() {
+            Call<?> call;
+            synchronized (this) {
+                mClosed = true;
+                mNextOptions = null;
+                call = mCall;
+            }
+            mFinished = true;
+            mPages.clear();
+            if (call != null) {
+                call.cancel();
+            }
+        }
+
+        private Object takePage() {
+            synchronized (this) {
+                mWaiting = true;
+            }
+            loadIfNeeded();
+
+            Object page;
+            try {
+                page = mPages.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                close();
+                return error(SpotifyError.ERROR_UNEXPECTED, "Interrupted while waiting for page", e);
+            }
+
+            synchronized (this) {
+                mWaiting = false;
+                if (page instanceof List) {
+                    mBuffered--;
+                }
+            }
+            loadIfNeeded();
+            return page;
+        }
+
+        private void loadIfNeeded() {
+            final Map<String, Object> options;
+            synchronized (this) {
+                if (mClosed || mLoading || mNextOptions == null) {
+                    return;
+                }
+                // Without prefetching a page is only loaded once the consumer asks for it
+                if (mBuffered >= mBufferedPages && !(mWaiting && mBuffered == 0)) {
+                    return;
+                }
+                options = mNextOptions;
+                mNextOptions = null;
+                mLoading = true;
+            }
+
+            mExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    load(options);
+                }
+            });
+        }
+
+        @SuppressWarnings("unchecked")
+        private void load(Map<String, Object> options) {
+            PageLoader<Object> loader = (PageLoader<Object>) mLoader;
+            PageReader<Object, T> reader = (PageReader<Object, T>) mReader;
+
+            Object result;
+            Map<String, Object> nextOptions = null;
+            try {
+                Call<Object> call = loader.load(options);
+                synchronized (this) {
+                    if (mClosed) {
+                        return;
+                    }
+                    mCall = call;
+                }
+
+                Response<Object> response = call.execute();
+                if (response.isSuccessful()) {
+                    Object page = response.body();
+                    result = reader.getItems(page);
+                    nextOptions = reader.getNextOptions(page, options);
+                } else {
+                    result = SpotifyError.fromResponse(response);
+                }
+            } catch (IOException e) {
+                result = error(SpotifyError.ERROR_NETWORK, "Network error", e);
+            } catch (RuntimeException e) {
+                result = error(SpotifyError.ERROR_UNEXPECTED, "Unexpected error", e);
+            }
+
+            synchronized (this) {
+                mLoading = false;
+                mCall = null;
+                if (mClosed) {
+                    return;
+                }
+                if (result instanceof List) {
+                    mBuffered++;
+                    mNextOptions = nextOptions;
+                }
+                mPages.add(result);
+                if (result instanceof List && nextOptions == null) {
+                    mPages.add(END);
+                }
+            }
+            loadIfNeeded();
+        }
+    }
+}
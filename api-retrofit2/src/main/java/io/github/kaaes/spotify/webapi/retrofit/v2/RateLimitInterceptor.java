@@ -0,0 +1,291 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Schedules requests so that clients sharing it stay below the Web API rate limit.
+ * <p>
+ * Requests first take a permit from a token bucket which smooths bursts. When the API
+ * answers with HTTP 429 the {@code Retry-After} header closes a global gate: every queued
+ * and new request waits until it opens again and the rate limited request is retried.
+ * <p>
+ * Waiting holds a dispatcher slot, so a request never waits longer than its call timeout
+ * or {@code maxWaitMs}, whichever is shorter. When the gate or the bucket would keep it
+ * longer, it fails fast with a {@code 429} response carrying the remaining {@code Retry-After}.
+ * A canceled call stops waiting.
+ * <p>
+ * It is opt-in. {@link Spotify#getRateLimiter()} is a single instance shared by every
+ * {@link SpotifyClient} built with {@link SpotifyClient.Builder#setRateLimited(boolean)}.
+ */
+public class RateLimitInterceptor implements Interceptor {
+
+    public static final int HTTP_TOO_MANY_REQUESTS = 429;
+
+    public static final double DEFAULT_PERMITS_PER_SECOND = 10;
+    public static final int DEFAULT_BURST = 20;
+    public static final int DEFAULT_MAX_RETRIES = 3;
+    public static final long DEFAULT_MAX_WAIT_MS = TimeUnit.SECONDS.toMillis(10);
+
+    private static final long DEFAULT_RETRY_AFTER_MS = TimeUnit.SECONDS.toMillis(1);
+    private static final long CANCEL_CHECK_INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final String HEADER_RETRY_AFTER = "Retry-After";
+
+    private final double mPermitsPerNano;
+    private final int mBurst;
+    private final int mMaxRetries;
+    private final long mMaxWaitNanos;
+
+    private double mAvailablePermits;
+    private long mLastRefillNanos;
+    private volatile long mGateOpensAtNanos;
+
+    private final AtomicLong mRequestCount = new AtomicLong();
+    private final AtomicLong mDelayedRequestCount = new AtomicLong();
+    private final AtomicLong mTotalDelayNanos = new AtomicLong();
+    private final AtomicLong mMaxDelayNanos = new AtomicLong();
+    private final AtomicLong mRateLimitedResponseCount = new AtomicLong();
+    private final AtomicLong mRejectedRequestCount = new AtomicLong();
+
+    public RateLimitInterceptor() {
+        this(DEFAULT_PERMITS_PER_SECOND, DEFAULT_BURST, DEFAULT_MAX_RETRIES);
+    }
+
+    /**
+     * @param permitsPerSecond Sustained number of requests per second
+     * @param burst            Number of requests that can be sent at once after a quiet period
+     * @param maxRetries       How many times a request answered with 429 is retried
+     */
+    public RateLimitInterceptor(double permitsPerSecond, int burst, int maxRetries) {
+        this(permitsPerSecond, burst, maxRetries, DEFAULT_MAX_WAIT_MS);
+    }
+
+    /**
+     * @param permitsPerSecond Sustained number of requests per second
+     * @param burst            Number of requests that can be sent at once after a quiet period
+     * @param maxRetries       How many times a request answered with 429 is retried
+     * @param maxWaitMs        Longest a request waits for its turn before failing with 429
+     */
+    public RateLimitInterceptor(double permitsPerSecond, int burst, int maxRetries, long maxWaitMs) {
+        if (permitsPerSecond <= 0 || burst < 1 || maxRetries < 0 || maxWaitMs < 0) {
+            throw new IllegalArgumentException("Invalid rate limit configuration");
+        }
+        mPermitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        mBurst = burst;
+        mMaxRetries = maxRetries;
+        mMaxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMs);
+        mAvailablePermits = burst;
+        mLastRefillNanos = System.nanoTime();
+        mGateOpensAtNanos = mLastRefillNanos;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        if (chain.request().cacheControl().onlyIfCached()) {
+            // Answered by the cache without touching the network
+            return chain.proceed(chain.request());
+        }
+
+        mRequestCount.incrementAndGet();
+
+        long maxWaitNanos = mMaxWaitNanos;
+        long callTimeoutNanos = chain.call().timeout().timeoutNanos();
+        if (callTimeoutNanos > 0) {
+            maxWaitNanos = Math.min(maxWaitNanos, callTimeoutNanos);
+        }
+
+        int attempt = 0;
+        Response rateLimited = null;
+        while (true) {
+            if (!awaitTurn(chain.call(), maxWaitNanos)) {
+                mRejectedRequestCount.incrementAndGet();
+                return rateLimited != null ? rateLimited : tooManyRequests(chain.request());
+            }
+
+            Response response = chain.proceed(chain.request());
+            if (response.code() != HTTP_TOO_MANY_REQUESTS) {
+                return response;
+            }
+
+            mRateLimitedResponseCount.incrementAndGet();
+            closeGate(retryAfterMillis(response));
+
+            if (attempt++ >= mMaxRetries) {
+                return response;
+            }
+            // Kept in memory so the connection goes back to the pool while waiting
+            rateLimited = buffer(response);
+        }
+    }
+
+    /**
+     * @return Number of requests that went through this scheduler
+     */
+    public long getRequestCount() {
+        return mRequestCount.get();
+    }
+
+    /**
+     * @return Number of times a request had to wait for a permit or for the backoff gate
+     */
+    public long getDelayedRequestCount() {
+        return mDelayedRequestCount.get();
+    }
+
+    public long getTotalDelayMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(mTotalDelayNanos.get());
+    }
+
+    public long getMaxDelayMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(mMaxDelayNanos.get());
+    }
+
+    /**
+     * @return Number of HTTP 429 responses received
+     */
+    public long getRateLimitedResponseCount() {
+        return mRateLimitedResponseCount.get();
+    }
+
+    /**
+     * @return Number of times a request failed fast because its turn was too far away
+     */
+    public long getRejectedRequestCount() {
+        return mRejectedRequestCount.get();
+    }
+
+    /**
+     * Waits for a permit and for the backoff gate.
+     *
+     * @return {@code false} if the turn would come later than {@code maxWaitNanos}
+     */
+    private boolean awaitTurn(Call call, long maxWaitNanos) throws IOException {
+        long start = System.nanoTime();
+        long waitNanos = reservePermit(start, maxWaitNanos);
+        if (waitNanos < 0) {
+            return false;
+        }
+
+        try {
+            while (true) {
+                if (call.isCanceled()) {
+                    throw new IOException("Canceled");
+                }
+                long now = System.nanoTime();
+                long remaining = Math.max(waitNanos - (now - start), mGateOpensAtNanos - now);
+                if (remaining <= 0) {
+                    break;
+                }
+                if (now - start + remaining > maxWaitNanos) {
+                    // The gate was closed again by another request
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.sleep(Math.min(remaining, CANCEL_CHECK_INTERVAL_NANOS));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for rate limit");
+        }
+
+        long delay = System.nanoTime() - start;
+        if (delay > TimeUnit.MILLISECONDS.toNanos(1)) {
+            mDelayedRequestCount.incrementAndGet();
+            mTotalDelayNanos.addAndGet(delay);
+            long max;
+            do {
+                max = mMaxDelayNanos.get();
+            } while (delay > max && !mMaxDelayNanos.compareAndSet(max, delay));
+        }
+        return true;
+    }
+
+    /**
+     * Takes a permit from the bucket, going into debt if it is empty. No permit is taken
+     * when the caller would have to wait longer than {@code maxWaitNanos}.
+     *
+     * @return How long the caller has to wait before its permit becomes valid, or -1
+     */
+    private synchronized long reservePermit(long nowNanos, long maxWaitNanos) {
+        mAvailablePermits = Math.min(mBurst, mAvailablePermits + (nowNanos - mLastRefillNanos) * mPermitsPerNano);
+        mLastRefillNanos = nowNanos;
+
+        long waitNanos = mAvailablePermits >= 1 ? 0 : (long) ((1 - mAvailablePermits) / mPermitsPerNano);
+        if (Math.max(waitNanos, mGateOpensAtNanos - nowNanos) > maxWaitNanos) {
+            return -1;
+        }
+        mAvailablePermits -= 1;
+        return waitNanos;
+    }
+
+    private synchronized void closeGate(long retryAfterMillis) {
+        long now = System.nanoTime();
+        long opensAt = now + TimeUnit.MILLISECONDS.toNanos(retryAfterMillis);
+        if (opensAt - mGateOpensAtNanos > 0) {
+            mGateOpensAtNanos = opensAt;
+        }
+
+        // Put the bucket in debt until the gate opens so the waiting requests
+        // leave one by one at the sustained rate instead of all at once
+        mAvailablePermits = Math.min(mAvailablePermits, -(mGateOpensAtNanos - now) * mPermitsPerNano);
+        mLastRefillNanos = now;
+    }
+
+    /**
+     * @return A 429 response for a request that was not sent, telling the caller how long
+     * the gate stays closed
+     */
+    private Response tooManyRequests(Request request) {
+        long retryAfterNanos = Math.max(0, mGateOpensAtNanos - System.nanoTime());
+        long retryAfterSeconds = (retryAfterNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(HTTP_TOO_MANY_REQUESTS)
+                .message("Too Many Requests")
+                .header(HEADER_RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)))
+                .body(ResponseBody.create(null, new byte[0]))
+                .build();
+    }
+
+    private static Response buffer(Response response) throws IOException {
+        ResponseBody body = response.body();
+        if (body == null) {
+            return response;
+        }
+        try {
+            MediaType contentType = body.contentType();
+            byte[] bytes = body.bytes();
+            return response.newBuilder().body(ResponseBody.create(contentType, bytes)).build();
+        } finally {
+            response.close();
+        }
+    }
+
+    private static long retryAfterMillis(Response response) {
+        String retryAfter = response.header(HEADER_RETRY_AFTER);
+        if (retryAfter == null) {
+            return DEFAULT_RETRY_AFTER_MS;
+        }
+
+        try {
+            return TimeUnit.SECONDS.toMillis(Math.max(0, Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException e) {
+            Date date = response.headers().getDate(HEADER_RETRY_AFTER);
+            if (date == null) {
+                return DEFAULT_RETRY_AFTER_MS;
+            }
+            return Math.max(0, date.getTime() - System.currentTimeMillis());
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import java.io.IOException;
+
+/**
+ * {@link AccessTokenProvider} that can replace a token the Web API rejected.
+ * <p>
+ * Used by {@link AccessTokenAuthenticator} to retry requests answered with
+ * {@code 401 Unauthorized} instead of failing them.
+ */
+public interface RefreshableAccessTokenProvider extends AccessTokenProvider {
+
+    /**
+     * Blocks until a token other than the rejected one is available. Implementations should
+     * let concurrent callers wait for the same refresh instead of starting one each, and return
+     * right away when the token was already refreshed since the request was sent.
+     *
+     * @param rejectedAccessToken The token sent with the rejected request, {@code null} if there was none
+     * @return The new access token or {@code null} if no token can be obtained
+     * @throws IOException If refreshing the token failed
+     */
+    String refreshAccessToken(String rejectedAccessToken) throws IOException;
+}
@@ -1,9 +1,13 @@
 package io.github.kaaes.spotify.webapi.retrofit.v2;
 
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
 import java.io.IOException;
 import java.lang.annotation.Annotation;
 
 import io.github.kaaes.spotify.webapi.core.Config;
+import io.github.kaaes.spotify.webapi.core.gson.ModelTypeAdapterFactory;
 import io.github.kaaes.spotify.webapi.core.models.ErrorDetails;
 import okhttp3.Interceptor;
 import okhttp3.OkHttpClient;
@@ -29,16 +33,49 @@ import retrofit2.converter.gson.GsonConverterFactory;
  * Call<Album> call = spotifyService.getAlbum("2dIGnmEIy1WZIcZCFSj6i8");
  * Response<Album> response = call.execute();
  * Album album = response.body();
+ * <p>
+ * Services created here share one connection pool and dispatcher. Apps that refresh
+ * the token should prefer a long-lived {@link SpotifyClient} over creating a new service
+ * for every token.
  */
 public class Spotify {
 
+    private static final RateLimitInterceptor RATE_LIMITER = new RateLimitInterceptor();
+    private static final OkHttpClient SHARED_HTTP_CLIENT = new OkHttpClient();
+    private static final GsonConverterFactory GSON_CONVERTER_FACTORY = GsonConverterFactory.create(createGson());
+
     private static Converter<ResponseBody, ErrorDetails> errorConverter = null;
 
+    /**
+     * @return A Gson instance that parses the models with the generated adapters of
+     * {@link ModelTypeAdapterFactory} instead of reflection
+     */
+    public static Gson createGson() {
+        return new GsonBuilder()
+                .registerTypeAdapterFactory(new ModelTypeAdapterFactory())
+                .create();
+    }
+
     public static SpotifyService createAuthenticatedService(String accessToken) {
 
         Retrofit build = new Retrofit.Builder()
                 .client(createHttpClient(accessToken))
-                .addConverterFactory(GsonConverterFactory.create())
+                .addConverterFactory(GSON_CONVERTER_FACTORY)
+                .baseUrl(Config.API_URL)
+                .build();
+
+        return build.create(SpotifyService.class);
+    }
+
+    /**
+     * Creates a service that reads the token from {@code accessTokenProvider} on every request
+     * and retries requests rejected with {@code 401 Unauthorized} once with a refreshed token.
+     */
+    public static SpotifyService createAuthenticatedService(RefreshableAccessTokenProvider accessTokenProvider) {
+
+        Retrofit build = new Retrofit.Builder()
+                .client(createHttpClient(accessTokenProvider))
+                .addConverterFactory(GSON_CONVERTER_FACTORY)
                 .baseUrl(Config.API_URL)
                 .build();
 
@@ -48,20 +85,44 @@ public class Spotify {
     public static SpotifyService createNotAuthenticatedService() {
 
         Retrofit build = new Retrofit.Builder()
-                .addConverterFactory(GsonConverterFactory.create())
+                .client(SHARED_HTTP_CLIENT)
+                .addConverterFactory(GSON_CONVERTER_FACTORY)
                 .baseUrl(Config.API_URL)
                 .build();
 
         return build.create(SpotifyService.class);
     }
 
+    /**
+     * @return The process-wide client whose connection pool and dispatcher are shared
+     * by every service created by this class and by {@link SpotifyClient}
+     */
+    public static OkHttpClient getSharedHttpClient() {
+        return SHARED_HTTP_CLIENT;
+    }
+
+    /**
+     * Returns the scheduler shared by every client that opts in to rate limiting, see
+     * {@link SpotifyClient.Builder#setRateLimited(boolean)}. Add it to your own client with
+     * {@code addInterceptor} to share the same budget. It also exposes how long requests were delayed.
+     */
+    public static RateLimitInterceptor getRateLimiter() {
+        return RATE_LIMITER;
+    }
 
     public static OkHttpClient createHttpClient(String accessToken) {
-        return new OkHttpClient.Builder()
+        return SHARED_HTTP_CLIENT.newBuilder()
                 .addInterceptor(new ApiAuthenticator(accessToken))
                 .build();
     }
 
+    public static OkHttpClient createHttpClient(RefreshableAccessTokenProvider accessTokenProvider) {
+        return SHARED_HTTP_CLIENT.newBuilder()
+                .addInterceptor(new ApiAuthenticator(accessTokenProvider))
+                .authenticator(new AccessTokenAuthenticator(accessTokenProvider))
+                .build();
+    }
+
     protected static Converter<ResponseBody, ErrorDetails> getErrorConverter() {
         if (errorConverter == null) {
             errorConverter = buildErrorConverter();
@@ -70,10 +131,9 @@ public class Spotify {
     }
 
     private static Converter<ResponseBody, ErrorDetails> buildErrorConverter() {
-        OkHttpClient okHttpClient = new OkHttpClient();
         Retrofit restAdapter = new Retrofit.Builder()
-                .client(okHttpClient)
-                .addConverterFactory(GsonConverterFactory.create())
+                .client(SHARED_HTTP_CLIENT)
+                .addConverterFactory(GSON_CONVERTER_FACTORY)
                 .baseUrl(Config.API_URL)
                 .build();
 
@@ -86,18 +146,28 @@ public class Spotify {
      */
     public static class ApiAuthenticator implements Interceptor {
 
-        private String mAccessToken;
+        private final AccessTokenProvider mAccessTokenProvider;
+
+        public ApiAuthenticator(final String accessToken) {
+            this(new AccessTokenProvider() {
+                @Override
+                public String getAccessToken() {
+                    return accessToken;
+                }
+            });
+        }
 
-        public ApiAuthenticator(String accessToken) {
-            mAccessToken = accessToken;
+        public ApiAuthenticator(AccessTokenProvider accessTokenProvider) {
+            mAccessTokenProvider = accessTokenProvider;
         }
 
         @Override
         public Response intercept(Chain chain) throws IOException {
             Request request = chain.request();
-            if (mAccessToken != null) {
+            String accessToken = mAccessTokenProvider.getAccessToken();
+            if (accessToken != null) {
                 Request authRequest = request.newBuilder()
-                        .addHeader("Authorization", "Bearer " + mAccessToken)
+                        .addHeader("Authorization", "Bearer " + accessToken)
                         .build();
                 return chain.proceed(authRequest);
             }
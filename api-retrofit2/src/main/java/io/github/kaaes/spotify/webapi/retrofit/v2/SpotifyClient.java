@@ -0,0 +1,370 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import com.google.gson.Gson;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import io.github.kaaes.spotify.webapi.core.Config;
+import io.github.kaaes.spotify.webapi.core.store.EntityStore;
+import okhttp3.Cache;
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okio.ByteString;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+/**
+ * Long-lived client stack for Spotify Web API.
+ * <p>
+ * Owns a single OkHttp connection pool and dispatcher, a single Gson instance
+ * and a single Retrofit, so keep-alive connections, TLS sessions and the parsed
+ * service methods survive token rotation. The access token is read from an
+ * {@link AccessTokenProvider} on every request.
+ * <p>
+ * Basic usage:
+ * SpotifyClient client = new SpotifyClient.Builder().setAccessToken(accessToken).build();
+ * SpotifyService spotifyService = client.getService();
+ * <p>
+ * When the token is refreshed:
+ * client.setAccessToken(refreshedAccessToken);
+ * <p>
+ * With a {@link RefreshableAccessTokenProvider}, requests rejected with {@code 401 Unauthorized}
+ * are sent again with a refreshed token, see {@link AccessTokenAuthenticator}.
+ * <p>
+ * With an HTTP cache, every account gets its own cache directory. Switch it together with the token:
+ * client.setAccessToken(otherAccessToken);
+ * client.setAccountId(otherUserId);
+ */
+public class SpotifyClient {
+
+    private final OkHttpClient mHttpClient;
+    private final Gson mGson;
+    private final Retrofit mRetrofit;
+    private final SpotifyService mService;
+    private final EntityStore mEntityStore;
+    private final File mCacheDirectory;
+    private final long mCacheMaxSizeBytes;
+    private final long mStaleWhileRevalidateSeconds;
+    private final Map<String, OkHttpClient> mAccountClients = new HashMap<>();
+
+    private volatile AccessTokenProvider mAccessTokenProvider;
+    private volatile OkHttpClient mCallClient;
+
+    private SpotifyClient(Builder builder) {
+        mAccessTokenProvider = builder.mAccessTokenProvider;
+        mGson = builder.mGson != null ? builder.mGson : Spotify.createGson();
+
+        OkHttpClient baseClient = builder.mHttpClient != null ? builder.mHttpClient : Spotify.getSharedHttpClient();
+        OkHttpClient.Builder httpClientBuilder = baseClient.newBuilder();
+        if (builder.mRateLimited) {
+            httpClientBuilder.addInterceptor(Spotify.getRateLimiter());
+        }
+        for (Interceptor interceptor : builder.mInterceptors) {
+            httpClientBuilder.addInterceptor(interceptor);
+        }
+        RefreshableAccessTokenProvider currentProvider = new RefreshableAccessTokenProvider() {
+            @Override
+            public String getAccessToken() {
+                AccessTokenProvider provider = mAccessTokenProvider;
+                return provider != null ? provider.getAccessToken() : null;
+            }
+
+            @Override
+            public String refreshAccessToken(String rejectedAccessToken) throws IOException {
+                AccessTokenProvider provider = mAccessTokenProvider;
+                if (provider instanceof RefreshableAccessTokenProvider) {
+                    return ((RefreshableAccessTokenProvider) provider).refreshAccessToken(rejectedAccessToken);
+                }
+                return null;
+            }
+        };
+        httpClientBuilder.addInterceptor(new Spotify.ApiAuthenticator(currentProvider));
+        httpClientBuilder.authenticator(new AccessTokenAuthenticator(currentProvider));
+        mHttpClient = httpClientBuilder.build();
+
+        mCacheDirectory = builder.mCacheDirectory;
+        mCacheMaxSizeBytes = builder.mCacheMaxSizeBytes;
+        mStaleWhileRevalidateSeconds = builder.mStaleWhileRevalidateSeconds;
+        setAccountId(builder.mAccountId);
+
+        Retrofit.Builder retrofitBuilder = new Retrofit.Builder()
+                .callFactory(new Call.Factory() {
+                    @Override
+                    public Call newCall(Request request) {
+                        return mCallClient.newCall(request);
+                    }
+                })
+                .baseUrl(builder.mBaseUrl);
+        retrofitBuilder.addConverterFactory(GsonConverterFactory.create(mGson));
+        if (builder.mEntityStore != null) {
+            // Goes first so a deduplicated exchange is stored once
+            retrofitBuilder.addCallAdapterFactory(new EntityStoreCallAdapterFactory(builder.mEntityStore));
+        }
+        if (builder.mDeduplicateGetRequests) {
+            retrofitBuilder.addCallAdapterFactory(new DeduplicatingCallAdapterFactory(currentProvider));
+        }
+        mRetrofit = retrofitBuilder.build();
+
+        mEntityStore = builder.mEntityStore;
+        SpotifyService service = mRetrofit.create(SpotifyService.class);
+        if (mEntityStore != null) {
+            service = new EntityStoreSpotifyService(service, mEntityStore, mRetrofit.callbackExecutor());
+        }
+        mService = service;
+    }
+
+    /**
+     * @return The service bound to this client. The same instance is returned on every call.
+     */
+    public SpotifyService getService() {
+        return mService;
+    }
+
+    /**
+     * Creates an additional service interface on top of the shared Retrofit instance.
+     *
+     * @param service The Retrofit service interface
+     * @return The implementation of the service interface
+     */
+    public <T> T create(Class<T> service) {
+        return mRetrofit.create(service);
+    }
+
+    /**
+     * @return The client every account's client is derived from, it has no HTTP cache
+     */
+    public OkHttpClient getHttpClient() {
+        return mHttpClient;
+    }
+
+    public Retrofit getRetrofit() {
+        return mRetrofit;
+    }
+
+    public Gson getGson() {
+        return mGson;
+    }
+
+    /**
+     * @return The entity store or {@code null} if none was configured
+     */
+    public EntityStore getEntityStore() {
+        return mEntityStore;
+    }
+
+    /**
+     * @return The HTTP cache of the current account or {@code null} if none is in use
+     */
+    public Cache getCache() {
+        return mCallClient.cache();
+    }
+
+    /**
+     * Replaces the token used by all subsequent requests.
+     *
+     * @param accessToken The new access token, {@code null} to send requests unauthenticated
+     */
+    public void setAccessToken(final String accessToken) {
+        mAccessTokenProvider = new AccessTokenProvider() {
+            @Override
+            public String getAccessToken() {
+                return accessToken;
+            }
+        };
+    }
+
+    /**
+     * Replaces the provider queried for the token on every request.
+     *
+     * @param accessTokenProvider The new provider, {@code null} to send requests unauthenticated
+     */
+    public void setAccessTokenProvider(AccessTokenProvider accessTokenProvider) {
+        mAccessTokenProvider = accessTokenProvider;
+    }
+
+    /**
+     * Switches the HTTP cache to the entries of the given account for all subsequent requests.
+     *
+     * @param accountId A stable id of the account, for example its Spotify user id,
+     *                  {@code null} to send requests without the cache
+     */
+    public void setAccountId(String accountId) {
+        if (accountId == null || mCacheDirectory == null) {
+            mCallClient = mHttpClient;
+            return;
+        }
+        synchronized (mAccountClients) {
+            OkHttpClient client = mAccountClients.get(accountId);
+            if (client == null) {
+                client = createAccountClient(accountId);
+                mAccountClients.put(accountId, client);
+            }
+            mCallClient = client;
+        }
+    }
+
+    private OkHttpClient createAccountClient(String accountId) {
+        // Hashed so that any id is a valid directory name
+        File directory = new File(mCacheDirectory, ByteString.encodeUtf8(accountId).md5().hex());
+        OkHttpClient.Builder builder = mHttpClient.newBuilder()
+                .cache(new Cache(directory, mCacheMaxSizeBytes));
+        if (mStaleWhileRevalidateSeconds > 0) {
+            // Ahead of every other interceptor so cache hits skip the rate limiter
+            builder.interceptors().add(0, new StaleWhileRevalidateInterceptor(
+                    mStaleWhileRevalidateSeconds, TimeUnit.SECONDS));
+        }
+        return builder.build();
+    }
+
+    public static class Builder {
+
+        private String mBaseUrl = Config.API_URL;
+        private AccessTokenProvider mAccessTokenProvider;
+        private OkHttpClient mHttpClient;
+        private Gson mGson;
+        private boolean mDeduplicateGetRequests;
+        private boolean mRateLimited;
+        private File mCacheDirectory;
+        private long mCacheMaxSizeBytes;
+        private String mAccountId;
+        private long mStaleWhileRevalidateSeconds;
+        private EntityStore mEntityStore;
+        private final List<Interceptor> mInterceptors = new ArrayList<>();
+
+        public Builder setBaseUrl(String baseUrl) {
+            if (baseUrl == null) {
+                throw new IllegalArgumentException("Base URL can't be null");
+            }
+            mBaseUrl = baseUrl;
+            return this;
+        }
+
+        public Builder setAccessToken(final String accessToken) {
+            mAccessTokenProvider = new AccessTokenProvider() {
+                @Override
+                public String getAccessToken() {
+                    return accessToken;
+                }
+            };
+            return this;
+        }
+
+        public Builder setAccessTokenProvider(AccessTokenProvider accessTokenProvider) {
+            mAccessTokenProvider = accessTokenProvider;
+            return this;
+        }
+
+        /**
+         * Sets the client whose connection pool, dispatcher and settings are shared.
+         * Defaults to the process-wide client returned by {@link Spotify#getSharedHttpClient()}.
+         */
+        public Builder setHttpClient(OkHttpClient httpClient) {
+            mHttpClient = httpClient;
+            return this;
+        }
+
+        /**
+         * Sets the Gson instance used to parse responses. Defaults to {@link Spotify#createGson()},
+         * register {@code ModelTypeAdapterFactory} on a custom instance to keep reflection-free parsing.
+         */
+        public Builder setGson(Gson gson) {
+            mGson = gson;
+            return this;
+        }
+
+        /**
+         * When enabled, identical GET requests that are in flight at the same time share one
+         * network exchange and one deserialized body.
+         *
+         * @see DeduplicatingCallAdapterFactory
+         */
+        public Builder setDeduplicateGetRequests(boolean deduplicateGetRequests) {
+            mDeduplicateGetRequests = deduplicateGetRequests;
+            return this;
+        }
+
+        /**
+         * When enabled, requests are scheduled by {@link Spotify#getRateLimiter()} to stay below the
+         * Web API rate limit, shared with every other rate limited client. Rate limited responses
+         * are retried after their {@code Retry-After}, and a request that would wait longer than
+         * ten seconds fails with a {@code 429} response instead.
+         *
+         * @see RateLimitInterceptor
+         */
+        public Builder setRateLimited(boolean rateLimited) {
+            mRateLimited = rateLimited;
+            return this;
+        }
+
+        /**
+         * Stores responses with their {@code ETag} on disk. Repeated requests are sent with
+         * {@code If-None-Match} and the stored body is served on {@code 304 Not Modified}.
+         * <p>
+         * Every account has a cache of its own in a subdirectory, so the cache is only used
+         * once an account is set with {@link #setAccountId(String)}. Entries survive token
+         * refreshes and no token is written to disk. Call {@code getCache().evictAll()} when
+         * the user logs out to free the space.
+         *
+         * @param directory    A directory reserved for the caches
+         * @param maxSizeBytes Size limit of each account's cache, least recently used entries
+         *                     are evicted beyond it
+         */
+        public Builder setCache(File directory, long maxSizeBytes) {
+            mCacheDirectory = directory;
+            mCacheMaxSizeBytes = maxSizeBytes;
+            return this;
+        }
+
+        /**
+         * Sets the account whose HTTP cache is used first.
+         *
+         * @see SpotifyClient#setAccountId(String)
+         */
+        public Builder setAccountId(String accountId) {
+            mAccountId = accountId;
+            return this;
+        }
+
+        /**
+         * Serves a cached response up to {@code duration} past its freshness lifetime without
+         * waiting and revalidates it in the background. Requires {@link #setCache(File, long)}.
+         *
+         * @see StaleWhileRevalidateInterceptor
+         */
+        public Builder setStaleWhileRevalidate(long duration, TimeUnit unit) {
+            mStaleWhileRevalidateSeconds = unit.toSeconds(duration);
+            return this;
+        }
+
+        /**
+         * Remembers every track, album and artist from deserialized responses and answers
+         * {@code getTrack}, {@code getAlbum} and {@code getArtist} from it while fresh.
+         *
+         * @see EntityStoreSpotifyService
+         */
+        public Builder setEntityStore(EntityStore entityStore) {
+            mEntityStore = entityStore;
+            return this;
+        }
+
+        /**
+         * Adds an application interceptor that runs before the authorization header is added.
+         */
+        public Builder addInterceptor(Interceptor interceptor) {
+            mInterceptors.add(interceptor);
+            return this;
+        }
+
+        public SpotifyClient build() {
+            return new SpotifyClient(this);
+        }
+    }
+}
@@ -19,6 +19,11 @@ public class SpotifyError extends Exception {
         this.details = details;
     }
 
+    public SpotifyError(ErrorDetails details, Throwable cause) {
+        super(details.message, cause);
+        this.details = details;
+    }
+
     public static <T> SpotifyError fromResponse(Response<T> response) {
         Converter<ResponseBody, ErrorDetails> errorConverter = Spotify.getErrorConverter();
 
@@ -0,0 +1,126 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Serves a stale cached response immediately and revalidates it in the background.
+ * <p>
+ * Web API responses carry an {@code ETag} and {@code max-age=0}, so the OkHttp {@link Cache}
+ * alone already sends {@code If-None-Match} and serves the stored body on
+ * {@code 304 Not Modified}, but the caller still waits for that round-trip. Within the
+ * configured window this interceptor answers from the cache right away and lets a background
+ * conditional request refresh the entry for the next caller. Only one refresh runs per URL,
+ * everyone else keeps getting the stale entry until it completes.
+ * <p>
+ * The cache is keyed on the URL, so a cache and its interceptor must only serve one account.
+ * {@link SpotifyClient} installs one of each per account when a cache is set.
+ */
+public class StaleWhileRevalidateInterceptor implements Interceptor {
+
+    private static final int HTTP_UNSATISFIABLE_REQUEST = 504;
+
+    private final int mStaleWhileRevalidateSeconds;
+    private final Set<String> mRevalidating = new HashSet<>();
+    private final Set<Call> mRevalidationCalls = Collections.synchronizedSet(
+            Collections.newSetFromMap(new IdentityHashMap<Call, Boolean>()));
+
+    public StaleWhileRevalidateInterceptor(long staleWhileRevalidate, TimeUnit unit) {
+        long seconds = unit.toSeconds(staleWhileRevalidate);
+        if (seconds <= 0) {
+            throw new IllegalArgumentException("Stale-while-revalidate window must be at least one second");
+        }
+        mStaleWhileRevalidateSeconds = (int) Math.min(Integer.MAX_VALUE, seconds);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        final Request request = chain.request();
+        final String key = request.url().toString();
+
+        if (!"GET".equals(request.method()) || request.cacheControl().noCache()
+                || mRevalidationCalls.contains(chain.call())) {
+            return chain.proceed(request);
+        }
+
+        Request cacheOnly = request.newBuilder()
+                .cacheControl(new CacheControl.Builder()
+                        .onlyIfCached()
+                        .maxStale(mStaleWhileRevalidateSeconds, TimeUnit.SECONDS)
+                        .build())
+                .build();
+        Response cached = chain.proceed(cacheOnly);
+        if (cached.code() == HTTP_UNSATISFIABLE_REQUEST) {
+            // Nothing usable in the cache, go through the regular conditional request
+            cached.close();
+            return chain.proceed(request);
+        }
+
+        if (isStale(cached)) {
+            // Does nothing if another caller already started the refresh
+            revalidate(chain.call(), key);
+        }
+        return cached;
+    }
+
+    private static boolean isStale(Response response) {
+        // OkHttp marks cached responses served past their freshness lifetime with warning 110
+        for (String warning : response.headers("Warning")) {
+            if (warning.startsWith("110")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void revalidate(Call call, final String key) {
+        synchronized (this) {
+            if (!mRevalidating.add(key)) {
+                return;
+            }
+        }
+
+        // The clone comes back through this interceptor and goes to the network
+        // because it is registered as a revalidation call
+        final Call revalidation = call.clone();
+        mRevalidationCalls.add(revalidation);
+        revalidation.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                finish();
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                // Reading the body to the end is what commits the new entry to the cache
+                try {
+                    response.body().bytes();
+                } catch (IOException e) {
+                    // The stale entry stays in place
+                } finally {
+                    response.close();
+                    finish();
+                }
+            }
+
+            private void finish() {
+                mRevalidationCalls.remove(revalidation);
+                synchronized (StaleWhileRevalidateInterceptor.this) {
+                    mRevalidating.remove(key);
+                }
+            }
+        });
+    }
+}
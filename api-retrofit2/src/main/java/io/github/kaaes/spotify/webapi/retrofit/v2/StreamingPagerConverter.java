@@ -0,0 +1,162 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import android.os.Parcelable;
+
+import com.google.gson.Gson;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Converter;
+import retrofit2.Response;
+
+/**
+ * Parses a {@link Pager} response with a {@link JsonReader} and hands every element of
+ * {@code items} to an {@link ItemConsumer} as soon as it is read.
+ * <p>
+ * Unlike the Gson converter it never holds the whole page, so peak memory stays roughly the
+ * size of one item regardless of the page size and the first row can be shown before the
+ * rest of the page is parsed. The returned {@link Pager} has the scalar fields filled in
+ * once the body is read and an empty {@code items} list.
+ * <p>
+ * Basic usage:
+ * StreamingPagerConverter&lt;PlaylistTrack&gt; converter = new StreamingPagerConverter&lt;&gt;(gson, PlaylistTrack.class, consumer);
+ * Response&lt;Pager&lt;PlaylistTrack&gt;&gt; response = converter.execute(client, client.getService().getPlaylistTracks(userId, playlistId, options));
+ *
+ * @param <T> Type of the paged items
+ */
+public class StreamingPagerConverter<T extends Parcelable> implements Converter<ResponseBody, Pager<T>> {
+
+    /**
+     * Receives the items of a page one at a time, on the thread that reads the body.
+     */
+    public interface ItemConsumer<T> {
+        void onItem(T item);
+    }
+
+    private final Gson mGson;
+    private final TypeAdapter<T> mItemAdapter;
+    private final ItemConsumer<? super T> mConsumer;
+    private final String mWrapperName;
+
+    public StreamingPagerConverter(Gson gson, Class<T> itemType, ItemConsumer<? super T> consumer) {
+        this(gson, itemType, consumer, null);
+    }
+
+    /**
+     * @param wrapperName Name of the field holding the pager when the response wraps it,
+     *                    for example {@code "tracks"} for a {@code TracksPager},
+     *                    {@code null} when the response is the pager itself
+     */
+    public StreamingPagerConverter(Gson gson, Class<T> itemType, ItemConsumer<? super T> consumer, String wrapperName) {
+        mGson = gson;
+        mItemAdapter = gson.getAdapter(itemType);
+        mConsumer = consumer;
+        mWrapperName = wrapperName;
+    }
+
+    @Override
+    public Pager<T> convert(ResponseBody value) throws IOException {
+        JsonReader reader = mGson.newJsonReader(value.charStream());
+        try {
+            if (mWrapperName == null) {
+                return readPager(reader);
+            }
+
+            Pager<T> pager = null;
+            reader.beginObject();
+            while (reader.hasNext()) {
+                if (mWrapperName.equals(reader.nextName()) && reader.peek() == JsonToken.BEGIN_OBJECT) {
+                    pager = readPager(reader);
+                } else {
+                    reader.skipValue();
+                }
+            }
+            reader.endObject();
+            return pager;
+        } finally {
+            value.close();
+        }
+    }
+
+    /**
+     * Executes the request of a service call and streams its body through this converter.
+     * <p>
+     * The request goes through the call factory of the client's {@link retrofit2.Retrofit},
+     * the same one its service calls run on, so the authorization, cache and rate limiting
+     * interceptors apply as usual. Only the Retrofit call adapters are skipped, so the page is
+     * neither deduplicated nor added to an entity store. The call itself is not executed,
+     * it only supplies the request.
+     *
+     * @param client The client whose service created {@code call}
+     * @param call   A call of a service method returning this pager
+     * @return The response with the pager, or with a buffered error body if the request failed
+     */
+    public Response<Pager<T>> execute(SpotifyClient client, Call<?> call) throws IOException {
+        okhttp3.Response rawResponse = client.getRetrofit().callFactory().newCall(call.request()).execute();
+        ResponseBody body = rawResponse.body();
+
+        if (!rawResponse.isSuccessful()) {
+            try {
+                ResponseBody errorBody = ResponseBody.create(body.contentType(), body.bytes());
+                return Response.error(errorBody, rawResponse);
+            } finally {
+                body.close();
+            }
+        }
+        return Response.success(convert(body), rawResponse);
+    }
+
+    private Pager<T> readPager(JsonReader reader) throws IOException {
+        Pager<T> pager = new Pager<>();
+        pager.items = new ArrayList<>();
+
+        reader.beginObject();
+        while (reader.hasNext()) {
+            String name = reader.nextName();
+            if (reader.peek() == JsonToken.NULL) {
+                reader.nextNull();
+                continue;
+            }
+
+            switch (name) {
+                case "items":
+                    reader.beginArray();
+                    while (reader.hasNext()) {
+                        mConsumer.onItem(mItemAdapter.read(reader));
+                    }
+                    reader.endArray();
+                    break;
+                case "href":
+                    pager.href = reader.nextString();
+                    break;
+                case "next":
+                    pager.next = reader.nextString();
+                    break;
+                case "previous":
+                    pager.previous = reader.nextString();
+                    break;
+                case "limit":
+                    pager.limit = reader.nextInt();
+                    break;
+                case "offset":
+                    pager.offset = reader.nextInt();
+                    break;
+                case "total":
+                    pager.total = reader.nextInt();
+                    break;
+                default:
+                    reader.skipValue();
+                    break;
+            }
+        }
+        reader.endObject();
+        return pager;
+    }
+}
@@ -0,0 +1,154 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+
+public class AccessTokenAuthenticatorTest {
+
+    private static final int CONCURRENT_REQUESTS = 8;
+
+    private MockWebServer mServer;
+    private volatile String mValidAccessToken = "fresh";
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (("Bearer " + mValidAccessToken).equals(request.getHeader("Authorization"))) {
+                    return new MockResponse().setBody("{}");
+                }
+                return new MockResponse().setResponseCode(401);
+            }
+        });
+        mServer.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void retriesWithRefreshedToken() throws IOException {
+        CountingProvider provider = new CountingProvider("expired", "fresh");
+
+        Response response = execute(createHttpClient(provider));
+
+        assertEquals(200, response.code());
+        assertEquals(1, provider.mRefreshes.get());
+        assertEquals(2, mServer.getRequestCount());
+    }
+
+    @Test
+    public void concurrentRejectionsShareOneRefresh() throws Exception {
+        final CountingProvider provider = new CountingProvider("expired", "fresh");
+        final OkHttpClient httpClient = createHttpClient(provider);
+        ExecutorService executor = Executors.newFixedThreadPool(CONCURRENT_REQUESTS);
+
+        try {
+            List<Future<Integer>> codes = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+                codes.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws IOException {
+                        return execute(httpClient).code();
+                    }
+                }));
+            }
+            for (Future<Integer> code : codes) {
+                assertEquals(200, (int) code.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, provider.mRefreshes.get());
+    }
+
+    @Test
+    public void givesUpWhenRefreshedTokenIsRejected() throws IOException {
+        mValidAccessToken = "other";
+        CountingProvider provider = new CountingProvider("expired", "fresh");
+
+        Response response = execute(createHttpClient(provider));
+
+        assertEquals(401, response.code());
+        assertEquals(1, provider.mRefreshes.get());
+        assertEquals(2, mServer.getRequestCount());
+    }
+
+    @Test
+    public void doesNotRetryWithoutNewToken() throws IOException {
+        CountingProvider provider = new CountingProvider("expired", null);
+
+        Response response = execute(createHttpClient(provider));
+
+        assertEquals(401, response.code());
+        assertEquals(1, mServer.getRequestCount());
+    }
+
+    private OkHttpClient createHttpClient(RefreshableAccessTokenProvider provider) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(new Spotify.ApiAuthenticator(provider))
+                .authenticator(new AccessTokenAuthenticator(provider))
+                .build();
+    }
+
+    private Response execute(OkHttpClient httpClient) throws IOException {
+        Response response = httpClient.newCall(new Request.Builder().url(mServer.url("/v1/me")).build()).execute();
+        response.close();
+        return response;
+    }
+
+    /**
+     * Hands out {@code refreshedAccessToken} once {@code accessToken} was rejected.
+     */
+    private static class CountingProvider implements RefreshableAccessTokenProvider {
+
+        final AtomicInteger mRefreshes = new AtomicInteger();
+        private final String mRefreshedAccessToken;
+        private volatile String mAccessToken;
+
+        CountingProvider(String accessToken, String refreshedAccessToken) {
+            mAccessToken = accessToken;
+            mRefreshedAccessToken = refreshedAccessToken;
+        }
+
+        @Override
+        public String getAccessToken() {
+            return mAccessToken;
+        }
+
+        @Override
+        public synchronized String refreshAccessToken(String rejectedAccessToken) {
+            if (mAccessToken != null && !mAccessToken.equals(rejectedAccessToken)) {
+                return mAccessToken;
+            }
+            mRefreshes.incrementAndGet();
+            mAccessToken = mRefreshedAccessToken;
+            return mAccessToken;
+        }
+    }
+}
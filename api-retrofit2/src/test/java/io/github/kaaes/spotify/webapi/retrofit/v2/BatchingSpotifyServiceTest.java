@@ -0,0 +1,216 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.github.kaaes.spotify.webapi.core.models.Album;
+import io.github.kaaes.spotify.webapi.core.models.Track;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class BatchingSpotifyServiceTest {
+
+    private static final long WINDOW_MS = 100;
+    private static final String MISSING_ID = "missing";
+
+    private MockWebServer mServer;
+    private BatchingSpotifyService mService;
+    private final List<String> mRequestedIds = Collections.synchronizedList(new ArrayList<String>());
+    private final CountDownLatch mSlowRelease = new CountDownLatch(1);
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                String ids = request.getRequestUrl().queryParameter("ids");
+                mRequestedIds.add(ids);
+                if (ids.startsWith("slow")) {
+                    mSlowRelease.await(5, TimeUnit.SECONDS);
+                }
+                String path = request.getRequestUrl().encodedPath();
+                String field = path.substring(path.lastIndexOf('/') + 1);
+                return new MockResponse().setBody(bulkBody(field, ids.split(",")));
+            }
+        });
+        mServer.start();
+
+        SpotifyClient client = new SpotifyClient.Builder()
+                .setBaseUrl(mServer.url("/v1/").toString())
+                .setHttpClient(new OkHttpClient())
+                .build();
+        mService = new BatchingSpotifyService(client.getService(), null, WINDOW_MS);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mSlowRelease.countDown();
+        mService.shutdown();
+        mServer.shutdown();
+    }
+
+    @Test
+    public void coalescesLookupsWithinWindow() throws InterruptedException {
+        RecordingCallback<Track> first = enqueue(mService.getTrack("a"));
+        RecordingCallback<Track> second = enqueue(mService.getTrack("b"));
+        RecordingCallback<Track> duplicate = enqueue(mService.getTrack("a"));
+
+        assertEquals("a", first.await().body().id);
+        assertEquals("b", second.await().body().id);
+        assertEquals("a", duplicate.await().body().id);
+        assertEquals(Collections.singletonList("a,b"), mRequestedIds);
+    }
+
+    @Test
+    public void chunksAtMaxIds() throws InterruptedException {
+        int lookups = BatchingSpotifyService.MAX_ALBUM_IDS + 5;
+        List<RecordingCallback<Album>> callbacks = new ArrayList<>();
+        for (int i = 0; i < lookups; i++) {
+            callbacks.add(enqueue(mService.getAlbum("album" + i)));
+        }
+
+        for (int i = 0; i < lookups; i++) {
+            assertEquals("album" + i, callbacks.get(i).await().body().id);
+        }
+        List<Integer> chunkSizes = new ArrayList<>();
+        for (String ids : mRequestedIds) {
+            chunkSizes.add(ids.split(",").length);
+        }
+        Collections.sort(chunkSizes);
+        assertEquals(Arrays.asList(5, BatchingSpotifyService.MAX_ALBUM_IDS), chunkSizes);
+    }
+
+    @Test
+    public void nullEntryBecomesNotFound() throws InterruptedException, IOException {
+        RecordingCallback<Track> found = enqueue(mService.getTrack("a"));
+        RecordingCallback<Track> missing = enqueue(mService.getTrack(MISSING_ID));
+
+        assertEquals("a", found.await().body().id);
+        Response<Track> response = missing.await();
+        assertEquals(404, response.code());
+        assertNull(response.body());
+        assertTrue(response.errorBody().string().contains("non existing id"));
+    }
+
+    @Test
+    public void cancelOnlyAffectsCaller() throws InterruptedException {
+        Call<Track> canceled = mService.getTrack("a");
+        RecordingCallback<Track> canceledCallback = enqueue(canceled);
+        RecordingCallback<Track> shared = enqueue(mService.getTrack("a"));
+        Call<Track> alone = mService.getTrack("b");
+        RecordingCallback<Track> aloneCallback = enqueue(alone);
+
+        canceled.cancel();
+        alone.cancel();
+
+        assertTrue(canceledCallback.awaitFailure() instanceof IOException);
+        assertTrue(aloneCallback.awaitFailure() instanceof IOException);
+        assertEquals("a", shared.await().body().id);
+        assertFalse(shared.mCall.isCanceled());
+        assertEquals(Collections.singletonList("a"), mRequestedIds);
+    }
+
+    @Test
+    public void slowBulkRequestsDontDelayOtherBatches() throws InterruptedException {
+        List<RecordingCallback<Album>> slow = new ArrayList<>();
+        for (int i = 0; i < 4 * BatchingSpotifyService.MAX_ALBUM_IDS; i++) {
+            slow.add(enqueue(mService.getAlbum("slow" + i)));
+        }
+        while (mRequestedIds.size() < 4) {
+            Thread.sleep(5);
+        }
+
+        RecordingCallback<Track> track = enqueue(mService.getTrack("a"));
+
+        assertTrue(track.mDone.await(WINDOW_MS * 10, TimeUnit.MILLISECONDS));
+        assertEquals("a", track.await().body().id);
+        mSlowRelease.countDown();
+        for (RecordingCallback<Album> callback : slow) {
+            callback.await();
+        }
+    }
+
+    @Test
+    public void lookupAfterShutdownFails() throws InterruptedException {
+        mService.shutdown();
+
+        assertTrue(enqueue(mService.getTrack("a")).awaitFailure() instanceof IOException);
+        assertEquals(0, mServer.getRequestCount());
+    }
+
+    private static String bulkBody(String field, String[] ids) {
+        StringBuilder body = new StringBuilder("{\"").append(field).append("\":[");
+        for (int i = 0; i < ids.length; i++) {
+            if (i > 0) {
+                body.append(',');
+            }
+            body.append(MISSING_ID.equals(ids[i]) ? "null" : "{\"id\":\"" + ids[i] + "\"}");
+        }
+        return body.append("]}").toString();
+    }
+
+    private static <T> RecordingCallback<T> enqueue(Call<T> call) {
+        RecordingCallback<T> callback = new RecordingCallback<>(call);
+        call.enqueue(callback);
+        return callback;
+    }
+
+    private static class RecordingCallback<T> implements Callback<T> {
+
+        final Call<T> mCall;
+        private final CountDownLatch mDone = new CountDownLatch(1);
+        private volatile Response<T> mResponse;
+        private volatile Throwable mFailure;
+
+        RecordingCallback(Call<T> call) {
+            mCall = call;
+        }
+
+        @Override
+        public void onResponse(Call<T> call, Response<T> response) {
+            mResponse = response;
+            mDone.countDown();
+        }
+
+        @Override
+        public void onFailure(Call<T> call, Throwable t) {
+            mFailure = t;
+            mDone.countDown();
+        }
+
+        Response<T> await() throws InterruptedException {
+            assertTrue(mDone.await(5, TimeUnit.SECONDS));
+            if (mFailure != null) {
+                throw new AssertionError(mFailure);
+            }
+            return mResponse;
+        }
+
+        Throwable awaitFailure() throws InterruptedException {
+            assertTrue(mDone.await(5, TimeUnit.SECONDS));
+            assertNull(mResponse);
+            return mFailure;
+        }
+    }
+}
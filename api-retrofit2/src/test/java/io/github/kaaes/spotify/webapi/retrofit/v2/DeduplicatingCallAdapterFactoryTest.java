@@ -0,0 +1,250 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.kaaes.spotify.webapi.core.models.UserPrivate;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+import retrofit2.Retrofit;
+import retrofit2.converter.gson.GsonConverterFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DeduplicatingCallAdapterFactoryTest {
+
+    private static final String ERROR_BODY = "{\"error\":{\"status\":404,\"message\":\"not found\"}}";
+
+    private MockWebServer mServer;
+    private final CountDownLatch mRelease = new CountDownLatch(1);
+    private volatile int mResponseCode = 200;
+
+    private SpotifyClient mClient;
+    private SpotifyService mService;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                // Holds every exchange until the test has subscribed all its calls
+                mRelease.await(5, TimeUnit.SECONDS);
+                if (mResponseCode != 200) {
+                    return new MockResponse().setResponseCode(mResponseCode).setBody(ERROR_BODY);
+                }
+                String token = request.getHeader("Authorization").substring("Bearer ".length());
+                return new MockResponse().setBody("{\"id\":\"" + token + "\"}");
+            }
+        });
+        mServer.start();
+
+        mClient = new SpotifyClient.Builder()
+                .setBaseUrl(mServer.url("/v1/").toString())
+                .setHttpClient(new OkHttpClient())
+                .setAccessToken("first")
+                .setDeduplicateGetRequests(true)
+                .build();
+        mService = mClient.getService();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mRelease.countDown();
+        mServer.shutdown();
+    }
+
+    @Test
+    public void identicalCallsShareOneExchange() throws InterruptedException {
+        RecordingCallback<UserPrivate> leader = enqueue(mService.getMe());
+        mServer.takeRequest();
+        RecordingCallback<UserPrivate> follower = enqueue(mService.getMe());
+        mRelease.countDown();
+
+        UserPrivate body = leader.await().body();
+        assertEquals("first", body.id);
+        assertSame(body, follower.await().body());
+        assertEquals(1, mServer.getRequestCount());
+    }
+
+    @Test
+    public void callsWithDifferentTokensDoNotShare() throws InterruptedException {
+        RecordingCallback<UserPrivate> first = enqueue(mService.getMe());
+        mServer.takeRequest();
+        mClient.setAccessToken("second");
+        RecordingCallback<UserPrivate> second = enqueue(mService.getMe());
+        mServer.takeRequest();
+        mRelease.countDown();
+
+        assertEquals("first", first.await().body().id);
+        assertEquals("second", second.await().body().id);
+        assertEquals(2, mServer.getRequestCount());
+    }
+
+    @Test
+    public void cancelingOneCallKeepsSharedExchange() throws InterruptedException {
+        Call<UserPrivate> canceled = mService.getMe();
+        RecordingCallback<UserPrivate> canceledCallback = enqueue(canceled);
+        mServer.takeRequest();
+        RecordingCallback<UserPrivate> remaining = enqueue(mService.getMe());
+
+        canceled.cancel();
+        assertTrue(canceledCallback.awaitFailure() instanceof IOException);
+        mRelease.countDown();
+
+        assertEquals("first", remaining.await().body().id);
+        assertFalse(remaining.mCall.isCanceled());
+        assertEquals(1, mServer.getRequestCount());
+    }
+
+    @Test
+    public void cancelingEveryCallCancelsExchange() throws InterruptedException {
+        DeduplicatingCallAdapterFactory factory = (DeduplicatingCallAdapterFactory) mClient.getRetrofit()
+                .callAdapterFactories().get(0);
+        Call<UserPrivate> first = mService.getMe();
+        RecordingCallback<UserPrivate> firstCallback = enqueue(first);
+        mServer.takeRequest();
+        Call<UserPrivate> second = mService.getMe();
+        RecordingCallback<UserPrivate> secondCallback = enqueue(second);
+        assertEquals(1, factory.getInFlightCount());
+
+        first.cancel();
+        assertEquals(1, factory.getInFlightCount());
+        second.cancel();
+
+        assertTrue(firstCallback.awaitFailure() instanceof IOException);
+        assertTrue(secondCallback.awaitFailure() instanceof IOException);
+        assertEquals(0, factory.getInFlightCount());
+
+        RecordingCallback<UserPrivate> next = enqueue(mService.getMe());
+        mRelease.countDown();
+        assertEquals("first", next.await().body().id);
+        assertEquals(2, mServer.getRequestCount());
+    }
+
+    @Test
+    public void everyCallGetsItsOwnErrorBody() throws InterruptedException, IOException {
+        mResponseCode = 404;
+        RecordingCallback<UserPrivate> leader = enqueue(mService.getMe());
+        mServer.takeRequest();
+        RecordingCallback<UserPrivate> follower = enqueue(mService.getMe());
+        mRelease.countDown();
+
+        Response<UserPrivate> leaderResponse = leader.await();
+        Response<UserPrivate> followerResponse = follower.await();
+        assertEquals(404, leaderResponse.code());
+        assertEquals(404, followerResponse.code());
+        assertEquals(ERROR_BODY, leaderResponse.errorBody().string());
+        assertEquals(ERROR_BODY, followerResponse.errorBody().string());
+    }
+
+    @Test
+    public void deliversCallbacksOnCallbackExecutor() throws Exception {
+        final AtomicInteger deliveries = new AtomicInteger();
+        Executor callbackExecutor = new Executor() {
+            @Override
+            public void execute(Runnable command) {
+                deliveries.incrementAndGet();
+                command.run();
+            }
+        };
+        final SpotifyService service = new Retrofit.Builder()
+                .baseUrl(mServer.url("/v1/"))
+                .client(mClient.getHttpClient())
+                .addConverterFactory(GsonConverterFactory.create(Spotify.createGson()))
+                .addCallAdapterFactory(new DeduplicatingCallAdapterFactory(new AccessTokenProvider() {
+                    @Override
+                    public String getAccessToken() {
+                        return "first";
+                    }
+                }))
+                .callbackExecutor(callbackExecutor)
+                .build()
+                .create(SpotifyService.class);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // The synchronous call leads the exchange on its own thread
+            Future<Response<UserPrivate>> executed = executor.submit(new Callable<Response<UserPrivate>>() {
+                @Override
+                public Response<UserPrivate> call() throws IOException {
+                    return service.getMe().execute();
+                }
+            });
+            mServer.takeRequest();
+            RecordingCallback<UserPrivate> enqueued = enqueue(service.getMe());
+            mRelease.countDown();
+
+            assertSame(executed.get().body(), enqueued.await().body());
+            assertEquals(1, deliveries.get());
+            assertEquals(1, mServer.getRequestCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static <T> RecordingCallback<T> enqueue(Call<T> call) {
+        RecordingCallback<T> callback = new RecordingCallback<>(call);
+        call.enqueue(callback);
+        return callback;
+    }
+
+    private static class RecordingCallback<T> implements Callback<T> {
+
+        final Call<T> mCall;
+        private final CountDownLatch mDone = new CountDownLatch(1);
+        private volatile Response<T> mResponse;
+        private volatile Throwable mFailure;
+
+        RecordingCallback(Call<T> call) {
+            mCall = call;
+        }
+
+        @Override
+        public void onResponse(Call<T> call, Response<T> response) {
+            mResponse = response;
+            mDone.countDown();
+        }
+
+        @Override
+        public void onFailure(Call<T> call, Throwable t) {
+            mFailure = t;
+            mDone.countDown();
+        }
+
+        Response<T> await() throws InterruptedException {
+            assertTrue(mDone.await(5, TimeUnit.SECONDS));
+            if (mFailure != null) {
+                throw new AssertionError(mFailure);
+            }
+            return mResponse;
+        }
+
+        Throwable awaitFailure() throws InterruptedException {
+            assertTrue(mDone.await(5, TimeUnit.SECONDS));
+            assertNull(mResponse);
+            return mFailure;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import io.github.kaaes.spotify.webapi.core.Options;
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTrack;
+import io.github.kaaes.spotify.webapi.core.models.Track;
+import io.github.kaaes.spotify.webapi.core.store.EntityStore;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import retrofit2.Call;
+import retrofit2.Callback;
+import retrofit2.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class EntityStoreCallAdapterFactoryTest {
+
+    private static final String FULL_TRACK = "{\"id\":\"track1\",\"name\":\"Track 1\",\"popularity\":50,"
+            + "\"album\":{\"id\":\"album1\",\"name\":\"Album 1\"},"
+            + "\"artists\":[{\"id\":\"artist1\",\"name\":\"Artist 1\"}]}";
+    private static final String PROJECTED_PAGE = "{\"items\":[{\"track\":{\"id\":\"track1\",\"name\":\"Track 1\"}}],"
+            + "\"next\":null,\"total\":1,\"offset\":0,\"limit\":100}";
+
+    private MockWebServer mServer;
+    private EntityStore mEntityStore;
+    private SpotifyService mService;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.start();
+
+        mEntityStore = new EntityStore();
+        mService = new SpotifyClient.Builder()
+                .setBaseUrl(mServer.url("/v1/").toString())
+                .setHttpClient(new OkHttpClient())
+                .setAccessToken("token")
+                .setEntityStore(mEntityStore)
+                .setDeduplicateGetRequests(true)
+                .build()
+                .getService();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void storesResponsesAndServesFromStore() throws IOException {
+        mServer.enqueue(new MockResponse().setBody("{\"items\":[{\"track\":" + FULL_TRACK + "}],\"total\":1}"));
+
+        mService.getPlaylistTracks("user", "playlist").execute();
+        Track track = mService.getTrack("track1").execute().body();
+
+        assertEquals("Album 1", track.album.name);
+        assertNotNull(mEntityStore.getArtistSimple("artist1"));
+        assertEquals(1, mServer.getRequestCount());
+    }
+
+    @Test
+    public void storesBeforeCallback() throws InterruptedException {
+        mServer.enqueue(new MockResponse().setBody(FULL_TRACK));
+        final CountDownLatch done = new CountDownLatch(1);
+        final AtomicReference<Track> stored = new AtomicReference<>();
+
+        mService.getTrack("track1", new HashMap<String, Object>()).enqueue(new Callback<Track>() {
+            @Override
+            public void onResponse(Call<Track> call, Response<Track> response) {
+                stored.set(mEntityStore.getTrack("track1"));
+                done.countDown();
+            }
+
+            @Override
+            public void onFailure(Call<Track> call, Throwable t) {
+                done.countDown();
+            }
+        });
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertNotNull(stored.get());
+    }
+
+    @Test
+    public void projectedResponseDoesNotReplaceCompleteEntity() throws IOException {
+        mServer.enqueue(new MockResponse().setBody(FULL_TRACK));
+        mServer.enqueue(new MockResponse().setBody(PROJECTED_PAGE));
+        Track full = mService.getTrack("track1", new HashMap<String, Object>()).execute().body();
+
+        Map<String, Object> options = new HashMap<>();
+        options.put(Options.FIELDS, "items(track(id,name)),next,total,offset,limit");
+        Pager<PlaylistTrack> page = mService.getPlaylistTracks("user", "playlist", options).execute().body();
+
+        assertNull(page.items.get(0).track.album);
+        assertSame(full, mEntityStore.getTrack("track1"));
+        assertEquals(50, (int) mService.getTrack("track1").execute().body().popularity);
+        assertEquals(2, mServer.getRequestCount());
+    }
+
+    @Test
+    public void projectedResponseIsNotStored() throws IOException {
+        mServer.enqueue(new MockResponse().setBody(PROJECTED_PAGE));
+        Map<String, Object> options = new HashMap<>();
+        options.put(Options.FIELDS, "items(track(id,name))");
+
+        mService.getPlaylistTracks("user", "playlist", options).execute();
+
+        assertEquals(0, mEntityStore.size());
+    }
+
+    @Test
+    public void errorResponseIsNotStored() throws IOException {
+        mServer.enqueue(new MockResponse().setResponseCode(404).setBody("{\"error\":{\"status\":404}}"));
+
+        Response<Track> response = mService.getTrack("track1", new HashMap<String, Object>()).execute();
+
+        assertEquals(404, response.code());
+        assertEquals(0, mEntityStore.size());
+    }
+}
@@ -0,0 +1,230 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.kaaes.spotify.webapi.core.Options;
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import io.github.kaaes.spotify.webapi.core.models.SavedTrack;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import retrofit2.Call;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class OffsetPageFetcherTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    private MockWebServer mServer;
+    private volatile int mTotal = 20;
+    private final Map<Integer, MockResponse> mFailures = new ConcurrentHashMap<>();
+    private final AtomicInteger mInFlight = new AtomicInteger();
+    private final AtomicInteger mMaxInFlight = new AtomicInteger();
+
+    private SpotifyService mService;
+    private ExecutorService mExecutor;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                String offsetParameter = request.getRequestUrl().queryParameter(Options.OFFSET);
+                int offset = offsetParameter != null ? Integer.parseInt(offsetParameter) : 0;
+
+                int inFlight = mInFlight.incrementAndGet();
+                int max;
+                while (inFlight > (max = mMaxInFlight.get()) && !mMaxInFlight.compareAndSet(max, inFlight)) {
+                    // Retry until the maximum is updated
+                }
+                try {
+                    // Later pages answer first so the fetcher has to put them back in order
+                    Thread.sleep(Math.max(0, 50 - offset * 2));
+                    MockResponse failure = mFailures.remove(offset);
+                    return failure != null ? failure : page(offset);
+                } finally {
+                    mInFlight.decrementAndGet();
+                }
+            }
+        });
+        mServer.start();
+
+        mService = new SpotifyClient.Builder()
+                .setBaseUrl(mServer.url("/v1/").toString())
+                .setHttpClient(new OkHttpClient.Builder()
+                        .addInterceptor(new RateLimitInterceptor(1000, 1000, 0))
+                        .build())
+                .setAccessToken("token")
+                .build()
+                .getService();
+        mExecutor = Executors.newFixedThreadPool(8);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mExecutor.shutdown();
+        mServer.shutdown();
+    }
+
+    @Test
+    public void returnsItemsInOrder() throws SpotifyError {
+        List<SavedTrack> items = fetcher(4).fetchAll();
+
+        assertEquals(mTotal, items.size());
+        for (int i = 0; i < items.size(); i++) {
+            assertEquals("track" + i, items.get(i).track.id);
+        }
+        assertEquals(mTotal / PAGE_SIZE, mServer.getRequestCount());
+    }
+
+    @Test
+    public void boundsParallelism() throws SpotifyError {
+        fetcher(3).fetchAll();
+
+        assertTrue(mMaxInFlight.get() <= 3);
+        assertTrue(mMaxInFlight.get() > 1);
+    }
+
+    @Test
+    public void retriesFailedPageOnItsOwn() throws SpotifyError {
+        mFailures.put(6, new MockResponse().setResponseCode(503).setBody("{\"status\":503,\"message\":\"unavailable\"}"));
+
+        List<SavedTrack> items = fetcher(4).fetchAll();
+
+        assertEquals(mTotal, items.size());
+        assertEquals("track6", items.get(6).track.id);
+        assertEquals(mTotal / PAGE_SIZE + 1, mServer.getRequestCount());
+    }
+
+    @Test
+    public void doesNotRetryRateLimitedPage() {
+        mFailures.put(4, new MockResponse().setResponseCode(429).setHeader("Retry-After", "3600")
+                .setBody("{\"status\":429,\"message\":\"rate limited\"}"));
+
+        try {
+            fetcher(1).fetchAll();
+            fail("Rate limited page was not reported");
+        } catch (SpotifyError error) {
+            assertEquals(429, error.details.status);
+        }
+        assertEquals(3, mServer.getRequestCount());
+    }
+
+    @Test
+    public void reportsPageThatKeepsFailing() {
+        mTotal = 4;
+        MockResponse failure = new MockResponse().setResponseCode(500).setBody("{\"status\":500,\"message\":\"error\"}");
+        mFailures.put(2, failure);
+
+        OffsetPageFetcher<SavedTrack> fetcher = new OffsetPageFetcher.Builder<>(loader())
+                .setPageSize(PAGE_SIZE)
+                .setMaxRetries(0)
+                .setExecutor(mExecutor)
+                .build();
+        try {
+            fetcher.fetchAll();
+            fail("Failed page was not reported");
+        } catch (SpotifyError error) {
+            assertEquals(500, error.details.status);
+        }
+    }
+
+    @Test
+    public void emptyFirstPageBody() throws SpotifyError {
+        mFailures.put(0, new MockResponse().setResponseCode(204));
+
+        assertTrue(fetcher(4).fetchAll().isEmpty());
+        assertEquals(1, mServer.getRequestCount());
+    }
+
+    @Test
+    public void reportsUnreadablePage() {
+        mFailures.put(4, new MockResponse().setBody("{\"items\":\"none\"}"));
+
+        try {
+            fetcher(4).fetchAll();
+            fail("Unreadable page was not reported");
+        } catch (SpotifyError error) {
+            assertEquals(SpotifyError.ERROR_UNEXPECTED, error.details.status);
+        }
+    }
+
+    @Test
+    public void reportsEmptyPageBody() {
+        mFailures.put(4, new MockResponse().setResponseCode(204));
+
+        try {
+            fetcher(4).fetchAll();
+            fail("Empty page was not reported");
+        } catch (SpotifyError error) {
+            assertEquals(SpotifyError.ERROR_UNEXPECTED, error.details.status);
+        }
+    }
+
+    @Test
+    public void fetchesFromEveryPagingThread() throws Exception {
+        List<Future<List<SavedTrack>>> fetches = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            fetches.add(PagedIterable.DEFAULT_EXECUTOR.submit(new Callable<List<SavedTrack>>() {
+                @Override
+                public List<SavedTrack> call() throws SpotifyError {
+                    return new OffsetPageFetcher.Builder<>(loader()).setPageSize(PAGE_SIZE).build().fetchAll();
+                }
+            }));
+        }
+
+        for (Future<List<SavedTrack>> fetch : fetches) {
+            assertEquals(mTotal, fetch.get(10, TimeUnit.SECONDS).size());
+        }
+    }
+
+    private OffsetPageFetcher<SavedTrack> fetcher(int parallelism) {
+        return new OffsetPageFetcher.Builder<>(loader())
+                .setPageSize(PAGE_SIZE)
+                .setParallelism(parallelism)
+                .setExecutor(mExecutor)
+                .build();
+    }
+
+    private PagedIterable.PageLoader<Pager<SavedTrack>> loader() {
+        return new PagedIterable.PageLoader<Pager<SavedTrack>>() {
+            @Override
+            public Call<Pager<SavedTrack>> load(Map<String, Object> options) {
+                return mService.getMySavedTracks(options);
+            }
+        };
+    }
+
+    private MockResponse page(int offset) {
+        List<String> items = new ArrayList<>();
+        for (int i = offset; i < Math.min(offset + PAGE_SIZE, mTotal); i++) {
+            items.add("{\"track\":{\"id\":\"track" + i + "\"}}");
+        }
+        StringBuilder body = new StringBuilder("{\"items\":[");
+        for (int i = 0; i < items.size(); i++) {
+            body.append(i > 0 ? "," : "").append(items.get(i));
+        }
+        return new MockResponse().setBody(body + "],\"limit\":" + PAGE_SIZE + ",\"offset\":" + offset
+                + ",\"total\":" + mTotal + "}");
+    }
+}
@@ -0,0 +1,219 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import io.github.kaaes.spotify.webapi.core.Options;
+import io.github.kaaes.spotify.webapi.core.models.CursorPager;
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import io.github.kaaes.spotify.webapi.core.models.RecentlyPlayedTrack;
+import io.github.kaaes.spotify.webapi.core.models.SavedTrack;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.mockwebserver.SocketPolicy;
+import retrofit2.Call;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class PagedIterableTest {
+
+    private static final int PAGE_SIZE = 2;
+
+    private MockWebServer mServer;
+    private volatile int mTotal = 6;
+    private volatile int mFailingOffset = -1;
+    private volatile MockResponse mFailure;
+
+    private SpotifyService mService;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                if (request.getPath().startsWith("/v1/me/player/recently-played")) {
+                    return recentlyPlayedPage(request.getRequestUrl().queryParameter(Options.AFTER));
+                }
+                String offset = request.getRequestUrl().queryParameter(Options.OFFSET);
+                return savedTracksPage(offset != null ? Integer.parseInt(offset) : 0);
+            }
+        });
+        mServer.start();
+
+        mService = new SpotifyClient.Builder()
+                .setBaseUrl(mServer.url("/v1/").toString())
+                .setHttpClient(new OkHttpClient())
+                .setAccessToken("token")
+                .build()
+                .getService();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void followsNextUrl() {
+        List<String> ids = new ArrayList<>();
+        for (SavedTrack savedTrack : savedTracks(PagedIterable.DEFAULT_BUFFERED_PAGES)) {
+            ids.add(savedTrack.track.id);
+        }
+
+        assertEquals(listOf("track0", "track1", "track2", "track3", "track4", "track5"), ids);
+        assertEquals(3, mServer.getRequestCount());
+    }
+
+    @Test
+    public void followsAfterCursor() throws InterruptedException {
+        PagedIterable<RecentlyPlayedTrack> recentlyPlayed = PagedIterable.ofCursorPager(
+                new PagedIterable.PageLoader<CursorPager<RecentlyPlayedTrack>>() {
+                    @Override
+                    public Call<CursorPager<RecentlyPlayedTrack>> load(Map<String, Object> options) {
+                        return mService.getRecentlyPlayed(options);
+                    }
+                });
+
+        List<String> ids = new ArrayList<>();
+        for (RecentlyPlayedTrack played : recentlyPlayed) {
+            ids.add(played.track.id);
+        }
+
+        assertEquals(listOf("track1", "track2", "track3"), ids);
+        assertEquals(null, mServer.takeRequest().getRequestUrl().queryParameter(Options.AFTER));
+        assertEquals("1", mServer.takeRequest().getRequestUrl().queryParameter(Options.AFTER));
+        assertEquals("2", mServer.takeRequest().getRequestUrl().queryParameter(Options.AFTER));
+    }
+
+    @Test
+    public void prefetchesUpToBufferedPages() throws InterruptedException {
+        mTotal = 20;
+
+        assertEquals(2, requestsAfterFirstItem(1));
+        assertEquals(3, requestsAfterFirstItem(2));
+    }
+
+    @Test
+    public void loadsOnDemandWithoutPrefetching() throws InterruptedException {
+        mTotal = 20;
+        PagedIterable<SavedTrack>.PageIterator iterator = savedTracks(0).iterator();
+
+        iterator.next();
+        iterator.next();
+        Thread.sleep(200);
+        assertEquals(1, mServer.getRequestCount());
+
+        iterator.next();
+        assertEquals(2, mServer.getRequestCount());
+        iterator.close();
+    }
+
+    @Test
+    public void reportsFailedPageAfterPreviousItems() {
+        mFailingOffset = 2;
+        mFailure = new MockResponse().setResponseCode(500)
+                .setBody("{\"status\":500,\"message\":\"server error\"}");
+        PagedIterable<SavedTrack>.PageIterator iterator = savedTracks(PagedIterable.DEFAULT_BUFFERED_PAGES).iterator();
+
+        assertEquals("track0", iterator.next().track.id);
+        assertEquals("track1", iterator.next().track.id);
+        try {
+            iterator.hasNext();
+            fail("Failed page was not reported");
+        } catch (PagedIterable.PageException e) {
+            assertEquals(500, e.getSpotifyError().details.status);
+            assertEquals("server error", e.getMessage());
+        }
+        assertEquals(false, iterator.hasNext());
+    }
+
+    @Test
+    public void keepsCauseOfNetworkError() {
+        mFailingOffset = 0;
+        mFailure = new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START);
+
+        try {
+            savedTracks(PagedIterable.DEFAULT_BUFFERED_PAGES).iterator().hasNext();
+            fail("Failed page was not reported");
+        } catch (PagedIterable.PageException e) {
+            assertEquals(SpotifyError.ERROR_NETWORK, e.getSpotifyError().details.status);
+            assertTrue(e.getSpotifyError().getCause() instanceof IOException);
+        }
+    }
+
+    @Test
+    public void defaultExecutorIsBounded() {
+        ThreadPoolExecutor executor = (ThreadPoolExecutor) PagedIterable.DEFAULT_EXECUTOR;
+
+        assertTrue(executor.getMaximumPoolSize() <= OffsetPageFetcher.DEFAULT_PARALLELISM);
+        assertTrue(executor.allowsCoreThreadTimeOut());
+    }
+
+    private int requestsAfterFirstItem(int bufferedPages) throws InterruptedException {
+        int before = mServer.getRequestCount();
+        PagedIterable<SavedTrack>.PageIterator iterator = savedTracks(bufferedPages).iterator();
+        iterator.next();
+        Thread.sleep(200);
+        int requests = mServer.getRequestCount() - before;
+        iterator.close();
+        return requests;
+    }
+
+    private PagedIterable<SavedTrack> savedTracks(int bufferedPages) {
+        Map<String, Object> options = new HashMap<>();
+        options.put(Options.LIMIT, PAGE_SIZE);
+        return PagedIterable.pagerBuilder(new PagedIterable.PageLoader<Pager<SavedTrack>>() {
+            @Override
+            public Call<Pager<SavedTrack>> load(Map<String, Object> options) {
+                return mService.getMySavedTracks(options);
+            }
+        }).setOptions(options).setBufferedPages(bufferedPages).build();
+    }
+
+    private MockResponse savedTracksPage(int offset) {
+        if (offset == mFailingOffset) {
+            return mFailure;
+        }
+
+        StringBuilder items = new StringBuilder();
+        for (int i = offset; i < Math.min(offset + PAGE_SIZE, mTotal); i++) {
+            items.append(items.length() > 0 ? "," : "").append("{\"track\":{\"id\":\"track").append(i).append("\"}}");
+        }
+        String next = offset + PAGE_SIZE < mTotal
+                ? "\"" + mServer.url("/v1/me/tracks?offset=" + (offset + PAGE_SIZE) + "&limit=" + PAGE_SIZE) + "\""
+                : "null";
+        return new MockResponse().setBody("{\"items\":[" + items + "],\"limit\":" + PAGE_SIZE
+                + ",\"offset\":" + offset + ",\"total\":" + mTotal + ",\"next\":" + next + "}");
+    }
+
+    private MockResponse recentlyPlayedPage(String after) {
+        int number = after != null ? Integer.parseInt(after) + 1 : 1;
+        String next = number < 3
+                ? "\"" + mServer.url("/v1/me/player/recently-played?after=" + number) + "\""
+                : "null";
+        return new MockResponse().setBody("{\"items\":[{\"track\":{\"id\":\"track" + number + "\"}}],"
+                + "\"cursors\":{\"after\":\"" + number + "\"},\"next\":" + next + "}");
+    }
+
+    private static List<String> listOf(String... values) {
+        List<String> list = new ArrayList<>();
+        for (String value : values) {
+            list.add(value);
+        }
+        return list;
+    }
+}
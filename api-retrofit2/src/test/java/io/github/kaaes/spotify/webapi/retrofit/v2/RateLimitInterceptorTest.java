@@ -0,0 +1,246 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RateLimitInterceptorTest {
+
+    private static final long TOLERANCE_MS = 50;
+
+    private MockWebServer mServer;
+    private final List<Long> mArrivalNanos = Collections.synchronizedList(new ArrayList<Long>());
+    private final List<MockResponse> mResponses = Collections.synchronizedList(new ArrayList<MockResponse>());
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                mArrivalNanos.add(System.nanoTime());
+                return mResponses.isEmpty() ? new MockResponse().setBody("{}") : mResponses.remove(0);
+            }
+        });
+        mServer.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void retriesAfterRetryAfter() throws IOException {
+        mResponses.add(tooManyRequests("1"));
+        RateLimitInterceptor rateLimiter = new RateLimitInterceptor();
+
+        long start = System.nanoTime();
+        Response response = execute(createHttpClient(rateLimiter));
+
+        assertEquals(200, response.code());
+        assertEquals(2, mServer.getRequestCount());
+        assertTrue(elapsedMillis(start) >= 1000 - TOLERANCE_MS);
+        assertEquals(1, rateLimiter.getRateLimitedResponseCount());
+        assertEquals(1, rateLimiter.getDelayedRequestCount());
+    }
+
+    @Test
+    public void gateIsSharedAcrossConcurrentCalls() throws Exception {
+        mResponses.add(tooManyRequests("1"));
+        final RateLimitInterceptor rateLimiter = new RateLimitInterceptor();
+        final OkHttpClient httpClient = createHttpClient(rateLimiter);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<Integer> rateLimited = executor.submit(new Callable<Integer>() {
+                @Override
+                public Integer call() throws IOException {
+                    return execute(httpClient).code();
+                }
+            });
+            while (rateLimiter.getRateLimitedResponseCount() == 0) {
+                Thread.sleep(5);
+            }
+            long gateClosedNanos = mArrivalNanos.get(0);
+
+            assertEquals(200, execute(httpClient).code());
+            assertEquals(200, (int) rateLimited.get());
+
+            assertEquals(3, mArrivalNanos.size());
+            for (long arrival : mArrivalNanos.subList(1, 3)) {
+                assertTrue(TimeUnit.NANOSECONDS.toMillis(arrival - gateClosedNanos) >= 1000 - TOLERANCE_MS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void spacesRequestsAtSustainedRate() throws Exception {
+        int requests = 5;
+        long intervalMs = 100;
+        final OkHttpClient httpClient = createHttpClient(new RateLimitInterceptor(1000.0 / intervalMs, 1, 0));
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+
+        try {
+            List<Future<Integer>> codes = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                codes.add(executor.submit(new Callable<Integer>() {
+                    @Override
+                    public Integer call() throws IOException {
+                        return execute(httpClient).code();
+                    }
+                }));
+            }
+            for (Future<Integer> code : codes) {
+                assertEquals(200, (int) code.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Long> arrivals = new ArrayList<>(mArrivalNanos);
+        Collections.sort(arrivals);
+        for (int i = 1; i < arrivals.size(); i++) {
+            long gapMs = TimeUnit.NANOSECONDS.toMillis(arrivals.get(i) - arrivals.get(i - 1));
+            assertTrue("Requests " + gapMs + " ms apart", gapMs >= intervalMs - TOLERANCE_MS);
+        }
+    }
+
+    @Test
+    public void countsDelays() throws IOException {
+        long intervalMs = 100;
+        RateLimitInterceptor rateLimiter = new RateLimitInterceptor(1000.0 / intervalMs, 1, 0);
+        OkHttpClient httpClient = createHttpClient(rateLimiter);
+
+        for (int i = 0; i < 3; i++) {
+            execute(httpClient);
+        }
+
+        assertEquals(3, rateLimiter.getRequestCount());
+        assertEquals(2, rateLimiter.getDelayedRequestCount());
+        assertTrue(rateLimiter.getTotalDelayMillis() >= 2 * (intervalMs - TOLERANCE_MS));
+        assertTrue(rateLimiter.getMaxDelayMillis() >= intervalMs - TOLERANCE_MS);
+        assertTrue(rateLimiter.getMaxDelayMillis() <= rateLimiter.getTotalDelayMillis());
+        assertEquals(0, rateLimiter.getRateLimitedResponseCount());
+    }
+
+    @Test
+    public void failsFastWhenRetryAfterExceedsMaxWait() throws IOException {
+        mResponses.add(tooManyRequests("3600").setBody("{\"error\":{\"status\":429}}"));
+        RateLimitInterceptor rateLimiter = new RateLimitInterceptor(
+                RateLimitInterceptor.DEFAULT_PERMITS_PER_SECOND, RateLimitInterceptor.DEFAULT_BURST,
+                RateLimitInterceptor.DEFAULT_MAX_RETRIES, 500);
+        OkHttpClient httpClient = createHttpClient(rateLimiter);
+
+        long start = System.nanoTime();
+        Response rateLimited = httpClient.newCall(request()).execute();
+        Response rejected = execute(httpClient);
+
+        assertTrue(elapsedMillis(start) < 500);
+        assertEquals(429, rateLimited.code());
+        assertEquals("{\"error\":{\"status\":429}}", rateLimited.body().string());
+        assertEquals(429, rejected.code());
+        assertNotNull(rejected.header("Retry-After"));
+        assertTrue(Long.parseLong(rejected.header("Retry-After")) > 3500);
+        assertEquals(1, mServer.getRequestCount());
+        assertEquals(2, rateLimiter.getRejectedRequestCount());
+    }
+
+    @Test
+    public void callTimeoutCapsWait() throws IOException {
+        mResponses.add(tooManyRequests("2"));
+        OkHttpClient httpClient = createHttpClient(new RateLimitInterceptor()).newBuilder()
+                .callTimeout(1, TimeUnit.SECONDS)
+                .build();
+
+        long start = System.nanoTime();
+        Response response = execute(httpClient);
+
+        assertEquals(429, response.code());
+        assertTrue(elapsedMillis(start) < 1000);
+        assertEquals(1, mServer.getRequestCount());
+    }
+
+    @Test
+    public void cancelStopsWaiting() throws Exception {
+        mResponses.add(tooManyRequests("5"));
+        final RateLimitInterceptor rateLimiter = new RateLimitInterceptor();
+        final Call call = createHttpClient(rateLimiter).newCall(request());
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<Response> response = executor.submit(new Callable<Response>() {
+                @Override
+                public Response call() throws IOException {
+                    return call.execute();
+                }
+            });
+            while (rateLimiter.getRateLimitedResponseCount() == 0) {
+                Thread.sleep(5);
+            }
+
+            long start = System.nanoTime();
+            call.cancel();
+            try {
+                response.get();
+                fail("Canceled call completed");
+            } catch (java.util.concurrent.ExecutionException e) {
+                assertTrue(e.getCause() instanceof IOException);
+            }
+            assertTrue(elapsedMillis(start) < 1000);
+            assertEquals(1, mServer.getRequestCount());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static MockResponse tooManyRequests(String retryAfter) {
+        return new MockResponse().setResponseCode(429).setHeader("Retry-After", retryAfter);
+    }
+
+    private static long elapsedMillis(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private OkHttpClient createHttpClient(RateLimitInterceptor rateLimiter) {
+        return new OkHttpClient.Builder()
+                .addInterceptor(rateLimiter)
+                .build();
+    }
+
+    private Request request() {
+        return new Request.Builder().url(mServer.url("/v1/me")).build();
+    }
+
+    private Response execute(OkHttpClient httpClient) throws IOException {
+        Response response = httpClient.newCall(request()).execute();
+        response.close();
+        return response;
+    }
+}
@@ -0,0 +1,101 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.kaaes.spotify.webapi.core.models.SeedsGenres;
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okhttp3.tls.HandshakeCertificates;
+import okhttp3.tls.HeldCertificate;
+import retrofit2.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SpotifyClientTest {
+
+    private static final int TOKENS = 20;
+    private static final String GENRES_BODY = "{\"genres\":[\"acoustic\",\"afrobeat\",\"alt-rock\"]}";
+
+    private MockWebServer mServer;
+    private HandshakeCertificates mClientCertificates;
+    private final AtomicInteger mHandshakes = new AtomicInteger();
+    private volatile String mLastAuthorization;
+
+    @Before
+    public void setUp() throws IOException {
+        HeldCertificate localhost = new HeldCertificate.Builder()
+                .addSubjectAlternativeName("localhost")
+                .build();
+        HandshakeCertificates serverCertificates = new HandshakeCertificates.Builder()
+                .heldCertificate(localhost)
+                .build();
+        mClientCertificates = new HandshakeCertificates.Builder()
+                .addTrustedCertificate(localhost.certificate())
+                .build();
+
+        mServer = new MockWebServer();
+        mServer.useHttps(serverCertificates.sslSocketFactory(), false);
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                mLastAuthorization = request.getHeader("Authorization");
+                return new MockResponse().setBody(GENRES_BODY);
+            }
+        });
+        mServer.start();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mServer.shutdown();
+    }
+
+    @Test
+    public void rotatedTokenIsSentOnTheSameConnection() throws IOException {
+        OkHttpClient httpClient = new OkHttpClient.Builder()
+                .sslSocketFactory(mClientCertificates.sslSocketFactory(), mClientCertificates.trustManager())
+                .eventListener(new EventListener() {
+                    @Override
+                    public void secureConnectStart(Call call) {
+                        mHandshakes.incrementAndGet();
+                    }
+                })
+                .build();
+        SpotifyClient client = new SpotifyClient.Builder()
+                .setHttpClient(httpClient)
+                .setBaseUrl(mServer.url("/").toString())
+                .build();
+
+        for (int i = 0; i < TOKENS; i++) {
+            String token = "token-" + i;
+            client.setAccessToken(token);
+
+            Response<SeedsGenres> response = client.getService().getSeedsGenres().execute();
+            assertTrue(response.isSuccessful());
+            assertEquals(3, response.body().genres.size());
+            assertEquals("Bearer " + token, mLastAuthorization);
+        }
+        assertEquals(1, mHandshakes.get());
+    }
+
+    @Test
+    public void rateLimitingIsOptIn() {
+        SpotifyClient client = new SpotifyClient.Builder().build();
+        SpotifyClient rateLimited = new SpotifyClient.Builder().setRateLimited(true).build();
+
+        assertFalse(client.getHttpClient().interceptors().contains(Spotify.getRateLimiter()));
+        assertTrue(rateLimited.getHttpClient().interceptors().contains(Spotify.getRateLimiter()));
+    }
+}
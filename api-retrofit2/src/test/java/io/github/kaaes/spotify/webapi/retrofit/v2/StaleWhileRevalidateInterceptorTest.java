@@ -0,0 +1,199 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.kaaes.spotify.webapi.core.models.UserPrivate;
+import okhttp3.OkHttpClient;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.BufferedSource;
+import okio.Okio;
+import retrofit2.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StaleWhileRevalidateInterceptorTest {
+
+    @Rule
+    public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+    private MockWebServer mServer;
+    private final AtomicInteger mVersion = new AtomicInteger(1);
+    private final AtomicInteger mRevalidations = new AtomicInteger();
+    private volatile CountDownLatch mRevalidationRelease = new CountDownLatch(0);
+    private volatile int mMaxAge;
+
+    private SpotifyClient mClient;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (request.getHeader("If-None-Match") != null) {
+                    mRevalidations.incrementAndGet();
+                    mRevalidationRelease.await(5, TimeUnit.SECONDS);
+                }
+                String token = request.getHeader("Authorization").substring("Bearer ".length());
+                int version = mVersion.get();
+                return new MockResponse()
+                        .setHeader("Cache-Control", "max-age=" + mMaxAge)
+                        .setHeader("ETag", "\"" + token + version + "\"")
+                        .setBody("{\"id\":\"" + token + "\",\"display_name\":\"v" + version + "\"}");
+            }
+        });
+        mServer.start();
+
+        mClient = new SpotifyClient.Builder()
+                .setBaseUrl(mServer.url("/v1/").toString())
+                .setHttpClient(new OkHttpClient())
+                .setAccessToken("first")
+                .setAccountId("first")
+                .setCache(mTemporaryFolder.getRoot(), 1024 * 1024)
+                .setStaleWhileRevalidate(1, TimeUnit.HOURS)
+                .build();
+    }
+
+    @After
+    public void tearDown() throws IOException, InterruptedException {
+        mRevalidationRelease.countDown();
+        // Background refreshes still write to the cache
+        while (mClient.getHttpClient().dispatcher().runningCallsCount() > 0) {
+            Thread.sleep(10);
+        }
+        mClient.getCache().close();
+        mServer.shutdown();
+    }
+
+    @Test
+    public void cacheMissGoesToNetwork() throws IOException {
+        Response<UserPrivate> response = mClient.getService().getMe().execute();
+
+        assertEquals("v1", response.body().display_name);
+        assertNull(response.raw().cacheResponse());
+        assertEquals(1, mServer.getRequestCount());
+    }
+
+    @Test
+    public void freshEntryIsNotRevalidated() throws IOException {
+        mMaxAge = 60;
+        mClient.getService().getMe().execute();
+
+        Response<UserPrivate> response = mClient.getService().getMe().execute();
+
+        assertEquals("v1", response.body().display_name);
+        assertNull(response.headers().get("Warning"));
+        assertEquals(1, mServer.getRequestCount());
+        assertEquals(0, mRevalidations.get());
+    }
+
+    @Test
+    public void staleEntryIsServedAndRefreshedInBackground() throws IOException, InterruptedException {
+        mClient.getService().getMe().execute();
+        mVersion.set(2);
+
+        Response<UserPrivate> stale = mClient.getService().getMe().execute();
+
+        assertEquals("v1", stale.body().display_name);
+        assertTrue(stale.headers().get("Warning").startsWith("110"));
+        assertEquals("v2", awaitDisplayName("v2"));
+        assertTrue(mRevalidations.get() >= 1);
+    }
+
+    @Test
+    public void staleEntryIsServedWhileRevalidating() throws IOException, InterruptedException {
+        mClient.getService().getMe().execute();
+        mVersion.set(2);
+        mRevalidationRelease = new CountDownLatch(1);
+
+        assertEquals("v1", mClient.getService().getMe().execute().body().display_name);
+        while (mRevalidations.get() == 0) {
+            Thread.sleep(5);
+        }
+        for (int i = 0; i < 5; i++) {
+            assertEquals("v1", mClient.getService().getMe().execute().body().display_name);
+        }
+
+        assertEquals(1, mRevalidations.get());
+        assertEquals(2, mServer.getRequestCount());
+        mRevalidationRelease.countDown();
+        assertEquals("v2", awaitDisplayName("v2"));
+    }
+
+    @Test
+    public void entryIsNotServedForAnotherAccount() throws IOException {
+        mClient.getService().getMe().execute();
+
+        mClient.setAccessToken("second");
+        mClient.setAccountId("second");
+        Response<UserPrivate> response = mClient.getService().getMe().execute();
+
+        assertEquals("second", response.body().id);
+        assertNull(response.raw().cacheResponse());
+        assertEquals(2, mServer.getRequestCount());
+        mClient.setAccountId("first");
+    }
+
+    @Test
+    public void entryIsServedAfterTokenRefresh() throws IOException {
+        mMaxAge = 60;
+        mClient.getService().getMe().execute();
+
+        mClient.setAccessToken("refreshed");
+        Response<UserPrivate> response = mClient.getService().getMe().execute();
+
+        assertEquals("first", response.body().id);
+        assertEquals(1, mServer.getRequestCount());
+    }
+
+    @Test
+    public void tokenIsNotWrittenToDisk() throws IOException {
+        mClient.getService().getMe().execute();
+        mClient.getCache().flush();
+
+        assertNoToken(mTemporaryFolder.getRoot());
+    }
+
+    private static void assertNoToken(File file) throws IOException {
+        if (file.isDirectory()) {
+            for (File child : file.listFiles()) {
+                assertNoToken(child);
+            }
+        } else {
+            BufferedSource source = Okio.buffer(Okio.source(file));
+            try {
+                assertFalse(file.getName(), source.readUtf8().contains("Bearer"));
+            } finally {
+                source.close();
+            }
+        }
+    }
+
+    /**
+     * Polls until the background refresh has replaced the cached entry.
+     */
+    private String awaitDisplayName(String expected) throws IOException, InterruptedException {
+        String displayName = null;
+        for (int i = 0; i < 100 && !expected.equals(displayName); i++) {
+            Thread.sleep(20);
+            displayName = mClient.getService().getMe().execute().body().display_name;
+        }
+        return displayName;
+    }
+}
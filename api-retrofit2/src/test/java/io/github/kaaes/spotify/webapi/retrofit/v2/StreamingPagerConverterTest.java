@@ -0,0 +1,186 @@
+package io.github.kaaes.spotify.webapi.retrofit.v2;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import io.github.kaaes.spotify.webapi.core.models.Pager;
+import io.github.kaaes.spotify.webapi.core.models.PlaylistTrack;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.ResponseBody;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Pipe;
+import retrofit2.Response;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class StreamingPagerConverterTest {
+
+    private static final MediaType JSON = MediaType.parse("application/json");
+
+    private MockWebServer mServer;
+    private ExecutorService mExecutor;
+
+    @Before
+    public void setUp() throws IOException {
+        mServer = new MockWebServer();
+        mServer.start();
+        mExecutor = Executors.newSingleThreadExecutor();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        mExecutor.shutdown();
+        mServer.shutdown();
+    }
+
+    @Test
+    public void handsItemsOverAsTheyAreRead() throws Exception {
+        final LinkedBlockingQueue<PlaylistTrack> items = new LinkedBlockingQueue<>();
+        final StreamingPagerConverter<PlaylistTrack> converter = new StreamingPagerConverter<>(
+                Spotify.createGson(), PlaylistTrack.class, new StreamingPagerConverter.ItemConsumer<PlaylistTrack>() {
+                    @Override
+                    public void onItem(PlaylistTrack item) {
+                        items.add(item);
+                    }
+                });
+        Pipe pipe = new Pipe(64 * 1024);
+        final ResponseBody body = ResponseBody.create(JSON, -1, Okio.buffer(pipe.source()));
+        BufferedSink sink = Okio.buffer(pipe.sink());
+
+        Future<Pager<PlaylistTrack>> pager = mExecutor.submit(new Callable<Pager<PlaylistTrack>>() {
+            @Override
+            public Pager<PlaylistTrack> call() throws IOException {
+                return converter.convert(body);
+            }
+        });
+
+        sink.writeUtf8("{\"items\":[" + item("track0") + ",").flush();
+        assertEquals("track0", items.poll(5, TimeUnit.SECONDS).track.id);
+        assertTrue(items.isEmpty());
+
+        sink.writeUtf8(item("track1") + ",").flush();
+        assertEquals("track1", items.poll(5, TimeUnit.SECONDS).track.id);
+        assertFalse(pager.isDone());
+
+        sink.writeUtf8(item("track2") + "],\"total\":3}").close();
+        assertEquals("track2", items.poll(5, TimeUnit.SECONDS).track.id);
+        assertEquals(3, pager.get(5, TimeUnit.SECONDS).total);
+    }
+
+    @Test
+    public void fillsScalarFieldsAfterItems() throws IOException {
+        final AtomicInteger count = new AtomicInteger();
+        StreamingPagerConverter<PlaylistTrack> converter = new StreamingPagerConverter<>(
+                Spotify.createGson(), PlaylistTrack.class, new StreamingPagerConverter.ItemConsumer<PlaylistTrack>() {
+                    @Override
+                    public void onItem(PlaylistTrack item) {
+                        count.incrementAndGet();
+                    }
+                });
+
+        Pager<PlaylistTrack> pager = converter.convert(ResponseBody.create(JSON, "{\"href\":\"https://example.com/first\","
+                + "\"items\":[" + item("track0") + "," + item("track1") + "],"
+                + "\"limit\":2,\"next\":\"https://example.com/next\",\"offset\":4,\"previous\":null,\"total\":10}"));
+
+        assertEquals(2, count.get());
+        assertTrue(pager.items.isEmpty());
+        assertEquals("https://example.com/first", pager.href);
+        assertEquals("https://example.com/next", pager.next);
+        assertNull(pager.previous);
+        assertEquals(2, pager.limit);
+        assertEquals(4, pager.offset);
+        assertEquals(10, pager.total);
+    }
+
+    @Test
+    public void readsWrappedPager() throws IOException {
+        List<PlaylistTrack> items = new CopyOnWriteArrayList<>();
+        StreamingPagerConverter<PlaylistTrack> converter = new StreamingPagerConverter<>(
+                Spotify.createGson(), PlaylistTrack.class, collect(items), "tracks");
+
+        Pager<PlaylistTrack> pager = converter.convert(ResponseBody.create(JSON,
+                "{\"other\":{\"items\":[" + item("other") + "]},\"tracks\":{\"items\":[" + item("track0") + "],\"total\":1}}"));
+
+        assertEquals(1, items.size());
+        assertEquals("track0", items.get(0).track.id);
+        assertEquals(1, pager.total);
+    }
+
+    @Test
+    public void executesThroughClientInterceptors() throws Exception {
+        mServer.enqueue(new MockResponse().setBody("{\"items\":[" + item("track0") + "],\"total\":1}"));
+        final AtomicInteger intercepted = new AtomicInteger();
+        SpotifyClient client = new SpotifyClient.Builder()
+                .setBaseUrl(mServer.url("/v1/").toString())
+                .setHttpClient(new OkHttpClient())
+                .setAccessToken("token")
+                .addInterceptor(new Interceptor() {
+                    @Override
+                    public okhttp3.Response intercept(Chain chain) throws IOException {
+                        intercepted.incrementAndGet();
+                        return chain.proceed(chain.request());
+                    }
+                })
+                .build();
+        List<PlaylistTrack> items = new CopyOnWriteArrayList<>();
+
+        Response<Pager<PlaylistTrack>> response = new StreamingPagerConverter<>(client.getGson(), PlaylistTrack.class, collect(items))
+                .execute(client, client.getService().getPlaylistTracks("user", "playlist"));
+
+        assertEquals(1, response.body().total);
+        assertEquals(1, items.size());
+        assertEquals(1, intercepted.get());
+        assertEquals("Bearer token", mServer.takeRequest().getHeader("Authorization"));
+    }
+
+    @Test
+    public void buffersErrorBody() throws IOException {
+        mServer.enqueue(new MockResponse().setResponseCode(404).setBody("{\"status\":404,\"message\":\"not found\"}"));
+        SpotifyClient client = new SpotifyClient.Builder()
+                .setBaseUrl(mServer.url("/v1/").toString())
+                .setHttpClient(new OkHttpClient())
+                .setAccessToken("token")
+                .build();
+        List<PlaylistTrack> items = new CopyOnWriteArrayList<>();
+
+        Response<Pager<PlaylistTrack>> response = new StreamingPagerConverter<>(client.getGson(), PlaylistTrack.class, collect(items))
+                .execute(client, client.getService().getPlaylistTracks("user", "playlist"));
+
+        assertEquals(404, response.code());
+        assertEquals("{\"status\":404,\"message\":\"not found\"}", response.errorBody().string());
+        assertTrue(items.isEmpty());
+    }
+
+    private static StreamingPagerConverter.ItemConsumer<PlaylistTrack> collect(final List<PlaylistTrack> items) {
+        return new StreamingPagerConverter.ItemConsumer<PlaylistTrack>() {
+            @Override
+            public void onItem(PlaylistTrack item) {
+                items.add(item);
+            }
+        };
+    }
+
+    private static String item(String trackId) {
+        return "{\"added_at\":\"2017-01-01T00:00:00Z\",\"track\":{\"id\":\"" + trackId + "\",\"name\":\"" + trackId + "\"}}";
+    }
+}
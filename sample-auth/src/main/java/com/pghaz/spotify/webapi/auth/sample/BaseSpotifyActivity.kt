@@ -96,4 +96,8 @@ abstract class BaseSpotifyActivity : AppCompatActivity(), SpotifyAuthorizationCa
     override fun onRefreshAccessTokenSucceed(tokenResponse: TokenResponse?, user: UserPrivate?) {
 
     }
+
+    override fun onRefreshAccessTokenFailed(error: String?) {
+
+    }
 }
\ No newline at end of file
@@ -178,4 +178,9 @@ class TokenActivity : BaseSpotifyActivity() {
         Toast.makeText(this, "Refresh access token succeed", Toast.LENGTH_SHORT).show()
         displayAuthorized(tokenResponse, user)
     }
+
+    override fun onRefreshAccessTokenFailed(error: String?) {
+        super.onRefreshAccessTokenFailed(error)
+        displayNotAuthorized(error)
+    }
 }
\ No newline at end of file